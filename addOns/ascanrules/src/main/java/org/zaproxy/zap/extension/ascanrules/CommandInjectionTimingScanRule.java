@@ -27,7 +27,6 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.configuration.ConversionException;
 import org.apache.logging.log4j.LogManager;
@@ -36,6 +35,7 @@ import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
+import org.zaproxy.addon.commonlib.timing.LatencyBaseline;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
@@ -136,6 +136,8 @@ public class CommandInjectionTimingScanRule extends CommandInjectionScanRule
     /** The number of seconds used in time-based attacks (i.e. sleep commands). */
     private int timeSleepSeconds = DEFAULT_TIME_SLEEP_SEC;
 
+    private LatencyBaseline latencyBaseline;
+
     @Override
     public int getId() {
         return PLUGIN_ID;
@@ -157,6 +159,9 @@ public class CommandInjectionTimingScanRule extends CommandInjectionScanRule
                     this.getConfig().getString(RULE_SLEEP_TIME));
         }
         LOGGER.debug("Sleep set to {} seconds", timeSleepSeconds);
+
+        latencyBaseline = LatencyBaseline.getInstance(getBaseMsg());
+        latencyBaseline.addSample(getBaseMsg());
     }
 
     /**
@@ -269,7 +274,7 @@ public class CommandInjectionTimingScanRule extends CommandInjectionScanRule
                         LOGGER.debug("Testing [{}] = [{}]", paramName, finalPayload);
 
                         sendAndReceive(msg, false);
-                        return TimeUnit.MILLISECONDS.toSeconds(msg.getTimeElapsedMillis());
+                        return msg.getTimeElapsedMillis() / 1000.0;
                     };
 
             boolean isInjectable;
@@ -282,7 +287,8 @@ public class CommandInjectionTimingScanRule extends CommandInjectionScanRule
                                     timeSleepSeconds,
                                     requestSender,
                                     TIME_CORRELATION_ERROR_RANGE,
-                                    TIME_SLOPE_ERROR_RANGE);
+                                    TIME_SLOPE_ERROR_RANGE,
+                                    latencyBaseline);
                 } catch (SocketException ex) {
                     LOGGER.debug(
                             "Caught {} {} when accessing: {}.\n The target may have replied with a poorly formed redirect due to our input.",
@@ -37,6 +37,7 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.commonlib.http.HttpFieldsNames;
+import org.zaproxy.addon.commonlib.timing.LatencyBaseline;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 
@@ -92,6 +93,8 @@ public class ShellShockScanRule extends AbstractAppParamPlugin implements Common
     /** The number of seconds used in time-based attacks (i.e. sleep commands). */
     private int timeSleepSeconds = DEFAULT_SLEEP_TIME;
 
+    private LatencyBaseline latencyBaseline;
+
     @Override
     public int getId() {
         return 10048;
@@ -135,6 +138,9 @@ public class ShellShockScanRule extends AbstractAppParamPlugin implements Common
                     this.getConfig().getString(RuleConfigParam.RULE_COMMON_SLEEP_TIME));
         }
         LOGGER.debug("Sleep set to {} seconds", timeSleepSeconds);
+
+        latencyBaseline = LatencyBaseline.getInstance(getBaseMsg());
+        latencyBaseline.addSample(getBaseMsg());
     }
 
     @Override
@@ -184,7 +190,8 @@ public class ShellShockScanRule extends AbstractAppParamPlugin implements Common
                             timeSleepSeconds,
                             requestSender,
                             TIME_CORRELATION_ERROR_RANGE,
-                            TIME_SLOPE_ERROR_RANGE);
+                            TIME_SLOPE_ERROR_RANGE,
+                            latencyBaseline);
 
             if (vulnerable) {
                 var msg = message.get();
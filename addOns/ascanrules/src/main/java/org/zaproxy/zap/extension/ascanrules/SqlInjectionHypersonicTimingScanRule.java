@@ -38,6 +38,7 @@ import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.timing.LatencyBaseline;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
@@ -210,6 +211,8 @@ public class SqlInjectionHypersonicTimingScanRule extends AbstractAppParamPlugin
     /** The number of seconds used in time-based attacks (i.e. sleep commands). */
     private int timeSleepSeconds = DEFAULT_SLEEP_TIME;
 
+    private LatencyBaseline latencyBaseline;
+
     private int blindTargetCount = SQL_HYPERSONIC_TIME_REPLACEMENTS.size();
 
     @Override
@@ -271,6 +274,9 @@ public class SqlInjectionHypersonicTimingScanRule extends AbstractAppParamPlugin
                     this.getConfig().getString(RuleConfigParam.RULE_COMMON_SLEEP_TIME));
         }
         LOGGER.debug("Sleep set to {} seconds", timeSleepSeconds);
+
+        latencyBaseline = LatencyBaseline.getInstance(getBaseMsg());
+        latencyBaseline.addSample(getBaseMsg());
     }
 
     /**
@@ -305,7 +311,7 @@ public class SqlInjectionHypersonicTimingScanRule extends AbstractAppParamPlugin
                         attack.compareAndSet(null, finalPayload);
 
                         sendAndReceive(msg, false);
-                        return TimeUnit.MILLISECONDS.toSeconds(msg.getTimeElapsedMillis());
+                        return msg.getTimeElapsedMillis() / 1000.0;
                     };
 
             try {
@@ -315,7 +321,8 @@ public class SqlInjectionHypersonicTimingScanRule extends AbstractAppParamPlugin
                                 timeSleepSeconds,
                                 requestSender,
                                 TIME_CORRELATION_ERROR_RANGE,
-                                TIME_SLOPE_ERROR_RANGE);
+                                TIME_SLOPE_ERROR_RANGE,
+                                latencyBaseline);
 
                 if (injectable) {
                     LOGGER.debug(
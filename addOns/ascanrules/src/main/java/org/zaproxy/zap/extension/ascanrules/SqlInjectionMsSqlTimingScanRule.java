@@ -38,6 +38,7 @@ import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.timing.LatencyBaseline;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
@@ -160,6 +161,8 @@ public class SqlInjectionMsSqlTimingScanRule extends AbstractAppParamPlugin
     /** The number of seconds used in time-based attacks (i.e. sleep commands). */
     private int timeSleepSeconds = DEFAULT_SLEEP_TIME;
 
+    private LatencyBaseline latencyBaseline;
+
     private int blindTargetCount = SQL_MSSQL_TIME_REPLACEMENTS.size();
 
     @Override
@@ -221,6 +224,9 @@ public class SqlInjectionMsSqlTimingScanRule extends AbstractAppParamPlugin
                     this.getConfig().getString(RuleConfigParam.RULE_COMMON_SLEEP_TIME));
         }
         LOGGER.debug("Sleep set to {} seconds", timeSleepSeconds);
+
+        latencyBaseline = LatencyBaseline.getInstance(getBaseMsg());
+        latencyBaseline.addSample(getBaseMsg());
     }
 
     @Override
@@ -250,7 +256,7 @@ public class SqlInjectionMsSqlTimingScanRule extends AbstractAppParamPlugin
                         attack.compareAndSet(null, finalPayload);
 
                         sendAndReceive(msg, false);
-                        return TimeUnit.MILLISECONDS.toSeconds(msg.getTimeElapsedMillis());
+                        return msg.getTimeElapsedMillis() / 1000.0;
                     };
 
             try {
@@ -260,7 +266,8 @@ public class SqlInjectionMsSqlTimingScanRule extends AbstractAppParamPlugin
                                 timeSleepSeconds,
                                 requestSender,
                                 TIME_CORRELATION_ERROR_RANGE,
-                                TIME_SLOPE_ERROR_RANGE);
+                                TIME_SLOPE_ERROR_RANGE,
+                                latencyBaseline);
 
                 if (injectable) {
                     LOGGER.debug(
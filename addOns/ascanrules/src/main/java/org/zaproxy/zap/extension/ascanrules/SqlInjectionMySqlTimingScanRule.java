@@ -38,6 +38,7 @@ import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.timing.LatencyBaseline;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
@@ -220,6 +221,8 @@ public class SqlInjectionMySqlTimingScanRule extends AbstractAppParamPlugin
 
     private int timeSleepSeconds = DEFAULT_SLEEP_TIME;
 
+    private LatencyBaseline latencyBaseline;
+
     private int blindTargetCount = SQL_MYSQL_TIME_REPLACEMENTS.size();
 
     @Override
@@ -281,6 +284,9 @@ public class SqlInjectionMySqlTimingScanRule extends AbstractAppParamPlugin
                     this.getConfig().getString(RuleConfigParam.RULE_COMMON_SLEEP_TIME));
         }
         LOGGER.debug("Sleep set to {} seconds", timeSleepSeconds);
+
+        latencyBaseline = LatencyBaseline.getInstance(getBaseMsg());
+        latencyBaseline.addSample(getBaseMsg());
     }
 
     @Override
@@ -311,7 +317,7 @@ public class SqlInjectionMySqlTimingScanRule extends AbstractAppParamPlugin
                         attack.compareAndSet(null, finalPayload);
 
                         sendAndReceive(msg, false);
-                        return TimeUnit.MILLISECONDS.toSeconds(msg.getTimeElapsedMillis());
+                        return msg.getTimeElapsedMillis() / 1000.0;
                     };
 
             try {
@@ -321,7 +327,8 @@ public class SqlInjectionMySqlTimingScanRule extends AbstractAppParamPlugin
                                 timeSleepSeconds,
                                 requestSender,
                                 TIME_CORRELATION_ERROR_RANGE,
-                                TIME_SLOPE_ERROR_RANGE);
+                                TIME_SLOPE_ERROR_RANGE,
+                                latencyBaseline);
 
                 if (injectable) {
                     LOGGER.debug(
@@ -36,6 +36,7 @@ import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.timing.LatencyBaseline;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
@@ -68,6 +69,8 @@ public class SqlInjectionOracleTimingScanRule extends AbstractAppParamPlugin
 
     private int sleepInSeconds;
 
+    private LatencyBaseline latencyBaseline;
+
     private int doTimeMaxRequests = 0;
 
     private static final String ORIG_VALUE_TOKEN = "<<<<ORIGINALVALUE>>>>";
@@ -213,6 +216,9 @@ public class SqlInjectionOracleTimingScanRule extends AbstractAppParamPlugin
                     this.getConfig().getString(RuleConfigParam.RULE_COMMON_SLEEP_TIME));
         }
         LOGGER.debug("Sleep set to {} seconds", sleepInSeconds);
+
+        latencyBaseline = LatencyBaseline.getInstance(getBaseMsg());
+        latencyBaseline.addSample(getBaseMsg());
     }
 
     @Override
@@ -234,7 +240,7 @@ public class SqlInjectionOracleTimingScanRule extends AbstractAppParamPlugin
                                 assembleTimingPayload(payloadTemplate, paramValue, (int) x);
                         setParameter(timedMsg, paramName, finalPayload);
                         sendAndReceive(timedMsg, false); // do not follow redirects
-                        return TimeUnit.MILLISECONDS.toSeconds(timedMsg.getTimeElapsedMillis());
+                        return timedMsg.getTimeElapsedMillis() / 1000.0;
                     };
             boolean isInjectable;
             try {
@@ -245,7 +251,8 @@ public class SqlInjectionOracleTimingScanRule extends AbstractAppParamPlugin
                                 sleepInSeconds,
                                 requestSender,
                                 TIME_CORRELATION_ERROR_RANGE,
-                                TIME_SLOPE_ERROR_RANGE);
+                                TIME_SLOPE_ERROR_RANGE,
+                                latencyBaseline);
             } catch (IOException ex) {
                 LOGGER.debug(
                         "Caught {} {} when accessing: {}.",
@@ -37,6 +37,7 @@ import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.timing.LatencyBaseline;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
@@ -68,6 +69,8 @@ public class SqlInjectionPostgreSqlTimingScanRule extends AbstractAppParamPlugin
 
     private int sleepInSeconds;
 
+    private LatencyBaseline latencyBaseline;
+
     /** Postgresql one-line comment */
     public static final String SQL_ONE_LINE_COMMENT = " -- ";
 
@@ -253,6 +256,9 @@ public class SqlInjectionPostgreSqlTimingScanRule extends AbstractAppParamPlugin
                     this.getConfig().getString(RuleConfigParam.RULE_COMMON_SLEEP_TIME));
         }
         LOGGER.debug("Sleep set to {} seconds", sleepInSeconds);
+
+        latencyBaseline = LatencyBaseline.getInstance(getBaseMsg());
+        latencyBaseline.addSample(getBaseMsg());
     }
 
     @Override
@@ -274,7 +280,7 @@ public class SqlInjectionPostgreSqlTimingScanRule extends AbstractAppParamPlugin
                                     assembleTimingPayload(payloadTemplate, paramValue, x);
                             setParameter(timedMsg, paramName, finalPayload);
                             sendAndReceive(timedMsg, false); // do not follow redirects
-                            return TimeUnit.MILLISECONDS.toSeconds(timedMsg.getTimeElapsedMillis());
+                            return timedMsg.getTimeElapsedMillis() / 1000.0;
                         };
                 boolean isInjectable;
                 try {
@@ -286,7 +292,8 @@ public class SqlInjectionPostgreSqlTimingScanRule extends AbstractAppParamPlugin
                                         sleepInSeconds,
                                         requestSender,
                                         TIME_CORRELATION_ERROR_RANGE,
-                                        TIME_SLOPE_ERROR_RANGE);
+                                        TIME_SLOPE_ERROR_RANGE,
+                                        latencyBaseline);
                     } catch (SocketException ex) {
                         LOGGER.debug(
                                 "Caught {} {} when accessing: {}.\n The target may have replied with a poorly formed redirect due to our input.",
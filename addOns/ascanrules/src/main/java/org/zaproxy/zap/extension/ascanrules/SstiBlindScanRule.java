@@ -38,6 +38,7 @@ import org.parosproxy.paros.core.scanner.Plugin;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.timing.LatencyBaseline;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.addon.oast.ExtensionOast;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
@@ -126,6 +127,8 @@ public class SstiBlindScanRule extends AbstractAppParamPlugin implements CommonA
 
     private int timeSleepSeconds = DEFAULT_SLEEP_TIME;
 
+    private LatencyBaseline latencyBaseline;
+
     private static final Logger LOGGER = LogManager.getLogger(SstiBlindScanRule.class);
 
     @Override
@@ -191,6 +194,9 @@ public class SstiBlindScanRule extends AbstractAppParamPlugin implements CommonA
                     this.getConfig().getString(RuleConfigParam.RULE_COMMON_SLEEP_TIME));
         }
         LOGGER.debug("Sleep set to {} seconds", timeSleepSeconds);
+
+        latencyBaseline = LatencyBaseline.getInstance(getBaseMsg());
+        latencyBaseline.addSample(getBaseMsg());
     }
 
     @Override
@@ -269,7 +275,8 @@ public class SstiBlindScanRule extends AbstractAppParamPlugin implements CommonA
                             timeSleepSeconds,
                             requestSender,
                             TIME_CORRELATION_ERROR_RANGE,
-                            TIME_SLOPE_ERROR_RANGE);
+                            TIME_SLOPE_ERROR_RANGE,
+                            latencyBaseline);
 
             if (injectable) {
                 LOGGER.debug(
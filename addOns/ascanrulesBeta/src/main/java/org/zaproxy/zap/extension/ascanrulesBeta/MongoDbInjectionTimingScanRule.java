@@ -26,7 +26,6 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.configuration.ConversionException;
 import org.apache.logging.log4j.LogManager;
@@ -38,6 +37,7 @@ import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.timing.LatencyBaseline;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
@@ -104,6 +104,8 @@ public class MongoDbInjectionTimingScanRule extends AbstractAppParamPlugin
 
     private int timeSleepSeconds = DEFAULT_TIME_SLEEP_SEC;
 
+    private LatencyBaseline latencyBaseline;
+
     private int blindTargetCount = SLEEP_INJECTION.size();
 
     @Override
@@ -192,6 +194,9 @@ public class MongoDbInjectionTimingScanRule extends AbstractAppParamPlugin
                     RULE_SLEEP_TIME,
                     this.getConfig().getString(RULE_SLEEP_TIME));
         }
+
+        latencyBaseline = LatencyBaseline.getInstance(getBaseMsg());
+        latencyBaseline.addSample(getBaseMsg());
     }
 
     @Override
@@ -226,7 +231,7 @@ public class MongoDbInjectionTimingScanRule extends AbstractAppParamPlugin
 
                         // send the request and retrieve the response
                         sendAndReceive(timedMsg, false);
-                        return TimeUnit.MILLISECONDS.toSeconds(timedMsg.getTimeElapsedMillis());
+                        return timedMsg.getTimeElapsedMillis() / 1000.0;
                     };
 
             try {
@@ -237,7 +242,8 @@ public class MongoDbInjectionTimingScanRule extends AbstractAppParamPlugin
                                 timeSleepSeconds,
                                 requestSender,
                                 TIME_CORRELATION_ERROR_RANGE,
-                                TIME_SLOPE_ERROR_RANGE);
+                                TIME_SLOPE_ERROR_RANGE,
+                                latencyBaseline);
 
                 if (isInjectable) {
                     // We Found IT!
@@ -21,6 +21,7 @@
 package com.sittinglittleduck.DirBuster;
 
 import java.net.URL;
+import java.util.regex.Pattern;
 
 /** Used to store information about a base case. */
 public class BaseCase {
@@ -53,6 +54,12 @@ public class BaseCase {
      */
     private String regex;
 
+    /*
+     * the compiled regex and the fingerprint of the base case, created on first use
+     */
+    private volatile Pattern regexPattern;
+    private volatile ResponseFingerprint fingerprint;
+
     /** Creates a new instance of BaseCase */
     public BaseCase(
             URL baseCaseURL,
@@ -117,6 +124,52 @@ public class BaseCase {
         return regex;
     }
 
+    /**
+     * Gets the compiled regex, to check if a response is a "not found".
+     *
+     * @return the compiled regex, or {@code null} if there's no regex.
+     */
+    public Pattern getRegexPattern() {
+        if (regexPattern == null && regex != null) {
+            regexPattern = Pattern.compile(regex);
+        }
+        return regexPattern;
+    }
+
+    /**
+     * Tells whether or not the given (cleaned) response is the same as, or a near duplicate of, the
+     * base case.
+     *
+     * @param response the cleaned response.
+     * @return {@code true} if the response is similar to the base case, {@code false} otherwise.
+     */
+    public boolean isSimilarToBaseCase(String response) {
+        if (baseCase == null || response == null) {
+            return false;
+        }
+        if (response.equalsIgnoreCase(baseCase)) {
+            return true;
+        }
+
+        ResponseFingerprint baseCaseFingerprint = fingerprint;
+        if (baseCaseFingerprint == null) {
+            baseCaseFingerprint = ResponseFingerprint.of(baseCase);
+            fingerprint = baseCaseFingerprint;
+        }
+        return baseCaseFingerprint.isComparableLength(response.length())
+                && baseCaseFingerprint.isSimilar(ResponseFingerprint.of(response));
+    }
+
+    /**
+     * Tells whether or not the items can be checked with HEAD requests, that is, the base case is
+     * identified just by its status code.
+     *
+     * @return {@code true} if HEAD requests can be used, {@code false} otherwise.
+     */
+    public boolean allowsHeadRequests() {
+        return !useContentAnalysisMode() && !useRegexInstead;
+    }
+
     public int getReturnCode() {
         return returnCode;
     }
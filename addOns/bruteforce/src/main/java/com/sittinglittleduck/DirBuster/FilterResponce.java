@@ -29,6 +29,24 @@ import java.util.regex.Pattern;
 /** Util class to normliaze http responces */
 public class FilterResponce {
 
+    private static final Pattern DATE_HEADER_PATTERN =
+            Pattern.compile("Date: [\\w\\d, :;=/]+\\W", Pattern.CASE_INSENSITIVE);
+    private static final Pattern P3P_HEADER_PATTERN =
+            Pattern.compile("P3P: [\\w\\d, :;=/]+\\W", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SET_COOKIE_HEADER_PATTERN =
+            Pattern.compile("Set-Cookie:.*?\r\n", Pattern.CASE_INSENSITIVE);
+    private static final Pattern EXPIRES_HEADER_PATTERN =
+            Pattern.compile("Expires: [\\w\\d, :-;=/]+\\W", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ETAG_HEADER_PATTERN =
+            Pattern.compile("ETag: [\\w\\d\"\', :]+\\W", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DATE_PATTERN =
+            Pattern.compile(
+                    "\\w\\w\\w,? \\d\\d? \\w\\w\\w \\d\\d\\d\\d \\d?\\d?:?\\d?\\d?:?\\d?\\d? \\w?\\w?\\w?",
+                    Pattern.CASE_INSENSITIVE);
+    private static final Pattern IP_ADDRESS_PATTERN =
+            Pattern.compile(
+                    "\\d\\d\\d?\\.\\d\\d\\d?\\.\\d\\d\\d?\\.\\d\\d\\d?", Pattern.CASE_INSENSITIVE);
+
     /** Creates a new instance of FilterResponce */
     public FilterResponce() {}
 
@@ -58,55 +76,46 @@ public class FilterResponce {
                 // firstline = toclean.
 
                 // remove date header
-                Pattern p = Pattern.compile("Date: [\\w\\d, :;=/]+\\W", Pattern.CASE_INSENSITIVE);
-                Matcher m = p.matcher(toclean);
+                Matcher m = DATE_HEADER_PATTERN.matcher(toclean);
                 if (m.find()) {
                     // System.out.println("Found Date value = '" + m.group(0) + "'");
                     toclean = toclean.replaceAll(m.group(0), "DATE LINE REMOVED");
                 }
 
                 // remove P3P header
-                p = Pattern.compile("P3P: [\\w\\d, :;=/]+\\W", Pattern.CASE_INSENSITIVE);
-                m = p.matcher(toclean);
+                m = P3P_HEADER_PATTERN.matcher(toclean);
                 if (m.find()) {
                     // System.out.println("Found Date value = '" + m.group(0) + "'");
                     toclean = toclean.replaceAll(m.group(0), "PSP LINE REMOVED");
                 }
 
                 // Remove cookie header
-                p = Pattern.compile("Set-Cookie:.*?\r\n", Pattern.CASE_INSENSITIVE);
-                m = p.matcher(toclean);
+                m = SET_COOKIE_HEADER_PATTERN.matcher(toclean);
                 if (m.find()) {
                     // System.out.println("Found Date value = '" + m.group(0) + "'");
                     toclean = toclean.replaceAll(m.group(0), "SET-COOKIE LINE REMOVED\r\n");
                 }
 
                 // Remove Expires
-                p = Pattern.compile("Expires: [\\w\\d, :-;=/]+\\W", Pattern.CASE_INSENSITIVE);
-                m = p.matcher(toclean);
+                m = EXPIRES_HEADER_PATTERN.matcher(toclean);
                 if (m.find()) {
                     // System.out.println("Found Date value = '" + m.group(0) + "'");
                     toclean = toclean.replaceAll(m.group(0), "EXPIRES LINE REMOVED");
                 }
 
                 // Remove Etag
-                p = Pattern.compile("ETag: [\\w\\d\"\', :]+\\W", Pattern.CASE_INSENSITIVE);
-                m = p.matcher(toclean);
+                m = ETAG_HEADER_PATTERN.matcher(toclean);
                 if (m.find()) {
                     // System.out.println("Found Date value = '" + m.group(0) + "'");
                     toclean = toclean.replaceAll(m.group(0), "");
                 }
 
                 // Remove a possible date
-                p =
-                        Pattern.compile(
-                                "\\w\\w\\w,? \\d\\d? \\w\\w\\w \\d\\d\\d\\d \\d?\\d?:?\\d?\\d?:?\\d?\\d? \\w?\\w?\\w?",
-                                Pattern.CASE_INSENSITIVE);
-                m = p.matcher(toclean); // get a matcher object
+                m = DATE_PATTERN.matcher(toclean); // get a matcher object
                 toclean = m.replaceAll("DATE REMOVED");
 
                 // remove the host
-                p = Pattern.compile(Pattern.quote(url.getHost()), Pattern.CASE_INSENSITIVE);
+                Pattern p = Pattern.compile(Pattern.quote(url.getHost()), Pattern.CASE_INSENSITIVE);
                 m = p.matcher(toclean); // get a matcher object
                 toclean = m.replaceAll("HOST REMOVED");
 
@@ -125,11 +134,7 @@ public class FilterResponce {
                 toclean = m.replaceAll("PATH REMOVED");
 
                 // remove any ip address
-                p =
-                        Pattern.compile(
-                                "\\d\\d\\d?\\.\\d\\d\\d?\\.\\d\\d\\d?\\.\\d\\d\\d?",
-                                Pattern.CASE_INSENSITIVE);
-                m = p.matcher(toclean); // get a matcher object
+                m = IP_ADDRESS_PATTERN.matcher(toclean); // get a matcher object
                 toclean = m.replaceAll("IP ADDRESSED REMOVED");
                 /*
                 if(itemChecked != null)
@@ -0,0 +1,116 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+/**
+ * A fingerprint of a (cleaned) response body, used to detect responses that are near duplicates of
+ * a base case, for example, "not found" pages that include the name of the requested resource.
+ *
+ * <p>The fingerprint is the simhash of the words of the body, bodies are considered similar if
+ * they have (about) the same length and differ in just a few bits of their simhashes.
+ */
+public final class ResponseFingerprint {
+
+    /** The minimum number of words a body needs to have to be compared by its simhash. */
+    static final int MIN_WORDS = 16;
+
+    /** The maximum number of different bits for the simhashes to be considered similar. */
+    static final int MAX_DISTANCE = 6;
+
+    /** The maximum relative difference of the lengths for the bodies to be considered similar. */
+    static final double MAX_LENGTH_DIFFERENCE = 0.1;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int length;
+    private final int words;
+    private final long simhash;
+
+    private ResponseFingerprint(int length, int words, long simhash) {
+        this.length = length;
+        this.words = words;
+        this.simhash = simhash;
+    }
+
+    /**
+     * Creates the fingerprint of the given body.
+     *
+     * @param body the body, should be already cleaned.
+     * @return the fingerprint, never {@code null}.
+     */
+    public static ResponseFingerprint of(String body) {
+        if (body == null) {
+            return new ResponseFingerprint(0, 0, 0);
+        }
+
+        int[] weights = new int[Long.SIZE];
+        int words = 0;
+        long hash = FNV_OFFSET_BASIS;
+        boolean inWord = false;
+        int length = body.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? body.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                hash = (hash ^ Character.toLowerCase(c)) * FNV_PRIME;
+                inWord = true;
+            } else if (inWord) {
+                for (int bit = 0; bit < Long.SIZE; bit++) {
+                    weights[bit] += ((hash >>> bit) & 1) != 0 ? 1 : -1;
+                }
+                words++;
+                hash = FNV_OFFSET_BASIS;
+                inWord = false;
+            }
+        }
+
+        long simhash = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (weights[bit] > 0) {
+                simhash |= 1L << bit;
+            }
+        }
+        return new ResponseFingerprint(length, words, simhash);
+    }
+
+    /**
+     * Tells whether or not a body with the given length could be similar to the body of this
+     * fingerprint, allowing to skip the creation of its fingerprint.
+     *
+     * @param length the length of the other body.
+     * @return {@code true} if it could be similar, {@code false} otherwise.
+     */
+    public boolean isComparableLength(int length) {
+        return words >= MIN_WORDS
+                && Math.abs(this.length - length) <= this.length * MAX_LENGTH_DIFFERENCE;
+    }
+
+    /**
+     * Tells whether or not the given fingerprint is similar to this one.
+     *
+     * @param other the other fingerprint.
+     * @return {@code true} if the fingerprints are similar, {@code false} otherwise.
+     */
+    public boolean isSimilar(ResponseFingerprint other) {
+        return isComparableLength(other.length)
+                && other.words >= MIN_WORDS
+                && Long.bitCount(simhash ^ other.simhash) <= MAX_DISTANCE;
+    }
+}
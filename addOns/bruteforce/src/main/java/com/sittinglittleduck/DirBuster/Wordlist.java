@@ -0,0 +1,249 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, deduplicated, list of the items of a wordlist file.
+ *
+ * <p>The items are kept in a single string, indexed by their end offsets, and the wordlists are
+ * shared by all the scans that use the same (unchanged) file, so that it's read just once instead
+ * of once per directory and file extension scanned.
+ */
+public final class Wordlist {
+
+    private static final Wordlist EMPTY = new Wordlist("", new int[0], 0, 0);
+
+    private static final Map<Path, SoftReference<Wordlist>> CACHE = new HashMap<>();
+
+    private final String data;
+    private final int[] ends;
+    private final long fileSize;
+    private final long lastModified;
+
+    private Wordlist safeItems;
+
+    private Wordlist(String data, int[] ends, long fileSize, long lastModified) {
+        this.data = data;
+        this.ends = ends;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Gets the wordlist with the items of the given file.
+     *
+     * <p>Lines that are empty or start with {@code #} are ignored, as are duplicated lines. The
+     * wordlist is reused while the file is not changed.
+     *
+     * @param file the path to the wordlist file.
+     * @return the wordlist, never {@code null}.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    public static Wordlist load(String file) throws IOException {
+        Path path = Paths.get(file).toRealPath();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long fileSize = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        synchronized (CACHE) {
+            SoftReference<Wordlist> ref = CACHE.get(path);
+            Wordlist wordlist = ref != null ? ref.get() : null;
+            if (wordlist != null
+                    && wordlist.fileSize == fileSize
+                    && wordlist.lastModified == lastModified) {
+                return wordlist;
+            }
+
+            wordlist = read(path, fileSize, lastModified);
+            CACHE.put(path, new SoftReference<>(wordlist));
+            return wordlist;
+        }
+    }
+
+    /**
+     * Gets an empty wordlist.
+     *
+     * @return the empty wordlist.
+     */
+    public static Wordlist empty() {
+        return EMPTY;
+    }
+
+    private static Wordlist read(Path path, long fileSize, long lastModified) throws IOException {
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Wordlist too big: " + path);
+        }
+
+        CharBuffer chars;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            chars =
+                    Charset.defaultCharset()
+                            .newDecoder()
+                            .onMalformedInput(CodingErrorAction.REPLACE)
+                            .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                            .decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize));
+        }
+
+        Builder builder = new Builder(fileSize, lastModified);
+        int length = chars.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = chars.get(i);
+            if (c == '\n' || c == '\r') {
+                addLine(builder, chars.subSequence(start, i));
+                if (c == '\r' && i + 1 < length && chars.get(i + 1) == '\n') {
+                    i++;
+                }
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            addLine(builder, chars.subSequence(start, length));
+        }
+        return builder.build();
+    }
+
+    private static void addLine(Builder builder, CharSequence line) {
+        if (line.length() != 0 && line.charAt(0) != '#') {
+            builder.add(line.toString());
+        }
+    }
+
+    /**
+     * Gets the number of items.
+     *
+     * @return the number of items.
+     */
+    public int size() {
+        return ends.length;
+    }
+
+    /**
+     * Gets the item at the given index.
+     *
+     * @param index the index of the item.
+     * @return the item.
+     * @throws IndexOutOfBoundsException if the index is not valid.
+     */
+    public String get(int index) {
+        return data.substring(index == 0 ? 0 : ends[index - 1], ends[index]);
+    }
+
+    /**
+     * Gets the items made safe to be used as path segments: trimmed, with spaces encoded, quotes
+     * and backslashes removed.
+     *
+     * <p>The wordlist is created once, on first use.
+     *
+     * @return the wordlist with the safe items, never {@code null}.
+     */
+    public synchronized Wordlist getSafeItems() {
+        if (safeItems == null) {
+            Builder builder = new Builder(fileSize, lastModified);
+            for (int i = 0; i < ends.length; i++) {
+                builder.add(makeItemSafe(get(i).trim()));
+            }
+            safeItems = builder.build();
+            safeItems.safeItems = safeItems;
+        }
+        return safeItems;
+    }
+
+    private static String makeItemSafe(String item) {
+        // covert spaces
+        item = item.replace(" ", "%20");
+        // remove "
+        item = item.replace("\"", "");
+        // convert \ into /
+        item = item.replace("\\", "");
+
+        if (item.length() > 2) {
+            // remove / from the end
+            if (item.endsWith("/")) {
+                item = item.substring(1, item.length() - 1);
+            }
+            // remove / from the front
+            if (item.startsWith("/")) {
+                item = item.substring(2, item.length());
+            }
+        } else {
+            // change a single / for DirBuster -> this stops errors and recursive loops
+            if (item.startsWith("/")) {
+                item = "DirBuster";
+            }
+        }
+        return item;
+    }
+
+    private static class Builder {
+
+        private final long fileSize;
+        private final long lastModified;
+        private final StringBuilder data;
+        private final Set<String> items;
+        private int[] ends;
+
+        Builder(long fileSize, long lastModified) {
+            this.fileSize = fileSize;
+            this.lastModified = lastModified;
+            this.data = new StringBuilder((int) Math.min(fileSize, Integer.MAX_VALUE - 8));
+            this.items = new HashSet<>();
+            this.ends = new int[1024];
+        }
+
+        void add(String item) {
+            if (item.isEmpty() || !items.add(item)) {
+                return;
+            }
+
+            data.append(item);
+            int index = items.size() - 1;
+            if (index == ends.length) {
+                ends = Arrays.copyOf(ends, ends.length * 2);
+            }
+            ends[index] = data.length();
+        }
+
+        Wordlist build() {
+            return new Wordlist(
+                    data.toString(),
+                    Arrays.copyOf(ends, items.size()),
+                    fileSize,
+                    lastModified);
+        }
+    }
+}
@@ -26,7 +26,6 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.concurrent.BlockingQueue;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import org.apache.commons.lang3.Strings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -115,8 +114,6 @@ public class Worker implements Runnable {
                     }
 
                     response = FilterResponce.CleanResponce(response, work);
-
-                    Thread.sleep(10);
                 }
 
                 // if we need to check the against the base case
@@ -135,9 +132,7 @@ public class Worker implements Runnable {
                  * use the custom regex check instead
                  */
                 else if (work.getBaseCaseObj().isUseRegexInstead()) {
-                    Pattern regexFindFile = Pattern.compile(work.getBaseCaseObj().getRegex());
-
-                    Matcher m = regexFindFile.matcher(rawResponse);
+                    Matcher m = work.getBaseCaseObj().getRegexPattern().matcher(rawResponse);
 
                     if (m.find()) {
                         // do nothing as we have a 404
@@ -192,7 +187,6 @@ public class Worker implements Runnable {
                 }
 
                 manager.workDone();
-                Thread.sleep(20);
 
             } catch (IOException e) {
 
@@ -248,7 +242,7 @@ public class Worker implements Runnable {
 
         if (notFound) {
             LOGGER.debug("Worker[{}]: 404 for: {}", threadId, url);
-        } else if (!response.equalsIgnoreCase(basecase)) {
+        } else if (!work.getBaseCaseObj().isSimilarToBaseCase(response)) {
             notifyItemFound(code, response, rawResponse, basecase);
         }
     }
@@ -28,16 +28,14 @@ import com.sittinglittleduck.DirBuster.GenBaseCase;
 import com.sittinglittleduck.DirBuster.HttpStatus;
 import com.sittinglittleduck.DirBuster.Manager;
 import com.sittinglittleduck.DirBuster.SimpleHttpClient.HttpMethod;
+import com.sittinglittleduck.DirBuster.Wordlist;
 import com.sittinglittleduck.DirBuster.WorkUnit;
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.NoSuchFileException;
 import java.util.Vector;
 import java.util.concurrent.BlockingQueue;
 import org.apache.logging.log4j.LogManager;
@@ -85,31 +83,25 @@ public class WorkerGenerator implements Runnable {
     @Override
     public void run() {
         String currentDir = "/";
-        String line;
         Vector<ExtToCheck> extToCheck = new Vector<>(10, 5);
         boolean recursive = true;
-        int passTotal = 0;
 
         // --------------------------------------------------
+        // the wordlist is read once, and shared, instead of once per dir and extension
+        Wordlist wordlist;
         try {
-
-            // find the total number of requests to be made, per pass
-            // based on the fact there is a single entry per line
-            BufferedReader d =
-                    new BufferedReader(new InputStreamReader(new FileInputStream(inputFile)));
-            passTotal = 0;
-            while ((line = d.readLine()) != null) {
-                if (!line.startsWith("#")) {
-                    passTotal++;
-                }
-            }
-
-            manager.setTotalPass(passTotal);
-        } catch (FileNotFoundException ex) {
+            wordlist = Wordlist.load(inputFile).getSafeItems();
+        } catch (NoSuchFileException ex) {
             LOGGER.error("File '{}' not found!", inputFile, ex);
+            wordlist = Wordlist.empty();
         } catch (IOException ex) {
             LOGGER.error(ex, ex);
+            wordlist = Wordlist.empty();
         }
+
+        // find the total number of requests to be made, per pass
+        int passTotal = wordlist.size();
+        manager.setTotalPass(passTotal);
         // -------------------------------------------------
 
         // checks if the server surports heads requests
@@ -189,99 +181,58 @@ public class WorkerGenerator implements Runnable {
                 }
 
                 // generate work links
-                try {
-                    // readin dir names
-                    BufferedReader d =
-                            new BufferedReader(
-                                    new InputStreamReader(new FileInputStream(inputFile)));
-
-                    if (LOGGER.isDebugEnabled()) {
-                        LOGGER.debug("Generating dir list for {}", firstPart);
-                    }
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Generating dir list for {}", firstPart);
+                }
 
-                    URL currentURL;
+                HttpMethod method;
+                if (manager.getAuto() && baseCaseObj.allowsHeadRequests()) {
+                    method = HttpMethod.HEAD;
+                } else {
+                    method = HttpMethod.GET;
+                }
 
-                    // add the first item while doing dir's
-                    if (counter == 0) {
-                        try {
-                            String method;
-                            if (manager.getAuto()
-                                    && !baseCaseObj.useContentAnalysisMode()
-                                    && !baseCaseObj.isUseRegexInstead()) {
-                                method = "HEAD";
-                            } else {
-                                method = "GET";
-                            }
-                            currentURL = new URI(firstPart + currentDir).toURL();
-                            // System.out.println("first part = " + firstPart);
-                            // System.out.println("current dir = " + currentDir);
-                            workQueue.put(
-                                    new WorkUnit(
-                                            currentURL, true, HttpMethod.GET, baseCaseObj, null));
-                            LOGGER.debug("1 adding dir to work list {} {}", method, currentDir);
-                        } catch (URISyntaxException | MalformedURLException ex) {
-                            LOGGER.debug("Bad URL", ex);
-                        } catch (InterruptedException ex) {
-                            LOGGER.debug(ex);
-                        }
-                    } // end of dealing with first item
-                    int dirsProcessed = 0;
-
-                    // add the rest of the dirs
-                    while ((line = d.readLine()) != null) {
-                        // code to skip the current work load
-                        if (skipCurrent) {
-                            // add the totalnumber per pass - the amount process this pass to the
-                            // work correction total
-                            manager.addToWorkCorrection(passTotal - dirsProcessed);
-                            break;
-                        }
+                URL currentURL;
+
+                // add the first item while doing dir's
+                if (counter == 0) {
+                    try {
+                        currentURL = new URI(firstPart + currentDir).toURL();
+                        workQueue.put(new WorkUnit(currentURL, true, method, baseCaseObj, null));
+                        LOGGER.debug("1 adding dir to work list {} {}", method, currentDir);
+                    } catch (URISyntaxException | MalformedURLException ex) {
+                        LOGGER.debug("Bad URL", ex);
+                    } catch (InterruptedException ex) {
+                        LOGGER.debug(ex);
+                    }
+                } // end of dealing with first item
+
+                // add the rest of the dirs
+                for (int dirsProcessed = 0; dirsProcessed < passTotal; dirsProcessed++) {
+                    // code to skip the current work load
+                    if (skipCurrent) {
+                        // add the totalnumber per pass - the amount process this pass to the
+                        // work correction total
+                        manager.addToWorkCorrection(passTotal - dirsProcessed);
+                        break;
+                    }
 
-                        // if the line is not empty or starts with a #
-                        if (!line.equalsIgnoreCase("") && !line.startsWith("#")) {
-                            line = line.trim();
-                            line = makeItemsafe(line);
-                            try {
-                                HttpMethod method;
-                                if (manager.getAuto()
-                                        && !baseCaseObj.useContentAnalysisMode()
-                                        && !baseCaseObj.isUseRegexInstead()) {
-                                    method = HttpMethod.HEAD;
-                                } else {
-                                    method = HttpMethod.GET;
-                                }
-
-                                currentURL = new URI(firstPart + currentDir + line + "/").toURL();
-                                // BaseCase baseCaseObj = new BaseCase(currentURL, failcode, true,
-                                // failurl, baseResponce);
-                                // if the base case is null then we need to switch to content
-                                // anylsis mode
-
-                                // System.out.println("Gen about to add to queue");
-                                workQueue.put(
-                                        new WorkUnit(currentURL, true, method, baseCaseObj, line));
-                                // System.out.println("Gen finshed adding to queue");
-                                LOGGER.debug("2 adding dir to work list {} {}", method, currentURL);
-                            } catch (URISyntaxException | MalformedURLException e) {
-                                // TODO deal with bad line
-                                // e.printStackTrace();
-                                // do nothing if it's malformed, I dont care about them!
-                            } catch (InterruptedException e) {
-                                LOGGER.debug(e);
-                            }
+                    String item = wordlist.get(dirsProcessed);
+                    try {
+                        currentURL = new URI(firstPart + currentDir + item + "/").toURL();
+                        workQueue.put(new WorkUnit(currentURL, true, method, baseCaseObj, item));
+                        LOGGER.debug("2 adding dir to work list {} {}", method, currentURL);
+                    } catch (URISyntaxException | MalformedURLException e) {
+                        // do nothing if it's malformed, I dont care about them!
+                    } catch (InterruptedException e) {
+                        LOGGER.debug(e);
+                    }
 
-                            // if there is a call to stop the work gen then stop!
-                            if (stopMe) {
-                                return;
-                            }
-                            dirsProcessed++;
-                        }
-                    } // end of while
-                } catch (FileNotFoundException e) {
-                    LOGGER.error("File '{}' not found!", inputFile, e);
-                } catch (IOException e) {
-                    LOGGER.error(e, e);
-                }
+                    // if there is a call to stop the work gen then stop!
+                    if (stopMe) {
+                        return;
+                    }
+                } // end of for
             }
 
             // generate the list of files
@@ -318,73 +269,38 @@ public class WorkerGenerator implements Runnable {
                             return;
                         }
 
-                        try {
-                            BufferedReader d =
-                                    new BufferedReader(
-                                            new InputStreamReader(new FileInputStream(inputFile)));
-                            // if(failcode != 200)
-                            // {
-                            int filesProcessed = 0;
-
-                            while ((line = d.readLine()) != null) {
-                                // code to skip the current work load
-                                if (skipCurrent) {
-                                    manager.addToWorkCorrection(passTotal - filesProcessed);
-                                    break;
-                                }
-                                // dont process is the line empty for starts with a #
-                                if (!line.equalsIgnoreCase("") && !line.startsWith("#")) {
-                                    line = line.trim();
-                                    line = makeItemsafe(line);
-                                    try {
-                                        HttpMethod method;
-                                        if (manager.getAuto()
-                                                && !baseCaseObj.useContentAnalysisMode()
-                                                && !baseCaseObj.isUseRegexInstead()) {
-                                            method = HttpMethod.HEAD;
-                                        } else {
-                                            method = HttpMethod.GET;
-                                        }
-
-                                        URL currentURL =
-                                                new URI(
-                                                                firstPart
-                                                                        + currentDir
-                                                                        + line
-                                                                        + fileExtention)
-                                                        .toURL();
-                                        // BaseCase baseCaseObj = new BaseCase(currentURL, true,
-                                        // failurl, baseResponce);
-                                        workQueue.put(
-                                                new WorkUnit(
-                                                        currentURL,
-                                                        false,
-                                                        method,
-                                                        baseCaseObj,
-                                                        line));
-                                        LOGGER.debug(
-                                                "adding file to work list {} {}",
-                                                method,
-                                                currentURL);
-                                    } catch (URISyntaxException | MalformedURLException e) {
-                                        // e.printStackTrace();
-                                        // again do nothing as I dont care
-                                    } catch (InterruptedException e) {
-                                        LOGGER.debug(e);
-                                    }
-
-                                    if (stopMe) {
-                                        return;
-                                    }
-                                    filesProcessed++;
-                                }
-                            } // end of while
-                            // }
-                        } catch (FileNotFoundException e) {
-                            LOGGER.error("File '{}' not found!", inputFile, e);
-                        } catch (IOException e) {
-                            LOGGER.error(e, e);
+                        HttpMethod method;
+                        if (manager.getAuto() && baseCaseObj.allowsHeadRequests()) {
+                            method = HttpMethod.HEAD;
+                        } else {
+                            method = HttpMethod.GET;
                         }
+
+                        for (int filesProcessed = 0; filesProcessed < passTotal; filesProcessed++) {
+                            // code to skip the current work load
+                            if (skipCurrent) {
+                                manager.addToWorkCorrection(passTotal - filesProcessed);
+                                break;
+                            }
+
+                            String item = wordlist.get(filesProcessed);
+                            try {
+                                URL currentURL =
+                                        new URI(firstPart + currentDir + item + fileExtention)
+                                                .toURL();
+                                workQueue.put(
+                                        new WorkUnit(currentURL, false, method, baseCaseObj, item));
+                                LOGGER.debug("adding file to work list {} {}", method, currentURL);
+                            } catch (URISyntaxException | MalformedURLException e) {
+                                // again do nothing as I dont care
+                            } catch (InterruptedException e) {
+                                LOGGER.debug(e);
+                            }
+
+                            if (stopMe) {
+                                return;
+                            }
+                        } // end of for
                     }
                 } // end of file ext loop
             } // end of if files
@@ -401,32 +317,6 @@ public class WorkerGenerator implements Runnable {
         // manager.youAreFinished();
     }
 
-    private String makeItemsafe(String item) {
-        // covert spaces
-        item = item.replaceAll(" ", "%20");
-        // remove "
-        item = item.replaceAll("\"", "");
-        // convert \ into /
-        item = item.replaceAll("\\\\", "");
-
-        if (item.length() > 2) {
-            // remove / from the end
-            if (item.endsWith("/")) {
-                item = item.substring(1, item.length() - 1);
-            }
-            // remove / from the front
-            if (item.startsWith("/")) {
-                item = item.substring(2, item.length());
-            }
-        } else {
-            // change a single / for DirBuster -> this stops errors and recursive loops
-            if (item.startsWith("/")) {
-                item = "DirBuster";
-            }
-        }
-        return item;
-    }
-
     /** Method to stop the manager while it is working */
     public void stopMe() {
         stopMe = true;
@@ -28,18 +28,16 @@ import com.sittinglittleduck.DirBuster.GenBaseCase;
 import com.sittinglittleduck.DirBuster.HttpStatus;
 import com.sittinglittleduck.DirBuster.Manager;
 import com.sittinglittleduck.DirBuster.SimpleHttpClient.HttpMethod;
+import com.sittinglittleduck.DirBuster.Wordlist;
 import com.sittinglittleduck.DirBuster.WorkUnit;
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
 import java.util.concurrent.BlockingQueue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -99,28 +97,22 @@ public class WorkerGeneratorURLFuzz implements Runnable {
          * Read in all the items and create all the work we need to.
          */
 
-        BufferedReader d = null;
         try {
             manager.setURLFuzzGenFinished(false);
             String currentDir = "/";
-            String line;
             boolean recursive = true;
-            int passTotal = 0;
 
+            Wordlist wordlist;
             try {
-                d = new BufferedReader(new InputStreamReader(new FileInputStream(inputFile)));
-                passTotal = 0;
-                while ((line = d.readLine()) != null) {
-                    if (!line.startsWith("#")) {
-                        passTotal++;
-                    }
-                }
-                manager.setTotalPass(passTotal);
-            } catch (FileNotFoundException ex) {
+                wordlist = Wordlist.load(inputFile);
+            } catch (NoSuchFileException ex) {
                 LOGGER.error("File '{}' not found!", inputFile, ex);
+                wordlist = Wordlist.empty();
             } catch (IOException ex) {
                 LOGGER.error(ex);
+                wordlist = Wordlist.empty();
             }
+            manager.setTotalPass(wordlist.size());
 
             if (manager.getAuto()) {
                 try {
@@ -144,41 +136,29 @@ public class WorkerGeneratorURLFuzz implements Runnable {
                 }
             }
 
-            d = new BufferedReader(new InputStreamReader(new FileInputStream(inputFile)));
-
             LOGGER.debug("Starting fuzz on {}{}{dir}{}", firstPart, urlFuzzStart, urlFuzzEnd);
 
-            int filesProcessed = 0;
-
             BaseCase baseCaseObj =
                     GenBaseCase.genURLFuzzBaseCase(manager, firstPart + urlFuzzStart, urlFuzzEnd);
 
-            while ((line = d.readLine()) != null) {
+            HttpMethod method;
+            if (manager.getAuto() && baseCaseObj.allowsHeadRequests()) {
+                method = HttpMethod.HEAD;
+            } else {
+                method = HttpMethod.GET;
+            }
+
+            for (int i = 0; i < wordlist.size(); i++) {
                 if (stopMe) {
                     return;
                 }
 
-                if (!line.startsWith("#")) {
-                    HttpMethod method;
-                    if (manager.getAuto()
-                            && !baseCaseObj.useContentAnalysisMode()
-                            && !baseCaseObj.isUseRegexInstead()) {
-                        method = HttpMethod.HEAD;
-                    } else {
-                        method = HttpMethod.GET;
-                    }
-
-                    // url encode all the items
-                    line = URLEncoder.encode(line, StandardCharsets.UTF_8);
-
-                    URL currentURL = new URI(firstPart + urlFuzzStart + line + urlFuzzEnd).toURL();
-                    // BaseCase baseCaseObj = new BaseCase(currentURL, failcode, true, failurl,
-                    // baseResponce);
-                    // if the base case is null then we need to switch to content anylsis mode
-                    workQueue.put(new WorkUnit(currentURL, true, method, baseCaseObj, line));
-                }
+                // url encode all the items
+                String item = URLEncoder.encode(wordlist.get(i), StandardCharsets.UTF_8);
 
-                Thread.sleep(3);
+                URL currentURL = new URI(firstPart + urlFuzzStart + item + urlFuzzEnd).toURL();
+                // if the base case is null then we need to switch to content anylsis mode
+                workQueue.put(new WorkUnit(currentURL, true, method, baseCaseObj, item));
             }
         } catch (InterruptedException ex) {
             LOGGER.debug(ex.toString());
@@ -187,46 +167,8 @@ public class WorkerGeneratorURLFuzz implements Runnable {
         } catch (IOException ex) {
             LOGGER.warn("Failed to create the fuzzed URL:", ex);
         } finally {
-            try {
-                d.close();
-                manager.setURLFuzzGenFinished(true);
-            } catch (IOException ex) {
-                LOGGER.debug(ex.toString());
-            }
-        }
-    }
-
-    private String makeItemsafe(String item) {
-        // covert spaces
-        item = item.replaceAll(" ", "%20");
-        // remove "
-        item = item.replaceAll("\"", "");
-        // convert \ into /
-        item = item.replaceAll("\\\\", "");
-
-        // item = item.replaceAll("", "");
-        // remove none valid URL encoding
-        // item = item.replaceAll("%[^0-9A-Fa-f][^0-9A-Fa-f]", "");
-        // TODO move to the database level
-        // tempfix to deal with ASPX problem
-        // item = item.replaceAll(".aspx", "");
-
-        if (item.length() > 2) {
-            // remove / from the end
-            if (item.endsWith("/")) {
-                item = item.substring(1, item.length() - 1);
-            }
-            // remove / from the front
-            if (item.startsWith("/")) {
-                item = item.substring(2, item.length());
-            }
-        } else {
-            // change a single / for DirBuster -> this stops errors and recursive loops
-            if (item.startsWith("/")) {
-                item = "DirBuster";
-            }
+            manager.setURLFuzzGenFinished(true);
         }
-        return item;
     }
 
     /** Method to stop the manager while it is working */
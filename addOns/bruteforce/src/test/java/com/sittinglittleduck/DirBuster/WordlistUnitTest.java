@@ -0,0 +1,125 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link Wordlist}. */
+class WordlistUnitTest {
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldLoadItemsIgnoringCommentsEmptyLinesAndDuplicates() throws Exception {
+        // Given
+        Path file = createFile("# Comment\r\nadmin\r\n\r\nadmin\nfoo bar\rlogin");
+        // When
+        Wordlist wordlist = Wordlist.load(file.toString());
+        // Then
+        assertThat(items(wordlist), contains("admin", "foo bar", "login"));
+    }
+
+    @Test
+    void shouldLoadEmptyFile() throws Exception {
+        // Given
+        Path file = createFile("");
+        // When
+        Wordlist wordlist = Wordlist.load(file.toString());
+        // Then
+        assertThat(wordlist.size(), is(0));
+    }
+
+    @Test
+    void shouldThrowIfFileDoesNotExist() {
+        // Given
+        Path file = dir.resolve("missing.txt");
+        // When / Then
+        assertThrows(NoSuchFileException.class, () -> Wordlist.load(file.toString()));
+    }
+
+    @Test
+    void shouldReuseWordlistOfSameFile() throws Exception {
+        // Given
+        Path file = createFile("admin\nlogin");
+        Wordlist wordlist = Wordlist.load(file.toString());
+        // When
+        Wordlist otherWordlist = Wordlist.load(file.toString());
+        // Then
+        assertThat(otherWordlist, is(sameInstance(wordlist)));
+    }
+
+    @Test
+    void shouldReloadWordlistIfFileChanged() throws Exception {
+        // Given
+        Path file = createFile("admin\nlogin");
+        Wordlist wordlist = Wordlist.load(file.toString());
+        Files.writeString(file, "admin\nlogin\nlogout");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+        // When
+        Wordlist otherWordlist = Wordlist.load(file.toString());
+        // Then
+        assertThat(otherWordlist, is(not(sameInstance(wordlist))));
+        assertThat(items(otherWordlist), contains("admin", "login", "logout"));
+    }
+
+    @Test
+    void shouldGetSafeItems() throws Exception {
+        // Given
+        Path file = createFile("  admin  \nadmin\nfoo bar\n\"quoted\"\nback\\slash\n/\n   ");
+        Wordlist wordlist = Wordlist.load(file.toString());
+        // When
+        Wordlist safeItems = wordlist.getSafeItems();
+        // Then
+        assertThat(
+                items(safeItems),
+                contains("admin", "foo%20bar", "quoted", "backslash", "DirBuster"));
+        assertThat(wordlist.getSafeItems(), is(sameInstance(safeItems)));
+    }
+
+    private Path createFile(String content) throws IOException {
+        Path file = Files.createTempFile(dir, "wordlist", ".txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<String> items(Wordlist wordlist) {
+        List<String> items = new ArrayList<>(wordlist.size());
+        for (int i = 0; i < wordlist.size(); i++) {
+            items.add(wordlist.get(i));
+        }
+        return items;
+    }
+}
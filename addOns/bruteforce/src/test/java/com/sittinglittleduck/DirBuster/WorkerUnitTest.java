@@ -175,6 +175,25 @@ class WorkerUnitTest {
                     .foundFile(any(), anyInt(), anyString(), anyString(), anyString(), any());
         }
 
+        @Test
+        void shouldNotReportFoundWhenResponseIsNearDuplicateOfBaseCase() throws Exception {
+            String page =
+                    "<html><head><title>Not Found</title></head><body><h1>Oops, we could not"
+                            + " find that page</h1><p>The page you requested does not exist on"
+                            + " this server. Please check the address, or go back to the home"
+                            + " page and try again.</p><p>Request id: %s</p></body></html>";
+            WorkUnit workUnit =
+                    buildGetWorkUnit(
+                            false, String.format(page, "a81f3c2e"), HttpStatus.OK, false, null);
+            setupHttpResponseWithCode(HttpStatus.OK);
+            when(httpResponse.getResponseBody()).thenReturn(String.format(page, "77b2d9e0"));
+
+            runWorkerWithOneWorkUnit(workUnit);
+
+            verify(manager, never())
+                    .foundFile(any(), anyInt(), anyString(), anyString(), anyString(), any());
+        }
+
         @Test
         void shouldReportFoundWhenResponseDiffersFromBaseCase() throws Exception {
             WorkUnit workUnit =
@@ -19,20 +19,35 @@
  */
 package org.zaproxy.addon.client;
 
-import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import javax.swing.Timer;
 import javax.swing.table.AbstractTableModel;
 import org.parosproxy.paros.Constant;
-import org.zaproxy.addon.client.internal.ReportedElement;
 import org.zaproxy.addon.client.internal.ReportedEvent;
 import org.zaproxy.addon.client.internal.ReportedObject;
+import org.zaproxy.addon.client.internal.db.ClientHistoryDao;
 
+/**
+ * A table model of the client history.
+ *
+ * <p>The history is read from the database, in pages, as the rows are shown. The filtering and the
+ * ordering of the rows are also done by the database.
+ */
 public class ClientHistoryTableModel extends AbstractTableModel {
 
     private static final long serialVersionUID = 1L;
 
-    /** The column names. */
+    static final int PAGE_SIZE = 500;
+
+    private static final int MAX_CACHED_PAGES = 10;
+
+    /** The delay to refresh the rows after adding objects, when not ordered by ID. */
+    private static final int REFRESH_DELAY_MS = 500;
+
+    /** The column names, in the order of {@link ClientHistoryDao#ORDER_FIELDS}. */
     private static final String[] COLUMN_NAMES = {
         Constant.messages.getString(ExtensionClientIntegration.PREFIX + ".history.table.header.id"),
         Constant.messages.getString(
@@ -54,7 +69,27 @@ public class ClientHistoryTableModel extends AbstractTableModel {
     /** The Constant defining the COLUMN COUNT. */
     private static final int COLUMN_COUNT = COLUMN_NAMES.length;
 
-    private transient List<ReportedObject> history = new ArrayList<>();
+    @SuppressWarnings("serial")
+    private transient Map<Integer, List<ReportedObject>> pages =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<ReportedObject>> e) {
+                    return size() > MAX_CACHED_PAGES;
+                }
+            };
+
+    private transient Timer refreshTimer;
+
+    private int rowCount;
+    private int pendingRows;
+    private String urlFilter = "";
+    private int orderColumn;
+    private boolean ascending = true;
+
+    public ClientHistoryTableModel() {
+        refreshTimer = new Timer(REFRESH_DELAY_MS, e -> addPendingRows());
+        refreshTimer.setRepeats(false);
+    }
 
     @Override
     public String getColumnName(int col) {
@@ -62,8 +97,8 @@ public class ClientHistoryTableModel extends AbstractTableModel {
     }
 
     @Override
-    public int getRowCount() {
-        return history.size();
+    public synchronized int getRowCount() {
+        return rowCount;
     }
 
     @Override
@@ -75,7 +110,7 @@ public class ClientHistoryTableModel extends AbstractTableModel {
     public Class<?> getColumnClass(int columnIndex) {
         switch (columnIndex) {
             case 0:
-                return Integer.class;
+                return Long.class;
             case 1:
                 return Date.class;
             case 4:
@@ -87,77 +122,160 @@ public class ClientHistoryTableModel extends AbstractTableModel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        ReportedObject obj = this.history.get(rowIndex);
-        if (obj instanceof ReportedElement) {
-            ReportedElement node = (ReportedElement) obj;
-
-            switch (columnIndex) {
-                case 0:
-                    return rowIndex;
-                case 1:
-                    return node.getTimestamp();
-                case 2:
-                    return node.getI18nType();
-                case 3:
-                    return node.getUrl();
-                case 4:
-                    return ""; // Count - not relevant here
-                case 5:
-                    return node.getNodeName();
-                case 6:
-                    return node.getId();
-                case 7:
-                    return node.getText();
-                default:
-                    return null;
-            }
-
-        } else if (obj instanceof ReportedEvent) {
-            ReportedEvent ev = (ReportedEvent) obj;
-            switch (columnIndex) {
-                case 0:
-                    return rowIndex;
-                case 1:
-                    return ev.getTimestamp();
-                case 2:
-                    return ev.getI18nType();
-                case 3:
-                    return ev.getUrl();
-                case 4:
-                    return ev.getCount();
-                case 5:
-                    return ev.getTagName();
-                case 6:
-                    return ""; // Id - not relevant here
-                case 7:
-                    return ""; // Text - not relevant here
-                default:
-                    return null;
-            }
+        ReportedObject obj = getReportedObject(rowIndex);
+        if (obj == null) {
+            return null;
+        }
+        // Show the same fields the rows are ordered by, see ClientHistoryDao#ORDER_FIELDS.
+        switch (columnIndex) {
+            case 0:
+                return obj.getHistoryId();
+            case 1:
+                return obj.getTimestamp();
+            case 2:
+                return obj.getI18nType();
+            case 3:
+                return obj.getUrl();
+            case 4:
+                if (obj instanceof ReportedEvent) {
+                    return ((ReportedEvent) obj).getCount();
+                }
+                return ""; // Count - not relevant here
+            case 5:
+                return obj.getNodeName();
+            case 6:
+                return obj.getId();
+            case 7:
+                return obj.getText();
+            default:
+                return null;
         }
-        return null;
     }
 
-    public ReportedObject getReportedObject(int rowIndex) {
-        return this.history.get(rowIndex);
+    /**
+     * Gets the reported object of the given row, loading its page if not yet loaded.
+     *
+     * @param rowIndex the index of the row
+     * @return the reported object, or {@code null} if the row no longer exists
+     */
+    public synchronized ReportedObject getReportedObject(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            return null;
+        }
+        List<ReportedObject> page =
+                pages.computeIfAbsent(
+                        rowIndex / PAGE_SIZE,
+                        p ->
+                                ClientHistoryDao.load(
+                                        urlFilter,
+                                        ClientHistoryDao.ORDER_FIELDS.get(orderColumn),
+                                        ascending,
+                                        (long) p * PAGE_SIZE,
+                                        PAGE_SIZE));
+        int index = rowIndex % PAGE_SIZE;
+        return index < page.size() ? page.get(index) : null;
     }
 
+    /**
+     * Notifies that the given object was added to the history.
+     *
+     * <p>The object should already be persisted, the rows are read from the database. If not
+     * ordered by ID, in ascending order, the object can be in any row so the rows are refreshed
+     * after a delay, once for all the objects added meanwhile.
+     *
+     * @param obj the reported object
+     */
     public synchronized void addReportedObject(ReportedObject obj) {
-        history.add(obj);
-        fireTableRowsInserted(history.size() - 1, history.size() - 1);
+        if (!isShown(obj)) {
+            return;
+        }
+        if (orderColumn == 0 && ascending) {
+            rowCount++;
+            pages.remove((rowCount - 1) / PAGE_SIZE);
+            fireTableRowsInserted(rowCount - 1, rowCount - 1);
+        } else {
+            pendingRows++;
+            if (!refreshTimer.isRunning()) {
+                refreshTimer.start();
+            }
+        }
     }
 
-    public synchronized void addReportedObjects(List<ReportedObject> objects) {
-        if (objects.isEmpty()) {
+    /** Adds the rows of the objects added since the last refresh, reading all the rows again. */
+    synchronized void addPendingRows() {
+        if (pendingRows == 0) {
             return;
         }
-        int firstRow = history.size();
-        history.addAll(objects);
-        fireTableRowsInserted(firstRow, history.size() - 1);
+        rowCount += pendingRows;
+        pendingRows = 0;
+        pages.clear();
+        fireTableDataChanged();
+    }
+
+    private boolean isShown(ReportedObject obj) {
+        return urlFilter.isEmpty() || (obj.getUrl() != null && obj.getUrl().contains(urlFilter));
+    }
+
+    /** Reads again the number of rows from the database, discarding the loaded rows. */
+    public synchronized void refresh() {
+        rowCount = (int) Math.min(Integer.MAX_VALUE, ClientHistoryDao.count(urlFilter));
+        pendingRows = 0;
+        pages.clear();
+        fireTableDataChanged();
     }
 
     public synchronized void clear() {
-        history.clear();
+        rowCount = 0;
+        pendingRows = 0;
+        pages.clear();
+        fireTableDataChanged();
+    }
+
+    public synchronized String getUrlFilter() {
+        return urlFilter;
+    }
+
+    /**
+     * Sets the text that the source URL of the rows should contain.
+     *
+     * @param urlFilter the text, {@code null} or empty to show all rows
+     */
+    public synchronized void setUrlFilter(String urlFilter) {
+        String filter = urlFilter == null ? "" : urlFilter;
+        if (this.urlFilter.equals(filter)) {
+            return;
+        }
+        this.urlFilter = filter;
+        refresh();
+    }
+
+    public synchronized int getOrderColumn() {
+        return orderColumn;
+    }
+
+    public synchronized boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Orders the rows by the given column, in ascending order, or reverses the order if already
+     * ordered by the column.
+     *
+     * @param column the index of the column
+     */
+    public synchronized void toggleOrder(int column) {
+        if (column < 0 || column >= COLUMN_COUNT) {
+            return;
+        }
+        if (orderColumn == column) {
+            ascending = !ascending;
+        } else {
+            orderColumn = column;
+            ascending = true;
+        }
+        rowCount += pendingRows;
+        pendingRows = 0;
+        pages.clear();
         fireTableDataChanged();
     }
 }
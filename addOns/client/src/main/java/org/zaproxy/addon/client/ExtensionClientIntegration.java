@@ -436,8 +436,7 @@ public class ExtensionClientIntegration extends ExtensionAdaptor {
 
     private void loadClientHistory() {
         if (clientHistoryTableModel != null) {
-            clientHistoryTableModel.clear();
-            clientHistoryTableModel.addReportedObjects(ClientHistoryDao.loadAll());
+            clientHistoryTableModel.refresh();
         }
     }
 
@@ -615,8 +614,8 @@ public class ExtensionClientIntegration extends ExtensionAdaptor {
             return;
         }
 
-        this.clientHistoryTableModel.addReportedObject(obj);
         ClientHistoryDao.persist(obj);
+        this.clientHistoryTableModel.addReportedObject(obj);
         incPscanCount();
         this.passiveScanController
                 .getEnabledScanRules()
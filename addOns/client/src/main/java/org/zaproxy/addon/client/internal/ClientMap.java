@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreeNode;
 import net.sf.json.JSONObject;
 import org.apache.logging.log4j.LogManager;
@@ -43,7 +44,6 @@ import org.zaproxy.zap.eventBus.Event;
 import org.zaproxy.zap.eventBus.EventPublisher;
 import org.zaproxy.zap.extension.api.API;
 import org.zaproxy.zap.model.Target;
-import org.zaproxy.zap.utils.ThreadUtils;
 
 @SuppressWarnings("serial")
 public class ClientMap extends SortedTreeModel implements EventPublisher {
@@ -62,10 +62,12 @@ public class ClientMap extends SortedTreeModel implements EventPublisher {
     private final List<ClientMapListener> listeners = new CopyOnWriteArrayList<>();
     private final Graph<ClientGraphVertex, DefaultEdge> graph =
             new DirectedMultigraph<>(DefaultEdge.class);
+    private final ClientMapNotifier notifier;
 
     public ClientMap(ClientNode root) {
         super(root);
         this.root = root;
+        this.notifier = new ClientMapNotifier(this);
         ZAP.getEventBus().registerPublisher(this, MAP_NODE_ADDED_EVENT, MAP_COMPONENT_ADDED_EVENT);
     }
 
@@ -96,12 +98,18 @@ public class ClientMap extends SortedTreeModel implements EventPublisher {
         return this.getNode(url, visited, storage, false, false, 0);
     }
 
-    private synchronized ClientNode getNode(
+    private ClientNode getNode(
             String url, boolean visited, boolean storage, boolean add, boolean publishEvent) {
         return getNode(url, visited, storage, add, publishEvent, 0);
     }
 
-    private synchronized ClientNode getNode(
+    /**
+     * Gets, and optionally adds, the node for the given URL.
+     *
+     * <p>The nodes are looked up without locking, only the parent of a missing node is locked while
+     * the node is added, so that concurrent reports for different parts of the map do not contend.
+     */
+    private ClientNode getNode(
             String url,
             boolean visited,
             boolean storage,
@@ -125,64 +133,81 @@ public class ClientMap extends SortedTreeModel implements EventPublisher {
                 if (!add) {
                     return null;
                 }
-                if (lastComponent) {
-                    child =
-                            new ClientNode(
-                                    new ClientSideDetails(nodeName, url, visited, storage),
-                                    storage);
-                    if (!storage && publishEvent) {
-                        int depth = parent.getLevel() + 1;
-                        int siblings = parent.getChildCount() + 1;
-                        Map<String, String> map = new HashMap<>();
-                        map.put(URL_KEY, url);
-                        // Note we haven't added the child to the parent yet
-                        map.put(DEPTH_KEY, Integer.toString(depth));
-                        map.put(SIBLINGS_KEY, Integer.toString(siblings));
-                        ZAP.getEventBus()
-                                .publishSyncEvent(
-                                        this,
-                                        new Event(this, MAP_NODE_ADDED_EVENT, new Target(), map));
-                        listeners.forEach(l -> l.nodeAdded(url, depth, siblings, source));
+                boolean added = false;
+                int siblings = 0;
+                synchronized (parent) {
+                    // Check again, another thread might have added it in the meantime
+                    child = parent.getChild(nodeName, lastComponent && storage);
+                    if (child == null) {
+                        child = createNode(nodeNames, i, url, visited, storage, parent);
+                        siblings = parent.getChildCount() + 1;
+                        insertSorted(child, parent);
+                        added = true;
                     }
-                } else {
-                    // Create intermediate node with a suitable URL
-                    String nodeUrl;
-                    if (parent.isRoot()) {
-                        nodeUrl = nodeName + "/";
-                    } else {
-                        boolean lastBeforeFragment =
-                                (i <= nodeNames.size() - 2)
-                                        && (nodeNames.get(i + 1).startsWith("#")
-                                                || nodeNames.get(i + 1).startsWith("/#"));
-
-                        if (lastBeforeFragment) {
-                            // Special case - we will not have the param values at this point
-                            nodeUrl = url.substring(0, url.indexOf("#"));
-                        } else {
-                            String pUrl = parent.getUserObject().getUrl();
-
-                            if (nodeName.equals("#") || nodeName.equals("/#")) {
-                                nodeUrl = pUrl + "#";
-                            } else {
-                                if (!pUrl.endsWith("/") && !nodeName.startsWith("/")) {
-                                    pUrl += "/";
-                                }
-                                nodeUrl = pUrl + nodeName + "/";
-                            }
-                        }
+                }
+                if (added) {
+                    notifyStructureChanged(parent);
+                    if (lastComponent && !storage && publishEvent) {
+                        publishNodeAdded(url, parent.getLevel() + 1, siblings, source);
                     }
-                    child =
-                            new ClientNode(
-                                    new ClientSideDetails(nodeName, nodeUrl, false, false), false);
                 }
-                this.insertNodeInto(child, parent);
-                this.nodeStructureChanged(parent);
             }
             parent = child;
         }
         return child;
     }
 
+    private static ClientNode createNode(
+            List<String> nodeNames,
+            int i,
+            String url,
+            boolean visited,
+            boolean storage,
+            ClientNode parent) {
+        String nodeName = nodeNames.get(i);
+        if (i == nodeNames.size() - 1) {
+            return new ClientNode(new ClientSideDetails(nodeName, url, visited, storage), storage);
+        }
+
+        // Create intermediate node with a suitable URL
+        String nodeUrl;
+        if (parent.isRoot()) {
+            nodeUrl = nodeName + "/";
+        } else {
+            boolean lastBeforeFragment =
+                    (i <= nodeNames.size() - 2)
+                            && (nodeNames.get(i + 1).startsWith("#")
+                                    || nodeNames.get(i + 1).startsWith("/#"));
+
+            if (lastBeforeFragment) {
+                // Special case - we will not have the param values at this point
+                nodeUrl = url.substring(0, url.indexOf("#"));
+            } else {
+                String pUrl = parent.getUserObject().getUrl();
+
+                if (nodeName.equals("#") || nodeName.equals("/#")) {
+                    nodeUrl = pUrl + "#";
+                } else {
+                    if (!pUrl.endsWith("/") && !nodeName.startsWith("/")) {
+                        pUrl += "/";
+                    }
+                    nodeUrl = pUrl + nodeName + "/";
+                }
+            }
+        }
+        return new ClientNode(new ClientSideDetails(nodeName, nodeUrl, false, false), false);
+    }
+
+    private void publishNodeAdded(String url, int depth, int siblings, int source) {
+        Map<String, String> map = new HashMap<>();
+        map.put(URL_KEY, url);
+        map.put(DEPTH_KEY, Integer.toString(depth));
+        map.put(SIBLINGS_KEY, Integer.toString(siblings));
+        ZAP.getEventBus()
+                .publishSyncEvent(this, new Event(this, MAP_NODE_ADDED_EVENT, new Target(), map));
+        listeners.forEach(l -> l.nodeAdded(url, depth, siblings, source));
+    }
+
     public void deleteNodes(List<ClientNode> nodes) {
         for (ClientNode node : nodes) {
             if (!node.isRoot()) {
@@ -191,8 +216,22 @@ public class ClientMap extends SortedTreeModel implements EventPublisher {
         }
     }
 
+    @Override
+    public void removeNodeFromParent(MutableTreeNode node) {
+        MutableTreeNode parent = (MutableTreeNode) node.getParent();
+        if (parent == null) {
+            super.removeNodeFromParent(node);
+            return;
+        }
+        synchronized (parent) {
+            super.removeNodeFromParent(node);
+        }
+    }
+
     public void clear() {
-        root.removeAllChildren();
+        synchronized (root) {
+            root.removeAllChildren();
+        }
         this.nodeStructureChanged(root);
         synchronized (graph) {
             graph.removeAllVertices(new HashSet<>(graph.vertexSet()));
@@ -204,11 +243,16 @@ public class ClientMap extends SortedTreeModel implements EventPublisher {
         return this.getClass().getCanonicalName();
     }
 
+    private void notifyStructureChanged(ClientNode node) {
+        if (View.isInitialised()) {
+            notifier.structureChanged(node);
+        }
+    }
+
     private void notifyNodeChanged(ClientNode node) {
-        if (!View.isInitialised()) {
-            return;
+        if (View.isInitialised()) {
+            notifier.nodeChanged(node);
         }
-        ThreadUtils.invokeAndWaitHandled(() -> nodeChanged(node));
     }
 
     public void addComponent(String url, ClientSideComponent component) {
@@ -466,6 +510,16 @@ class SortedTreeModel extends DefaultTreeModel {
         super.insertNodeInto(child, parent, index);
     }
 
+    /**
+     * Inserts the child in its sorted position, without notifying the listeners.
+     *
+     * @param child the child to insert
+     * @param parent the parent of the child
+     */
+    protected void insertSorted(ClientNode child, ClientNode parent) {
+        parent.insert(child, findIndexFor(child, parent));
+    }
+
     public void insertNodeInto(ClientNode child, ClientNode parent, int i) {
         // The index is useless in this model, so just ignore it.
         insertNodeInto(child, parent);
@@ -0,0 +1,106 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.client.internal;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.swing.Timer;
+
+/**
+ * Coalesces the change notifications of a {@link ClientMap}.
+ *
+ * <p>The changes are collected from any thread and sent to the tree model listeners in the EDT,
+ * at most once per delay, so that a burst of reported objects does not flood the EDT with events
+ * nor block the threads that are adding the nodes.
+ */
+class ClientMapNotifier {
+
+    static final int DEFAULT_DELAY_MS = 250;
+
+    private final ClientMap map;
+    private final Set<ClientNode> structureChanged = ConcurrentHashMap.newKeySet();
+    private final Set<ClientNode> nodesChanged = ConcurrentHashMap.newKeySet();
+    private final Timer timer;
+
+    ClientMapNotifier(ClientMap map) {
+        this(map, DEFAULT_DELAY_MS);
+    }
+
+    ClientMapNotifier(ClientMap map, int delay) {
+        this.map = map;
+        timer = new Timer(delay, e -> flush());
+        timer.setRepeats(false);
+    }
+
+    void structureChanged(ClientNode node) {
+        structureChanged.add(node);
+        schedule();
+    }
+
+    void nodeChanged(ClientNode node) {
+        nodesChanged.add(node);
+        schedule();
+    }
+
+    private void schedule() {
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    /** Sends the pending notifications, should be called in the EDT. */
+    void flush() {
+        Set<ClientNode> structures = drain(structureChanged);
+        for (ClientNode node : structures) {
+            if (isAttached(node) && !hasAncestorIn(node, structures)) {
+                map.nodeStructureChanged(node);
+            }
+        }
+        for (ClientNode node : drain(nodesChanged)) {
+            if (isAttached(node) && !hasAncestorIn(node, structures)) {
+                map.nodeChanged(node);
+            }
+        }
+    }
+
+    private static Set<ClientNode> drain(Set<ClientNode> pending) {
+        Set<ClientNode> nodes = new HashSet<>();
+        for (Iterator<ClientNode> it = pending.iterator(); it.hasNext(); ) {
+            nodes.add(it.next());
+            it.remove();
+        }
+        return nodes;
+    }
+
+    private boolean isAttached(ClientNode node) {
+        return node.getRoot() == map.getRoot();
+    }
+
+    private static boolean hasAncestorIn(ClientNode node, Set<ClientNode> nodes) {
+        for (ClientNode parent = node.getParent(); parent != null; parent = parent.getParent()) {
+            if (nodes.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -21,7 +21,10 @@ package org.zaproxy.addon.client.internal;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.MutableTreeNode;
 import org.parosproxy.paros.model.Session;
 
 @SuppressWarnings("serial")
@@ -30,6 +33,8 @@ public class ClientNode extends DefaultMutableTreeNode {
     private static final long serialVersionUID = 1L;
     private boolean storage;
     private Session session;
+    private final Map<String, ClientNode> childrenByName = new ConcurrentHashMap<>();
+    private final Map<String, ClientNode> storageChildrenByName = new ConcurrentHashMap<>();
 
     public ClientNode(ClientSideDetails userObject, Session session) {
         super(userObject);
@@ -56,14 +61,35 @@ public class ClientNode extends DefaultMutableTreeNode {
         return (ClientNode) super.getChildAt(index);
     }
 
+    /**
+     * Gets the child with the given name.
+     *
+     * <p>The lookup is done in an index of the children, it does not require to lock the node.
+     *
+     * @param name the name of the child
+     * @param isStorage {@code true} if the child is a storage node, {@code false} otherwise
+     * @return the child, or {@code null} if none
+     */
     public ClientNode getChild(String name, boolean isStorage) {
-        for (int i = 0; i < getChildCount(); i++) {
-            ClientNode child = getChildAt(i);
-            if (isStorage == child.isStorage() && name.equals(child.getUserObject().getName())) {
-                return child;
-            }
-        }
-        return null;
+        return getChildrenByName(isStorage).get(name);
+    }
+
+    private Map<String, ClientNode> getChildrenByName(boolean isStorage) {
+        return isStorage ? storageChildrenByName : childrenByName;
+    }
+
+    @Override
+    public void insert(MutableTreeNode newChild, int childIndex) {
+        super.insert(newChild, childIndex);
+        ClientNode child = (ClientNode) newChild;
+        getChildrenByName(child.isStorage()).put(child.getUserObject().getName(), child);
+    }
+
+    @Override
+    public void remove(int childIndex) {
+        ClientNode child = getChildAt(childIndex);
+        super.remove(childIndex);
+        getChildrenByName(child.isStorage()).remove(child.getUserObject().getName(), child);
     }
 
     public boolean isStorage() {
@@ -34,6 +34,7 @@ public abstract class ReportedObject {
     private String xpath;
     private String href;
     private String text;
+    private long historyId = -1;
 
     private static final String I18N_PREFIX = "client.type.";
 
@@ -123,4 +124,17 @@ public abstract class ReportedObject {
     public String getText() {
         return text;
     }
+
+    /**
+     * Gets the ID of the object in the client history.
+     *
+     * @return the ID, or -1 if the object was not read from the client history
+     */
+    public long getHistoryId() {
+        return historyId;
+    }
+
+    public void setHistoryId(long historyId) {
+        this.historyId = historyId;
+    }
 }
@@ -22,6 +22,7 @@ package org.zaproxy.addon.client.internal.db;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
 import javax.jdo.Query;
@@ -39,6 +40,15 @@ public class ClientHistoryDao {
     private static final int OBJECT_TYPE_ELEMENT = 1;
     private static final int OBJECT_TYPE_EVENT = 2;
 
+    public static final String ORDER_ID = "id";
+
+    /**
+     * The fields that the entries can be ordered by, in the order of the columns of the client
+     * history table.
+     */
+    public static final List<String> ORDER_FIELDS =
+            List.of(ORDER_ID, "timestamp", "type", "url", "count", "nodeName", "elementId", "text");
+
     private ClientHistoryDao() {}
 
     public static void persist(ReportedObject obj) {
@@ -62,15 +72,58 @@ public class ClientHistoryDao {
         }
     }
 
-    public static List<ReportedObject> loadAll() {
+    /**
+     * Counts the entries whose URL contains the given filter.
+     *
+     * @param urlFilter the text that the URL should contain, {@code null} or empty for all entries
+     * @return the number of entries
+     */
+    public static long count(String urlFilter) {
+        PersistenceManagerFactory pmf = TableJdo.getPmf();
+        if (pmf == null) {
+            return 0;
+        }
+        PersistenceManager pm = pmf.getPersistenceManager();
+        try {
+            Query<ClientHistoryEntry> query = createQuery(pm, urlFilter);
+            query.setResult("count(this)");
+            return ((Number) query.executeResultUnique()).longValue();
+        } catch (Exception e) {
+            LOGGER.error("An error occurred while counting client history:", e);
+            return 0;
+        } finally {
+            pm.close();
+        }
+    }
+
+    /**
+     * Loads a page of the entries whose URL contains the given filter.
+     *
+     * @param urlFilter the text that the URL should contain, {@code null} or empty for all entries
+     * @param orderField the field to order the entries by, one of {@link #ORDER_FIELDS}
+     * @param ascending {@code true} to order in ascending order, {@code false} otherwise
+     * @param offset the index of the first entry
+     * @param limit the maximum number of entries
+     * @return the reported objects, never {@code null}
+     */
+    public static List<ReportedObject> load(
+            String urlFilter, String orderField, boolean ascending, long offset, int limit) {
+        if (!ORDER_FIELDS.contains(orderField)) {
+            throw new IllegalArgumentException("Unsupported order field: " + orderField);
+        }
         PersistenceManagerFactory pmf = TableJdo.getPmf();
         if (pmf == null) {
             return List.of();
         }
         PersistenceManager pm = pmf.getPersistenceManager();
         try {
-            Query<ClientHistoryEntry> query = pm.newQuery(ClientHistoryEntry.class);
-            query.setOrdering("id ASC");
+            Query<ClientHistoryEntry> query = createQuery(pm, urlFilter);
+            String direction = ascending ? " ASC" : " DESC";
+            query.setOrdering(
+                    ORDER_ID.equals(orderField)
+                            ? ORDER_ID + direction
+                            : orderField + direction + ", " + ORDER_ID + " ASC");
+            query.setRange(offset, offset + limit);
             List<ClientHistoryEntry> entries = query.executeList();
             List<ReportedObject> result = new ArrayList<>(entries.size());
             for (ClientHistoryEntry entry : entries) {
@@ -85,6 +138,15 @@ public class ClientHistoryDao {
         }
     }
 
+    private static Query<ClientHistoryEntry> createQuery(PersistenceManager pm, String urlFilter) {
+        Query<ClientHistoryEntry> query = pm.newQuery(ClientHistoryEntry.class);
+        if (urlFilter != null && !urlFilter.isEmpty()) {
+            query.setFilter("url.indexOf(:urlFilter) >= 0");
+            query.setNamedParameters(Map.of("urlFilter", urlFilter));
+        }
+        return query;
+    }
+
     public static void deleteAll() {
         PersistenceManagerFactory pmf = TableJdo.getPmf();
         if (pmf == null) {
@@ -130,30 +192,36 @@ public class ClientHistoryDao {
     }
 
     static ReportedObject toReportedObject(ClientHistoryEntry entry) {
+        ReportedObject obj;
         if (OBJECT_TYPE_EVENT == entry.getObjectType()) {
-            return new ReportedEvent(
-                    new Date(entry.getTimestamp().toEpochMilli()),
-                    entry.getType(),
-                    entry.getTagName(),
-                    entry.getElementId(),
-                    entry.getNodeName(),
-                    entry.getUrl(),
-                    entry.getXpath(),
-                    entry.getHref(),
-                    entry.getText(),
-                    entry.getCount() != null ? entry.getCount() : 0);
+            obj =
+                    new ReportedEvent(
+                            new Date(entry.getTimestamp().toEpochMilli()),
+                            entry.getType(),
+                            entry.getTagName(),
+                            entry.getElementId(),
+                            entry.getNodeName(),
+                            entry.getUrl(),
+                            entry.getXpath(),
+                            entry.getHref(),
+                            entry.getText(),
+                            entry.getCount() != null ? entry.getCount() : 0);
+        } else {
+            obj =
+                    new ReportedElement(
+                            new Date(entry.getTimestamp().toEpochMilli()),
+                            entry.getType(),
+                            entry.getTagName(),
+                            entry.getElementId(),
+                            entry.getNodeName(),
+                            entry.getUrl(),
+                            entry.getXpath(),
+                            entry.getHref(),
+                            entry.getText(),
+                            entry.getTagType(),
+                            entry.getFormId() != null ? entry.getFormId() : -1);
         }
-        return new ReportedElement(
-                new Date(entry.getTimestamp().toEpochMilli()),
-                entry.getType(),
-                entry.getTagName(),
-                entry.getElementId(),
-                entry.getNodeName(),
-                entry.getUrl(),
-                entry.getXpath(),
-                entry.getHref(),
-                entry.getText(),
-                entry.getTagType(),
-                entry.getFormId() != null ? entry.getFormId() : -1);
+        obj.setHistoryId(entry.getId());
+        return obj;
     }
 }
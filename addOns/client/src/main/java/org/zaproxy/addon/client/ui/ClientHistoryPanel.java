@@ -21,14 +21,17 @@ package org.zaproxy.addon.client.ui;
 
 import java.awt.BorderLayout;
 import java.awt.Component;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import javax.swing.JButton;
+import javax.swing.JLabel;
 import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JToolBar;
-import javax.swing.table.TableRowSorter;
 import org.jdesktop.swingx.JXTable;
 import org.jdesktop.swingx.renderer.DefaultTableRenderer;
 import org.parosproxy.paros.Constant;
@@ -40,6 +43,7 @@ import org.zaproxy.addon.client.internal.ReportedObject;
 import org.zaproxy.addon.client.internal.db.ClientHistoryDao;
 import org.zaproxy.zap.utils.DisplayUtils;
 import org.zaproxy.zap.utils.FontUtils;
+import org.zaproxy.zap.utils.ZapTextField;
 import org.zaproxy.zap.view.ZapTable;
 import org.zaproxy.zap.view.renderer.DateFormatStringValue;
 
@@ -80,11 +84,25 @@ public class ClientHistoryPanel extends AbstractPanel {
                         ClientHistoryPanel.class.getResource("/resource/icon/fugue/broom.png")));
         clearButton.addActionListener(
                 e -> {
-                    clientHistoryTableModel.clear();
                     ClientHistoryDao.deleteAll();
+                    clientHistoryTableModel.clear();
                 });
         toolBar.add(clearButton);
 
+        toolBar.addSeparator();
+        toolBar.add(
+                new JLabel(
+                        Constant.messages.getString(
+                                ExtensionClientIntegration.PREFIX + ".history.filter.label")));
+        ZapTextField filterField = new ZapTextField(30);
+        filterField.setMaximumSize(filterField.getPreferredSize());
+        filterField.setToolTipText(
+                Constant.messages.getString(
+                        ExtensionClientIntegration.PREFIX + ".history.filter.tooltip"));
+        filterField.addActionListener(
+                e -> clientHistoryTableModel.setUrlFilter(filterField.getText().trim()));
+        toolBar.add(filterField);
+
         return toolBar;
     }
 
@@ -92,6 +110,7 @@ public class ClientHistoryPanel extends AbstractPanel {
         return Arrays.stream(this.getHistoryTable().getSelectedRows())
                 .map(getHistoryTable()::convertRowIndexToModel)
                 .mapToObj(clientHistoryTableModel::getReportedObject)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
@@ -133,10 +152,22 @@ public class ClientHistoryPanel extends AbstractPanel {
                         }
                     });
 
-            // The # column can contain positive numbers and blank strings
-            TableRowSorter<?> tableRowSorter = new TableRowSorter<>(clientHistoryTableModel);
-            tableRowSorter.setComparator(4, (o1, o2) -> o1.toString().compareTo(o2.toString()));
-            historyTable.setRowSorter(tableRowSorter);
+            // The rows are ordered by the database, not by the table
+            historyTable.setSortable(false);
+            historyTable.setRowSorter(null);
+            historyTable
+                    .getTableHeader()
+                    .addMouseListener(
+                            new MouseAdapter() {
+                                @Override
+                                public void mouseClicked(MouseEvent e) {
+                                    int column = historyTable.columnAtPoint(e.getPoint());
+                                    if (column != -1) {
+                                        clientHistoryTableModel.toggleOrder(
+                                                historyTable.convertColumnIndexToModel(column));
+                                    }
+                                }
+                            });
 
             historyTable.setComponentPopupMenu(
                     new JPopupMenu() {
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS "CLIENT_HISTORY_TIMESTAMP_IDX" ON "CLIENT_HISTORY" ("TIMESTAMP");
+CREATE INDEX IF NOT EXISTS "CLIENT_HISTORY_TYPE_IDX" ON "CLIENT_HISTORY" ("TYPE");
+CREATE INDEX IF NOT EXISTS "CLIENT_HISTORY_URL_IDX" ON "CLIENT_HISTORY" ("URL");
@@ -0,0 +1,323 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import javax.swing.event.TableModelEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.zaproxy.addon.client.internal.ReportedElement;
+import org.zaproxy.addon.client.internal.ReportedEvent;
+import org.zaproxy.addon.client.internal.ReportedObject;
+import org.zaproxy.addon.client.internal.db.ClientHistoryDao;
+import org.zaproxy.zap.testutils.TestUtils;
+
+/** Unit test for {@link ClientHistoryTableModel}. */
+class ClientHistoryTableModelUnitTest extends TestUtils {
+
+    private static final int PAGE_SIZE = ClientHistoryTableModel.PAGE_SIZE;
+
+    private MockedStatic<ClientHistoryDao> dao;
+    private ClientHistoryTableModel model;
+
+    @BeforeAll
+    static void init() {
+        mockMessages(new ExtensionClientIntegration());
+    }
+
+    @BeforeEach
+    void setUp() {
+        dao = mockStatic(ClientHistoryDao.class);
+        model = new ClientHistoryTableModel();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dao.close();
+    }
+
+    @Test
+    void shouldGetRowCountFromDatabaseOnRefresh() {
+        // Given
+        dao.when(() -> ClientHistoryDao.count("")).thenReturn(1234L);
+
+        // When
+        model.refresh();
+
+        // Then
+        assertThat(model.getRowCount(), is(equalTo(1234)));
+    }
+
+    @Test
+    void shouldLoadOnlyThePagesOfTheRowsShown() {
+        // Given
+        dao.when(() -> ClientHistoryDao.count("")).thenReturn(10L * PAGE_SIZE);
+        mockPages(10 * PAGE_SIZE);
+        model.refresh();
+
+        // When
+        ReportedObject first = model.getReportedObject(0);
+        ReportedObject last = model.getReportedObject(PAGE_SIZE - 1);
+        ReportedObject other = model.getReportedObject(3 * PAGE_SIZE + 1);
+
+        // Then
+        assertThat(first.getUrl(), is(equalTo(url(0))));
+        assertThat(last.getUrl(), is(equalTo(url(PAGE_SIZE - 1))));
+        assertThat(other.getUrl(), is(equalTo(url(3 * PAGE_SIZE + 1))));
+        dao.verify(
+                () ->
+                        ClientHistoryDao.load(
+                                anyString(), anyString(), anyBoolean(), anyLong(), anyInt()),
+                times(2));
+        dao.verify(() -> ClientHistoryDao.load("", "id", true, 3L * PAGE_SIZE, PAGE_SIZE));
+    }
+
+    @Test
+    void shouldReturnNullForRowOutOfRange() {
+        // Given
+        dao.when(() -> ClientHistoryDao.count("")).thenReturn(1L);
+        model.refresh();
+
+        // When
+        ReportedObject obj = model.getReportedObject(1);
+
+        // Then
+        assertThat(obj, is(nullValue()));
+    }
+
+    @Test
+    void shouldFilterInDatabase() {
+        // Given
+        dao.when(() -> ClientHistoryDao.count("example")).thenReturn(5L);
+
+        // When
+        model.setUrlFilter("example");
+
+        // Then
+        assertThat(model.getRowCount(), is(equalTo(5)));
+        assertThat(model.getUrlFilter(), is(equalTo("example")));
+    }
+
+    @Test
+    void shouldAddReportedObjectMatchingFilter() {
+        // Given
+        dao.when(() -> ClientHistoryDao.count("example")).thenReturn(5L);
+        model.setUrlFilter("example");
+
+        // When
+        model.addReportedObject(reportedObject("https://www.example.com/"));
+
+        // Then
+        assertThat(model.getRowCount(), is(equalTo(6)));
+    }
+
+    @Test
+    void shouldNotAddReportedObjectNotMatchingFilter() {
+        // Given
+        dao.when(() -> ClientHistoryDao.count("example")).thenReturn(5L);
+        model.setUrlFilter("example");
+
+        // When
+        model.addReportedObject(reportedObject("https://www.zaproxy.org/"));
+
+        // Then
+        assertThat(model.getRowCount(), is(equalTo(5)));
+    }
+
+    @Test
+    void shouldInsertRowOfReportedObjectWhenOrderedById() {
+        // Given
+        dao.when(() -> ClientHistoryDao.count("")).thenReturn(5L);
+        model.refresh();
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        // When
+        model.addReportedObject(reportedObject("https://www.example.com/"));
+
+        // Then
+        assertThat(model.getRowCount(), is(equalTo(6)));
+        assertThat(events, hasSize(1));
+        assertThat(events.get(0).getType(), is(equalTo(TableModelEvent.INSERT)));
+        assertThat(events.get(0).getFirstRow(), is(equalTo(5)));
+    }
+
+    @Test
+    void shouldRefreshRowsOnceForReportedObjectsAddedWhenNotOrderedById() {
+        // Given
+        dao.when(() -> ClientHistoryDao.count("")).thenReturn(5L);
+        model.refresh();
+        model.toggleOrder(3);
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            model.addReportedObject(reportedObject(url(i)));
+        }
+        int rowCountBeforeRefresh = model.getRowCount();
+        int eventsBeforeRefresh = events.size();
+        model.addPendingRows();
+
+        // Then
+        assertThat(rowCountBeforeRefresh, is(equalTo(5)));
+        assertThat(eventsBeforeRefresh, is(equalTo(0)));
+        assertThat(model.getRowCount(), is(equalTo(105)));
+        assertThat(events, hasSize(1));
+    }
+
+    @Test
+    void shouldAddPendingRowsWhenOrderChanged() {
+        // Given
+        dao.when(() -> ClientHistoryDao.count("")).thenReturn(5L);
+        model.refresh();
+        model.toggleOrder(3);
+        model.addReportedObject(reportedObject("https://www.example.com/"));
+
+        // When
+        model.toggleOrder(0);
+
+        // Then
+        assertThat(model.getRowCount(), is(equalTo(6)));
+    }
+
+    @Test
+    void shouldDiscardPendingRowsOnRefresh() {
+        // Given
+        dao.when(() -> ClientHistoryDao.count("")).thenReturn(5L, 6L);
+        model.refresh();
+        model.toggleOrder(3);
+        model.addReportedObject(reportedObject("https://www.example.com/"));
+
+        // When
+        model.refresh();
+        model.addPendingRows();
+
+        // Then
+        assertThat(model.getRowCount(), is(equalTo(6)));
+    }
+
+    @Test
+    void shouldOrderInDatabase() {
+        // Given
+        dao.when(() -> ClientHistoryDao.count("")).thenReturn(1L);
+        mockPages(1);
+        model.refresh();
+
+        // When
+        model.toggleOrder(3);
+        model.getReportedObject(0);
+        model.toggleOrder(3);
+        model.getReportedObject(0);
+
+        // Then
+        dao.verify(() -> ClientHistoryDao.load("", "url", true, 0L, PAGE_SIZE));
+        dao.verify(() -> ClientHistoryDao.load("", "url", false, 0L, PAGE_SIZE));
+        assertThat(model.getOrderColumn(), is(equalTo(3)));
+        assertThat(model.isAscending(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldShowHistoryIdInFirstColumn() {
+        // Given
+        ReportedObject obj = reportedObject(url(0));
+        obj.setHistoryId(42);
+        mockPage(obj);
+        // When
+        Object value = model.getValueAt(0, 0);
+        // Then
+        assertThat(value, is(equalTo(42L)));
+        assertThat(model.getColumnClass(0), is(equalTo(Long.class)));
+    }
+
+    @Test
+    void shouldShowTheValuesOrderedByForEvents() {
+        // Given
+        ReportedObject event =
+                new ReportedEvent(
+                        new Date(), "click", "BUTTON", "id", "Node", url(0), "", "", "Text", 3);
+        mockPage(event);
+        // When / Then
+        assertThat(model.getValueAt(0, 4), is(equalTo(3)));
+        assertThat(model.getValueAt(0, 5), is(equalTo("Node")));
+        assertThat(model.getValueAt(0, 6), is(equalTo("id")));
+        assertThat(model.getValueAt(0, 7), is(equalTo("Text")));
+    }
+
+    private void mockPage(ReportedObject obj) {
+        dao.when(() -> ClientHistoryDao.count("")).thenReturn(1L);
+        dao.when(
+                        () ->
+                                ClientHistoryDao.load(
+                                        anyString(),
+                                        anyString(),
+                                        anyBoolean(),
+                                        anyLong(),
+                                        eq(PAGE_SIZE)))
+                .thenReturn(List.of(obj));
+        model.refresh();
+    }
+
+    private void mockPages(int total) {
+        dao.when(
+                        () ->
+                                ClientHistoryDao.load(
+                                        anyString(),
+                                        anyString(),
+                                        anyBoolean(),
+                                        anyLong(),
+                                        eq(PAGE_SIZE)))
+                .thenAnswer(
+                        invocation -> {
+                            long offset = invocation.getArgument(3);
+                            List<ReportedObject> page = new ArrayList<>();
+                            for (long i = offset; i < Math.min(total, offset + PAGE_SIZE); i++) {
+                                page.add(reportedObject(url((int) i)));
+                            }
+                            return page;
+                        });
+    }
+
+    private static String url(int i) {
+        return "https://www.example.com/" + i;
+    }
+
+    private static ReportedObject reportedObject(String url) {
+        return new ReportedElement(new Date(), "nodeAdded", "A", "", "A", url, "", "", "", "", -1);
+    }
+}
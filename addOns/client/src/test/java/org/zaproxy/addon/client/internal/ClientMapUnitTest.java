@@ -38,8 +38,19 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import net.sf.json.JSONObject;
 import org.junit.jupiter.api.AfterEach;
@@ -1204,6 +1215,86 @@ class ClientMapUnitTest extends TestUtils {
         verify(listener, never()).componentStateChanged(any(), anyInt(), anyInt(), anyInt());
     }
 
+    @Test
+    void shouldBuildSameMapWhenHandlingRecordedStreamConcurrently() throws Exception {
+        // Given
+        List<String> stream = recordedStream();
+        ClientMap expectedMap =
+                new ClientMap(new ClientNode(new ClientSideDetails("Root", ""), root.getSession()));
+        Map<String, AtomicInteger> expectedNodesAdded = countNodesAdded(expectedMap);
+        stream.forEach(expectedMap::handleReportObject);
+        ZAP.getEventBus().unregisterPublisher(expectedMap);
+        map.removeListener(listener);
+        Map<String, AtomicInteger> nodesAdded = countNodesAdded(map);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            List<String> threadStream = new ArrayList<>(stream);
+            Collections.shuffle(threadStream, new Random(i));
+            results.add(
+                    executor.submit(
+                            () -> {
+                                start.await();
+                                threadStream.forEach(map::handleReportObject);
+                                return null;
+                            }));
+        }
+
+        // When
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(summary(root), is(equalTo(summary(expectedMap.getRoot()))));
+        assertThat(nodesAdded.keySet(), is(equalTo(expectedNodesAdded.keySet())));
+        nodesAdded.forEach(
+                (url, count) -> {
+                    int expected = expectedNodesAdded.get(url).get();
+                    assertThat(url, count.get(), is(equalTo(expected)));
+                });
+    }
+
+    private static Map<String, AtomicInteger> countNodesAdded(ClientMap map) {
+        Map<String, AtomicInteger> nodesAdded = new ConcurrentHashMap<>();
+        map.addListener(
+                new ClientMapListener() {
+                    @Override
+                    public void nodeAdded(String url, int depth, int siblings, int source) {
+                        nodesAdded.computeIfAbsent(url, k -> new AtomicInteger()).incrementAndGet();
+                    }
+
+                    @Override
+                    public void componentAdded(
+                            ClientSideComponent component, int depth, int siblings, int source) {}
+                });
+        return nodesAdded;
+    }
+
+    private static String summary(ClientNode node) {
+        return String.join("\n", node.getNodeSummary(null, 0, true));
+    }
+
+    private static List<String> recordedStream() {
+        List<String> stream = new ArrayList<>();
+        for (String site : List.of(AAA_URL, BBB_URL, CCC_URL, DDD_URL)) {
+            for (int page = 0; page < 50; page++) {
+                String url = site + "/section" + (page % 5) + "/page" + page;
+                stream.add(
+                        REPORTED_OBJECT_JSON.formatted(
+                                url, "\"" + url + "/item?id=" + page + "#details\""));
+                stream.add(
+                        REPORTED_OBJECT_JSON.formatted(
+                                site + "/#/route" + page, "\"" + site + "/\""));
+            }
+        }
+        return stream;
+    }
+
     private void verifyNotifiedAddedComponent(
             ClientSideComponent component, int depth, int siblings, int source) {
         ArgumentCaptor<ClientSideComponent> captor = ArgumentCaptor.captor();
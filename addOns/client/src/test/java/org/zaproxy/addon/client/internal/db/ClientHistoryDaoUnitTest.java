@@ -25,6 +25,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mockStatic;
 
 import java.time.Instant;
@@ -42,6 +43,7 @@ class ClientHistoryDaoUnitTest {
     private static final int OBJECT_TYPE_ELEMENT = 1;
     private static final int OBJECT_TYPE_EVENT = 2;
 
+    private static final long HISTORY_ID = 42L;
     private static final Date TIMESTAMP = new Date(1700000000000L);
     private static final String TYPE = "nodeAdded";
     private static final String TAG_NAME = "A";
@@ -149,6 +151,7 @@ class ClientHistoryDaoUnitTest {
         assertThat(element.getText(), is(equalTo(TEXT)));
         assertThat(element.getTagType(), is(equalTo(tagType)));
         assertThat(element.getFormId(), is(equalTo(formId)));
+        assertThat(element.getHistoryId(), is(equalTo(HISTORY_ID)));
     }
 
     @Test
@@ -174,6 +177,7 @@ class ClientHistoryDaoUnitTest {
         assertThat(event.getHref(), is(equalTo(HREF)));
         assertThat(event.getText(), is(equalTo(TEXT)));
         assertThat(event.getCount(), is(equalTo(count)));
+        assertThat(event.getHistoryId(), is(equalTo(HISTORY_ID)));
     }
 
     @Test
@@ -248,13 +252,39 @@ class ClientHistoryDaoUnitTest {
             tableJdo.when(TableJdo::getPmf).thenReturn(null);
 
             // When
-            List<ReportedObject> result = ClientHistoryDao.loadAll();
+            List<ReportedObject> result =
+                    ClientHistoryDao.load(null, ClientHistoryDao.ORDER_ID, true, 0, 10);
 
             // Then
             assertThat(result, is(empty()));
         }
     }
 
+    @Test
+    void shouldReturnZeroWhenCountingWithNullPmf() {
+        // Given
+        try (MockedStatic<TableJdo> tableJdo = mockStatic(TableJdo.class)) {
+            tableJdo.when(TableJdo::getPmf).thenReturn(null);
+
+            // When
+            long count = ClientHistoryDao.count(null);
+
+            // Then
+            assertThat(count, is(equalTo(0L)));
+        }
+    }
+
+    @Test
+    void shouldFailToLoadWithUnsupportedOrderField() {
+        // Given
+        String orderField = "xpath; DROP";
+
+        // When / Then
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> ClientHistoryDao.load(null, orderField, true, 0, 10));
+    }
+
     @Test
     void shouldNotThrowWhenDeletingWithNullPmf() {
         // Given
@@ -268,6 +298,7 @@ class ClientHistoryDaoUnitTest {
 
     private static ClientHistoryEntry createEntry(int objectType) {
         ClientHistoryEntry entry = new ClientHistoryEntry();
+        entry.setId(HISTORY_ID);
         entry.setTimestamp(Instant.ofEpochMilli(TIMESTAMP.getTime()));
         entry.setType(TYPE);
         entry.setObjectType(objectType);
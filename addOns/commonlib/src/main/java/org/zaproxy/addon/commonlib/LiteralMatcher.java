@@ -0,0 +1,433 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds which of a set of literals occur in a text, in a single pass over the text (Aho-Corasick).
+ *
+ * <p>Allows to discard, before running them, the regular expressions that can not match a text,
+ * those that require a literal (see {@link #getRequiredLiteral(String)}) not present in the text.
+ *
+ * <p>The matcher is immutable and thread-safe.
+ *
+ * @since 1.44.0
+ */
+public final class LiteralMatcher {
+
+    /** The minimum length of the literals worth matching. */
+    public static final int MIN_LITERAL_LENGTH = 3;
+
+    private final boolean ignoreCase;
+    private final List<Map<Character, Integer>> transitions;
+    private final int[] failures;
+    private final int[][] outputs;
+    private final int literalCount;
+
+    /**
+     * Constructs a {@code LiteralMatcher} for the given literals, case sensitive.
+     *
+     * @param literals the literals, the index of each literal is its ID.
+     */
+    public LiteralMatcher(List<String> literals) {
+        this(literals, false);
+    }
+
+    /**
+     * Constructs a {@code LiteralMatcher} for the given literals.
+     *
+     * <p>When ignoring the case the literals are found regardless of the case of their characters,
+     * suitable for regular expressions compiled with {@link
+     * java.util.regex.Pattern#CASE_INSENSITIVE}.
+     *
+     * @param literals the literals, the index of each literal is its ID.
+     * @param ignoreCase {@code true} if the case should be ignored, {@code false} otherwise.
+     */
+    public LiteralMatcher(List<String> literals, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+        literalCount = literals.size();
+        transitions = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        List<List<Integer>> states = new ArrayList<>();
+        states.add(new ArrayList<>());
+
+        for (int i = 0; i < literals.size(); i++) {
+            int state = 0;
+            for (char c : literals.get(i).toCharArray()) {
+                if (ignoreCase) {
+                    c = foldCase(c);
+                }
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.get(state).put(c, next);
+                    transitions.add(new HashMap<>());
+                    states.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            states.get(state).add(i);
+        }
+
+        failures = new int[transitions.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> transition : transitions.get(state).entrySet()) {
+                char c = transition.getKey();
+                int next = transition.getValue();
+                int failure = failures[state];
+                while (failure != 0 && !transitions.get(failure).containsKey(c)) {
+                    failure = failures[failure];
+                }
+                Integer target = transitions.get(failure).get(c);
+                failures[next] = target != null && target != next ? target : 0;
+                states.get(next).addAll(states.get(failures[next]));
+                queue.add(next);
+            }
+        }
+
+        outputs = new int[states.size()][];
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = states.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Finds the literals present in the given text.
+     *
+     * @param text the text to search.
+     * @return the IDs of the literals found.
+     */
+    public BitSet match(CharSequence text) {
+        BitSet found = new BitSet(literalCount);
+        if (literalCount == 0) {
+            return found;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = ignoreCase ? foldCase(text.charAt(i)) : text.charAt(i);
+            Integer next;
+            while ((next = transitions.get(state).get(c)) == null && state != 0) {
+                state = failures[state];
+            }
+            state = next == null ? 0 : next;
+            for (int id : outputs[state]) {
+                found.set(id);
+            }
+        }
+        return found;
+    }
+
+    private static char foldCase(char c) {
+        // Through the upper case, some characters have more than one lower case (e.g. long s).
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Gets the longest literal that a text must contain to be matched by the given regular
+     * expression.
+     *
+     * <p>The analysis is conservative, the literals of optional groups, alternations, and
+     * lookarounds are not considered and expressions with top level alternations, inline flags, or
+     * constructs not handled return {@code null}, that is, no literal is required.
+     *
+     * @param regex the regular expression.
+     * @return the required literal, or {@code null} if none or shorter than {@link
+     *     #MIN_LITERAL_LENGTH}.
+     */
+    public static String getRequiredLiteral(String regex) {
+        List<String> runs = new ArrayList<>();
+        Deque<int[]> groups = new ArrayDeque<>();
+        StringBuilder current = new StringBuilder();
+        boolean lastAtomLiteral = false;
+        int lastGroupStart = -1;
+        int length = regex.length();
+        int i = 0;
+        while (i < length) {
+            char c = regex.charAt(i);
+            switch (c) {
+                case '\\':
+                    if (i + 1 >= length) {
+                        return null;
+                    }
+                    char escaped = regex.charAt(i + 1);
+                    lastGroupStart = -1;
+                    if (escaped == 'Q') {
+                        int end = regex.indexOf("\\E", i + 2);
+                        String quoted = regex.substring(i + 2, end == -1 ? length : end);
+                        current.append(quoted);
+                        lastAtomLiteral = !quoted.isEmpty();
+                        i = end == -1 ? length : end + 2;
+                    } else if (Character.isLetterOrDigit(escaped)) {
+                        flush(current, runs);
+                        lastAtomLiteral = false;
+                        i = skipEscape(regex, i + 1);
+                        if (i == -1) {
+                            return null;
+                        }
+                    } else {
+                        current.append(escaped);
+                        lastAtomLiteral = true;
+                        i += 2;
+                    }
+                    break;
+
+                case '[':
+                    flush(current, runs);
+                    i = skipClass(regex, i);
+                    if (i == -1) {
+                        return null;
+                    }
+                    lastAtomLiteral = false;
+                    lastGroupStart = -1;
+                    break;
+
+                case '(':
+                    flush(current, runs);
+                    boolean lookaround = false;
+                    i++;
+                    if (i < length && regex.charAt(i) == '?') {
+                        char type = i + 1 < length ? regex.charAt(i + 1) : 0;
+                        char subtype = i + 2 < length ? regex.charAt(i + 2) : 0;
+                        if (type == ':') {
+                            i += 2;
+                        } else if (type == '=' || type == '!') {
+                            lookaround = true;
+                            i += 2;
+                        } else if (type == '<' && (subtype == '=' || subtype == '!')) {
+                            lookaround = true;
+                            i += 3;
+                        } else if (type == '<') {
+                            i = regex.indexOf('>', i);
+                            if (i == -1) {
+                                return null;
+                            }
+                            i++;
+                        } else {
+                            return null;
+                        }
+                    }
+                    groups.push(new int[] {runs.size(), lookaround ? 1 : 0});
+                    lastAtomLiteral = false;
+                    lastGroupStart = -1;
+                    break;
+
+                case ')':
+                    flush(current, runs);
+                    if (groups.isEmpty()) {
+                        return null;
+                    }
+                    int[] group = groups.pop();
+                    if (group[1] == 1) {
+                        truncate(runs, group[0]);
+                        lastGroupStart = -1;
+                    } else {
+                        lastGroupStart = group[0];
+                    }
+                    lastAtomLiteral = false;
+                    i++;
+                    break;
+
+                case '|':
+                    if (groups.isEmpty()) {
+                        return null;
+                    }
+                    flush(current, runs);
+                    groups.peek()[1] = 1;
+                    lastAtomLiteral = false;
+                    lastGroupStart = -1;
+                    i++;
+                    break;
+
+                case '?':
+                case '*':
+                case '{':
+                    int min = 0;
+                    if (c == '{') {
+                        int end = regex.indexOf('}', i);
+                        if (end == -1) {
+                            return null;
+                        }
+                        String bounds = regex.substring(i + 1, end);
+                        int comma = bounds.indexOf(',');
+                        try {
+                            min =
+                                    Integer.parseInt(
+                                            comma == -1 ? bounds : bounds.substring(0, comma));
+                        } catch (NumberFormatException e) {
+                            return null;
+                        }
+                        i = end + 1;
+                    } else {
+                        i++;
+                    }
+                    if (min == 0) {
+                        if (lastAtomLiteral) {
+                            current.setLength(current.length() - 1);
+                        } else if (lastGroupStart != -1) {
+                            truncate(runs, lastGroupStart);
+                        }
+                    }
+                    flush(current, runs);
+                    i = skipQuantifierMode(regex, i);
+                    lastAtomLiteral = false;
+                    lastGroupStart = -1;
+                    break;
+
+                case '+':
+                    flush(current, runs);
+                    i = skipQuantifierMode(regex, i + 1);
+                    lastAtomLiteral = false;
+                    lastGroupStart = -1;
+                    break;
+
+                case '.':
+                case '^':
+                case '$':
+                    flush(current, runs);
+                    lastAtomLiteral = false;
+                    lastGroupStart = -1;
+                    i++;
+                    break;
+
+                default:
+                    current.append(c);
+                    lastAtomLiteral = true;
+                    lastGroupStart = -1;
+                    i++;
+            }
+        }
+        flush(current, runs);
+        if (!groups.isEmpty()) {
+            return null;
+        }
+
+        String literal = null;
+        for (String run : runs) {
+            if (literal == null || run.length() > literal.length()) {
+                literal = run;
+            }
+        }
+        return literal != null && literal.length() >= MIN_LITERAL_LENGTH ? literal : null;
+    }
+
+    private static void flush(StringBuilder current, List<String> runs) {
+        if (current.length() != 0) {
+            runs.add(current.toString());
+            current.setLength(0);
+        }
+    }
+
+    private static void truncate(List<String> runs, int size) {
+        while (runs.size() > size) {
+            runs.remove(runs.size() - 1);
+        }
+    }
+
+    /**
+     * Skips the escape sequence that starts with the given letter or digit, including its
+     * arguments (e.g. {@code \x41}, {@code \p{L}}, {@code \k<name>}).
+     *
+     * @return the index after the escape sequence, or -1 if malformed.
+     */
+    private static int skipEscape(String regex, int start) {
+        char escaped = regex.charAt(start);
+        int i = start + 1;
+        switch (escaped) {
+            case 'x':
+                if (i < regex.length() && regex.charAt(i) == '{') {
+                    return skipPast(regex, i, '}');
+                }
+                return Math.min(i + 2, regex.length());
+            case 'u':
+                return Math.min(i + 4, regex.length());
+            case 'c':
+                return Math.min(i + 1, regex.length());
+            case 'p':
+            case 'P':
+                if (i < regex.length() && regex.charAt(i) == '{') {
+                    return skipPast(regex, i, '}');
+                }
+                return Math.min(i + 1, regex.length());
+            case 'k':
+                return skipPast(regex, i, '>');
+            default:
+                if (Character.isDigit(escaped)) {
+                    // Octal values and back references, skip the following digits too.
+                    while (i < regex.length() && Character.isDigit(regex.charAt(i))) {
+                        i++;
+                    }
+                }
+                return i;
+        }
+    }
+
+    private static int skipPast(String regex, int start, char end) {
+        int i = regex.indexOf(end, start);
+        return i == -1 ? -1 : i + 1;
+    }
+
+    private static int skipQuantifierMode(String regex, int i) {
+        if (i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+            return i + 1;
+        }
+        return i;
+    }
+
+    private static int skipClass(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                i++;
+                if (i < regex.length() && regex.charAt(i) == '^') {
+                    i++;
+                }
+                if (i < regex.length() && regex.charAt(i) == ']') {
+                    i++;
+                }
+                continue;
+            }
+            if (c == ']') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+}
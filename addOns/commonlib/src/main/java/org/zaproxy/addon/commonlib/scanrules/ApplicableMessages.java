@@ -0,0 +1,180 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.scanrules;
+
+import java.util.function.Predicate;
+import org.parosproxy.paros.network.HttpResponseHeader;
+
+/**
+ * The messages a passive scan rule applies to.
+ *
+ * <p>Allows the passive scanner to not call the scan rule for messages that it would ignore, for
+ * example, an image for a scan rule that only scans HTML responses.
+ *
+ * @since 1.44.0
+ * @see ApplicableMessagesProvider
+ */
+public final class ApplicableMessages {
+
+    /** The scan rule applies to all messages. */
+    public static final ApplicableMessages ALL = builder().build();
+
+    private final boolean requests;
+    private final boolean responses;
+    private final Predicate<HttpResponseHeader> contentType;
+    private final int minStatusCode;
+    private final int maxStatusCode;
+
+    private ApplicableMessages(Builder builder) {
+        this.requests = builder.requests;
+        this.responses = builder.responses;
+        this.contentType = builder.contentType;
+        this.minStatusCode = builder.minStatusCode;
+        this.maxStatusCode = builder.maxStatusCode;
+    }
+
+    /**
+     * Tells whether or not the scan rule applies to requests.
+     *
+     * @return {@code true} if the scan rule applies to requests, {@code false} otherwise.
+     */
+    public boolean appliesToRequests() {
+        return requests;
+    }
+
+    /**
+     * Tells whether or not the scan rule applies to the response with the given header.
+     *
+     * <p>The result depends only on the status code and the {@code Content-Type} of the response.
+     *
+     * @param header the header of the response.
+     * @return {@code true} if the scan rule applies to the response, {@code false} otherwise.
+     */
+    public boolean appliesToResponse(HttpResponseHeader header) {
+        if (!responses) {
+            return false;
+        }
+        int statusCode = header.getStatusCode();
+        if (statusCode < minStatusCode || statusCode > maxStatusCode) {
+            return false;
+        }
+        return contentType == null || contentType.test(header);
+    }
+
+    /**
+     * Returns a new builder.
+     *
+     * @return the builder, never {@code null}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** A builder of {@link ApplicableMessages}. */
+    public static final class Builder {
+
+        private boolean requests = true;
+        private boolean responses = true;
+        private Predicate<HttpResponseHeader> contentType;
+        private int minStatusCode = 0;
+        private int maxStatusCode = Integer.MAX_VALUE;
+
+        private Builder() {}
+
+        /**
+         * The scan rule applies only to requests.
+         *
+         * @return this builder.
+         */
+        public Builder requestsOnly() {
+            requests = true;
+            responses = false;
+            return this;
+        }
+
+        /**
+         * The scan rule applies only to responses.
+         *
+         * @return this builder.
+         */
+        public Builder responsesOnly() {
+            requests = false;
+            responses = true;
+            return this;
+        }
+
+        /**
+         * The scan rule applies only to HTML responses.
+         *
+         * @return this builder.
+         * @see HttpResponseHeader#isHtml()
+         */
+        public Builder htmlResponses() {
+            contentType = HttpResponseHeader::isHtml;
+            return this;
+        }
+
+        /**
+         * The scan rule applies only to text responses.
+         *
+         * @return this builder.
+         * @see HttpResponseHeader#isText()
+         */
+        public Builder textResponses() {
+            contentType = HttpResponseHeader::isText;
+            return this;
+        }
+
+        /**
+         * The scan rule applies only to responses with any of the given content types.
+         *
+         * @param contentTypes the content types, for example, {@code "json"}.
+         * @return this builder.
+         * @see HttpResponseHeader#hasContentType(String...)
+         */
+        public Builder responseContentTypes(String... contentTypes) {
+            String[] values = contentTypes.clone();
+            contentType = header -> header.hasContentType(values);
+            return this;
+        }
+
+        /**
+         * The scan rule applies only to responses with the given status codes.
+         *
+         * @param min the minimum status code, inclusive.
+         * @param max the maximum status code, inclusive.
+         * @return this builder.
+         */
+        public Builder statusCodes(int min, int max) {
+            minStatusCode = min;
+            maxStatusCode = max;
+            return this;
+        }
+
+        /**
+         * Builds the {@code ApplicableMessages}.
+         *
+         * @return the {@code ApplicableMessages}, never {@code null}.
+         */
+        public ApplicableMessages build() {
+            return new ApplicableMessages(this);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.scanrules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import net.htmlparser.jericho.Element;
+import net.htmlparser.jericho.Source;
+import org.parosproxy.paros.network.HttpHeaderField;
+import org.parosproxy.paros.network.HttpMessage;
+
+/**
+ * The data of a message being passively scanned, shared by all the passive scan rules.
+ *
+ * <p>The data is built lazily, once, and cached while the message is being scanned, for example,
+ * the HTML elements by tag name, the response headers, or the response body. The lists returned
+ * are shared and must not be modified.
+ *
+ * <p>The data is not thread-safe, it's expected to be used by the thread scanning the message.
+ *
+ * @since 1.44.0
+ */
+public final class PassiveScanMessageData {
+
+    private static final ThreadLocal<PassiveScanMessageData> CURRENT = new ThreadLocal<>();
+
+    private final HttpMessage msg;
+    private final Source source;
+
+    private final Map<String, List<Element>> elementsByTag;
+    private Map<String, List<String>> responseHeaders;
+    private String responseBody;
+
+    private PassiveScanMessageData(HttpMessage msg, Source source) {
+        this.msg = msg;
+        this.source = source;
+        this.elementsByTag = new HashMap<>();
+    }
+
+    /**
+     * Starts the scan of the given message, the data is shared by the scan rules called by the
+     * current thread until {@link #end()} is called.
+     *
+     * <p><strong>Note:</strong> Not part of the public API, called by the passive scanner.
+     *
+     * @param msg the message being scanned.
+     * @param source the source of the response being scanned.
+     * @return the data of the message.
+     */
+    public static PassiveScanMessageData begin(HttpMessage msg, Source source) {
+        PassiveScanMessageData data = new PassiveScanMessageData(msg, source);
+        CURRENT.set(data);
+        return data;
+    }
+
+    /**
+     * Ends the scan of the current message, the data is no longer shared.
+     *
+     * <p><strong>Note:</strong> Not part of the public API, called by the passive scanner.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Gets the data of the given message.
+     *
+     * <p>If the message is not the one being scanned by the current thread new data is returned,
+     * not shared with other scan rules.
+     *
+     * @param msg the message.
+     * @param source the source of the response.
+     * @return the data of the message, never {@code null}.
+     */
+    public static PassiveScanMessageData get(HttpMessage msg, Source source) {
+        PassiveScanMessageData data = CURRENT.get();
+        if (data != null && data.msg == msg && data.source == source) {
+            return data;
+        }
+        return new PassiveScanMessageData(msg, source);
+    }
+
+    /**
+     * Gets the elements of the response with the given name.
+     *
+     * @param name the name of the elements, for example, {@code HTMLElementName.SCRIPT}.
+     * @return the elements, never {@code null}.
+     * @see Source#getAllElements(String)
+     */
+    public List<Element> getElements(String name) {
+        return elementsByTag.computeIfAbsent(
+                name, k -> Collections.unmodifiableList(source.getAllElements(k)));
+    }
+
+    /**
+     * Gets the values of the response header with the given name.
+     *
+     * @param name the name of the header, case insensitive.
+     * @return the values of the header, never {@code null}.
+     */
+    public List<String> getResponseHeaderValues(String name) {
+        if (responseHeaders == null) {
+            Map<String, List<String>> headers = new HashMap<>();
+            for (HttpHeaderField field : msg.getResponseHeader().getHeaders()) {
+                headers.computeIfAbsent(
+                                field.getName().toLowerCase(Locale.ROOT), k -> new ArrayList<>())
+                        .add(field.getValue());
+            }
+            headers.replaceAll((k, v) -> Collections.unmodifiableList(v));
+            responseHeaders = headers;
+        }
+        return responseHeaders.getOrDefault(name.toLowerCase(Locale.ROOT), List.of());
+    }
+
+    /**
+     * Gets the response body, as a string.
+     *
+     * @return the response body, never {@code null}.
+     */
+    public String getResponseBody() {
+        if (responseBody == null) {
+            responseBody = msg.getResponseBody().toString();
+        }
+        return responseBody;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.scanrules;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time a scan rule is allowed to take scanning a message.
+ *
+ * <p>The budget is enforced cooperatively, the scan rules wrap the content they match against
+ * (e.g. with regular expressions) with {@link #bound(CharSequence)}, which throws a {@link
+ * ScanRuleTimeoutException} once the budget is exceeded, or the thread interrupted, instead of
+ * letting a pathological input stall the scanner.
+ *
+ * <p>The budget is per thread, started and ended by the scanner around each scan rule.
+ *
+ * @since 1.44.0
+ */
+public final class ScanRuleTimeBudget {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    /** The number of characters accessed between checks of the deadline. */
+    private static final int CHECK_INTERVAL = 1024;
+
+    private ScanRuleTimeBudget() {}
+
+    /**
+     * Starts the budget of the scan rule about to be run by the current thread.
+     *
+     * <p><strong>Note:</strong> Not part of the public API, called by the scanners.
+     *
+     * @param budgetInMs the budget, in milliseconds, if zero or negative there's no budget.
+     */
+    public static void start(long budgetInMs) {
+        if (budgetInMs <= 0) {
+            DEADLINE.remove();
+            return;
+        }
+        DEADLINE.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetInMs));
+    }
+
+    /**
+     * Ends the budget of the scan rule run by the current thread.
+     *
+     * <p><strong>Note:</strong> Not part of the public API, called by the scanners.
+     */
+    public static void end() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Tells whether or not the budget of the current thread was exceeded.
+     *
+     * @return {@code true} if the budget was exceeded, {@code false} otherwise, or if there's no
+     *     budget.
+     */
+    public static boolean isExceeded() {
+        Long deadline = DEADLINE.get();
+        return deadline != null && isPast(deadline);
+    }
+
+    /**
+     * Bounds the given content to the budget of the current thread.
+     *
+     * <p>The returned sequence throws a {@link ScanRuleTimeoutException} when accessed after the
+     * budget was exceeded or the thread interrupted, for example, to stop a regular expression
+     * that backtracks excessively.
+     *
+     * @param content the content to bound.
+     * @return the bounded content, or the given content if there's no budget.
+     */
+    public static CharSequence bound(CharSequence content) {
+        Long deadline = DEADLINE.get();
+        if (deadline == null || content == null) {
+            return content;
+        }
+        return new TimeBoundedCharSequence(content, deadline);
+    }
+
+    private static boolean isPast(long deadline) {
+        return System.nanoTime() - deadline > 0;
+    }
+
+    private static class TimeBoundedCharSequence implements CharSequence {
+
+        private final CharSequence content;
+        private final long deadline;
+        private int accesses;
+
+        TimeBoundedCharSequence(CharSequence content, long deadline) {
+            this.content = content;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++accesses >= CHECK_INTERVAL) {
+                accesses = 0;
+                if (isPast(deadline)) {
+                    throw new ScanRuleTimeoutException("Time budget exceeded.");
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new ScanRuleTimeoutException("Thread interrupted.");
+                }
+            }
+            return content.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return content.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new TimeBoundedCharSequence(content.subSequence(start, end), deadline);
+        }
+
+        @Override
+        public String toString() {
+            return content.toString();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.timing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.network.HttpMessage;
+import org.parosproxy.paros.network.HttpRequestHeader;
+
+/**
+ * The distribution of the response times of a host, in the absence of injected delays.
+ *
+ * <p>Allows the time-based blind detection to size the high delay it injects based on how much the
+ * response times of the host normally vary, so that the delay stands out of that variation. Only
+ * the latest samples are kept, to follow the changes of the host.
+ *
+ * <p>The baselines are shared by all the scan rules, the instances are thread-safe.
+ *
+ * @since 1.44.0
+ * @see TimingUtils#checkTimingDependence(int, int, TimingUtils.RequestSender, double, double,
+ *     LatencyBaseline)
+ */
+public class LatencyBaseline {
+
+    /** The minimum number of samples required to use the baseline. */
+    public static final int MINIMUM_SAMPLES = 10;
+
+    private static final int MAX_SAMPLES = 50;
+    private static final int MAX_HOSTS = 1000;
+
+    private static final Map<String, LatencyBaseline> BASELINES = new ConcurrentHashMap<>();
+
+    private final double[] samples;
+    private final int[] sampleIds;
+    private int next;
+    private int count;
+
+    LatencyBaseline() {
+        samples = new double[MAX_SAMPLES];
+        sampleIds = new int[MAX_SAMPLES];
+    }
+
+    /**
+     * Gets the baseline of the host of the given message.
+     *
+     * @param msg the message whose target host the baseline is for.
+     * @return the baseline, never {@code null}.
+     */
+    public static LatencyBaseline getInstance(HttpMessage msg) {
+        HttpRequestHeader header = msg.getRequestHeader();
+        String host = header.getHostName() + ":" + header.getHostPort();
+        if (BASELINES.size() >= MAX_HOSTS && !BASELINES.containsKey(host)) {
+            BASELINES.clear();
+        }
+        return BASELINES.computeIfAbsent(host, k -> new LatencyBaseline());
+    }
+
+    /**
+     * Adds the response time of the given message, if measured.
+     *
+     * <p>The message should be one without injected delays, for example, the original message
+     * being scanned. A message already in the baseline, that is, with the same history ID, is not
+     * added again, the scan rules would otherwise add the same response time of the message being
+     * scanned and reduce the variation of the baseline.
+     *
+     * @param msg the message.
+     */
+    public void addSample(HttpMessage msg) {
+        HistoryReference href = msg.getHistoryRef();
+        addSample(href != null ? href.getHistoryId() : 0, msg.getTimeElapsedMillis() / 1000.0);
+    }
+
+    /**
+     * Adds the given response time.
+     *
+     * @param seconds the response time, in seconds. Ignored if not positive.
+     */
+    public void addSample(double seconds) {
+        addSample(0, seconds);
+    }
+
+    private synchronized void addSample(int id, double seconds) {
+        if (seconds <= 0 || (id > 0 && containsSample(id))) {
+            return;
+        }
+        samples[next] = seconds;
+        sampleIds[next] = id;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    private boolean containsSample(int id) {
+        for (int i = 0; i < count; i++) {
+            if (sampleIds[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of samples in the baseline.
+     *
+     * @return the number of samples, at most the number of latest samples kept.
+     */
+    public synchronized int getSampleCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the response times.
+     *
+     * @return the mean, in seconds, or 0 if there are no samples.
+     */
+    public synchronized double getMean() {
+        if (count == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += samples[i];
+        }
+        return sum / count;
+    }
+
+    /**
+     * Gets the (sample) standard deviation of the response times.
+     *
+     * @return the standard deviation, in seconds, or 0 if there are less than 2 samples.
+     */
+    public synchronized double getStandardDeviation() {
+        if (count < 2) {
+            return 0;
+        }
+        double mean = getMean();
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            double diff = samples[i] - mean;
+            sum += diff * diff;
+        }
+        return Math.sqrt(sum / (count - 1));
+    }
+
+    static void clear() {
+        BASELINES.clear();
+    }
+}
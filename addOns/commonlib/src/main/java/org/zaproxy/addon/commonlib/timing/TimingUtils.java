@@ -31,6 +31,15 @@ public class TimingUtils {
     // Minimum requests required for a result
     private static final int MINIMUM_REQUESTS = 2;
 
+    private static final int LOW_SLEEP_TIME_SECONDS = 1;
+
+    // Minimum high sleep value picked from the baseline
+    private static final int MINIMUM_HIGH_SLEEP_TIME_SECONDS = 2;
+
+    // Standard deviations either side of the mean considered the normal variation of the
+    // response times
+    private static final double NORMAL_VARIATION_DEVIATIONS = 4;
+
     /**
      * Sends time-based blind requests and analyze the response times using simple linear
      * regression. If this returns true, then an increment in payload delay positively correlates to
@@ -95,7 +104,8 @@ public class TimingUtils {
             }
 
             // send the low value sleep request
-            isCorrelationPossible = sendRequestAndTestConfidence(regression, requestSender, 1);
+            isCorrelationPossible =
+                    sendRequestAndTestConfidence(regression, requestSender, LOW_SLEEP_TIME_SECONDS);
             // return early if we're clearly not close
             if (!isCorrelationPossible) {
                 return false;
@@ -111,6 +121,65 @@ public class TimingUtils {
         return regression.isWithinConfidence(correlationErrorRange, 1.0, slopeErrorRange);
     }
 
+    /**
+     * Sends time-based blind requests and analyze the response times using simple linear
+     * regression, picking the delays based on the response times of the host.
+     *
+     * <p>Same as {@link #checkTimingDependence(int, int, RequestSender, double, double)} but, once
+     * the baseline has enough samples, the high sleep value is the lowest that still exceeds the
+     * normal variation of the response times, up to the given high sleep value.
+     *
+     * <p>The baseline is not used to discard the responses, as the endpoint tested might respond
+     * faster than the other endpoints of the host.
+     *
+     * <p>The response times returned by the {@code requestSender} should have (at least)
+     * millisecond precision, not whole seconds, as the delays picked might be just a couple of
+     * seconds apart.
+     *
+     * @param requestsLimit the hard limit on how many times at most requestSender will be called.
+     * @param highSleepTimeSeconds the maximum high sleep value to send in requests
+     * @param requestSender function that takes in the expected time, sends the request, and returns
+     *     the actual delay.
+     * @param correlationErrorRange the interval of acceptance for the regression correlation.
+     * @param slopeErrorRange the interval of acceptance for the regression slope.
+     * @param baseline the response times of the host, without injected delays.
+     * @return true if the response times correlate linearly, false otherwise.
+     * @throws IllegalArgumentException if less than 2 is provided as the requestsLimit.
+     * @throws IOException if the RequestSender throws an IOException, it will bubble up here
+     * @since 1.44.0
+     */
+    public static boolean checkTimingDependence(
+            int requestsLimit,
+            int highSleepTimeSeconds,
+            RequestSender requestSender,
+            double correlationErrorRange,
+            double slopeErrorRange,
+            LatencyBaseline baseline)
+            throws IOException {
+        if (baseline.getSampleCount() < LatencyBaseline.MINIMUM_SAMPLES) {
+            return checkTimingDependence(
+                    requestsLimit,
+                    highSleepTimeSeconds,
+                    requestSender,
+                    correlationErrorRange,
+                    slopeErrorRange);
+        }
+
+        double variation = NORMAL_VARIATION_DEVIATIONS * baseline.getStandardDeviation();
+        // The response times vary by up to the variation either side of the mean, the difference
+        // between the high and low sleep values needs to be enough for the variations to keep the
+        // regression slope within the acceptance interval.
+        int highSleep =
+                Math.min(
+                        highSleepTimeSeconds,
+                        Math.max(
+                                MINIMUM_HIGH_SLEEP_TIME_SECONDS,
+                                LOW_SLEEP_TIME_SECONDS
+                                        + (int) Math.ceil(2 * variation / slopeErrorRange)));
+        return checkTimingDependence(
+                requestsLimit, highSleep, requestSender, correlationErrorRange, slopeErrorRange);
+    }
+
     /**
      * Helper function to send a single request and add it to the regression Also has optimizations
      * to check if the a correlation is clearly not possible
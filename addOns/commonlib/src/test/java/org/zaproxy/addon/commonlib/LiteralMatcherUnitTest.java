@@ -0,0 +1,145 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Unit test for {@link LiteralMatcher}. */
+class LiteralMatcherUnitTest {
+
+    @Test
+    void shouldMatchNothingWithoutLiterals() {
+        // Given
+        LiteralMatcher matcher = new LiteralMatcher(List.of());
+        // When
+        BitSet found = matcher.match("Some text");
+        // Then
+        assertThat(found.isEmpty(), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldFindLiteralsPresentInText() {
+        // Given
+        LiteralMatcher matcher = new LiteralMatcher(List.of("he", "she", "his", "hers", "xyz"));
+        // When
+        BitSet found = matcher.match("ushers");
+        // Then
+        assertThat(found.toString(), is(equalTo("{0, 1, 3}")));
+    }
+
+    @Test
+    void shouldFindOverlappingLiterals() {
+        // Given
+        LiteralMatcher matcher = new LiteralMatcher(List.of("jQuery v", "Query", "y v1"));
+        // When
+        BitSet found = matcher.match("/*! jQuery v1.2.3 */");
+        // Then
+        assertThat(found.toString(), is(equalTo("{0, 1, 2}")));
+    }
+
+    @Test
+    void shouldFindLiteralsIgnoringCase() {
+        // Given
+        LiteralMatcher matcher = new LiteralMatcher(List.of("jQuery", "WordPress", "Drupal"), true);
+        // When
+        BitSet found = matcher.match("<meta name=generator content=\"WORDPRESS\"> jquery.js");
+        // Then
+        assertThat(found.toString(), is(equalTo("{0, 1}")));
+    }
+
+    @Test
+    void shouldNotFindLiteralsWithDifferentCaseIfCaseSensitive() {
+        // Given
+        LiteralMatcher matcher = new LiteralMatcher(List.of("jQuery"));
+        // When
+        BitSet found = matcher.match("jquery.js");
+        // Then
+        assertThat(found.isEmpty(), is(equalTo(true)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("regexesWithRequiredLiteral")
+    void shouldGetRequiredLiteral(String regex, String literal) {
+        // Given / When
+        String requiredLiteral = LiteralMatcher.getRequiredLiteral(regex);
+        // Then
+        assertThat(requiredLiteral, is(equalTo(literal)));
+    }
+
+    static Stream<Arguments> regexesWithRequiredLiteral() {
+        return Stream.of(
+                arguments("/\\*!? jQuery v([0-9][0-9a-z._\\-]+?)", " jQuery v"),
+                arguments("retire-example-([0-9][0-9a-z._\\-]+?)(.min)?\\.js", "retire-example-"),
+                arguments("jquery(\\.min)?\\.js", "jquery"),
+                arguments("/([0-9][0-9a-z._\\-]+?)/jquery-ui(\\.min)?\\.js", "/jquery-ui"),
+                arguments(
+                        "Handlebars=\\{VERSION:(?:'|\")([0-9][0-9a-z._\\-]+?)(?:'|\")",
+                        "Handlebars={VERSION:"),
+                arguments("\"use strict\";?[\\s]*e=1", "\"use strict\""),
+                arguments("abcdef*", "abcde"),
+                arguments("abc+def", "abc"),
+                arguments("abcde{0,2}f", "abcd"),
+                arguments("abcde{1,2}f", "abcde"),
+                arguments("abcd(?=efghij)", "abcd"),
+                arguments("abcd(?<!efghij)", "abcd"),
+                arguments("(?<name>abcd)e", "abcd"),
+                arguments("[abcdef]xyz[^]ghij]", "xyz"),
+                arguments("\\Qa.b(c\\E+xyz", "a.b(c"),
+                arguments("abcd\\x41bc", "abcd"),
+                arguments("\\x{41}abcd\\u0041bc", "abcd"),
+                arguments("\\p{L}abcd\\1234", "abcd"),
+                arguments("(?<v>x)\\k<v>abcd", "abcd"),
+                arguments("\\QabcD\\E?", "abc"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "abc|def",
+                "(?i)jquery",
+                "ab",
+                "a.b.c",
+                "(abcdef)?",
+                "(abc|def)",
+                "\\d+\\w*",
+                "abc(",
+                "abc)",
+                "abc[de",
+            })
+    void shouldNotGetRequiredLiteral(String regex) {
+        // Given / When
+        String requiredLiteral = LiteralMatcher.getRequiredLiteral(regex);
+        // Then
+        assertThat(requiredLiteral, is(nullValue()));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.scanrules;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.parosproxy.paros.network.HttpResponseHeader;
+
+/** Unit test for {@link ApplicableMessages}. */
+class ApplicableMessagesUnitTest {
+
+    @Test
+    void shouldApplyToAllMessagesByDefault() throws Exception {
+        // Given
+        ApplicableMessages applicableMessages = ApplicableMessages.ALL;
+        // When / Then
+        assertThat(applicableMessages.appliesToRequests(), is(equalTo(true)));
+        assertThat(
+                applicableMessages.appliesToResponse(createHeader(404, "image/png")),
+                is(equalTo(true)));
+    }
+
+    @Test
+    void shouldApplyOnlyToRequests() throws Exception {
+        // Given
+        ApplicableMessages applicableMessages = ApplicableMessages.builder().requestsOnly().build();
+        // When / Then
+        assertThat(applicableMessages.appliesToRequests(), is(equalTo(true)));
+        assertThat(
+                applicableMessages.appliesToResponse(createHeader(200, "text/html")),
+                is(equalTo(false)));
+    }
+
+    @Test
+    void shouldApplyOnlyToResponses() throws Exception {
+        // Given
+        ApplicableMessages applicableMessages =
+                ApplicableMessages.builder().responsesOnly().build();
+        // When / Then
+        assertThat(applicableMessages.appliesToRequests(), is(equalTo(false)));
+        assertThat(
+                applicableMessages.appliesToResponse(createHeader(200, "text/html")),
+                is(equalTo(true)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "text/html, true",
+        "application/xhtml+xml, true",
+        "application/javascript, false",
+        "image/png, false"
+    })
+    void shouldApplyOnlyToHtmlResponses(String contentType, boolean applies) throws Exception {
+        // Given
+        ApplicableMessages applicableMessages =
+                ApplicableMessages.builder().htmlResponses().build();
+        // When / Then
+        assertThat(
+                applicableMessages.appliesToResponse(createHeader(200, contentType)),
+                is(equalTo(applies)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"application/json, true", "text/json, true", "text/html, false"})
+    void shouldApplyOnlyToResponsesWithContentTypes(String contentType, boolean applies)
+            throws Exception {
+        // Given
+        ApplicableMessages applicableMessages =
+                ApplicableMessages.builder().responseContentTypes("json").build();
+        // When / Then
+        assertThat(
+                applicableMessages.appliesToResponse(createHeader(200, contentType)),
+                is(equalTo(applies)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"199, false", "200, true", "302, true", "399, true", "400, false"})
+    void shouldApplyOnlyToResponsesWithStatusCodes(int statusCode, boolean applies)
+            throws Exception {
+        // Given
+        ApplicableMessages applicableMessages =
+                ApplicableMessages.builder().statusCodes(200, 399).build();
+        // When / Then
+        assertThat(
+                applicableMessages.appliesToResponse(createHeader(statusCode, "text/html")),
+                is(equalTo(applies)));
+    }
+
+    private static HttpResponseHeader createHeader(int statusCode, String contentType)
+            throws Exception {
+        return new HttpResponseHeader(
+                "HTTP/1.1 " + statusCode + " Reason\r\nContent-Type: " + contentType + "\r\n\r\n");
+    }
+}
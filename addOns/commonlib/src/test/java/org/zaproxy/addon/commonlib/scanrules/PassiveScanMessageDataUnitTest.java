@@ -0,0 +1,131 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.scanrules;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.List;
+import net.htmlparser.jericho.Element;
+import net.htmlparser.jericho.HTMLElementName;
+import net.htmlparser.jericho.Source;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HttpMessage;
+
+/** Unit test for {@link PassiveScanMessageData}. */
+class PassiveScanMessageDataUnitTest {
+
+    private static final String BODY =
+            "<html><head><meta http-equiv=\"refresh\" content=\"1\"><script src=\"a.js\"></script>"
+                    + "</head><body><a href=\"/\">Link</a><script>var a;</script></body></html>";
+
+    private HttpMessage msg;
+    private Source source;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        msg = new HttpMessage();
+        msg.setRequestHeader("GET https://example.com/ HTTP/1.1");
+        msg.setResponseHeader(
+                "HTTP/1.1 200 OK\r\n"
+                        + "Content-Type: text/html\r\n"
+                        + "Set-Cookie: a=1\r\n"
+                        + "set-cookie: b=2; HttpOnly\r\n");
+        msg.setResponseBody(BODY);
+        source = new Source(BODY);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        PassiveScanMessageData.end();
+    }
+
+    @Test
+    void shouldShareDataOfMessageBeingScanned() {
+        // Given
+        PassiveScanMessageData data = PassiveScanMessageData.begin(msg, source);
+        // When
+        PassiveScanMessageData current = PassiveScanMessageData.get(msg, source);
+        // Then
+        assertThat(current, is(sameInstance(data)));
+    }
+
+    @Test
+    void shouldNotShareDataOfOtherMessage() {
+        // Given
+        PassiveScanMessageData data = PassiveScanMessageData.begin(msg, source);
+        // When
+        PassiveScanMessageData other = PassiveScanMessageData.get(new HttpMessage(), source);
+        // Then
+        assertThat(other, is(not(sameInstance(data))));
+    }
+
+    @Test
+    void shouldNotShareDataOnceEnded() {
+        // Given
+        PassiveScanMessageData data = PassiveScanMessageData.begin(msg, source);
+        PassiveScanMessageData.end();
+        // When
+        PassiveScanMessageData current = PassiveScanMessageData.get(msg, source);
+        // Then
+        assertThat(current, is(not(sameInstance(data))));
+    }
+
+    @Test
+    void shouldGetAndCacheElementsByName() {
+        // Given
+        PassiveScanMessageData data = PassiveScanMessageData.get(msg, source);
+        // When
+        List<Element> scripts = data.getElements(HTMLElementName.SCRIPT);
+        // Then
+        assertThat(scripts, hasSize(2));
+        assertThat(data.getElements(HTMLElementName.SCRIPT), is(sameInstance(scripts)));
+        assertThat(data.getElements(HTMLElementName.META), hasSize(1));
+        assertThat(data.getElements(HTMLElementName.FORM), hasSize(0));
+    }
+
+    @Test
+    void shouldGetResponseHeaderValuesCaseInsensitively() {
+        // Given
+        PassiveScanMessageData data = PassiveScanMessageData.get(msg, source);
+        // When
+        List<String> values = data.getResponseHeaderValues("SET-COOKIE");
+        // Then
+        assertThat(values, contains("a=1", "b=2; HttpOnly"));
+        assertThat(data.getResponseHeaderValues("X-Missing"), hasSize(0));
+    }
+
+    @Test
+    void shouldGetResponseBody() {
+        // Given
+        PassiveScanMessageData data = PassiveScanMessageData.get(msg, source);
+        // When
+        String body = data.getResponseBody();
+        // Then
+        assertThat(body, is(equalTo(BODY)));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.scanrules;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link ScanRuleTimeBudget}. */
+class ScanRuleTimeBudgetUnitTest {
+
+    @AfterEach
+    void cleanUp() {
+        ScanRuleTimeBudget.end();
+    }
+
+    @Test
+    void shouldNotBoundContentIfNoBudget() {
+        // Given
+        String content = "content";
+        // When
+        CharSequence bounded = ScanRuleTimeBudget.bound(content);
+        // Then
+        assertThat(bounded, is(sameInstance(content)));
+        assertThat(ScanRuleTimeBudget.isExceeded(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldNotBoundContentOnceEnded() {
+        // Given
+        String content = "content";
+        ScanRuleTimeBudget.start(1000);
+        ScanRuleTimeBudget.end();
+        // When
+        CharSequence bounded = ScanRuleTimeBudget.bound(content);
+        // Then
+        assertThat(bounded, is(sameInstance(content)));
+    }
+
+    @Test
+    void shouldMatchBoundedContentWithinBudget() {
+        // Given
+        ScanRuleTimeBudget.start(60_000);
+        CharSequence bounded = ScanRuleTimeBudget.bound("abc $1$salt$hash def");
+        // When
+        Matcher matcher = Pattern.compile("\\$1\\$\\w+\\$\\w+").matcher(bounded);
+        // Then
+        assertThat(matcher.find(), is(equalTo(true)));
+        assertThat(matcher.group(), is(equalTo("$1$salt$hash")));
+        assertThat(ScanRuleTimeBudget.isExceeded(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldStopMatchingOnceBudgetExceeded() {
+        // Given
+        ScanRuleTimeBudget.start(50);
+        CharSequence bounded = ScanRuleTimeBudget.bound("a".repeat(64) + "!");
+        Matcher matcher = Pattern.compile("(a|aa)+$").matcher(bounded);
+        // When / Then
+        assertThrows(ScanRuleTimeoutException.class, matcher::find);
+        assertThat(ScanRuleTimeBudget.isExceeded(), is(equalTo(true)));
+    }
+}
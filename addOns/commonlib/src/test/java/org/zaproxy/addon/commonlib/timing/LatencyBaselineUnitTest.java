@@ -0,0 +1,307 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.timing;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.network.HttpMessage;
+
+/** Unit test for {@link LatencyBaseline} and its use in {@link TimingUtils}. */
+class LatencyBaselineUnitTest {
+
+    private static final int REQUESTS_LIMIT = 4;
+    private static final int SLEEP_TIME = 5;
+    private static final double CORRELATION_ERROR_RANGE = 0.15;
+    private static final double SLOPE_ERROR_RANGE = 0.30;
+
+    private Random rand;
+    private LatencyBaseline baseline;
+
+    @BeforeEach
+    void setUp() {
+        rand = new Random(1234);
+        baseline = new LatencyBaseline();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        LatencyBaseline.clear();
+    }
+
+    @Test
+    void shouldShareBaselineOfSameHost() throws Exception {
+        // Given
+        HttpMessage msg = new HttpMessage();
+        msg.setRequestHeader("GET https://example.com/a HTTP/1.1");
+        HttpMessage otherMsg = new HttpMessage();
+        otherMsg.setRequestHeader("GET https://example.com/b HTTP/1.1");
+        HttpMessage otherHostMsg = new HttpMessage();
+        otherHostMsg.setRequestHeader("GET https://example.org/a HTTP/1.1");
+        // When
+        LatencyBaseline baseline = LatencyBaseline.getInstance(msg);
+        // Then
+        assertThat(LatencyBaseline.getInstance(otherMsg), is(sameInstance(baseline)));
+        assertThat(LatencyBaseline.getInstance(otherHostMsg), is(not(sameInstance(baseline))));
+    }
+
+    @Test
+    void shouldComputeMeanAndStandardDeviation() {
+        // Given
+        double[] samples = {2, 4, 4, 4, 5, 5, 7, 9};
+        // When
+        for (double sample : samples) {
+            baseline.addSample(sample);
+        }
+        // Then
+        assertThat(baseline.getSampleCount(), is(8));
+        assertThat(baseline.getMean(), is(closeTo(5, 0.0001)));
+        assertThat(baseline.getStandardDeviation(), is(closeTo(2.1381, 0.0001)));
+    }
+
+    @Test
+    void shouldIgnoreSamplesNotMeasured() {
+        // Given
+        HttpMessage msg = new HttpMessage();
+        // When
+        baseline.addSample(msg);
+        baseline.addSample(0);
+        // Then
+        assertThat(baseline.getSampleCount(), is(0));
+        assertThat(baseline.getMean(), is(0.0));
+        assertThat(baseline.getStandardDeviation(), is(0.0));
+    }
+
+    @Test
+    void shouldNotAddSameMessageMoreThanOnce() {
+        // Given
+        HttpMessage msg = createMessage(1, 1000);
+        HttpMessage otherMsg = createMessage(2, 3000);
+        // When
+        baseline.addSample(msg);
+        baseline.addSample(msg);
+        baseline.addSample(otherMsg);
+        baseline.addSample(createMessage(1, 1000));
+        // Then
+        assertThat(baseline.getSampleCount(), is(2));
+        assertThat(baseline.getMean(), is(closeTo(2, 0.0001)));
+    }
+
+    @Test
+    void shouldAddMessagesWithoutHistoryReference() {
+        // Given
+        HttpMessage msg = new HttpMessage();
+        msg.setTimeElapsedMillis(1000);
+        // When
+        baseline.addSample(msg);
+        baseline.addSample(msg);
+        // Then
+        assertThat(baseline.getSampleCount(), is(2));
+    }
+
+    @Test
+    void shouldKeepOnlyLatestSamples() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            baseline.addSample(10);
+        }
+        // When
+        for (int i = 0; i < 50; i++) {
+            baseline.addSample(1);
+        }
+        // Then
+        assertThat(baseline.getSampleCount(), is(50));
+        assertThat(baseline.getMean(), is(closeTo(1, 0.0001)));
+    }
+
+    @Test
+    void shouldUseGivenSleepTimeWithoutEnoughSamples() throws IOException {
+        // Given
+        addSamples(0.1, 0.01, LatencyBaseline.MINIMUM_SAMPLES - 1);
+        List<Double> delays = new ArrayList<>();
+        // When
+        boolean result =
+                TimingUtils.checkTimingDependence(
+                        REQUESTS_LIMIT,
+                        SLEEP_TIME,
+                        x -> {
+                            delays.add(x);
+                            return x;
+                        },
+                        CORRELATION_ERROR_RANGE,
+                        SLOPE_ERROR_RANGE,
+                        baseline);
+        // Then
+        assertThat(result, is(true));
+        assertThat(delays, contains(5.0, 1.0, 5.0, 1.0));
+    }
+
+    @Test
+    void shouldUseLowerSleepTimeIfHostResponseTimesVaryLittle() throws IOException {
+        // Given
+        addSamples(0.1, 0.01, 20);
+        SlowEndpoint endpoint = new SlowEndpoint(0.1, 0.01, true);
+        // When
+        boolean result = checkTimingDependence(endpoint);
+        // Then
+        assertThat(result, is(true));
+        assertThat(endpoint.delays, contains(2.0, 1.0, 2.0, 1.0));
+    }
+
+    @Test
+    void shouldNotUseSleepTimeHigherThanGiven() throws IOException {
+        // Given
+        addSamples(2, 1, 20);
+        SlowEndpoint endpoint = new SlowEndpoint(2, 0, true);
+        // When
+        boolean result = checkTimingDependence(endpoint);
+        // Then
+        assertThat(result, is(true));
+        assertThat(endpoint.delays, contains(5.0, 1.0, 5.0, 1.0));
+    }
+
+    @Test
+    void shouldDetectDependenceOnSlowEndpoint() throws IOException {
+        // Given
+        addSamples(6, 0.2, 20);
+        SlowEndpoint endpoint = new SlowEndpoint(6, 0.2, true);
+        // When
+        boolean result = checkTimingDependence(endpoint);
+        // Then
+        assertThat(result, is(true));
+    }
+
+    @Test
+    void shouldDetectDependenceOnFastEndpointOfSlowHost() throws IOException {
+        // Given
+        addSamples(1, 0.1, 20);
+        SlowEndpoint endpoint = new SlowEndpoint(0.05, 0.005, true);
+        // When
+        boolean result = checkTimingDependence(endpoint);
+        // Then
+        assertThat(result, is(true));
+    }
+
+    @Test
+    void shouldTakeLessTimeToDetectDependenceOnFastEndpoint() throws IOException {
+        // Given
+        SlowEndpoint endpointWithoutBaseline = new SlowEndpoint(0.2, 0.02, true);
+        boolean resultWithoutBaseline =
+                TimingUtils.checkTimingDependence(
+                        REQUESTS_LIMIT,
+                        SLEEP_TIME,
+                        endpointWithoutBaseline,
+                        CORRELATION_ERROR_RANGE,
+                        SLOPE_ERROR_RANGE);
+        addSamples(0.2, 0.02, 20);
+        SlowEndpoint endpoint = new SlowEndpoint(0.2, 0.02, true);
+        // When
+        boolean result = checkTimingDependence(endpoint);
+        // Then
+        assertThat(resultWithoutBaseline, is(true));
+        assertThat(result, is(true));
+        assertThat(endpoint.elapsed, is(lessThan(endpointWithoutBaseline.elapsed * 0.6)));
+    }
+
+    @Test
+    void shouldNotDetectDependenceOnEndpointWithVaryingResponseTimes() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            // Given
+            baseline = new LatencyBaseline();
+            addSamples(3, 1, 50);
+            SlowEndpoint endpoint = new SlowEndpoint(3, 1, false);
+            // When
+            boolean result = checkTimingDependence(endpoint);
+            // Then
+            assertThat(result, is(false));
+        }
+    }
+
+    private boolean checkTimingDependence(SlowEndpoint endpoint) throws IOException {
+        return TimingUtils.checkTimingDependence(
+                REQUESTS_LIMIT,
+                SLEEP_TIME,
+                endpoint,
+                CORRELATION_ERROR_RANGE,
+                SLOPE_ERROR_RANGE,
+                baseline);
+    }
+
+    private static HttpMessage createMessage(int historyId, int timeElapsedMillis) {
+        HistoryReference href = mock(HistoryReference.class);
+        given(href.getHistoryId()).willReturn(historyId);
+        HttpMessage msg = new HttpMessage();
+        msg.setHistoryRef(href);
+        msg.setTimeElapsedMillis(timeElapsedMillis);
+        return msg;
+    }
+
+    private void addSamples(double mean, double deviation, int count) {
+        for (int i = 0; i < count; i++) {
+            baseline.addSample(Math.max(0.001, mean + rand.nextGaussian() * deviation));
+        }
+    }
+
+    /**
+     * A stand-in of an endpoint with normally distributed response times, optionally delayed by
+     * the requested time.
+     */
+    private class SlowEndpoint implements TimingUtils.RequestSender {
+
+        private final double mean;
+        private final double deviation;
+        private final boolean injectable;
+        private final List<Double> delays;
+        private double elapsed;
+
+        SlowEndpoint(double mean, double deviation, boolean injectable) {
+            this.mean = mean;
+            this.deviation = deviation;
+            this.injectable = injectable;
+            this.delays = new ArrayList<>();
+        }
+
+        @Override
+        public double apply(double x) {
+            delays.add(x);
+            double time = Math.max(0.001, mean + rand.nextGaussian() * deviation);
+            if (injectable) {
+                time += x;
+            }
+            elapsed += time;
+            return time;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.parosproxy.paros.control.Control;
+import org.parosproxy.paros.db.DatabaseException;
+import org.parosproxy.paros.extension.history.ExtensionHistory;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.model.Model;
+import org.parosproxy.paros.model.SiteMap;
+import org.parosproxy.paros.network.HttpMalformedHeaderException;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.utils.ThreadUtils;
+
+/**
+ * Persists imported messages into the session, adding them to the History and Sites tree in
+ * batches.
+ *
+ * <p>The messages are written to the database as soon as persisted but they are added to the
+ * History and Sites tree only when a batch is full or when {@link #flush() flushed}, which avoids
+ * synchronising with the EDT for each message.
+ *
+ * <p>Not thread-safe, the messages should be persisted by a single thread.
+ *
+ * @since 0.22.0
+ */
+public class HistoryPersister implements AutoCloseable {
+
+    /** The default number of messages added to the History and Sites tree at once. */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final int batchSize;
+    private final ExtensionHistory extHistory;
+    private final List<PendingMessage> pendingMessages;
+
+    /** Constructs a {@code HistoryPersister} with the {@link #DEFAULT_BATCH_SIZE}. */
+    public HistoryPersister() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a {@code HistoryPersister} with the given batch size.
+     *
+     * @param batchSize the number of messages added to the History and Sites tree at once.
+     * @throws IllegalArgumentException if the batch size is lower than {@code 1}.
+     */
+    public HistoryPersister(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batchSize must be greater than zero.");
+        }
+        this.batchSize = batchSize;
+        extHistory =
+                Control.getSingleton().getExtensionLoader().getExtension(ExtensionHistory.class);
+        pendingMessages = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Persists the given message, as a {@link HistoryReference#TYPE_ZAP_USER}.
+     *
+     * @param message the message to persist.
+     * @return the history reference of the message.
+     * @throws HttpMalformedHeaderException if the message is malformed.
+     * @throws DatabaseException if an error occurred while writing the message to the database.
+     */
+    public HistoryReference persist(HttpMessage message)
+            throws HttpMalformedHeaderException, DatabaseException {
+        HistoryReference historyRef =
+                new HistoryReference(
+                        Model.getSingleton().getSession(), HistoryReference.TYPE_ZAP_USER, message);
+        if (extHistory != null) {
+            pendingMessages.add(new PendingMessage(historyRef, message));
+            if (pendingMessages.size() >= batchSize) {
+                flush();
+            }
+        }
+        return historyRef;
+    }
+
+    /** Adds the pending messages to the History and Sites tree, waiting for it to complete. */
+    public void flush() {
+        if (pendingMessages.isEmpty()) {
+            return;
+        }
+
+        List<PendingMessage> messages = new ArrayList<>(pendingMessages);
+        pendingMessages.clear();
+        ThreadUtils.invokeAndWaitHandled(
+                () -> {
+                    SiteMap siteTree = Model.getSingleton().getSession().getSiteTree();
+                    for (PendingMessage pending : messages) {
+                        extHistory.addHistory(pending.historyRef());
+                        siteTree.addPath(pending.historyRef(), pending.message());
+                    }
+                });
+    }
+
+    /** Flushes the pending messages. */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private record PendingMessage(HistoryReference historyRef, HttpMessage message) {}
+}
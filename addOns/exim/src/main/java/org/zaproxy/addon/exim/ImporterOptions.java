@@ -37,18 +37,21 @@ public class ImporterOptions {
     private final Path inputFile;
     private final MessageHandler messageHandler;
     private final boolean sendRequests;
+    private final int threadCount;
 
     private ImporterOptions(
             Context context,
             String type,
             Path inputFile,
             MessageHandler messageHandler,
-            boolean sendRequests) {
+            boolean sendRequests,
+            int threadCount) {
         this.context = context;
         this.type = type;
         this.inputFile = inputFile;
         this.messageHandler = messageHandler;
         this.sendRequests = sendRequests;
+        this.threadCount = threadCount;
     }
 
     public Context getContext() {
@@ -76,6 +79,18 @@ public class ImporterOptions {
         return sendRequests;
     }
 
+    /**
+     * Gets the number of threads used to create or send the messages, if supported by the type.
+     *
+     * <p>The messages are still passed to the {@link MessageHandler} in order and one at a time.
+     *
+     * @return the number of threads.
+     * @since 0.22.0
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
     /**
      * Returns a new builder.
      *
@@ -97,9 +112,11 @@ public class ImporterOptions {
         private Path inputFile;
         private MessageHandler messageHandler;
         private boolean sendRequests;
+        private int threadCount;
 
         private Builder() {
             type = HarImporterType.ID;
+            threadCount = 1;
         }
 
         /**
@@ -171,6 +188,25 @@ public class ImporterOptions {
             return this;
         }
 
+        /**
+         * Sets the number of threads used to create or send the messages, if supported by the
+         * type.
+         *
+         * <p>Default value: {@code 1}.
+         *
+         * @param threadCount the number of threads.
+         * @return the builder for chaining.
+         * @throws IllegalArgumentException if the number of threads is lower than {@code 1}.
+         * @since 0.22.0
+         */
+        public Builder setThreadCount(int threadCount) {
+            if (threadCount < 1) {
+                throw new IllegalArgumentException("The threadCount must be greater than zero.");
+            }
+            this.threadCount = threadCount;
+            return this;
+        }
+
         /**
          * Builds the options from the specified data.
          *
@@ -185,7 +221,8 @@ public class ImporterOptions {
             if (messageHandler == null) {
                 throw new IllegalStateException("The messageHandler must be set.");
             }
-            return new ImporterOptions(context, type, inputFile, messageHandler, sendRequests);
+            return new ImporterOptions(
+                    context, type, inputFile, messageHandler, sendRequests, threadCount);
         }
     }
 
@@ -30,9 +30,6 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.parosproxy.paros.CommandLine;
 import org.parosproxy.paros.Constant;
-import org.parosproxy.paros.control.Control;
-import org.parosproxy.paros.extension.history.ExtensionHistory;
-import org.parosproxy.paros.model.HistoryReference;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.automation.AutomationData;
 import org.zaproxy.addon.automation.AutomationEnvironment;
@@ -42,6 +39,7 @@ import org.zaproxy.addon.automation.AutomationProgress;
 import org.zaproxy.addon.automation.jobs.JobData;
 import org.zaproxy.addon.automation.jobs.JobUtils;
 import org.zaproxy.addon.exim.ExtensionExim;
+import org.zaproxy.addon.exim.HistoryPersister;
 import org.zaproxy.addon.exim.Importer;
 import org.zaproxy.addon.exim.ImporterOptions;
 import org.zaproxy.addon.exim.ImporterResult;
@@ -50,7 +48,6 @@ import org.zaproxy.addon.exim.log.LogsImporter;
 import org.zaproxy.addon.exim.urls.UrlExporter;
 import org.zaproxy.addon.exim.urls.UrlsImporter;
 import org.zaproxy.zap.utils.Stats;
-import org.zaproxy.zap.utils.ThreadUtils;
 
 public class ImportJob extends AutomationJob {
 
@@ -60,6 +57,7 @@ public class ImportJob extends AutomationJob {
     private static final String PARAM_TYPE = "type";
     private static final String PARAM_FILE_NAME = "fileName";
     private static final String PARAM_SEND_REQUESTS = "sendRequests";
+    private static final String PARAM_THREAD_COUNT = "threadCount";
 
     /** Import type ID for ModSecurity2 logs. */
     static final String MODSEC2_TYPE = "modsec2";
@@ -106,6 +104,7 @@ public class ImportJob extends AutomationJob {
         map.put(PARAM_TYPE, "");
         map.put(PARAM_FILE_NAME, "");
         map.put(PARAM_SEND_REQUESTS, "false");
+        map.put(PARAM_THREAD_COUNT, "1");
         return map;
     }
 
@@ -115,23 +114,32 @@ public class ImportJob extends AutomationJob {
         String type = this.getParameters().getType();
         String fileName = this.getParameters().getFileName();
         boolean sendRequests = Boolean.TRUE.equals(this.getParameters().getSendRequests());
+        int threadCount = Math.max(1, JobUtils.unBox(this.getParameters().getThreadCount()));
 
         if (!StringUtils.isEmpty(fileName)) {
             File file = JobUtils.getFile(fileName, getPlan());
             if (file.exists() && file.canRead()) {
                 ImporterType importerType = Importer.getImporterType(type);
                 if (importerType != null) {
-                    ImporterResult result =
-                            extensionExim
-                                    .getImporter()
-                                    .apply(
-                                            ImporterOptions.builder()
-                                                    .setType(type)
-                                                    .setInputFile(file.toPath())
-                                                    .setSendRequests(sendRequests)
-                                                    .setMessageHandler(
-                                                            msg -> persistMessage(progress, msg))
-                                                    .build());
+                    ImporterResult result;
+                    try (HistoryPersister persister = new HistoryPersister()) {
+                        result =
+                                extensionExim
+                                        .getImporter()
+                                        .apply(
+                                                ImporterOptions.builder()
+                                                        .setType(type)
+                                                        .setInputFile(file.toPath())
+                                                        .setSendRequests(sendRequests)
+                                                        .setThreadCount(threadCount)
+                                                        .setMessageHandler(
+                                                                msg ->
+                                                                        persistMessage(
+                                                                                progress,
+                                                                                persister,
+                                                                                msg))
+                                                        .build());
+                    }
                     if (!result.getErrors().isEmpty()) {
                         for (String error : result.getErrors()) {
                             progress.error(error);
@@ -191,29 +199,11 @@ public class ImportJob extends AutomationJob {
         return getResourceAsString(this.getType() + "-max.yaml");
     }
 
-    private void persistMessage(AutomationProgress progress, HttpMessage message) {
+    private static void persistMessage(
+            AutomationProgress progress, HistoryPersister persister, HttpMessage message) {
         try {
-            HistoryReference historyRef =
-                    new HistoryReference(
-                            extensionExim.getModel().getSession(),
-                            HistoryReference.TYPE_ZAP_USER,
-                            message);
+            persister.persist(message);
             Stats.incCounter(ExtensionExim.STATS_PREFIX + "import.automation.message");
-            ExtensionHistory extHistory =
-                    Control.getSingleton()
-                            .getExtensionLoader()
-                            .getExtension(ExtensionHistory.class);
-            if (extHistory != null) {
-                ThreadUtils.invokeAndWaitHandled(
-                        () -> {
-                            extHistory.addHistory(historyRef);
-                            extensionExim
-                                    .getModel()
-                                    .getSession()
-                                    .getSiteTree()
-                                    .addPath(historyRef, message);
-                        });
-            }
         } catch (Exception e) {
             progress.warn(
                     Constant.messages.getString(
@@ -300,5 +290,6 @@ public class ImportJob extends AutomationJob {
         private String type;
         private String fileName;
         private Boolean sendRequests = false;
+        private Integer threadCount = 1;
     }
 }
@@ -0,0 +1,167 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim.har;
+
+import de.sstoehr.harreader.model.HarEntry;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.parosproxy.paros.network.HttpMessage;
+
+/**
+ * Processes HAR entries as they are read, either creating the messages from the recorded data or
+ * sending the requests.
+ *
+ * <p>When using more than one thread the entries are processed by a bounded pool of workers, the
+ * number of entries in flight is limited to a few per thread, so the memory used does not depend
+ * on the size of the HAR. The messages are always passed to the {@link MessageConsumer} in the
+ * order of the entries and from the thread calling {@link #process(EntrySource,
+ * MessageConsumer)}.
+ */
+class HarEntriesProcessor {
+
+    private static final int ENTRIES_IN_FLIGHT_PER_THREAD = 4;
+
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+
+    private final boolean sendRequests;
+    private final int threadCount;
+
+    /**
+     * Constructs a {@code HarEntriesProcessor}.
+     *
+     * @param sendRequests {@code true} if the requests should be sent, {@code false} to use the
+     *     recorded responses.
+     * @param threadCount the number of threads to process the entries, values lower than {@code
+     *     2} process the entries in the calling thread.
+     */
+    HarEntriesProcessor(boolean sendRequests, int threadCount) {
+        this.sendRequests = sendRequests;
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Processes all the entries of the given source.
+     *
+     * <p>The entries not usable are skipped, the entries that could not be converted or sent are
+     * passed to the consumer as {@code null}.
+     *
+     * @param source the source of the entries.
+     * @param consumer the consumer of the messages.
+     * @throws Exception if an error occurred while reading the entries or thrown by the consumer.
+     */
+    void process(EntrySource source, MessageConsumer consumer) throws Exception {
+        if (threadCount < 2) {
+            HarImporter.SendContext sendContext =
+                    sendRequests ? HarImporter.SendContext.create() : null;
+            HarEntry entry;
+            while ((entry = nextEntry(source)) != null) {
+                consumer.accept(HarImporter.createMessage(entry, sendContext));
+            }
+            return;
+        }
+
+        ThreadLocal<HarImporter.SendContext> sendContexts =
+                ThreadLocal.withInitial(HarImporter.SendContext::create);
+        ExecutorService executor =
+                Executors.newFixedThreadPool(
+                        threadCount,
+                        r -> {
+                            Thread thread =
+                                    new Thread(r, "ZAP-HarImporter-" + THREAD_ID.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        try {
+            int maxInFlight = threadCount * ENTRIES_IN_FLIGHT_PER_THREAD;
+            Deque<Future<HttpMessage>> inFlight = new ArrayDeque<>(maxInFlight);
+            HarEntry entry;
+            while ((entry = nextEntry(source)) != null) {
+                HarEntry currentEntry = entry;
+                inFlight.add(
+                        executor.submit(
+                                () ->
+                                        HarImporter.createMessage(
+                                                currentEntry,
+                                                sendRequests ? sendContexts.get() : null)));
+                if (inFlight.size() >= maxInFlight) {
+                    consumer.accept(getMessage(inFlight.poll()));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                consumer.accept(getMessage(inFlight.poll()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private HarEntry nextEntry(EntrySource source) throws IOException {
+        HarEntry entry;
+        while ((entry = source.next()) != null) {
+            entry = HarImporter.preProcessHarEntry(entry, sendRequests);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static HttpMessage getMessage(Future<HttpMessage> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while processing the HAR entries.");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /** A source of HAR entries. */
+    interface EntrySource {
+
+        /**
+         * Gets the next entry.
+         *
+         * @return the next entry, or {@code null} if no more entries.
+         * @throws IOException if an error occurred while reading the entry.
+         */
+        HarEntry next() throws IOException;
+    }
+
+    /** A consumer of the messages created from the HAR entries. */
+    interface MessageConsumer {
+
+        /**
+         * Accepts the message created from a HAR entry.
+         *
+         * @param message the message, or {@code null} if it was not possible to create it.
+         * @throws Exception if an error occurred and the processing should be stopped.
+         */
+        void accept(HttpMessage message) throws Exception;
+    }
+}
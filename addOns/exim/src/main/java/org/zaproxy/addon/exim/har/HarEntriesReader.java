@@ -0,0 +1,165 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim.har;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import de.sstoehr.harreader.model.HarEntry;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Objects;
+
+/**
+ * Reads the entries of a HAR log one at a time, without loading the whole log into memory.
+ *
+ * <p>Only the {@code log.entries} are read, other properties of the log are skipped.
+ */
+class HarEntriesReader implements HarEntriesProcessor.EntrySource, Closeable {
+
+    private static final String LOG_FIELD = "log";
+    private static final String ENTRIES_FIELD = "entries";
+
+    private final CountingInputStream countingStream;
+    private final JsonParser parser;
+
+    /**
+     * Constructs a {@code HarEntriesReader} that reads from the given input stream, keeping track
+     * of the bytes read.
+     *
+     * @param is the input stream with the HAR data.
+     * @throws IOException if an error occurred while reading or if the data is not a HAR log.
+     * @see #getBytesRead()
+     */
+    HarEntriesReader(InputStream is) throws IOException {
+        countingStream = new CountingInputStream(is);
+        parser = HarUtils.JSON_MAPPER.createParser(countingStream);
+        moveToEntries();
+    }
+
+    /**
+     * Constructs a {@code HarEntriesReader} that reads from the given reader.
+     *
+     * @param reader the reader with the HAR data.
+     * @throws IOException if an error occurred while reading or if the data is not a HAR log.
+     */
+    HarEntriesReader(Reader reader) throws IOException {
+        countingStream = null;
+        parser = HarUtils.JSON_MAPPER.createParser(reader);
+        moveToEntries();
+    }
+
+    private void moveToEntries() throws IOException {
+        validateNextToken(parser, JsonToken.START_OBJECT, null);
+        validateNextToken(parser, JsonToken.FIELD_NAME, LOG_FIELD);
+        validateNextToken(parser, JsonToken.START_OBJECT, LOG_FIELD);
+
+        while (!isNextToken(parser, JsonToken.FIELD_NAME, ENTRIES_FIELD)) {
+            parser.skipChildren();
+        }
+
+        validateNextToken(parser, JsonToken.START_ARRAY, ENTRIES_FIELD);
+        parser.nextToken();
+    }
+
+    @Override
+    public HarEntry next() throws IOException {
+        return parser.readValueAs(HarEntry.class);
+    }
+
+    /**
+     * Gets the number of bytes read so far.
+     *
+     * <p>The parser reads ahead, so the value might be greater than the bytes of the entries
+     * already returned.
+     *
+     * @return the number of bytes read, or {@code -1} if reading from a {@code Reader}.
+     */
+    long getBytesRead() {
+        return countingStream != null ? countingStream.count : -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private static boolean isNextToken(JsonParser parser, JsonToken wantedToken, String wantedName)
+            throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new IOException("Failed to find entries property in HAR log.");
+        }
+        if (token != wantedToken) {
+            return false;
+        }
+
+        return wantedName.equals(parser.currentName());
+    }
+
+    private static void validateNextToken(
+            JsonParser parser, JsonToken expectedToken, String expectedName) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token != expectedToken) {
+            throw new IOException("Unexpected token " + token + ", expected: " + expectedToken);
+        }
+
+        String name = parser.currentName();
+        if (!Objects.equals(name, expectedName)) {
+            throw new IOException("Unexpected name " + name + ", expected: " + expectedName);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value != -1) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -19,14 +19,9 @@
  */
 package org.zaproxy.addon.exim.har;
 
-import de.sstoehr.harreader.HarReader;
-import de.sstoehr.harreader.HarReaderException;
-import de.sstoehr.harreader.model.HarLog;
 import java.io.File;
 import javax.swing.JFileChooser;
 import javax.swing.filechooser.FileNameExtensionFilter;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.view.View;
 import org.zaproxy.addon.commonlib.ui.ProgressPane;
@@ -39,7 +34,6 @@ import org.zaproxy.zap.view.StandardFieldsDialog;
 public class HarImportDialog extends StandardFieldsDialog {
 
     private static final long serialVersionUID = 1L;
-    private static final Logger LOGGER = LogManager.getLogger(HarImportDialog.class);
     private static final String THREAD_PREFIX = "ZAP-Import-Har-";
     private static final String TITLE = "exim.har.importDialog.title";
     private static final String FILE_PARAM = "exim.har.importDialog.labelFile";
@@ -82,27 +76,12 @@ public class HarImportDialog extends StandardFieldsDialog {
         boolean sendRequests = getBoolValue(SEND_REQUESTS_PARAM);
         new Thread(
                         () -> {
-                            int tasks = 0;
-                            HarLog log = null;
-                            try {
-                                log = new HarReader().readFromFile(file).log();
-                                tasks = log.entries().size();
-                            } catch (HarReaderException e) {
-                                LOGGER.warn(
-                                        "Failed to read HAR file: {}\n{}",
-                                        file.getAbsolutePath(),
-                                        e.getMessage());
-                                HarImporter.DataSource.FILE.error();
-                                showImportError(file);
-                                return;
-                            }
                             ProgressPane currentImportPane =
                                     new ProgressPane(file.getAbsolutePath(), false);
-                            currentImportPane.setTotalTasks(tasks);
                             ExtensionExim.getProgressPanel().addProgressPane(currentImportPane);
                             HarImporter harImporter =
                                     new HarImporter(
-                                            log,
+                                            file,
                                             new ProgressPaneListener(currentImportPane),
                                             sendRequests);
                             if (!harImporter.isSuccess()) {
@@ -19,17 +19,19 @@
  */
 package org.zaproxy.addon.exim.har;
 
-import de.sstoehr.harreader.HarReader;
-import de.sstoehr.harreader.HarReaderException;
-import de.sstoehr.harreader.model.Har;
 import de.sstoehr.harreader.model.HarEntry;
 import de.sstoehr.harreader.model.HarEntry.HarEntryBuilder;
 import de.sstoehr.harreader.model.HarLog;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import org.apache.commons.httpclient.URI;
 import org.apache.commons.lang3.Strings;
@@ -37,8 +39,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.control.Control;
-import org.parosproxy.paros.extension.history.ExtensionHistory;
-import org.parosproxy.paros.model.HistoryReference;
 import org.parosproxy.paros.model.Model;
 import org.parosproxy.paros.network.HttpHeader;
 import org.parosproxy.paros.network.HttpMalformedHeaderException;
@@ -46,10 +46,10 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpSender;
 import org.zaproxy.addon.commonlib.ui.ProgressPaneListener;
 import org.zaproxy.addon.exim.ExtensionExim;
+import org.zaproxy.addon.exim.HistoryPersister;
 import org.zaproxy.zap.network.HttpRedirectionValidator;
 import org.zaproxy.zap.network.HttpRequestConfig;
 import org.zaproxy.zap.utils.Stats;
-import org.zaproxy.zap.utils.ThreadUtils;
 
 public class HarImporter {
 
@@ -106,12 +106,12 @@ public class HarImporter {
         }
     }
 
-    private static ExtensionHistory extHistory;
-
     private final DataSource dataSource;
     private final boolean sendRequests;
+    private final int threadCount;
     private ProgressPaneListener progressListener;
-    private SendContext sendContext;
+    private long totalBytes;
+    private int count;
     private boolean success;
 
     public HarImporter(String data) {
@@ -121,7 +121,8 @@ public class HarImporter {
     public HarImporter(String data, boolean sendRequests) {
         this.dataSource = DataSource.STRING;
         this.sendRequests = sendRequests;
-        importData(reader -> reader.readFromString(data));
+        this.threadCount = 1;
+        importData(() -> new HarEntriesReader(new StringReader(data)));
     }
 
     public HarImporter(File file) {
@@ -133,17 +134,39 @@ public class HarImporter {
     }
 
     public HarImporter(File file, ProgressPaneListener listener, boolean sendRequests) {
+        this(file, listener, sendRequests, 1);
+    }
+
+    /**
+     * Constructs a {@code HarImporter} that imports the given HAR file.
+     *
+     * <p>The file is read one entry at a time and the progress is reported in percentage of the
+     * bytes read.
+     *
+     * @param file the HAR file.
+     * @param listener the progress listener, might be {@code null}.
+     * @param sendRequests {@code true} if the requests should be sent, {@code false} to use the
+     *     recorded responses.
+     * @param threadCount the number of threads to create or send the messages.
+     * @since 0.22.0
+     */
+    public HarImporter(
+            File file, ProgressPaneListener listener, boolean sendRequests, int threadCount) {
         dataSource = DataSource.FILE;
         this.progressListener = listener;
         this.sendRequests = sendRequests;
-        importData(reader -> reader.readFromFile(file));
+        this.threadCount = threadCount;
+        totalBytes = file.length();
+        if (progressListener != null && totalBytes > 0) {
+            progressListener.setTotalTasks(100);
+        }
+        importData(() -> new HarEntriesReader(new FileInputStream(file)));
     }
 
     private void importData(HarProvider provider) {
-        try {
-            HarLog log = provider.from(new HarReader()).log();
-            importHarLog(log);
-        } catch (HarReaderException e) {
+        try (HarEntriesReader reader = provider.get()) {
+            importEntries(reader, reader::getBytesRead);
+        } catch (Exception e) {
             LOGGER.warn("Failed to read HAR data: {}", e.getMessage());
             dataSource.error();
             success = false;
@@ -160,40 +183,42 @@ public class HarImporter {
         dataSource = DataSource.FILE;
         this.progressListener = listener;
         this.sendRequests = sendRequests;
-        importHarLog(harLog);
-        completed();
-    }
-
-    private void importHarLog(HarLog log) {
-        processMessages(log);
-        dataSource.successful();
-        success = true;
-    }
-
-    private SendContext getSendContext() {
-        if (sendContext == null) {
-            sendContext = SendContext.create();
+        this.threadCount = 1;
+        Iterator<HarEntry> it =
+                harLog != null ? harLog.entries().iterator() : Collections.emptyIterator();
+        try {
+            importEntries(() -> it.hasNext() ? it.next() : null, () -> -1);
+        } catch (Exception e) {
+            LOGGER.warn("Failed to import HAR log: {}", e.getMessage());
+            dataSource.error();
+            success = false;
+        } finally {
+            completed();
         }
-        return sendContext;
     }
 
-    private void processMessages(HarLog log) {
-        if (log == null) {
-            return;
-        }
-
-        List<HarEntry> entries = preProcessHarEntries(log, sendRequests);
-        int count = 0;
-        for (HarEntry entry : entries) {
-            HttpMessage msg = sendRequests ? getSendContext().send(entry) : getHttpMessage(entry);
-            if (msg == null) {
-                updateProgress(
-                        ++count, Constant.messages.getString("exim.progress.invalidmessage"));
-                continue;
-            }
-            persistMessage(msg);
-            updateProgress(++count, msg.getRequestHeader().getURI().toString());
+    private void importEntries(HarEntriesProcessor.EntrySource source, LongSupplier bytesRead)
+            throws Exception {
+        try (HistoryPersister persister = new HistoryPersister()) {
+            new HarEntriesProcessor(sendRequests, threadCount)
+                    .process(
+                            source,
+                            msg -> {
+                                if (msg == null) {
+                                    updateProgress(
+                                            bytesRead.getAsLong(),
+                                            Constant.messages.getString(
+                                                    "exim.progress.invalidmessage"));
+                                    return;
+                                }
+                                persistMessage(persister, msg);
+                                updateProgress(
+                                        bytesRead.getAsLong(),
+                                        msg.getRequestHeader().getURI().toString());
+                            });
         }
+        dataSource.successful();
+        success = true;
     }
 
     private static HttpRequestConfig createRequestConfig(AtomicBoolean requestValid) {
@@ -256,12 +281,23 @@ public class HarImporter {
         };
     }
 
-    private static List<HarEntry> preProcessHarEntries(HarLog log, boolean sendRequests) {
-        return log.entries().stream()
-                .filter(HarImporter::entryIsNotLocalPrivate)
-                .map(HarImporter::correctHttpVersions)
-                .filter(entry -> entryHasUsableHttpVersion(entry, sendRequests))
-                .toList();
+    /**
+     * Pre-processes the given entry, correcting the HTTP versions if needed.
+     *
+     * @param entry the entry to pre-process.
+     * @param sendRequests {@code true} if the requests will be sent, {@code false} otherwise.
+     * @return the pre-processed entry, or {@code null} if the entry should be skipped.
+     */
+    static HarEntry preProcessHarEntry(HarEntry entry, boolean sendRequests) {
+        if (!entryIsNotLocalPrivate(entry)) {
+            return null;
+        }
+        HarEntry correctedEntry = correctHttpVersions(entry);
+        return entryHasUsableHttpVersion(correctedEntry, sendRequests) ? correctedEntry : null;
+    }
+
+    static HttpMessage createMessage(HarEntry entry, SendContext sendContext) {
+        return sendContext != null ? sendContext.send(entry) : getHttpMessage(entry);
     }
 
     private static boolean entryHasUsableHttpVersion(HarEntry entry, boolean sendRequests) {
@@ -292,8 +328,11 @@ public class HarImporter {
 
     protected static List<HttpMessage> getHttpMessages(HarLog log) {
         List<HttpMessage> result = new ArrayList<>();
-        for (HarEntry entry : preProcessHarEntries(log, false)) {
-            result.add(getHttpMessage(entry));
+        for (HarEntry entry : log.entries()) {
+            HarEntry processedEntry = preProcessHarEntry(entry, false);
+            if (processedEntry != null) {
+                result.add(getHttpMessage(processedEntry));
+            }
         }
         return result;
     }
@@ -371,49 +410,27 @@ public class HarImporter {
         return false;
     }
 
-    private void persistMessage(HttpMessage message) {
-        HistoryReference historyRef;
-
+    private void persistMessage(HistoryPersister persister, HttpMessage message) {
         try {
-            historyRef =
-                    new HistoryReference(
-                            Model.getSingleton().getSession(),
-                            HistoryReference.TYPE_ZAP_USER,
-                            message);
+            persister.persist(message);
             dataSource.messageSuccessful();
         } catch (Exception e) {
             LOGGER.warn(e.getMessage());
             dataSource.messageError();
-            return;
-        }
-
-        if (getExtensionHistory() != null) {
-            ThreadUtils.invokeAndWaitHandled(() -> addMessage(historyRef, message));
         }
     }
 
-    private static ExtensionHistory getExtensionHistory() {
-        if (extHistory == null) {
-            extHistory =
-                    Control.getSingleton()
-                            .getExtensionLoader()
-                            .getExtension(ExtensionHistory.class);
-        }
-        return extHistory;
-    }
-
-    private static void addMessage(HistoryReference historyRef, HttpMessage message) {
-        getExtensionHistory().addHistory(historyRef);
-        Model.getSingleton().getSession().getSiteTree().addPath(historyRef, message);
-    }
-
     public boolean isSuccess() {
         return success;
     }
 
-    private void updateProgress(int count, String line) {
+    private void updateProgress(long bytesRead, String line) {
+        count++;
         if (progressListener != null) {
-            progressListener.setTasksDone(count);
+            progressListener.setTasksDone(
+                    bytesRead >= 0 && totalBytes > 0
+                            ? (int) Math.min(100, bytesRead * 100 / totalBytes)
+                            : count);
             progressListener.setCurrentTask(
                     Constant.messages.getString("exim.progress.currentimport", line));
         }
@@ -426,6 +443,6 @@ public class HarImporter {
     }
 
     private interface HarProvider {
-        Har from(HarReader data) throws HarReaderException;
+        HarEntriesReader get() throws IOException;
     }
 }
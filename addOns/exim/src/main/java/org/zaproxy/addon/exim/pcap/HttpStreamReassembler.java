@@ -0,0 +1,750 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim.pcap;
+
+import io.pkts.PacketHandler;
+import io.pkts.buffer.Buffer;
+import io.pkts.packet.Packet;
+import io.pkts.packet.TCPPacket;
+import io.pkts.protocol.Protocol;
+import io.pkts.streams.impl.TransportStreamId;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.network.HttpHeader;
+import org.parosproxy.paros.network.HttpMalformedHeaderException;
+import org.parosproxy.paros.network.HttpMessage;
+import org.parosproxy.paros.network.HttpRequestHeader;
+import org.parosproxy.paros.network.HttpResponseHeader;
+import org.zaproxy.zap.network.HttpRequestBody;
+import org.zaproxy.zap.network.HttpResponseBody;
+
+/**
+ * A {@link PacketHandler} that reassembles the TCP connections of a capture incrementally and
+ * extracts the HTTP/1.x messages as soon as each request/response pair is complete.
+ *
+ * <p>Only the data not yet consumed is kept for each connection, the connections are evicted once
+ * closed or idle, so the memory used depends on the number of concurrent connections and not on
+ * the size of the capture. Persistent connections and pipelined requests are supported, the
+ * responses are paired with the requests in order.
+ *
+ * <p>The connections that are not HTTP/1.x (e.g. TLS, HTTP/2) are ignored, as are the connections
+ * after a protocol switch (e.g. WebSocket).
+ *
+ * <p>{@link #finish()} should be called once all the packets have been processed.
+ */
+class HttpStreamReassembler implements PacketHandler {
+
+    private static final Logger LOGGER = LogManager.getLogger(HttpStreamReassembler.class);
+
+    private static final int MAX_HTTP_HEADER_SIZE = 65536; // 64KB
+    private static final int MAX_CHUNK_LINE_SIZE = 1024;
+    private static final int MAX_OUT_OF_ORDER_BYTES = 1024 * 1024; // 1MB
+    private static final int MAX_METHOD_LENGTH = 16;
+    private static final long IDLE_TIMEOUT_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final long IDLE_CHECK_INTERVAL_MICROS = TimeUnit.SECONDS.toMicros(30);
+
+    private static final byte[] CRLF = HttpHeader.CRLF.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DOUBLE_CRLF =
+            (HttpHeader.CRLF + HttpHeader.CRLF).getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HTTP_PREFIX = "HTTP/".getBytes(StandardCharsets.US_ASCII);
+
+    private static final long UNTIL_CLOSE = -1;
+    private static final long CHUNKED = -2;
+    private static final long INVALID = -3;
+
+    private final Consumer<HttpMessage> consumer;
+    private final Map<TransportStreamId, Connection> connections;
+    private long currentTime;
+    private long lastIdleCheck;
+
+    /**
+     * Constructs a {@code HttpStreamReassembler} that passes the messages to the given consumer.
+     *
+     * @param consumer the consumer of the HTTP messages.
+     */
+    HttpStreamReassembler(Consumer<HttpMessage> consumer) {
+        this.consumer = consumer;
+        connections = new HashMap<>();
+    }
+
+    @Override
+    public boolean nextPacket(Packet packet) throws IOException {
+        TCPPacket tcpPacket = getTcpPacket(packet);
+        if (tcpPacket != null) {
+            currentTime = packet.getArrivalTime();
+            processSegment(tcpPacket);
+
+            if (currentTime - lastIdleCheck >= IDLE_CHECK_INTERVAL_MICROS) {
+                lastIdleCheck = currentTime;
+                evictIdleConnections();
+            }
+        }
+        return true;
+    }
+
+    private static TCPPacket getTcpPacket(Packet packet) {
+        try {
+            if (!packet.hasProtocol(Protocol.TCP)) {
+                return null;
+            }
+            TCPPacket tcpPacket = (TCPPacket) packet.getPacket(Protocol.TCP);
+            if (tcpPacket.getParentPacket().isFragmented()) {
+                LOGGER.debug("Ignoring fragmented IP packet.");
+                return null;
+            }
+            return tcpPacket;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Failed to parse the packet: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void processSegment(TCPPacket tcpPacket) {
+        TransportStreamId id = new TransportStreamId(tcpPacket);
+        Connection connection = connections.get(id);
+        if (connection == null) {
+            if (tcpPacket.isRST() || tcpPacket.isFIN()) {
+                return;
+            }
+            connection = new Connection(id);
+            connections.put(id, connection);
+            connections.put(id.oppositeFlowDirection(), connection);
+        }
+
+        connection.process(id, tcpPacket);
+        if (connection.isClosed()) {
+            close(connection);
+        }
+    }
+
+    private void evictIdleConnections() {
+        List<Connection> idle = new ArrayList<>();
+        for (Map.Entry<TransportStreamId, Connection> entry : connections.entrySet()) {
+            Connection connection = entry.getValue();
+            if (connection.id.equals(entry.getKey())
+                    && currentTime - connection.lastSeen > IDLE_TIMEOUT_MICROS) {
+                idle.add(connection);
+            }
+        }
+        idle.forEach(this::close);
+    }
+
+    /** Completes and evicts all the connections still open, to be called at end of capture. */
+    void finish() {
+        List<Connection> open = new ArrayList<>();
+        for (Map.Entry<TransportStreamId, Connection> entry : connections.entrySet()) {
+            if (entry.getValue().id.equals(entry.getKey())) {
+                open.add(entry.getValue());
+            }
+        }
+        open.forEach(this::close);
+    }
+
+    /**
+     * Gets the number of connections being tracked.
+     *
+     * @return the number of connections.
+     */
+    int getConnectionCount() {
+        return connections.size() / 2;
+    }
+
+    private void close(Connection connection) {
+        connection.finish();
+        connections.remove(connection.id);
+        connections.remove(connection.id.oppositeFlowDirection());
+    }
+
+    private static boolean startsWith(StreamBuffer buffer, byte[] prefix) {
+        int length = Math.min(buffer.size(), prefix.length);
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsLikeRequest(StreamBuffer buffer) {
+        int length = Math.min(buffer.size(), MAX_METHOD_LENGTH + 1);
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(i);
+            if (b == ' ') {
+                return i > 0;
+            }
+            if (b < 'A' || b > 'Z') {
+                return false;
+            }
+        }
+        return length <= MAX_METHOD_LENGTH;
+    }
+
+    private static boolean isSupportedVersion(String version) {
+        return HttpHeader.HTTP11.equalsIgnoreCase(version)
+                || HttpHeader.HTTP10.equalsIgnoreCase(version);
+    }
+
+    private static HttpMessage createMessage(PendingRequest request) {
+        HttpMessage message = new HttpMessage(request.header, new HttpRequestBody(request.body));
+        removeChunkedEncoding(message.getRequestHeader(), request.chunked, request.body.length);
+        message.setTimeSentMillis(TimeUnit.MICROSECONDS.toMillis(request.time));
+        return message;
+    }
+
+    private static void removeChunkedEncoding(HttpHeader header, boolean chunked, int length) {
+        if (chunked) {
+            header.setHeader(HttpHeader.TRANSFER_ENCODING, null);
+            header.setContentLength(length);
+        }
+    }
+
+    private record PendingRequest(
+            HttpRequestHeader header, byte[] body, boolean chunked, long time) {}
+
+    /** A TCP connection, with the data sent by each of the peers. */
+    private class Connection {
+
+        private final TransportStreamId id;
+        private final HalfStream forward;
+        private final HalfStream backward;
+        private final Deque<PendingRequest> requests;
+        private HalfStream client;
+        private HalfStream server;
+        private boolean ignored;
+        private boolean reset;
+        private long lastSeen;
+
+        Connection(TransportStreamId id) {
+            this.id = id;
+            forward = new HalfStream(this);
+            backward = new HalfStream(this);
+            requests = new ArrayDeque<>();
+        }
+
+        void process(TransportStreamId segmentId, TCPPacket tcpPacket) {
+            lastSeen = currentTime;
+            HalfStream half = id.equals(segmentId) ? forward : backward;
+            if (client == null && tcpPacket.isSYN()) {
+                setRoles(tcpPacket.isACK() ? getOther(half) : half);
+            }
+
+            half.segment(tcpPacket);
+            if (tcpPacket.isRST()) {
+                reset = true;
+            }
+        }
+
+        private HalfStream getOther(HalfStream half) {
+            return half == forward ? backward : forward;
+        }
+
+        private void setRoles(HalfStream client) {
+            this.client = client;
+            this.client.request = true;
+            server = getOther(client);
+        }
+
+        boolean isClosed() {
+            return reset || (forward.finished && backward.finished);
+        }
+
+        void dataAvailable(HalfStream half) {
+            if (ignored) {
+                half.buffer.clear();
+                return;
+            }
+            if (client == null) {
+                setRoles(startsWith(half.buffer, HTTP_PREFIX) ? getOther(half) : half);
+            }
+            half.parse();
+        }
+
+        void ignore(String reason) {
+            if (!ignored) {
+                LOGGER.debug("Ignoring connection {}: {}", id, reason);
+            }
+            ignored = true;
+            forward.clear();
+            backward.clear();
+        }
+
+        long requestHeader(HalfStream half, String headerData) {
+            HttpRequestHeader header;
+            try {
+                header = new HttpRequestHeader(headerData);
+            } catch (HttpMalformedHeaderException e) {
+                LOGGER.warn("Failed to parse request header: {}", e.getMessage());
+                return INVALID;
+            }
+            if (!isSupportedVersion(header.getVersion())) {
+                return INVALID;
+            }
+            half.header = header;
+            if (header.isTransferEncodingChunked()) {
+                return CHUNKED;
+            }
+            return Math.max(0, header.getContentLength());
+        }
+
+        long responseHeader(HalfStream half, String headerData) {
+            HttpResponseHeader header;
+            try {
+                header = new HttpResponseHeader(headerData);
+            } catch (HttpMalformedHeaderException e) {
+                LOGGER.warn("Failed to parse response header: {}", e.getMessage());
+                return INVALID;
+            }
+            half.header = header;
+            int statusCode = header.getStatusCode();
+            PendingRequest request = requests.peek();
+            if ((statusCode >= 100 && statusCode < 200)
+                    || statusCode == 204
+                    || statusCode == 304
+                    || (request != null
+                            && HttpRequestHeader.HEAD.equalsIgnoreCase(
+                                    request.header.getMethod()))) {
+                return 0;
+            }
+            if (header.isTransferEncodingChunked()) {
+                return CHUNKED;
+            }
+            int contentLength = header.getContentLength();
+            return contentLength >= 0 ? contentLength : UNTIL_CLOSE;
+        }
+
+        void messageComplete(HalfStream half, byte[] body) {
+            if (half == client) {
+                requests.add(
+                        new PendingRequest(
+                                (HttpRequestHeader) half.header,
+                                body,
+                                half.chunked,
+                                half.headerTime));
+                return;
+            }
+
+            HttpResponseHeader header = (HttpResponseHeader) half.header;
+            int statusCode = header.getStatusCode();
+            if (statusCode >= 100 && statusCode < 200 && statusCode != 101) {
+                return;
+            }
+
+            PendingRequest request = requests.poll();
+            if (request == null) {
+                LOGGER.debug("Ignoring response without request in {}", id);
+                return;
+            }
+            HttpMessage message = createMessage(request);
+            removeChunkedEncoding(header, half.chunked, body.length);
+            message.setResponseHeader(header);
+            message.setResponseBody(new HttpResponseBody(body));
+            message.setResponseFromTargetHost(true);
+            message.setTimeElapsedMillis(
+                    (int) TimeUnit.MICROSECONDS.toMillis(currentTime - request.time));
+            consumer.accept(message);
+
+            if (statusCode == 101) {
+                ignore("switched protocols");
+            }
+        }
+
+        void finish() {
+            forward.finished = true;
+            backward.finished = true;
+            if (server != null && !ignored) {
+                server.parse();
+            }
+
+            for (PendingRequest request : requests) {
+                consumer.accept(createMessage(request));
+            }
+            requests.clear();
+            ignore("closed");
+        }
+    }
+
+    private enum ParseState {
+        HEADER,
+        BODY,
+        CHUNK_SIZE,
+        CHUNK_DATA,
+        CHUNK_END,
+        TRAILERS,
+        UNTIL_CLOSE
+    }
+
+    /** The data sent by one of the peers of a connection. */
+    private class HalfStream {
+
+        private final Connection connection;
+        private final StreamBuffer buffer;
+        private final Map<Long, byte[]> outOfOrderSegments;
+        private int outOfOrderBytes;
+        private long nextSeq;
+        private boolean finished;
+        private boolean request;
+
+        private ParseState state;
+        private HttpHeader header;
+        private long headerTime;
+        private boolean chunked;
+        private long remaining;
+        private ByteArrayOutputStream body;
+
+        HalfStream(Connection connection) {
+            this.connection = connection;
+            buffer = new StreamBuffer();
+            outOfOrderSegments = new HashMap<>();
+            nextSeq = -1;
+            state = ParseState.HEADER;
+        }
+
+        void segment(TCPPacket tcpPacket) {
+            long seq = tcpPacket.getSequenceNumber();
+            if (tcpPacket.isSYN()) {
+                seq = (seq + 1) & 0xFFFFFFFFL;
+                if (nextSeq == -1) {
+                    nextSeq = seq;
+                }
+            }
+
+            Buffer payload = tcpPacket.getPayload();
+            if (payload != null && !payload.isEmpty() && !connection.ignored) {
+                if (nextSeq == -1) {
+                    nextSeq = seq;
+                }
+                addSegment(seq, payload.getArray());
+            }
+
+            if (tcpPacket.isFIN() || tcpPacket.isRST()) {
+                finished = true;
+                if (!connection.ignored && connection.client != null) {
+                    parse();
+                }
+            }
+        }
+
+        private void addSegment(long seq, byte[] data) {
+            int offset = relativeOffset(seq);
+            if (offset > 0) {
+                if (outOfOrderBytes + data.length > MAX_OUT_OF_ORDER_BYTES) {
+                    connection.ignore("missing TCP segments");
+                    return;
+                }
+                if (outOfOrderSegments.putIfAbsent(seq, data) == null) {
+                    outOfOrderBytes += data.length;
+                }
+                return;
+            }
+
+            if (!append(data, -offset)) {
+                return;
+            }
+            boolean appended;
+            do {
+                appended = false;
+                Iterator<Map.Entry<Long, byte[]>> it = outOfOrderSegments.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<Long, byte[]> segment = it.next();
+                    int segmentOffset = relativeOffset(segment.getKey());
+                    if (segmentOffset <= 0) {
+                        it.remove();
+                        outOfOrderBytes -= segment.getValue().length;
+                        appended |= append(segment.getValue(), -segmentOffset);
+                    }
+                }
+            } while (appended);
+
+            connection.dataAvailable(this);
+        }
+
+        private int relativeOffset(long seq) {
+            return (int) ((seq - nextSeq) & 0xFFFFFFFFL);
+        }
+
+        private boolean append(byte[] data, int offset) {
+            if (offset >= data.length) {
+                // Retransmission.
+                return false;
+            }
+            buffer.append(data, offset, data.length - offset);
+            nextSeq = (nextSeq + data.length - offset) & 0xFFFFFFFFL;
+            return true;
+        }
+
+        void clear() {
+            buffer.clear();
+            outOfOrderSegments.clear();
+            outOfOrderBytes = 0;
+            body = null;
+        }
+
+        void parse() {
+            while (!connection.ignored) {
+                switch (state) {
+                    case HEADER:
+                        if (!parseHeader()) {
+                            return;
+                        }
+                        break;
+                    case BODY:
+                        if (!readBody()) {
+                            return;
+                        }
+                        break;
+                    case CHUNK_SIZE:
+                        if (!readChunkSize()) {
+                            return;
+                        }
+                        break;
+                    case CHUNK_DATA:
+                        if (!readBody()) {
+                            return;
+                        }
+                        break;
+                    case CHUNK_END:
+                        if (buffer.size() < CRLF.length) {
+                            return;
+                        }
+                        buffer.skip(CRLF.length);
+                        state = ParseState.CHUNK_SIZE;
+                        break;
+                    case TRAILERS:
+                        if (!readTrailer()) {
+                            return;
+                        }
+                        break;
+                    case UNTIL_CLOSE:
+                        body.write(buffer.array(), buffer.start(), buffer.size());
+                        buffer.clear();
+                        if (!finished) {
+                            return;
+                        }
+                        complete();
+                        break;
+                }
+            }
+        }
+
+        private boolean parseHeader() {
+            if (buffer.size() == 0) {
+                return false;
+            }
+            if (request ? !startsLikeRequest(buffer) : !startsWith(buffer, HTTP_PREFIX)) {
+                connection.ignore("not HTTP/1.x");
+                return false;
+            }
+
+            int end = buffer.indexOf(DOUBLE_CRLF, MAX_HTTP_HEADER_SIZE);
+            if (end == -1) {
+                if (buffer.size() >= MAX_HTTP_HEADER_SIZE) {
+                    connection.ignore("HTTP header too large");
+                }
+                return false;
+            }
+
+            String headerData = buffer.readString(end + DOUBLE_CRLF.length);
+            headerTime = currentTime;
+            long length =
+                    request
+                            ? connection.requestHeader(this, headerData)
+                            : connection.responseHeader(this, headerData);
+            if (length == INVALID) {
+                connection.ignore("invalid HTTP header");
+                return false;
+            }
+
+            body = new ByteArrayOutputStream();
+            chunked = length == CHUNKED;
+            if (chunked) {
+                state = ParseState.CHUNK_SIZE;
+            } else if (length == UNTIL_CLOSE) {
+                state = ParseState.UNTIL_CLOSE;
+            } else {
+                remaining = length;
+                state = ParseState.BODY;
+            }
+            return true;
+        }
+
+        private boolean readBody() {
+            if (remaining > 0) {
+                int length = (int) Math.min(remaining, buffer.size());
+                if (length == 0) {
+                    return false;
+                }
+                body.write(buffer.array(), buffer.start(), length);
+                buffer.skip(length);
+                remaining -= length;
+                if (remaining > 0) {
+                    return false;
+                }
+            }
+
+            if (state == ParseState.CHUNK_DATA) {
+                state = ParseState.CHUNK_END;
+            } else {
+                complete();
+            }
+            return true;
+        }
+
+        private boolean readChunkSize() {
+            String line = readLine();
+            if (line == null) {
+                return false;
+            }
+            int extension = line.indexOf(';');
+            String size = (extension != -1 ? line.substring(0, extension) : line).trim();
+            try {
+                remaining = Long.parseLong(size, 16);
+            } catch (NumberFormatException e) {
+                remaining = -1;
+            }
+            if (remaining < 0) {
+                connection.ignore("invalid chunk size");
+                return false;
+            }
+            state = remaining == 0 ? ParseState.TRAILERS : ParseState.CHUNK_DATA;
+            return true;
+        }
+
+        private boolean readTrailer() {
+            String line = readLine();
+            if (line == null) {
+                return false;
+            }
+            if (line.isEmpty()) {
+                complete();
+            }
+            return true;
+        }
+
+        private String readLine() {
+            int end = buffer.indexOf(CRLF, MAX_CHUNK_LINE_SIZE);
+            if (end == -1) {
+                if (buffer.size() >= MAX_CHUNK_LINE_SIZE) {
+                    connection.ignore("chunk line too large");
+                }
+                return null;
+            }
+            String line = buffer.readString(end);
+            buffer.skip(CRLF.length);
+            return line;
+        }
+
+        private void complete() {
+            byte[] data = body.toByteArray();
+            body = null;
+            state = ParseState.HEADER;
+            connection.messageComplete(this, data);
+        }
+    }
+
+    /** A buffer of the contiguous data not yet parsed. */
+    private static class StreamBuffer {
+
+        private static final byte[] EMPTY = {};
+
+        private byte[] data = EMPTY;
+        private int start;
+        private int end;
+
+        int size() {
+            return end - start;
+        }
+
+        byte[] array() {
+            return data;
+        }
+
+        int start() {
+            return start;
+        }
+
+        byte get(int index) {
+            return data[start + index];
+        }
+
+        void append(byte[] bytes, int offset, int length) {
+            if (end + length > data.length) {
+                int size = size();
+                if (size + length > data.length / 2) {
+                    byte[] newData = new byte[Math.max(size + length, data.length * 2)];
+                    System.arraycopy(data, start, newData, 0, size);
+                    data = newData;
+                } else {
+                    System.arraycopy(data, start, data, 0, size);
+                }
+                start = 0;
+                end = size;
+            }
+            System.arraycopy(bytes, offset, data, end, length);
+            end += length;
+        }
+
+        int indexOf(byte[] target, int limit) {
+            int last = Math.min(end, start + limit) - target.length;
+            outer:
+            for (int i = start; i <= last; i++) {
+                for (int j = 0; j < target.length; j++) {
+                    if (data[i + j] != target[j]) {
+                        continue outer;
+                    }
+                }
+                return i - start;
+            }
+            return -1;
+        }
+
+        String readString(int length) {
+            String value = new String(data, start, length, StandardCharsets.ISO_8859_1);
+            skip(length);
+            return value;
+        }
+
+        void skip(int length) {
+            start += length;
+            if (start == end) {
+                clear();
+            }
+        }
+
+        void clear() {
+            if (data.length > MAX_HTTP_HEADER_SIZE) {
+                data = EMPTY;
+            }
+            start = 0;
+            end = 0;
+        }
+    }
+}
@@ -34,6 +34,9 @@ import org.zaproxy.zap.view.ZapMenuItem;
 
 public class MenuItemImportPcap extends ZapMenuItem {
     private static final long serialVersionUID = 9111279126644588074L;
+    private static final String THREAD_PREFIX = "ZAP-Import-Pcap-";
+
+    private static int threadId = 1;
 
     public MenuItemImportPcap() {
         super("exim.import.pcap.topmenu.import");
@@ -62,9 +65,16 @@ public class MenuItemImportPcap extends ZapMenuItem {
                     if (openChoice == JFileChooser.APPROVE_OPTION) {
                         File newFile = fc.getSelectedFile();
                         ProgressPane currentImportPane =
-                                new ProgressPane(newFile.getAbsolutePath(), true);
+                                new ProgressPane(newFile.getAbsolutePath(), false);
                         ExtensionExim.getProgressPanel().addProgressPane(currentImportPane);
-                        new PcapImporter(newFile, new ProgressPaneListener(currentImportPane));
+                        new Thread(
+                                        () ->
+                                                new PcapImporter(
+                                                        newFile,
+                                                        new ProgressPaneListener(
+                                                                currentImportPane)),
+                                        THREAD_PREFIX + threadId++)
+                                .start();
                     }
                 });
     }
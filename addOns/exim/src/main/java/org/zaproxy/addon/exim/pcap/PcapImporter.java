@@ -20,26 +20,25 @@
 package org.zaproxy.addon.exim.pcap;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import org.apache.commons.io.input.ProxyInputStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
-import org.parosproxy.paros.control.Control;
-import org.parosproxy.paros.extension.history.ExtensionHistory;
-import org.parosproxy.paros.model.HistoryReference;
-import org.parosproxy.paros.model.Model;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.ui.ProgressPaneListener;
-import org.zaproxy.zap.utils.ThreadUtils;
+import org.zaproxy.addon.exim.HistoryPersister;
 
 public class PcapImporter {
 
     private static final Logger LOGGER = LogManager.getLogger(PcapImporter.class);
 
-    private static ExtensionHistory extHistory;
-
     private ProgressPaneListener progressListener;
+    private long totalBytes;
+    private long bytesRead;
     private boolean success;
 
     public PcapImporter(File file) {
@@ -52,10 +51,19 @@ public class PcapImporter {
     }
 
     private void importPcapFile(File file) {
-        List<HttpMessage> messages = null;
+        totalBytes = file.length();
+        if (progressListener != null) {
+            progressListener.setTotalTasks(100);
+        }
 
-        try {
-            messages = getHttpMessages(file);
+        try (InputStream is = new CountingInputStream(new FileInputStream(file));
+                HistoryPersister persister = new HistoryPersister()) {
+            PcapUtils.extractHttpMessages(
+                    is,
+                    msg -> {
+                        persistMessage(persister, msg);
+                        updateProgress(msg.getRequestHeader().getURI().toString());
+                    });
         } catch (IOException e) {
             LOGGER.warn("Failed to read Pcap file: {}\n{}", file.getAbsolutePath(), e.getMessage());
             success = false;
@@ -63,17 +71,6 @@ public class PcapImporter {
             return;
         }
 
-        progressListener.setTotalTasks(messages.size());
-        int count = 0;
-        for (HttpMessage msg : messages) {
-            if (msg == null) {
-                updateProgress(
-                        ++count, Constant.messages.getString("exim.progress.invalidmessage"));
-                continue;
-            }
-            persistMessage(msg);
-            updateProgress(++count, msg.getRequestHeader().getURI().toString());
-        }
         success = true;
         completed();
     }
@@ -82,47 +79,22 @@ public class PcapImporter {
         return PcapUtils.extractHttpMessages(pcapFile);
     }
 
-    private static void persistMessage(HttpMessage message) {
-        HistoryReference historyRef;
-
+    private static void persistMessage(HistoryPersister persister, HttpMessage message) {
         try {
-            historyRef =
-                    new HistoryReference(
-                            Model.getSingleton().getSession(),
-                            HistoryReference.TYPE_ZAP_USER,
-                            message);
+            persister.persist(message);
         } catch (Exception e) {
             LOGGER.warn(e.getMessage());
-            return;
-        }
-
-        if (getExtensionHistory() != null) {
-            ThreadUtils.invokeAndWaitHandled(() -> addMessage(historyRef, message));
-        }
-    }
-
-    private static ExtensionHistory getExtensionHistory() {
-        if (extHistory == null) {
-            extHistory =
-                    Control.getSingleton()
-                            .getExtensionLoader()
-                            .getExtension(ExtensionHistory.class);
         }
-        return extHistory;
-    }
-
-    private static void addMessage(HistoryReference historyRef, HttpMessage message) {
-        getExtensionHistory().addHistory(historyRef);
-        Model.getSingleton().getSession().getSiteTree().addPath(historyRef, message);
     }
 
     public boolean isSuccess() {
         return success;
     }
 
-    private void updateProgress(int count, String line) {
+    private void updateProgress(String line) {
         if (progressListener != null) {
-            progressListener.setTasksDone(count);
+            progressListener.setTasksDone(
+                    totalBytes > 0 ? (int) Math.min(100, bytesRead * 100 / totalBytes) : 0);
             progressListener.setCurrentTask(
                     Constant.messages.getString("exim.progress.currentimport", line));
         }
@@ -133,4 +105,18 @@ public class PcapImporter {
             progressListener.completed();
         }
     }
+
+    private class CountingInputStream extends ProxyInputStream {
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        protected void afterRead(int n) {
+            if (n > 0) {
+                bytesRead += n;
+            }
+        }
+    }
 }
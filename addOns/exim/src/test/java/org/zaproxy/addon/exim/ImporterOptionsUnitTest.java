@@ -96,6 +96,7 @@ class ImporterOptionsUnitTest extends TestUtils {
         assertThat(options.getInputFile(), is(equalTo(inputFile)));
         assertThat(options.getMessageHandler(), is(equalTo(messageHandler)));
         assertThat(options.isSendRequests(), is(equalTo(false)));
+        assertThat(options.getThreadCount(), is(equalTo(1)));
     }
 
     @Test
@@ -108,6 +109,28 @@ class ImporterOptionsUnitTest extends TestUtils {
         assertThat(options.isSendRequests(), is(equalTo(true)));
     }
 
+    @Test
+    void shouldSetThreadCount() {
+        // Given
+        ImporterOptions.Builder builder = builderWithInputFileAndMessageHandler();
+        // When
+        ImporterOptions options = builder.setThreadCount(4).build();
+        // Then
+        assertThat(options.getThreadCount(), is(equalTo(4)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1})
+    void shouldThrowSettingInvalidThreadCount(int threadCount) {
+        // Given
+        Builder builder = ImporterOptions.builder();
+        // When / Then
+        Exception ex =
+                assertThrows(
+                        IllegalArgumentException.class, () -> builder.setThreadCount(threadCount));
+        assertThat(ex.getMessage(), containsString("threadCount"));
+    }
+
     @Test
     void shouldSetContext() {
         // Given
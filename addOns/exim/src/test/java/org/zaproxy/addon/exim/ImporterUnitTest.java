@@ -159,6 +159,35 @@ class ImporterUnitTest extends TestUtils {
                 is(equalTo("http://example.com")));
     }
 
+    @Test
+    void shouldImportFromHarInOrderWithMultipleThreads() throws Exception {
+        // Given
+        optionsWithType(HarImporterType.ID);
+        given(options.getThreadCount()).willReturn(4);
+        int entries = 50;
+        StringBuilder har = new StringBuilder("{\"log\":{\"entries\":[");
+        for (int i = 0; i < entries; i++) {
+            if (i > 0) {
+                har.append(',');
+            }
+            har.append("{\"request\":{\"method\":\"GET\",\"url\":\"http://example.com/")
+                    .append(i)
+                    .append("\",\"httpVersion\":\"HTTP/1.1\"},\"response\":{\"status\":0}}");
+        }
+        inputFileWith(har.append("]}}").toString());
+        // When
+        ImporterResult result = importer.apply(options);
+        // Then
+        assertCount(result, entries);
+        assertThat(result.getErrors(), is(empty()));
+        assertThat(importedMessages, hasSize(entries));
+        for (int i = 0; i < entries; i++) {
+            assertThat(
+                    importedMessages.get(i).getRequestHeader().getURI().toString(),
+                    is(equalTo("http://example.com/" + i)));
+        }
+    }
+
     private void assertCount(ImporterResult result, int count) {
         assertThat(result.getCount(), is(equalTo(count)));
         assertThat(
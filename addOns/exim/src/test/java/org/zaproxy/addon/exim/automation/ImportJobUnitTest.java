@@ -89,10 +89,11 @@ class ImportJobUnitTest extends TestUtils {
         Map<String, String> params = job.getCustomConfigParameters();
 
         // Then
-        assertThat(params.size(), is(equalTo(3)));
+        assertThat(params.size(), is(equalTo(4)));
         assertThat(params.get("type"), is(equalTo("")));
         assertThat(params.get("fileName"), is(equalTo("")));
         assertThat(params.get("sendRequests"), is(equalTo("false")));
+        assertThat(params.get("threadCount"), is(equalTo("1")));
     }
 
     @Test
@@ -109,7 +110,8 @@ class ImportJobUnitTest extends TestUtils {
                         + "  fileName: "
                         + fileName
                         + "\n"
-                        + "  sendRequests: true";
+                        + "  sendRequests: true\n"
+                        + "  threadCount: 4";
         Yaml yaml = new Yaml();
         Object data = yaml.load(yamlStr);
 
@@ -124,6 +126,7 @@ class ImportJobUnitTest extends TestUtils {
         assertThat(job.getParameters().getType(), is(equalTo(type)));
         assertThat(job.getParameters().getFileName(), is(equalTo(fileName)));
         assertThat(job.getParameters().getSendRequests(), is(equalTo(true)));
+        assertThat(job.getParameters().getThreadCount(), is(equalTo(4)));
         assertThat(progress.hasWarnings(), is(equalTo(false)));
         assertThat(progress.hasErrors(), is(equalTo(false)));
     }
@@ -25,6 +25,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,8 +34,10 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.withSettings;
 
@@ -53,6 +56,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.LogEvent;
@@ -72,6 +76,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.quality.Strictness;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.control.Control;
@@ -394,15 +399,93 @@ class HarImporterUnitTest extends TestUtils {
     }
 
     @Test
-    void shouldCountNullMessagesTowardsTasksDone() {
+    void shouldCountNullMessagesTowardsProgress() {
         // Given
         ProgressPaneListener listener = mock(ProgressPaneListener.class);
         // When
         new HarImporter(getResourcePath("oneNullMessage.har").toFile(), listener);
         // Then
+        verify(listener).setTotalTasks(100);
+        verify(listener).setTasksDone(100);
+        verify(listener).setCurrentTask("Importing: Invalid message");
+    }
+
+    @Test
+    void shouldCountNullMessagesTowardsTasksDoneWhenImportingHarLog() throws Exception {
+        // Given
+        ProgressPaneListener listener = mock(ProgressPaneListener.class);
+        HarLog harLog =
+                new HarReader().readFromFile(getResourcePath("oneNullMessage.har").toFile()).log();
+        // When
+        new HarImporter(harLog, listener);
+        // Then
         verify(listener).setTasksDone(1);
     }
 
+    @Test
+    void shouldReportProgressByBytesReadWhenImportingFile(@TempDir Path dir) throws Exception {
+        // Given
+        ProgressPaneListener listener = mock(ProgressPaneListener.class);
+        File file = createHarFile(dir, 500);
+        // When
+        HarImporter importer = new HarImporter(file, listener);
+        // Then
+        assertThat(importer.isSuccess(), equalTo(true));
+        ArgumentCaptor<Integer> tasksDone = ArgumentCaptor.forClass(Integer.class);
+        verify(listener, times(500)).setTasksDone(tasksDone.capture());
+        assertThat(tasksDone.getAllValues().get(0), is(lessThan(100)));
+        assertThat(tasksDone.getAllValues(), is(equalTo(sorted(tasksDone.getAllValues()))));
+        assertThat(tasksDone.getAllValues().get(499), is(equalTo(100)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldImportFileInOrder(int threadCount, @TempDir Path dir) throws Exception {
+        // Given
+        clearInvocations(siteMap);
+        File file = createHarFile(dir, 250);
+        // When
+        HarImporter importer = new HarImporter(file, null, false, threadCount);
+        // Then
+        assertThat(importer.isSuccess(), equalTo(true));
+        verify(statsListener, times(250)).counterInc("stats.exim.import.har.file.message");
+        ArgumentCaptor<HttpMessage> messages = ArgumentCaptor.forClass(HttpMessage.class);
+        verify(siteMap, times(250)).addPath(any(HistoryReference.class), messages.capture());
+        for (int i = 0; i < 250; i++) {
+            assertThat(
+                    messages.getAllValues().get(i).getRequestHeader().getURI().getPath(),
+                    is(equalTo("/" + i)));
+        }
+    }
+
+    @Test
+    void shouldSendRequestsWithMultipleThreads(@TempDir Path dir) throws Exception {
+        // Given
+        startServer();
+        AtomicInteger hits = new AtomicInteger();
+        nano.addHandler(
+                new NanoServerHandler("/") {
+                    @Override
+                    protected NanoHTTPD.Response serve(NanoHTTPD.IHTTPSession session) {
+                        hits.incrementAndGet();
+                        return NanoHTTPD.newFixedLengthResponse("live-body");
+                    }
+                });
+        HarLogBuilder harLog = HarUtils.createZapHarLog();
+        List<HarEntry> harEntries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            harEntries.add(HarUtils.createHarEntry(createLiveMessage("/" + i)));
+        }
+        File file = dir.resolve("live.har").toFile();
+        Files.write(file.toPath(), HarUtils.toJsonAsBytes(harLog.entries(harEntries).build()));
+        // When
+        HarImporter importer = new HarImporter(file, null, true, 3);
+        // Then
+        assertThat(importer.isSuccess(), equalTo(true));
+        assertThat(hits.get(), equalTo(10));
+        verify(statsListener, times(10)).counterInc("stats.exim.import.har.file.message");
+    }
+
     @ParameterizedTest
     @ValueSource(
             strings = {
@@ -532,6 +615,29 @@ class HarImporterUnitTest extends TestUtils {
         assertThat(messages.get(0).getResponseBody().toString(), is(equalTo("Not base 64")));
     }
 
+    private static File createHarFile(Path dir, int entries) throws Exception {
+        HarLogBuilder harLog = HarUtils.createZapHarLog();
+        List<HarEntry> harEntries = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            harEntries.add(
+                    HarUtils.createHarEntry(
+                            new HttpMessage(
+                                    "GET http://example.com/" + i + " HTTP/1.1",
+                                    EMPTY_BODY,
+                                    "HTTP/1.1 200 OK",
+                                    EMPTY_BODY)));
+        }
+        Path file = dir.resolve("entries.har");
+        Files.write(file, HarUtils.toJsonAsBytes(harLog.entries(harEntries).build()));
+        return file.toFile();
+    }
+
+    private static List<Integer> sorted(List<Integer> values) {
+        List<Integer> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        return sorted;
+    }
+
     private HttpMessage createLiveMessage(String path) throws HttpMalformedHeaderException {
         String url = "http://127.0.0.1:" + nano.getListeningPort() + path;
         return new HttpMessage(
@@ -20,14 +20,18 @@
 package org.zaproxy.addon.exim.pcap;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -119,4 +123,79 @@ class PcapImporterUnitTest extends TestUtils {
         // Then
         assertThat(messages.size(), is(equalTo(1)));
     }
+
+    @Test
+    void shouldExtractPipelinedAndChunkedMessagesFromKeepAliveConnection() throws IOException {
+        // Given
+        File file = getResourcePath("http1.1KeepAlivePipelinedAndChunked.pcap").toFile();
+        // When
+        List<HttpMessage> messages = PcapImporter.getHttpMessages(file);
+        // Then
+        assertThat(
+                messages.stream().map(msg -> msg.getRequestHeader().getURI().toString()).toList(),
+                contains(
+                        "http://example.com/a",
+                        "http://example.com/b",
+                        "http://example.com/head",
+                        "http://example.com/chunk",
+                        "http://example.com/upload",
+                        "http://example.com/nocontent"));
+        assertThat(messages.get(0).getResponseBody().toString(), is(equalTo("AAAA")));
+        assertThat(messages.get(1).getResponseBody().toString(), is(equalTo("BB")));
+        assertThat(messages.get(2).getResponseBody().length(), is(equalTo(0)));
+        HttpMessage chunked = messages.get(3);
+        assertThat(chunked.getResponseBody().toString(), is(equalTo("Wikipedia")));
+        assertThat(chunked.getResponseHeader().isTransferEncodingChunked(), is(equalTo(false)));
+        assertThat(chunked.getResponseHeader().getContentLength(), is(equalTo(9)));
+        HttpMessage upload = messages.get(4);
+        assertThat(upload.getRequestBody().toString(), is(equalTo("hello")));
+        assertThat(upload.getResponseHeader().getStatusCode(), is(equalTo(200)));
+        assertThat(upload.getResponseBody().toString(), is(equalTo("done")));
+        assertThat(messages.get(5).getResponseHeader().getStatusCode(), is(equalTo(204)));
+    }
+
+    @Test
+    void shouldReassembleOutOfOrderAndRetransmittedSegments() throws IOException {
+        // Given
+        File file = getResourcePath("http1.1OutOfOrderSegments.pcap").toFile();
+        // When
+        List<HttpMessage> messages = PcapImporter.getHttpMessages(file);
+        // Then
+        assertThat(messages, hasSize(1));
+        HttpMessage message = messages.get(0);
+        assertThat(message.getResponseHeader().getStatusCode(), is(equalTo(200)));
+        assertThat(message.getResponseBody().toString(), is(equalTo("x".repeat(3000))));
+    }
+
+    @Test
+    void shouldExtractMessagesFromHttpConnectionsOnly() throws IOException {
+        // Given
+        File file = getResourcePath("http1.1MixedConnections.pcap").toFile();
+        // When
+        List<HttpMessage> messages = PcapImporter.getHttpMessages(file);
+        // Then
+        assertThat(
+                messages.stream().map(msg -> msg.getRequestHeader().getURI().toString()).toList(),
+                contains(
+                        "http://example.com/mid",
+                        "http://example.com/after",
+                        "http://example.com/ws",
+                        "http://example.com/unanswered"));
+        assertThat(messages.get(2).getResponseHeader().getStatusCode(), is(equalTo(101)));
+        assertThat(messages.get(3).isResponseFromTargetHost(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldPassMessagesToConsumerAsSoonAsComplete() throws IOException {
+        // Given
+        File file = getResourcePath("http1.1SmallAndClean.pcap").toFile();
+        List<String> uris = new ArrayList<>();
+        // When
+        PcapUtils.extractHttpMessages(
+                file, msg -> uris.add(msg.getRequestHeader().getURI().toString()));
+        // Then
+        assertThat(uris, hasSize(2));
+        assertThat(uris.get(0), startsWith("http://pagead2.googlesyndication.com/pagead/ads?"));
+        assertThat(uris.get(1), is(equalTo("http://www.ethereal.com/download.html")));
+    }
 }
@@ -89,7 +89,8 @@ public class HttpFuzzer extends AbstractFuzzer<HttpMessage> {
 
         this.originalMessage = message;
 
-        messagesModel = new HttpFuzzerResultsTableModel();
+        messagesModel =
+                new HttpFuzzerResultsTableModel(fuzzerOptions.isInterestingResponseBodiesOnly());
         errorsModel = new HttpFuzzerErrorsTableModel();
         listeners = new ArrayList<>(1);
         messagesSentCounter = new AtomicInteger(0);
@@ -232,6 +232,7 @@ public class HttpFuzzerHandler implements FuzzerHandler<HttpMessage, HttpFuzzer>
     @Override
     public void scannerRemoved(HttpFuzzer fuzzer) {
         getHttpFuzzResultsContentPanel().clear(fuzzer);
+        fuzzer.getMessagesModel().clear();
     }
 
     @Override
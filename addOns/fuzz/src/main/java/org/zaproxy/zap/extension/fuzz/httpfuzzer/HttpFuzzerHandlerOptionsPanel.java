@@ -33,6 +33,7 @@ public class HttpFuzzerHandlerOptionsPanel implements FuzzerHandlerOptionsPanel<
 
     private final JCheckBox followRedirectsCheckBox;
     private final JCheckBox showRedirectMessagesCheckBox;
+    private final JCheckBox interestingBodiesOnlyCheckBox;
 
     public HttpFuzzerHandlerOptionsPanel() {
         optionsPanel = new JPanel();
@@ -50,6 +51,16 @@ public class HttpFuzzerHandlerOptionsPanel implements FuzzerHandlerOptionsPanel<
                         Constant.messages.getString("fuzz.httpfuzzer.options.label.showredirects"));
         showRedirectMessagesLabel.setLabelFor(showRedirectMessagesCheckBox);
 
+        interestingBodiesOnlyCheckBox = new JCheckBox();
+        JLabel interestingBodiesOnlyLabel =
+                new JLabel(
+                        Constant.messages.getString(
+                                "fuzz.httpfuzzer.options.label.interestingbodiesonly"));
+        interestingBodiesOnlyLabel.setLabelFor(interestingBodiesOnlyCheckBox);
+        interestingBodiesOnlyCheckBox.setToolTipText(
+                Constant.messages.getString(
+                        "fuzz.httpfuzzer.options.tooltip.interestingbodiesonly"));
+
         GroupLayout layout = new GroupLayout(optionsPanel);
         optionsPanel.setLayout(layout);
         layout.setAutoCreateGaps(true);
@@ -58,17 +69,23 @@ public class HttpFuzzerHandlerOptionsPanel implements FuzzerHandlerOptionsPanel<
                 layout.createSequentialGroup()
                         .addGroup(
                                 layout.createParallelGroup(GroupLayout.Alignment.TRAILING)
-                                        .addComponent(followRedirectsLabel))
+                                        .addComponent(followRedirectsLabel)
+                                        .addComponent(interestingBodiesOnlyLabel))
                         .addGroup(
                                 layout.createParallelGroup(GroupLayout.Alignment.LEADING)
-                                        .addComponent(followRedirectsCheckBox)));
+                                        .addComponent(followRedirectsCheckBox)
+                                        .addComponent(interestingBodiesOnlyCheckBox)));
 
         layout.setVerticalGroup(
                 layout.createSequentialGroup()
                         .addGroup(
                                 layout.createParallelGroup(GroupLayout.Alignment.BASELINE)
                                         .addComponent(followRedirectsLabel)
-                                        .addComponent(followRedirectsCheckBox)));
+                                        .addComponent(followRedirectsCheckBox))
+                        .addGroup(
+                                layout.createParallelGroup(GroupLayout.Alignment.BASELINE)
+                                        .addComponent(interestingBodiesOnlyLabel)
+                                        .addComponent(interestingBodiesOnlyCheckBox)));
     }
 
     @Override
@@ -83,11 +100,17 @@ public class HttpFuzzerHandlerOptionsPanel implements FuzzerHandlerOptionsPanel<
 
     @Override
     public HttpFuzzerOptions getOptions(FuzzerOptions baseOptions) {
-        return new HttpFuzzerOptions(baseOptions, followRedirectsCheckBox.isSelected(), false, 100);
+        return new HttpFuzzerOptions(
+                baseOptions,
+                followRedirectsCheckBox.isSelected(),
+                false,
+                100,
+                interestingBodiesOnlyCheckBox.isSelected());
     }
 
     @Override
     public void reset() {
         followRedirectsCheckBox.setSelected(false);
+        interestingBodiesOnlyCheckBox.setSelected(false);
     }
 }
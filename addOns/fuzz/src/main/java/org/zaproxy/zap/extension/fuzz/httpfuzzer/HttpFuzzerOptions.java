@@ -26,17 +26,39 @@ public class HttpFuzzerOptions extends FuzzerOptions {
     private final boolean followRedirects;
     private final boolean showRedirectMessages;
     private final int maximumRedirects;
+    private final boolean interestingResponseBodiesOnly;
 
     public HttpFuzzerOptions(
             FuzzerOptions baseOptions,
             boolean followRedirects,
             boolean showRedirectMessages,
             int maximumRedirects) {
+        this(baseOptions, followRedirects, showRedirectMessages, maximumRedirects, false);
+    }
+
+    /**
+     * Constructs a {@code HttpFuzzerOptions} with the given data.
+     *
+     * @param baseOptions the base options.
+     * @param followRedirects {@code true} if the redirects should be followed.
+     * @param showRedirectMessages {@code true} if the redirect messages should be shown.
+     * @param maximumRedirects the maximum number of redirects to follow.
+     * @param interestingResponseBodiesOnly {@code true} if the response bodies should be kept just
+     *     for the interesting results, {@code false} otherwise.
+     * @since 13.17.0
+     */
+    public HttpFuzzerOptions(
+            FuzzerOptions baseOptions,
+            boolean followRedirects,
+            boolean showRedirectMessages,
+            int maximumRedirects,
+            boolean interestingResponseBodiesOnly) {
         super(baseOptions);
 
         this.followRedirects = followRedirects;
         this.showRedirectMessages = showRedirectMessages;
         this.maximumRedirects = maximumRedirects;
+        this.interestingResponseBodiesOnly = interestingResponseBodiesOnly;
     }
 
     public boolean isFollowRedirects() {
@@ -50,4 +72,17 @@ public class HttpFuzzerOptions extends FuzzerOptions {
     public int getMaximumRedirects() {
         return maximumRedirects;
     }
+
+    /**
+     * Tells whether or not the response bodies should be kept just for the interesting results,
+     * that is, the original message, the results with custom states, and the results with a status
+     * code different from the original message.
+     *
+     * @return {@code true} if the response bodies are kept just for the interesting results,
+     *     {@code false} if kept for all results.
+     * @since 13.17.0
+     */
+    public boolean isInterestingResponseBodiesOnly() {
+        return interestingResponseBodiesOnly;
+    }
 }
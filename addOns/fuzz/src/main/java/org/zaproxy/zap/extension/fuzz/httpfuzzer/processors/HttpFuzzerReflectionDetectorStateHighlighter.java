@@ -37,7 +37,7 @@ public class HttpFuzzerReflectionDetectorStateHighlighter
     private static final String REFLECTED_CUSTOM_STATE_NAME =
             Constant.messages.getString("fuzz.httpfuzzer.processor.reflection.customStateName");
 
-    protected static final String REFLECTED_CUSTOM_STATE_KEY =
+    public static final String REFLECTED_CUSTOM_STATE_KEY =
             "fuzz.httpfuzzerReflectionDetectorStateHighlighter.ReflectionData";
 
     public HttpFuzzerReflectionDetectorStateHighlighter() {
@@ -203,14 +203,12 @@ public class HttpFuzzResultsContentPanel extends JPanel
                                     List<Object> valueOfRow =
                                             currentFuzzer
                                                     .getMessagesModel()
-                                                    .getEntry(i)
-                                                    .getValuesOfHeaders();
+                                                    .getValuesOfHeaders(i);
                                     String customStateValue =
                                             fuzzResultTable.getCustomStateValue(
                                                     currentFuzzer
                                                             .getMessagesModel()
-                                                            .getEntry(i)
-                                                            .getCustomStates());
+                                                            .getCustomStates(i));
                                     valueOfRow.add(13, customStateValue);
                                     pw.printRecord(valueOfRow);
                                 }
@@ -0,0 +1,475 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.fuzz.httpfuzzer.ui;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.network.HttpMalformedHeaderException;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.extension.fuzz.httpfuzzer.HttpFuzzResult;
+import org.zaproxy.zap.extension.fuzz.httpfuzzer.processors.HttpFuzzerReflectionDetectorStateHighlighter;
+
+/**
+ * An append-only store of the results of a HTTP fuzzer.
+ *
+ * <p>The data shown in the results table (for example, status code, sizes, RTT, and payloads) is
+ * kept in memory, in columns of primitive values, while the messages are compressed and written to
+ * a temporary file, read only when needed. The response body might not be kept, in which case the
+ * message read has an empty response body.
+ *
+ * <p>The store is thread-safe.
+ */
+class HttpFuzzerResultsStore {
+
+    private static final Logger LOGGER = LogManager.getLogger(HttpFuzzerResultsStore.class);
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private static final byte FLAG_REFLECTED = 1;
+    private static final byte FLAG_BODY_RETAINED = 1 << 1;
+
+    private final LongColumn taskIds;
+    private final LongColumn timestamps;
+    private final IntColumn statusCodes;
+    private final IntColumn rtts;
+    private final IntColumn requestHeaderSizes;
+    private final IntColumn requestBodySizes;
+    private final IntColumn responseHeaderSizes;
+    private final IntColumn responseBodySizes;
+    private final ByteColumn types;
+    private final ByteColumn flags;
+    private final LongColumn offsets;
+    private final IntColumn headersLengths;
+    private final IntColumn bodiesLengths;
+    private final IntColumn payloadsStarts;
+    private final IntColumn payloadIds;
+
+    private final List<String> typesDictionary;
+    private final List<String> payloadsDictionary;
+    private final Map<String, Integer> payloadsIndex;
+    private final Map<Integer, Map<String, Object>> customStates;
+
+    private Path file;
+    private FileChannel channel;
+    private long position;
+    private int size;
+    private boolean closed;
+
+    HttpFuzzerResultsStore() {
+        taskIds = new LongColumn();
+        timestamps = new LongColumn();
+        statusCodes = new IntColumn();
+        rtts = new IntColumn();
+        requestHeaderSizes = new IntColumn();
+        requestBodySizes = new IntColumn();
+        responseHeaderSizes = new IntColumn();
+        responseBodySizes = new IntColumn();
+        types = new ByteColumn();
+        flags = new ByteColumn();
+        offsets = new LongColumn();
+        headersLengths = new IntColumn();
+        bodiesLengths = new IntColumn();
+        payloadsStarts = new IntColumn();
+        payloadIds = new IntColumn();
+
+        typesDictionary = new ArrayList<>();
+        payloadsDictionary = new ArrayList<>();
+        payloadsIndex = new HashMap<>();
+        customStates = new HashMap<>();
+    }
+
+    /**
+     * Adds the given result.
+     *
+     * @param result the result to add.
+     * @param retainBody {@code true} if the response body should be kept, {@code false} otherwise.
+     * @return the index of the result.
+     * @throws IOException if an error occurred while writing the message.
+     */
+    int add(HttpFuzzResult result, boolean retainBody) throws IOException {
+        HttpMessage msg = result.getHttpMessage();
+        String requestHeader = msg.getRequestHeader().toString();
+        String responseHeader = msg.getResponseHeader().toString();
+        byte[] headers =
+                compress(
+                        requestHeader.getBytes(StandardCharsets.UTF_8),
+                        responseHeader.getBytes(StandardCharsets.UTF_8));
+        byte[] bodies =
+                compress(
+                        msg.getRequestBody().getBytes(),
+                        retainBody ? msg.getResponseBody().getBytes() : new byte[0]);
+
+        byte rowFlags = retainBody ? FLAG_BODY_RETAINED : 0;
+        Map<String, Object> states = result.getCustomStates();
+        if (states.containsKey(
+                HttpFuzzerReflectionDetectorStateHighlighter.REFLECTED_CUSTOM_STATE_KEY)) {
+            rowFlags |= FLAG_REFLECTED;
+        }
+
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("The store is closed.");
+            }
+            long offset = write(headers, bodies);
+
+            int row = size;
+            taskIds.add(result.getTaskId());
+            timestamps.add(msg.getTimeSentMillis());
+            statusCodes.add(msg.getResponseHeader().getStatusCode());
+            rtts.add(msg.getTimeElapsedMillis());
+            requestHeaderSizes.add(requestHeader.length());
+            requestBodySizes.add(msg.getRequestBody().length());
+            responseHeaderSizes.add(responseHeader.length());
+            responseBodySizes.add(msg.getResponseBody().length());
+            types.add((byte) getTypeId(result.getType()));
+            flags.add(rowFlags);
+            offsets.add(offset);
+            headersLengths.add(headers.length);
+            bodiesLengths.add(bodies.length);
+            payloadsStarts.add(payloadIds.size());
+            for (Object payload : result.getPayloads()) {
+                payloadIds.add(getPayloadId(String.valueOf(payload)));
+            }
+            if (!states.isEmpty()) {
+                customStates.put(row, new HashMap<>(states));
+            }
+            size++;
+            return row;
+        }
+    }
+
+    private long write(byte[] headers, byte[] bodies) throws IOException {
+        if (channel == null) {
+            file = Files.createTempFile("zap-fuzz-results-", ".bin");
+            file.toFile().deleteOnExit();
+            channel =
+                    FileChannel.open(
+                            file,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.DELETE_ON_CLOSE);
+        }
+        long offset = position;
+        ByteBuffer[] buffers = {ByteBuffer.wrap(headers), ByteBuffer.wrap(bodies)};
+        long remaining = (long) headers.length + bodies.length;
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+        position += (long) headers.length + bodies.length;
+        return offset;
+    }
+
+    private int getTypeId(String type) {
+        int id = typesDictionary.indexOf(type);
+        if (id == -1) {
+            id = typesDictionary.size();
+            typesDictionary.add(type);
+        }
+        return id;
+    }
+
+    private int getPayloadId(String payload) {
+        return payloadsIndex.computeIfAbsent(
+                payload,
+                k -> {
+                    payloadsDictionary.add(k);
+                    return payloadsDictionary.size() - 1;
+                });
+    }
+
+    /**
+     * Gets the number of results.
+     *
+     * @return the number of results.
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized long getTaskId(int row) {
+        return taskIds.get(row);
+    }
+
+    synchronized String getType(int row) {
+        return typesDictionary.get(types.get(row));
+    }
+
+    synchronized long getTimestamp(int row) {
+        return timestamps.get(row);
+    }
+
+    synchronized int getStatusCode(int row) {
+        return statusCodes.get(row);
+    }
+
+    synchronized int getRtt(int row) {
+        return rtts.get(row);
+    }
+
+    synchronized int getRequestHeaderSize(int row) {
+        return requestHeaderSizes.get(row);
+    }
+
+    synchronized int getRequestBodySize(int row) {
+        return requestBodySizes.get(row);
+    }
+
+    synchronized int getResponseHeaderSize(int row) {
+        return responseHeaderSizes.get(row);
+    }
+
+    synchronized int getResponseBodySize(int row) {
+        return responseBodySizes.get(row);
+    }
+
+    synchronized boolean isReflected(int row) {
+        return (flags.get(row) & FLAG_REFLECTED) != 0;
+    }
+
+    synchronized boolean isBodyRetained(int row) {
+        return (flags.get(row) & FLAG_BODY_RETAINED) != 0;
+    }
+
+    synchronized List<Object> getPayloads(int row) {
+        int start = payloadsStarts.get(row);
+        int end = row + 1 < size ? payloadsStarts.get(row + 1) : payloadIds.size();
+        if (start == end) {
+            return Collections.emptyList();
+        }
+        List<Object> payloads = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            payloads.add(payloadsDictionary.get(payloadIds.get(i)));
+        }
+        return payloads;
+    }
+
+    synchronized Map<String, Object> getCustomStates(int row) {
+        Map<String, Object> states = customStates.get(row);
+        if (states == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(states);
+    }
+
+    /**
+     * Reads the request and response headers of the given result.
+     *
+     * @param row the index of the result.
+     * @return the request and response headers.
+     * @throws IOException if an error occurred while reading the headers.
+     */
+    String[] readHeaders(int row) throws IOException {
+        long offset;
+        int length;
+        synchronized (this) {
+            offset = offsets.get(row);
+            length = headersLengths.get(row);
+        }
+        byte[][] parts = decompress(read(offset, length), 2);
+        return new String[] {
+            new String(parts[0], StandardCharsets.UTF_8),
+            new String(parts[1], StandardCharsets.UTF_8)
+        };
+    }
+
+    /**
+     * Reads the message of the given result.
+     *
+     * @param row the index of the result.
+     * @return the message.
+     * @throws IOException if an error occurred while reading the message.
+     */
+    HttpMessage readMessage(int row) throws IOException {
+        long offset;
+        int length;
+        int bodiesLength;
+        long timestamp;
+        int rtt;
+        synchronized (this) {
+            offset = offsets.get(row);
+            length = headersLengths.get(row);
+            bodiesLength = bodiesLengths.get(row);
+            timestamp = timestamps.get(row);
+            rtt = rtts.get(row);
+        }
+        byte[] data = read(offset, length + bodiesLength);
+        byte[][] headers = decompress(data, 0, length, 2);
+        byte[][] bodies = decompress(data, length, bodiesLength, 2);
+        try {
+            HttpMessage msg = new HttpMessage();
+            msg.setRequestHeader(new String(headers[0], StandardCharsets.UTF_8));
+            msg.setRequestBody(bodies[0]);
+            msg.setResponseHeader(new String(headers[1], StandardCharsets.UTF_8));
+            msg.setResponseBody(bodies[1]);
+            msg.setTimeSentMillis(timestamp);
+            msg.setTimeElapsedMillis(rtt);
+            return msg;
+        } catch (HttpMalformedHeaderException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private byte[] read(long offset, int length) throws IOException {
+        FileChannel currentChannel;
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("The store is closed.");
+            }
+            currentChannel = channel;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (currentChannel.read(buffer, offset + buffer.position()) == -1) {
+                throw new EOFException("Unexpected end of the store.");
+            }
+        }
+        return buffer.array();
+    }
+
+    /** Closes the store, deleting the messages. */
+    void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to delete the fuzz results {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private static byte[] compress(byte[]... parts) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream dos =
+                new DataOutputStream(new DeflaterOutputStream(baos, deflater))) {
+            for (byte[] part : parts) {
+                dos.writeInt(part.length);
+                dos.write(part);
+            }
+        } finally {
+            deflater.end();
+        }
+        return baos.toByteArray();
+    }
+
+    private static byte[][] decompress(byte[] data, int parts) throws IOException {
+        return decompress(data, 0, data.length, parts);
+    }
+
+    private static byte[][] decompress(byte[] data, int offset, int length, int parts)
+            throws IOException {
+        byte[][] values = new byte[parts][];
+        try (DataInputStream dis =
+                new DataInputStream(
+                        new InflaterInputStream(new ByteArrayInputStream(data, offset, length)))) {
+            for (int i = 0; i < parts; i++) {
+                values[i] = new byte[dis.readInt()];
+                dis.readFully(values[i]);
+            }
+        }
+        return values;
+    }
+
+    private static class IntColumn {
+
+        private final List<int[]> chunks = new ArrayList<>();
+        private int size;
+
+        void add(int value) {
+            if (size % CHUNK_SIZE == 0) {
+                chunks.add(new int[CHUNK_SIZE]);
+            }
+            chunks.get(size / CHUNK_SIZE)[size % CHUNK_SIZE] = value;
+            size++;
+        }
+
+        int get(int index) {
+            return chunks.get(index / CHUNK_SIZE)[index % CHUNK_SIZE];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    private static class LongColumn {
+
+        private final List<long[]> chunks = new ArrayList<>();
+        private int size;
+
+        void add(long value) {
+            if (size % CHUNK_SIZE == 0) {
+                chunks.add(new long[CHUNK_SIZE]);
+            }
+            chunks.get(size / CHUNK_SIZE)[size % CHUNK_SIZE] = value;
+            size++;
+        }
+
+        long get(int index) {
+            return chunks.get(index / CHUNK_SIZE)[index % CHUNK_SIZE];
+        }
+    }
+
+    private static class ByteColumn {
+
+        private final List<byte[]> chunks = new ArrayList<>();
+        private int size;
+
+        void add(byte value) {
+            if (size % CHUNK_SIZE == 0) {
+                chunks.add(new byte[CHUNK_SIZE]);
+            }
+            chunks.get(size / CHUNK_SIZE)[size % CHUNK_SIZE] = value;
+            size++;
+        }
+
+        byte get(int index) {
+            return chunks.get(index / CHUNK_SIZE)[index % CHUNK_SIZE];
+        }
+    }
+}
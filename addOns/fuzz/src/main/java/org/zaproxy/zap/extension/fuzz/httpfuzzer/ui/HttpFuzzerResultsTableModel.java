@@ -20,9 +20,12 @@
 package org.zaproxy.zap.extension.fuzz.httpfuzzer.ui;
 
 import java.awt.EventQueue;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -80,42 +83,109 @@ public class HttpFuzzerResultsTableModel
         Constant.messages.getString("fuzz.httpfuzzer.results.tab.messages.table.header.payloads")
     };
 
-    private List<FuzzResultTableEntry> results;
+    /** The maximum number of rows whose request and response lines are kept in memory. */
+    private static final int MAX_CACHED_LINES = 1000;
+
+    private final boolean interestingBodiesOnly;
+
+    private HttpFuzzerResultsStore store;
+    private volatile int rowCount;
+    private volatile int originalStatusCode;
+    private Map<Integer, FuzzResultTableEntry> entries;
     private Map<Integer, Integer> idsToRows;
+    private Map<Integer, String[]> lines;
 
     public HttpFuzzerResultsTableModel() {
+        this(false);
+    }
+
+    /**
+     * Constructs a {@code HttpFuzzerResultsTableModel} that keeps the response bodies of all or
+     * just the interesting results.
+     *
+     * <p>The interesting results are the original message, the results with custom states (for
+     * example, reflected payloads or tags), and the results whose status code is different from
+     * the original message.
+     *
+     * @param interestingBodiesOnly {@code true} if the response bodies should be kept just for the
+     *     interesting results, {@code false} otherwise.
+     * @since 13.17.0
+     */
+    public HttpFuzzerResultsTableModel(boolean interestingBodiesOnly) {
         super(COLUMNS);
 
-        results = new ArrayList<>();
-        idsToRows = new HashMap<>();
+        this.interestingBodiesOnly = interestingBodiesOnly;
+        this.originalStatusCode = -1;
+        init();
+    }
+
+    private void init() {
+        store = new HttpFuzzerResultsStore();
+        rowCount = 0;
+        entries = Collections.synchronizedMap(new HashMap<>());
+        idsToRows = Collections.synchronizedMap(new HashMap<>());
+        lines = createLinesCache();
+    }
+
+    private static Map<Integer, String[]> createLinesCache() {
+        return Collections.synchronizedMap(
+                new LinkedHashMap<Integer, String[]>(MAX_CACHED_LINES, 0.75f, true) {
+
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Integer, String[]> eldest) {
+                        return size() > MAX_CACHED_LINES;
+                    }
+                });
     }
 
     public void addResult(final HttpFuzzResult result) {
+        final HttpFuzzerResultsStore currentStore = store;
+        final int row;
         try {
-            final HistoryReference href =
-                    result.getHttpMessage().getHistoryRef() != null
-                            ? result.getHttpMessage().getHistoryRef()
-                            : new HistoryReference(
-                                    Model.getSingleton().getSession(),
-                                    HistoryReference.TYPE_FUZZER_TEMPORARY,
-                                    result.getHttpMessage());
-
-            EventQueue.invokeLater(
-                    () -> {
-                        final int row = results.size();
-                        idsToRows.put(Integer.valueOf(href.getHistoryId()), Integer.valueOf(row));
-                        results.add(
-                                new FuzzResultTableEntry(
-                                        href,
-                                        result.getTaskId(),
-                                        result.getType(),
-                                        result.getCustomStates(),
-                                        result.getPayloads()));
-                        fireTableRowsInserted(row, row);
-                    });
-        } catch (HttpMalformedHeaderException | DatabaseException e) {
+            if (result.getTaskId() == 0) {
+                originalStatusCode = result.getHttpMessage().getResponseHeader().getStatusCode();
+            }
+            row = currentStore.add(result, !interestingBodiesOnly || isInteresting(result));
+        } catch (IOException e) {
             LOGGER.error("Failed to persist (and show) the message:", e);
+            return;
         }
+
+        final HistoryReference href = result.getHttpMessage().getHistoryRef();
+        EventQueue.invokeLater(
+                () -> {
+                    if (currentStore != store) {
+                        return;
+                    }
+                    if (href != null) {
+                        addEntry(row, href);
+                    }
+                    int newRow = rowCount;
+                    rowCount++;
+                    fireTableRowsInserted(newRow, newRow);
+                });
+    }
+
+    private boolean isInteresting(HttpFuzzResult result) {
+        return result.getTaskId() == 0
+                || !result.getCustomStates().isEmpty()
+                || result.getHttpMessage().getResponseHeader().getStatusCode()
+                        != originalStatusCode;
+    }
+
+    private FuzzResultTableEntry addEntry(int row, HistoryReference href) {
+        FuzzResultTableEntry entry =
+                new FuzzResultTableEntry(
+                        href,
+                        store.getTaskId(row),
+                        store.getType(row),
+                        store.getCustomStates(row),
+                        store.getPayloads(row));
+        entries.put(row, entry);
+        idsToRows.put(href.getHistoryId(), row);
+        return entry;
     }
 
     @Override
@@ -127,9 +197,35 @@ public class HttpFuzzerResultsTableModel
     @Override
     public void removeEntry(int historyReferenceId) {}
 
+    /**
+     * Gets the entry of the given row.
+     *
+     * <p>The message of the result is persisted, as a temporary message, the first time its entry
+     * is obtained, for example, when selected.
+     *
+     * @param rowIndex the index of the row.
+     * @return the entry, or {@code null} if an error occurred while reading or persisting the
+     *     message.
+     */
     @Override
     public FuzzResultTableEntry getEntry(int rowIndex) {
-        return results.get(rowIndex);
+        FuzzResultTableEntry entry = entries.get(rowIndex);
+        if (entry != null) {
+            return entry;
+        }
+
+        try {
+            HttpMessage msg = store.readMessage(rowIndex);
+            HistoryReference href =
+                    new HistoryReference(
+                            Model.getSingleton().getSession(),
+                            HistoryReference.TYPE_FUZZER_TEMPORARY,
+                            msg);
+            return addEntry(rowIndex, href);
+        } catch (IOException | HttpMalformedHeaderException | DatabaseException e) {
+            LOGGER.error("Failed to read (and persist) the message:", e);
+        }
+        return null;
     }
 
     @Override
@@ -144,14 +240,14 @@ public class HttpFuzzerResultsTableModel
 
     @Override
     public void clear() {
-        results = new ArrayList<>();
-        idsToRows = new HashMap<>();
+        store.close();
+        init();
         fireTableDataChanged();
     }
 
     @Override
     public int getRowCount() {
-        return results.size();
+        return rowCount;
     }
 
     @Override
@@ -169,7 +265,86 @@ public class HttpFuzzerResultsTableModel
         if (columnIndex == -1) {
             return getEntry(rowIndex);
         }
-        return super.getValueAt(rowIndex, columnIndex);
+
+        switch (COLUMNS[columnIndex]) {
+            case CUSTOM:
+                return getCustomValueAt(rowIndex, columnIndex);
+            case REQUEST_TIMESTAMP:
+                return new Date(store.getTimestamp(rowIndex));
+            case METHOD:
+                return getLines(rowIndex)[0];
+            case URL:
+                return getLines(rowIndex)[1];
+            case STATUS_CODE:
+                return store.getStatusCode(rowIndex);
+            case STATUS_REASON:
+                return getLines(rowIndex)[2];
+            case RTT:
+                return store.getRtt(rowIndex);
+            case SIZE_REQUEST_HEADER:
+                return store.getRequestHeaderSize(rowIndex);
+            case SIZE_REQUEST_BODY:
+                return store.getRequestBodySize(rowIndex);
+            case SIZE_RESPONSE_HEADER:
+                return store.getResponseHeaderSize(rowIndex);
+            case SIZE_RESPONSE_BODY:
+                return store.getResponseBodySize(rowIndex);
+            default:
+                // The messages are not scanned, the alerts are known just for the entries
+                // already persisted.
+                FuzzResultTableEntry entry = entries.get(rowIndex);
+                return entry != null ? entry.getValue(COLUMNS[columnIndex]) : null;
+        }
+    }
+
+    /**
+     * Gets the method, URL, and status reason of the given row.
+     *
+     * @param rowIndex the index of the row.
+     * @return the method, URL, and status reason.
+     */
+    private String[] getLines(int rowIndex) {
+        String[] values = lines.get(rowIndex);
+        if (values != null) {
+            return values;
+        }
+
+        values = new String[] {"", "", ""};
+        try {
+            String[] headers = store.readHeaders(rowIndex);
+            String[] requestLine = StringUtils.split(firstLine(headers[0]), ' ');
+            if (requestLine.length > 1) {
+                values[0] = requestLine[0];
+                values[1] = requestLine[1];
+            }
+            String[] statusLine = StringUtils.split(firstLine(headers[1]), " ", 3);
+            if (statusLine.length > 2) {
+                values[2] = statusLine[2];
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read the headers of the message: {}", e.getMessage());
+        }
+        lines.put(rowIndex, values);
+        return values;
+    }
+
+    private static String firstLine(String header) {
+        int idx = header.indexOf('\r');
+        return idx == -1 ? header : header.substring(0, idx);
+    }
+
+    private Object getCustomValueAt(int rowIndex, int columnIndex) {
+        switch (getCustomColumnIndex(columnIndex)) {
+            case 0:
+                return Long.valueOf(store.getTaskId(rowIndex));
+            case 1:
+                return store.getType(rowIndex);
+            case 2:
+                return store.getCustomStates(rowIndex);
+            case 3:
+                return StringUtils.join(store.getPayloads(rowIndex), ", ");
+        }
+        return null;
     }
 
     @Override
@@ -228,7 +403,49 @@ public class HttpFuzzerResultsTableModel
             return Collections.emptyList();
         }
 
-        return results.get(row.intValue()).getPayloads();
+        return store.getPayloads(row.intValue());
+    }
+
+    /**
+     * Gets the custom states of the given row.
+     *
+     * @param rowIndex the index of the row.
+     * @return the custom states, never {@code null}.
+     * @since 13.17.0
+     */
+    public Map<String, Object> getCustomStates(int rowIndex) {
+        return store.getCustomStates(rowIndex);
+    }
+
+    /**
+     * Gets the values of the given row, in the same order as the {@link #getHeaders() headers},
+     * without the state.
+     *
+     * <p>The message of the result is not persisted.
+     *
+     * @param rowIndex the index of the row.
+     * @return the values of the row.
+     * @since 13.17.0
+     */
+    public List<Object> getValuesOfHeaders(int rowIndex) {
+        List<Object> values = new ArrayList<>();
+        values.add(store.getTaskId(rowIndex));
+        values.add(store.getType(rowIndex));
+        values.add(new Date(store.getTimestamp(rowIndex)));
+        String[] rowLines = getLines(rowIndex);
+        values.add(rowLines[0]);
+        values.add(rowLines[1]);
+        values.add(store.getStatusCode(rowIndex));
+        values.add(rowLines[2]);
+        values.add(store.getRtt(rowIndex));
+        values.add(store.getRequestHeaderSize(rowIndex));
+        values.add(store.getRequestBodySize(rowIndex));
+        values.add(store.getResponseHeaderSize(rowIndex));
+        values.add(store.getResponseBodySize(rowIndex));
+        FuzzResultTableEntry entry = entries.get(rowIndex);
+        values.add(entry != null ? entry.getHighestAlert() : null);
+        values.add(store.getPayloads(rowIndex));
+        return values;
     }
 
     public List<String> getHeaders() {
@@ -311,9 +528,8 @@ public class HttpFuzzerResultsTableModel
                 break;
             }
 
-            HistoryReference historyReference = getEntry(i).getHistoryReference();
             try {
-                HttpMessage msg = historyReference.getHttpMessage();
+                HttpMessage msg = store.readMessage(i);
                 if (inverse) {
                     // Check for no matches in either Response Header or Body
                     if (!pattern.matcher(msg.getResponseHeader().toString()).find()
@@ -322,7 +538,7 @@ public class HttpFuzzerResultsTableModel
                                 createSearchResult(
                                         pattern.toString(),
                                         "",
-                                        msg,
+                                        getPersistedMessage(i, msg),
                                         SearchMatch.Location.RESPONSE_HEAD,
                                         0,
                                         0));
@@ -336,7 +552,7 @@ public class HttpFuzzerResultsTableModel
                                 createSearchResult(
                                         pattern.toString(),
                                         matcher.group(),
-                                        msg,
+                                        getPersistedMessage(i, msg),
                                         SearchMatch.Location.RESPONSE_HEAD,
                                         matcher.start(),
                                         matcher.end()));
@@ -349,20 +565,33 @@ public class HttpFuzzerResultsTableModel
                                 createSearchResult(
                                         pattern.toString(),
                                         matcher.group(),
-                                        msg,
+                                        getPersistedMessage(i, msg),
                                         SearchMatch.Location.RESPONSE_BODY,
                                         matcher.start(),
                                         matcher.end()));
                         matches++;
                     }
                 }
-            } catch (HttpMalformedHeaderException | DatabaseException e) {
+            } catch (IOException e) {
                 LOGGER.error(e.getMessage(), e);
             }
         }
         return searchResults;
     }
 
+    private HttpMessage getPersistedMessage(int rowIndex, HttpMessage msg) {
+        FuzzResultTableEntry entry = getEntry(rowIndex);
+        if (entry == null) {
+            return msg;
+        }
+        try {
+            return entry.getHistoryReference().getHttpMessage();
+        } catch (HttpMalformedHeaderException | DatabaseException e) {
+            LOGGER.warn("Failed to read the persisted message: {}", e.getMessage());
+            return msg;
+        }
+    }
+
     protected SearchResult createSearchResult(
             String regex,
             String match,
@@ -0,0 +1,221 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.fuzz.httpfuzzer.ui;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.extension.fuzz.httpfuzzer.HttpFuzzResult;
+import org.zaproxy.zap.extension.fuzz.httpfuzzer.processors.HttpFuzzerReflectionDetectorStateHighlighter;
+
+/** Unit test for {@link HttpFuzzerResultsStore}. */
+class HttpFuzzerResultsStoreUnitTest {
+
+    private HttpFuzzerResultsStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new HttpFuzzerResultsStore();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        store.close();
+    }
+
+    @Test
+    void shouldBeEmptyInitially() {
+        // Given / When
+        int size = store.size();
+        // Then
+        assertThat(size, is(equalTo(0)));
+    }
+
+    @Test
+    void shouldAddResultAndGetItsColumns() throws Exception {
+        // Given
+        HttpMessage msg = createMessage("payload", 404, "Not Found");
+        HttpFuzzResult result = new HttpFuzzResult(42, "Fuzzed", msg, List.of("a", "b"));
+        // When
+        int row = store.add(result, true);
+        // Then
+        assertThat(row, is(equalTo(0)));
+        assertThat(store.size(), is(equalTo(1)));
+        assertThat(store.getTaskId(row), is(equalTo(42L)));
+        assertThat(store.getType(row), is(equalTo("Fuzzed")));
+        assertThat(store.getTimestamp(row), is(equalTo(1234L)));
+        assertThat(store.getStatusCode(row), is(equalTo(404)));
+        assertThat(store.getRtt(row), is(equalTo(56)));
+        assertThat(
+                store.getRequestHeaderSize(row),
+                is(equalTo(msg.getRequestHeader().toString().length())));
+        assertThat(store.getRequestBodySize(row), is(equalTo(msg.getRequestBody().length())));
+        assertThat(
+                store.getResponseHeaderSize(row),
+                is(equalTo(msg.getResponseHeader().toString().length())));
+        assertThat(store.getResponseBodySize(row), is(equalTo(msg.getResponseBody().length())));
+        assertThat(store.getPayloads(row), contains("a", "b"));
+        assertThat(store.getCustomStates(row).isEmpty(), is(equalTo(true)));
+        assertThat(store.isReflected(row), is(equalTo(false)));
+        assertThat(store.isBodyRetained(row), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldReadMessageOfResult() throws Exception {
+        // Given
+        store.add(new HttpFuzzResult(0, "Original", createMessage("x", 200, "OK")), true);
+        HttpMessage msg = createMessage("payload", 500, "Internal Server Error");
+        int row = store.add(new HttpFuzzResult(1, "Fuzzed", msg), true);
+        // When
+        HttpMessage read = store.readMessage(row);
+        // Then
+        assertThat(read.getRequestHeader().toString(), is(equalTo(requestHeader(msg))));
+        assertThat(read.getRequestBody().toString(), is(equalTo(msg.getRequestBody().toString())));
+        assertThat(read.getResponseHeader().toString(), is(equalTo(responseHeader(msg))));
+        assertThat(
+                read.getResponseBody().toString(), is(equalTo(msg.getResponseBody().toString())));
+        assertThat(read.getTimeSentMillis(), is(equalTo(1234L)));
+        assertThat(read.getTimeElapsedMillis(), is(equalTo(56)));
+    }
+
+    @Test
+    void shouldReadHeadersOfResult() throws Exception {
+        // Given
+        HttpMessage msg = createMessage("payload", 200, "OK");
+        int row = store.add(new HttpFuzzResult(1, "Fuzzed", msg), false);
+        // When
+        String[] headers = store.readHeaders(row);
+        // Then
+        assertThat(headers[0], is(equalTo(requestHeader(msg))));
+        assertThat(headers[1], is(equalTo(responseHeader(msg))));
+    }
+
+    @Test
+    void shouldNotKeepResponseBodyIfNotRetained() throws Exception {
+        // Given
+        HttpMessage msg = createMessage("payload", 200, "OK");
+        int row = store.add(new HttpFuzzResult(1, "Fuzzed", msg), false);
+        // When
+        HttpMessage read = store.readMessage(row);
+        // Then
+        assertThat(store.isBodyRetained(row), is(equalTo(false)));
+        assertThat(store.getResponseBodySize(row), is(equalTo(msg.getResponseBody().length())));
+        assertThat(read.getResponseBody().length(), is(equalTo(0)));
+        assertThat(read.getRequestBody().toString(), is(equalTo(msg.getRequestBody().toString())));
+    }
+
+    @Test
+    void shouldKeepCustomStatesAndReflectionFlag() throws Exception {
+        // Given
+        HttpFuzzResult result =
+                new HttpFuzzResult(1, "Fuzzed", createMessage("payload", 200, "OK"));
+        result.addCustomState(
+                HttpFuzzerReflectionDetectorStateHighlighter.REFLECTED_CUSTOM_STATE_KEY, "payload");
+        result.addCustomState("tag", "value");
+        // When
+        int row = store.add(result, true);
+        // Then
+        assertThat(store.isReflected(row), is(equalTo(true)));
+        assertThat(store.getCustomStates(row), hasEntry("tag", "value"));
+    }
+
+    @Test
+    void shouldShareRepeatedPayloads() throws Exception {
+        // Given
+        HttpMessage msg = createMessage("payload", 200, "OK");
+        List<Object> payloads = Arrays.asList("a", 1);
+        // When
+        int row1 = store.add(new HttpFuzzResult(1, "Fuzzed", msg, payloads), true);
+        int row2 = store.add(new HttpFuzzResult(2, "Fuzzed", msg, List.of()), true);
+        int row3 = store.add(new HttpFuzzResult(3, "Fuzzed", msg, payloads), true);
+        // Then
+        assertThat(store.getPayloads(row1), contains("a", "1"));
+        assertThat(store.getPayloads(row2), is(empty()));
+        assertThat(store.getPayloads(row3), contains("a", "1"));
+        Object payload = store.getPayloads(row3).get(0);
+        assertThat(store.getPayloads(row1).get(0), is(sameInstance(payload)));
+    }
+
+    @Test
+    void shouldAddManyResults() throws Exception {
+        // Given
+        int count = 10_000;
+        // When
+        for (int i = 0; i < count; i++) {
+            store.add(
+                    new HttpFuzzResult(
+                            i, "Fuzzed", createMessage("p" + i, 200, "OK"), List.of("p" + i)),
+                    i % 2 == 0);
+        }
+        // Then
+        assertThat(store.size(), is(equalTo(count)));
+        assertThat(store.getTaskId(count - 1), is(equalTo((long) count - 1)));
+        assertThat(store.getPayloads(5000), contains("p5000"));
+        assertThat(
+                store.readMessage(9998).getRequestBody().toString(), is(equalTo("param=p9998")));
+    }
+
+    @Test
+    void shouldFailToAddOrReadOnceClosed() throws Exception {
+        // Given
+        HttpMessage msg = createMessage("payload", 200, "OK");
+        int row = store.add(new HttpFuzzResult(1, "Fuzzed", msg), true);
+        // When
+        store.close();
+        // Then
+        assertThrows(IOException.class, () -> store.readMessage(row));
+        HttpFuzzResult result = new HttpFuzzResult(2, "Fuzzed", msg);
+        assertThrows(IOException.class, () -> store.add(result, true));
+    }
+
+    private static String requestHeader(HttpMessage msg) {
+        return msg.getRequestHeader().toString();
+    }
+
+    private static String responseHeader(HttpMessage msg) {
+        return msg.getResponseHeader().toString();
+    }
+
+    private static HttpMessage createMessage(String payload, int statusCode, String reason)
+            throws Exception {
+        HttpMessage msg = new HttpMessage();
+        msg.setRequestHeader("POST https://example.com/path HTTP/1.1\r\nHost: example.com\r\n\r\n");
+        msg.setRequestBody("param=" + payload);
+        msg.setResponseHeader(
+                "HTTP/1.1 " + statusCode + " " + reason + "\r\nContent-Type: text/html\r\n\r\n");
+        msg.setResponseBody("<html><body>Response with " + payload + "</body></html>");
+        msg.setTimeSentMillis(1234);
+        msg.setTimeElapsedMillis(56);
+        return msg;
+    }
+}
@@ -24,27 +24,68 @@ import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.script.ScriptEngine;
 import javax.swing.ImageIcon;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
 import org.zaproxy.zap.extension.script.DefaultEngineWrapper;
 import org.zaproxy.zap.extension.script.ScriptWrapper;
 
+/**
+ * The engine wrapper of Graal.js.
+ *
+ * <p>All the script engines share the same polyglot {@link Engine}, so that the code parsed and
+ * compiled for a script is reused by the following evaluations of the same script. The script
+ * engines are created ahead of use, in a bounded pool, each one is used for a single invocation so
+ * that no state is kept between invocations.
+ */
 public class GraalJsEngineWrapper extends DefaultEngineWrapper {
 
+    private static final Logger LOGGER = LogManager.getLogger(GraalJsEngineWrapper.class);
+
+    static final int DEFAULT_POOL_SIZE = 4;
+
+    /** The time to wait for the pool filler to stop, when closing. */
+    private static final long POOL_FILLER_TERMINATION_TIMEOUT_SECONDS = 10;
+
     private final ClassLoader hostClassLoader;
     private final List<Path> defaultTemplates;
     private final ImageIcon icon;
+    private final int poolSize;
+    private final BlockingQueue<GraalJSScriptEngine> pool;
+    private final AtomicBoolean fillingPool;
+
+    private Engine engine;
+    private ExecutorService poolFiller;
 
     public GraalJsEngineWrapper(
             ClassLoader hostClassLoader, List<Path> defaultTemplates, ImageIcon icon) {
+        this(hostClassLoader, defaultTemplates, icon, DEFAULT_POOL_SIZE);
+    }
+
+    GraalJsEngineWrapper(
+            ClassLoader hostClassLoader,
+            List<Path> defaultTemplates,
+            ImageIcon icon,
+            int poolSize) {
         super(new GraalJSEngineFactory());
 
         this.hostClassLoader = hostClassLoader;
         this.defaultTemplates = Objects.requireNonNull(defaultTemplates);
         this.icon = icon;
+        this.poolSize = Math.max(0, poolSize);
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        this.fillingPool = new AtomicBoolean();
     }
 
     @Override
@@ -64,12 +105,15 @@ public class GraalJsEngineWrapper extends DefaultEngineWrapper {
 
     @Override
     public ScriptEngine getEngine() {
-        Engine engine =
-                Engine.newBuilder()
-                        .allowExperimentalOptions(true)
-                        .option("engine.WarnInterpreterOnly", "false")
-                        .build();
+        GraalJSScriptEngine scriptEngine = pool.poll();
+        if (scriptEngine == null) {
+            scriptEngine = createScriptEngine();
+        }
+        fillPool();
+        return new ScriptEngineCleaner(scriptEngine);
+    }
 
+    private GraalJSScriptEngine createScriptEngine() {
         Context.Builder contextBuilder =
                 Context.newBuilder("js")
                         .allowExperimentalOptions(true)
@@ -81,7 +125,103 @@ public class GraalJsEngineWrapper extends DefaultEngineWrapper {
                         .allowAllAccess(true)
                         .hostClassLoader(hostClassLoader);
 
-        return new ScriptEngineCleaner(GraalJSScriptEngine.create(engine, contextBuilder));
+        return GraalJSScriptEngine.create(getSharedEngine(), contextBuilder);
+    }
+
+    private synchronized Engine getSharedEngine() {
+        if (engine == null) {
+            engine =
+                    Engine.newBuilder()
+                            .allowExperimentalOptions(true)
+                            .option("engine.WarnInterpreterOnly", "false")
+                            .build();
+        }
+        return engine;
+    }
+
+    private void fillPool() {
+        if (pool.size() >= poolSize || !fillingPool.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            getPoolFiller().execute(this::createPooledScriptEngines);
+        } catch (RejectedExecutionException e) {
+            fillingPool.set(false);
+        }
+    }
+
+    private void createPooledScriptEngines() {
+        try {
+            while (pool.size() < poolSize && !Thread.currentThread().isInterrupted()) {
+                GraalJSScriptEngine scriptEngine = createScriptEngine();
+                // Initialise ahead of use, off the threads running the scripts.
+                scriptEngine.getPolyglotContext().initialize("js");
+                if (!pool.offer(scriptEngine)) {
+                    scriptEngine.close();
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Failed to create pooled script engine:", e);
+        } finally {
+            fillingPool.set(false);
+        }
+    }
+
+    private synchronized ExecutorService getPoolFiller() {
+        if (poolFiller == null) {
+            poolFiller =
+                    Executors.newSingleThreadExecutor(
+                            r -> {
+                                Thread thread = new Thread(r, "ZAP-GraalJs-EnginePool");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+        }
+        return poolFiller;
+    }
+
+    /**
+     * Closes the pooled script engines and the shared engine.
+     *
+     * <p>Waits for the pooled script engines being created, so that none is left using the closed
+     * engine.
+     *
+     * <p>The wrapper can still be used afterwards, a new shared engine is created when needed.
+     */
+    public void close() {
+        ExecutorService filler;
+        synchronized (this) {
+            filler = poolFiller;
+            poolFiller = null;
+        }
+        if (filler != null) {
+            filler.shutdownNow();
+            try {
+                if (!filler.awaitTermination(
+                        POOL_FILLER_TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    LOGGER.warn("Timed out while waiting for the pooled script engines.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        GraalJSScriptEngine scriptEngine;
+        while ((scriptEngine = pool.poll()) != null) {
+            scriptEngine.close();
+        }
+
+        synchronized (this) {
+            if (engine != null) {
+                try {
+                    engine.close();
+                } catch (Exception e) {
+                    LOGGER.debug("Error closing engine:", e);
+                }
+                engine = null;
+            }
+        }
     }
 
     @Override
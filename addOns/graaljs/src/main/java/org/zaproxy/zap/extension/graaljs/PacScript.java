@@ -31,6 +31,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Clock;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
@@ -40,17 +41,23 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
-import javax.script.Invocable;
 import javax.script.ScriptException;
 import org.apache.commons.io.IOUtils;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.zaproxy.zap.utils.Stats;
 
 /**
  * Represents a PAC script file and methods to evaluate its content.
@@ -73,9 +80,38 @@ class PacScript {
     private static final String TYPE_PROXY_DATA_SEPARATOR = " ";
     private static final String HOST_PORT_SEPARATOR = ":";
 
-    private final Invocable pacImpl;
+    static final int DEFAULT_POOL_SIZE = 4;
+    static final int MAX_CACHED_RESULTS = 1000;
+    static final Duration DEFAULT_CACHE_TTL = Duration.ofMinutes(5);
+
+    /** The interval to check if closed, while waiting for an idle script engine. */
+    private static final long CLOSED_CHECK_INTERVAL_MS = 100;
+
+    static final String PAC_STATS_PREFIX = "stats.graaljs.pac.";
+    static final String PAC_CACHE_HIT_STATS = PAC_STATS_PREFIX + "cache.hit";
+    static final String PAC_CACHE_MISS_STATS = PAC_STATS_PREFIX + "cache.miss";
+    static final String PAC_EVALUATION_STATS = PAC_STATS_PREFIX + "evaluation";
+
+    private final String scriptContent;
+    private final Engine engine;
+    private final int poolSize;
+    private final List<GraalJSScriptEngine> scriptEngines;
+    private final BlockingQueue<GraalJSScriptEngine> idleScriptEngines;
+    private volatile boolean closed;
+
+    @SuppressWarnings("serial")
+    private final Map<String, CachedResult> cache =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                    return size() > MAX_CACHED_RESULTS;
+                }
+            };
+
+    private volatile Duration cacheTtl = DEFAULT_CACHE_TTL;
+    private volatile boolean cacheByUrl = true;
 
-    private Clock baseClock;
+    private volatile Clock baseClock;
 
     /**
      * Constructs a {@code PacScript} from the given URL (read with UTF-8 charset).
@@ -115,13 +151,41 @@ class PacScript {
      * @throws IllegalArgumentException if {@code scriptContent} is {@code null} or empty.
      */
     public PacScript(String scriptContent) throws ScriptException {
+        this(scriptContent, DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Constructs a {@code PacScript} from the given string, evaluated with up to the given number
+     * of script engines at the same time.
+     *
+     * @param scriptContent the contents of the PAC script.
+     * @param poolSize the maximum number of script engines.
+     * @throws ScriptException if an error occurred while parsing the script.
+     * @throws IllegalArgumentException if {@code scriptContent} is {@code null} or empty.
+     */
+    PacScript(String scriptContent, int poolSize) throws ScriptException {
         if (scriptContent == null || scriptContent.isEmpty()) {
             throw new IllegalArgumentException("The PAC script content must not be null or empty.");
         }
+        this.scriptContent = scriptContent;
         this.baseClock = Clock.systemDefaultZone();
+        this.poolSize = Math.max(1, poolSize);
+        this.scriptEngines = new ArrayList<>(this.poolSize);
+        this.idleScriptEngines = new ArrayBlockingQueue<>(this.poolSize);
+
+        engine = Engine.newBuilder("js").option("engine.WarnInterpreterOnly", "false").build();
+        try {
+            // Create one now, to fail early if the script is not valid.
+            GraalJSScriptEngine se = createScriptEngine();
+            scriptEngines.add(se);
+            idleScriptEngines.add(se);
+        } catch (ScriptException e) {
+            engine.close();
+            throw e;
+        }
+    }
 
-        Engine engine =
-                Engine.newBuilder("js").option("engine.WarnInterpreterOnly", "false").build();
+    private GraalJSScriptEngine createScriptEngine() throws ScriptException {
         Context.Builder contextBuilder =
                 Context.newBuilder("js").option("js.ecmascript-version", "2024");
 
@@ -140,16 +204,89 @@ class PacScript {
         se.put("timeRange", (ProxyExecutable) this::timeRange);
         se.put("weekdayRange", (ProxyExecutable) this::weekdayRange);
 
-        se.eval(scriptContent);
-        pacImpl = se;
+        try {
+            se.eval(scriptContent);
+        } catch (ScriptException e) {
+            se.close();
+            throw e;
+        }
+        return se;
     }
 
     void setBaseClock(Clock baseClock) {
         this.baseClock = baseClock;
     }
 
+    /**
+     * Sets the time that the results of the script are cached.
+     *
+     * <p>The results of the functions that depend on the current time (e.g. {@code timeRange})
+     * might not be noticed until the results expire.
+     *
+     * @param cacheTtl the time to live of the results, {@link Duration#ZERO} to not cache.
+     * @throws NullPointerException if the {@code cacheTtl} is {@code null}.
+     */
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = Objects.requireNonNull(cacheTtl);
+        clearCache();
+    }
+
+    /**
+     * Sets whether the results are cached by full URL, the default, or by scheme and host.
+     *
+     * <p>Should be disabled only if the script does not depend on the path or query of the URL,
+     * otherwise the results of other URLs of the same host would be used.
+     *
+     * @param cacheByUrl {@code true} to cache by full URL, {@code false} by scheme and host.
+     */
+    public void setCacheByUrl(boolean cacheByUrl) {
+        this.cacheByUrl = cacheByUrl;
+        clearCache();
+    }
+
+    /** Clears the cached results of the script. */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
     public void close() {
-        ((GraalJSScriptEngine) pacImpl).close();
+        closed = true;
+        idleScriptEngines.clear();
+        synchronized (scriptEngines) {
+            scriptEngines.forEach(GraalJSScriptEngine::close);
+        }
+        engine.close();
+    }
+
+    GraalJSScriptEngine acquireScriptEngine() throws ScriptException {
+        if (closed) {
+            throw new ScriptException("The PAC script was already closed.");
+        }
+        GraalJSScriptEngine se = idleScriptEngines.poll();
+        if (se != null) {
+            return se;
+        }
+        synchronized (scriptEngines) {
+            if (scriptEngines.size() < poolSize) {
+                se = createScriptEngine();
+                scriptEngines.add(se);
+                return se;
+            }
+        }
+        try {
+            while (!closed) {
+                se = idleScriptEngines.poll(CLOSED_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (se != null) {
+                    return se;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScriptException("Interrupted while waiting to evaluate the PAC script.");
+        }
+        throw new ScriptException("The PAC script was already closed.");
     }
 
     /**
@@ -162,16 +299,61 @@ class PacScript {
      *     function.
      */
     String evaluate(String url, String host) throws ScriptException {
+        GraalJSScriptEngine se = acquireScriptEngine();
+        long start = System.nanoTime();
         try {
-            return (String) pacImpl.invokeFunction("FindProxyForURL", url, host);
+            return (String) se.invokeFunction("FindProxyForURL", url, host);
         } catch (Exception e) {
             throw new ScriptException(e);
+        } finally {
+            if (!closed) {
+                idleScriptEngines.offer(se);
+            }
+            long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Stats.incCounter(PAC_EVALUATION_STATS, time);
+            Stats.incCounter(PAC_EVALUATION_STATS + ".count");
+            Stats.setHighwaterMark(PAC_EVALUATION_STATS + ".max", time);
         }
     }
 
+    private String evaluateCached(String url, String host) throws ScriptException {
+        Duration ttl = cacheTtl;
+        if (ttl.isZero()) {
+            return evaluate(url, host);
+        }
+
+        String key = createCacheKey(url, host);
+        long now = baseClock.millis();
+        synchronized (cache) {
+            CachedResult cached = cache.get(key);
+            if (cached != null && now < cached.expiry) {
+                Stats.incCounter(PAC_CACHE_HIT_STATS);
+                return cached.result;
+            }
+        }
+        Stats.incCounter(PAC_CACHE_MISS_STATS);
+
+        String result = evaluate(url, host);
+        synchronized (cache) {
+            cache.put(key, new CachedResult(result, now + ttl.toMillis()));
+        }
+        return result;
+    }
+
+    private String createCacheKey(String url, String host) {
+        if (cacheByUrl) {
+            return url;
+        }
+        int idx = url.indexOf("://");
+        String scheme = idx == -1 ? "" : url.substring(0, idx).toLowerCase(Locale.ROOT);
+        return scheme + "://" + host.toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Finds the proxy settings for the given url and host.
      *
+     * <p>The results of the script are cached, by full URL unless caching by scheme and host.
+     *
      * @param url the URL.
      * @param host the host.
      * @return a list of proxy settings, empty if none.
@@ -179,7 +361,7 @@ class PacScript {
      *     function or parsing its result.
      */
     public List<Setting> findProxyForUrl(String url, String host) throws ScriptException {
-        String result = evaluate(url, host);
+        String result = evaluateCached(url, host);
         if (result == null || result.isEmpty()) {
             return Collections.emptyList();
         }
@@ -1068,4 +1250,15 @@ class PacScript {
             return port;
         }
     }
+
+    private static class CachedResult {
+
+        private final String result;
+        private final long expiry;
+
+        CachedResult(String result, long expiry) {
+            this.result = result;
+            this.expiry = expiry;
+        }
+    }
 }
@@ -171,6 +171,10 @@ class ScriptEngineCleaner implements ScriptEngine, Compilable, Invocable, AutoCl
         return delegate.getFactory();
     }
 
+    GraalJSScriptEngine getDelegate() {
+        return delegate;
+    }
+
     @Override
     public void close() {
         delegate.close();
@@ -20,7 +20,11 @@
 package org.zaproxy.zap.extension.graaljs;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.List;
@@ -29,6 +33,8 @@ import javax.script.Compilable;
 import javax.script.Invocable;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
+import org.graalvm.polyglot.Engine;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -44,6 +50,11 @@ class GraalJsEngineWrapperUnitTest {
                         GraalJsEngineWrapperUnitTest.class.getClassLoader(), List.of(), null);
     }
 
+    @AfterEach
+    void cleanUp() {
+        engineWrapper.close();
+    }
+
     @Test
     void shouldReturnScriptEngineCleaner() {
         // Given / When
@@ -116,4 +127,111 @@ class GraalJsEngineWrapperUnitTest {
         // Then
         assertThrows(IllegalStateException.class, () -> engine.eval("x + 1"));
     }
+
+    @Test
+    void shouldShareEngineBetweenScriptEngines() {
+        // Given
+        ScriptEngine engine1 = engineWrapper.getEngine();
+        ScriptEngine engine2 = engineWrapper.getEngine();
+
+        // When
+        Engine polyglotEngine1 = polyglotEngine(engine1);
+        Engine polyglotEngine2 = polyglotEngine(engine2);
+
+        // Then
+        assertThat(polyglotEngine1, is(sameInstance(polyglotEngine2)));
+    }
+
+    @Test
+    void shouldNotShareStateBetweenScriptEngines() throws ScriptException {
+        // Given
+        ScriptEngine engine1 = engineWrapper.getEngine();
+        engine1.eval("const x = 1; var y = 2;");
+        ScriptEngine engine2 = engineWrapper.getEngine();
+
+        // When
+        Object result = engine2.eval("const x = 3; typeof y");
+
+        // Then
+        assertThat(result, is(equalTo("undefined")));
+    }
+
+    @Test
+    void shouldNotUseClosedEngineWhenClosedWhilePoolIsFilled() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            // Given
+            ScriptEngine engine = engineWrapper.getEngine();
+            Engine polyglotEngine = polyglotEngine(engine);
+
+            // When
+            engineWrapper.close();
+
+            // Then
+            ScriptEngine newEngine = engineWrapper.getEngine();
+            assertThat(polyglotEngine(newEngine), is(not(sameInstance(polyglotEngine))));
+            assertThat(newEngine.eval("1 + 1"), instanceOf(Number.class));
+        }
+    }
+
+    @Test
+    void shouldCreateNewEngineAfterClose() throws ScriptException {
+        // Given
+        ScriptEngine engine = engineWrapper.getEngine();
+        Engine polyglotEngine = polyglotEngine(engine);
+
+        // When
+        engineWrapper.close();
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> engine.eval("1 + 1"));
+        ScriptEngine newEngine = engineWrapper.getEngine();
+        assertThat(polyglotEngine(newEngine), is(not(sameInstance(polyglotEngine))));
+        assertThat(newEngine.eval("1 + 1"), instanceOf(Number.class));
+    }
+
+    @Test
+    void shouldWorkWithoutPool() throws ScriptException {
+        // Given
+        engineWrapper.close();
+        engineWrapper =
+                new GraalJsEngineWrapper(
+                        GraalJsEngineWrapperUnitTest.class.getClassLoader(), List.of(), null, 0);
+
+        // When
+        Object result = engineWrapper.getEngine().eval("1 + 1");
+
+        // Then
+        assertThat(result, instanceOf(Number.class));
+    }
+
+    @Test
+    void shouldRunScriptOverManyMessagesWithPooledEngines() throws Exception {
+        // Given
+        String script =
+                """
+                function scan(msg) {
+                  const count = (msg.match(/a/g) || []).length;
+                  return count > 1 ? 'alert:' + msg : null;
+                }""";
+        int messages = 1_000;
+        int alerts = 0;
+
+        // When
+        for (int i = 0; i < messages; i++) {
+            try (ScriptEngineCleaner engine = (ScriptEngineCleaner) engineWrapper.getEngine()) {
+                engine.eval(script);
+                Object result = engine.invokeFunction("scan", i % 2 == 0 ? "aa" + i : "b" + i);
+                if (result != null) {
+                    alerts++;
+                }
+            }
+        }
+
+        // Then
+        assertThat(alerts, is(equalTo(messages / 2)));
+    }
+
+    private static Engine polyglotEngine(ScriptEngine engine) {
+        return ((ScriptEngineCleaner) engine).getDelegate().getPolyglotContext().getEngine();
+    }
 }
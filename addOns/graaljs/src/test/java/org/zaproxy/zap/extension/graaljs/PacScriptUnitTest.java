@@ -21,20 +21,30 @@ package org.zaproxy.zap.extension.graaljs;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.net.URL;
 import java.time.Clock;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.WeekFields;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.script.ScriptException;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
@@ -42,7 +52,9 @@ import org.hamcrest.Matcher;
 import org.junit.jupiter.api.Test;
 import org.zaproxy.zap.extension.graaljs.PacScript.Setting;
 import org.zaproxy.zap.extension.graaljs.PacScript.Setting.Type;
+import org.zaproxy.zap.extension.stats.InMemoryStats;
 import org.zaproxy.zap.testutils.TestUtils;
+import org.zaproxy.zap.utils.Stats;
 
 /**
  * Unit test for {@link PacScript}.
@@ -71,6 +83,13 @@ class PacScriptUnitTest extends TestUtils {
     private static final Clock FIXED_CLOCK_GMT = FIXED_CLOCK.withZone(ZoneId.of("GMT"));
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("uuuu-M-d");
 
+    private static final String COUNTING_SCRIPT =
+            "var count = 0;\n"
+                    + "function FindProxyForURL(url, host) {\n"
+                    + "  count++;\n"
+                    + "  return 'PROXY p' + count + ':80';\n"
+                    + "}";
+
     @Test
     void shouldFailToCreatePacScriptWithEmptyString() {
         // Given
@@ -506,6 +525,154 @@ class PacScriptUnitTest extends TestUtils {
                 () -> pacScript.findProxyForUrl("http://example.com/", "example.com"));
     }
 
+    @Test
+    void shouldCacheResultsByUrlByDefault() throws Exception {
+        // Given
+        PacScript pacScript = new PacScript(COUNTING_SCRIPT);
+        // When
+        List<Setting> settings1 = pacScript.findProxyForUrl("http://example.com/a", "example.com");
+        List<Setting> settings2 = pacScript.findProxyForUrl("http://example.com/b", "example.com");
+        List<Setting> settings3 = pacScript.findProxyForUrl("http://example.com/a", "example.com");
+        // Then
+        assertThat(settings1.get(0), hasHost("p1"));
+        assertThat(settings2.get(0), hasHost("p2"));
+        assertThat(settings3.get(0), hasHost("p1"));
+    }
+
+    @Test
+    void shouldCacheResultsByHostAndSchemeIfEnabled() throws Exception {
+        // Given
+        PacScript pacScript = new PacScript(COUNTING_SCRIPT);
+        pacScript.setCacheByUrl(false);
+        // When
+        List<Setting> settings1 = pacScript.findProxyForUrl("http://example.com/a", "example.com");
+        List<Setting> settings2 = pacScript.findProxyForUrl("http://example.com/b", "example.com");
+        List<Setting> settings3 = pacScript.findProxyForUrl("https://example.com/", "example.com");
+        // Then
+        assertThat(settings1.get(0), hasHost("p1"));
+        assertThat(settings2.get(0), hasHost("p1"));
+        assertThat(settings3.get(0), hasHost("p2"));
+    }
+
+    @Test
+    void shouldEvaluateAgainAfterCachedResultExpires() throws Exception {
+        // Given
+        PacScript pacScript = new PacScript(COUNTING_SCRIPT);
+        pacScript.setCacheTtl(Duration.ofMinutes(1));
+        pacScript.setBaseClock(FIXED_CLOCK);
+        List<Setting> settings1 = pacScript.findProxyForUrl("http://example.com/", "example.com");
+        // When
+        pacScript.setBaseClock(Clock.offset(FIXED_CLOCK, Duration.ofSeconds(59)));
+        List<Setting> settings2 = pacScript.findProxyForUrl("http://example.com/", "example.com");
+        pacScript.setBaseClock(Clock.offset(FIXED_CLOCK, Duration.ofMinutes(1)));
+        List<Setting> settings3 = pacScript.findProxyForUrl("http://example.com/", "example.com");
+        // Then
+        assertThat(settings1.get(0), hasHost("p1"));
+        assertThat(settings2.get(0), hasHost("p1"));
+        assertThat(settings3.get(0), hasHost("p2"));
+    }
+
+    @Test
+    void shouldNotCacheResultsIfTtlIsZero() throws Exception {
+        // Given
+        PacScript pacScript = new PacScript(COUNTING_SCRIPT);
+        pacScript.setCacheTtl(Duration.ZERO);
+        // When
+        List<Setting> settings1 = pacScript.findProxyForUrl("http://example.com/", "example.com");
+        List<Setting> settings2 = pacScript.findProxyForUrl("http://example.com/", "example.com");
+        // Then
+        assertThat(settings1.get(0), hasHost("p1"));
+        assertThat(settings2.get(0), hasHost("p2"));
+    }
+
+    @Test
+    void shouldCountCacheHitsAndMissesAndEvaluations() throws Exception {
+        // Given
+        InMemoryStats stats = new InMemoryStats();
+        Stats.addListener(stats);
+        PacScript pacScript = new PacScript(returns("DIRECT"));
+        try {
+            // When
+            pacScript.findProxyForUrl("http://example.com/", "example.com");
+            pacScript.findProxyForUrl("http://example.com/", "example.com");
+            pacScript.findProxyForUrl("http://example.org/", "example.org");
+        } finally {
+            Stats.removeListener(stats);
+        }
+        // Then
+        assertThat(stats.getStat(PacScript.PAC_CACHE_HIT_STATS), is(equalTo(1L)));
+        assertThat(stats.getStat(PacScript.PAC_CACHE_MISS_STATS), is(equalTo(2L)));
+        assertThat(stats.getStat(PacScript.PAC_EVALUATION_STATS + ".count"), is(equalTo(2L)));
+    }
+
+    @Test
+    void shouldEvaluateConcurrentlyWithPoolOfEngines() throws Exception {
+        // Given
+        PacScript pacScript =
+                new PacScript(
+                        "function FindProxyForURL(url, host) { return 'PROXY ' + host + ':80'; }",
+                        2);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Boolean>> results = new ArrayList<>();
+        // When
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            results.add(
+                    executor.submit(
+                            () -> {
+                                for (int j = 0; j < 100; j++) {
+                                    String host = "host" + thread + "-" + j + ".example.com";
+                                    String url = "http://" + host + "/";
+                                    String result = pacScript.evaluate(url, host);
+                                    if (!("PROXY " + host + ":80").equals(result)) {
+                                        return false;
+                                    }
+                                }
+                                return true;
+                            }));
+        }
+        // Then
+        for (Future<Boolean> result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS), is(equalTo(true)));
+        }
+        executor.shutdown();
+        pacScript.close();
+    }
+
+    @Test
+    void shouldFailToEvaluateAfterClose() throws Exception {
+        // Given
+        PacScript pacScript = new PacScript(returns("DIRECT"));
+        // When
+        pacScript.close();
+        // Then
+        assertThrows(
+                ScriptException.class,
+                () -> pacScript.evaluate("http://example.com/", "example.com"));
+    }
+
+    @Test
+    void shouldFailToEvaluateIfClosedWhileWaitingForScriptEngine() throws Exception {
+        // Given
+        PacScript pacScript = new PacScript(returns("DIRECT"), 1);
+        pacScript.acquireScriptEngine();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> waiting =
+                    executor.submit(() -> pacScript.evaluate("http://example.com/", "example.com"));
+            Thread.sleep(500);
+            // When
+            pacScript.close();
+            // Then
+            ExecutionException e =
+                    assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+            assertThat(e.getCause(), is(instanceOf(ScriptException.class)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private static URL getFileUrl(String fileName) {
         return PacScriptUnitTest.class.getResource(fileName);
     }
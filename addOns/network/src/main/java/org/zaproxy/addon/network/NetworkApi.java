@@ -128,6 +128,7 @@ public class NetworkApi extends ApiImplementor {
     private static final String PARAM_API = "api";
     private static final String PARAM_AUTHORITY = "authority";
     private static final String PARAM_BEHIND_NAT = "behindNat";
+    private static final String PARAM_BURST = "burst";
     private static final String PARAM_DECODE_RESPONSE = "decodeResponse";
     private static final String PARAM_DESCRIPTION = "description";
     private static final String PARAM_ENABLED = "enabled";
@@ -282,7 +283,8 @@ public class NetworkApi extends ApiImplementor {
                                 PARAM_MATCH_REGEX,
                                 PARAM_MATCH_STRING,
                                 PARAM_REQUESTS_PER_SECOND,
-                                PARAM_GROUP_BY)));
+                                PARAM_GROUP_BY),
+                        Arrays.asList(PARAM_BURST)));
         this.addApiAction(
                 new ApiAction(ACTION_REMOVE_RATE_LIMIT_RULE, Arrays.asList(PARAM_DESCRIPTION)));
         this.addApiAction(
@@ -612,6 +614,11 @@ public class NetworkApi extends ApiImplementor {
                                 ApiException.Type.ILLEGAL_PARAMETER, PARAM_REQUESTS_PER_SECOND);
                     }
 
+                    int burst = getParam(params, PARAM_BURST, 1);
+                    if (burst <= 0) {
+                        throw new ApiException(ApiException.Type.ILLEGAL_PARAMETER, PARAM_BURST);
+                    }
+
                     RateLimitRule.GroupBy groupBy =
                             getGroupBy(
                                     params.optString(
@@ -627,6 +634,7 @@ public class NetworkApi extends ApiImplementor {
                                             matchString,
                                             matchRegex,
                                             requestsPerSecond,
+                                            burst,
                                             groupBy,
                                             enabled));
 
@@ -989,6 +997,7 @@ public class NetworkApi extends ApiImplementor {
         map.put(PARAM_MATCH_REGEX, rule.isMatchRegex());
         map.put(PARAM_MATCH_STRING, rule.getMatchString());
         map.put(PARAM_REQUESTS_PER_SECOND, rule.getRequestsPerSecond());
+        map.put(PARAM_BURST, rule.getBurst());
         map.put(PARAM_GROUP_BY, rule.getGroupBy().name());
         return new ApiResponseSet<>("rateLimitRule", map);
     }
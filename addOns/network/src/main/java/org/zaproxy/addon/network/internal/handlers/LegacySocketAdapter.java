@@ -28,6 +28,7 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.channel.SimpleChannelInboundHandler;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.Socket;
 import java.net.SocketException;
@@ -40,13 +41,24 @@ import org.zaproxy.zap.PersistentConnectionListener;
  * Handler that exposes a {@link Socket} for a given {@link Channel}.
  *
  * <p>Provides compatibility with legacy {@link PersistentConnectionListener}s used by ZAP core.
+ *
+ * <p>Applies backpressure in both directions: the channel stops reading while too much data is
+ * pending to be read from the input stream, and writes to the output stream wait while the channel
+ * is not writable.
  */
 public class LegacySocketAdapter extends SimpleChannelInboundHandler<ByteBuf> {
 
     static final String HANDLER_NAME = "legacy.socket";
 
+    /** The number of pending bytes that stops the channel from reading. */
+    static final int PENDING_READ_HIGH_WATER_MARK = 256 * 1024;
+
+    /** The number of pending bytes that allows the channel to read again. */
+    static final int PENDING_READ_LOW_WATER_MARK = 64 * 1024;
+
     private final LinkedBlockingQueue<Integer> pendingReads;
     private final ByteBuf buf;
+    private final Object writabilityLock;
 
     private final Channel inboundChannel;
     private final InputStream inputStream;
@@ -64,6 +76,7 @@ public class LegacySocketAdapter extends SimpleChannelInboundHandler<ByteBuf> {
 
         this.pendingReads = new LinkedBlockingQueue<>();
         this.buf = Unpooled.buffer();
+        this.writabilityLock = new Object();
 
         inputStream = new InputStreamImpl();
         outputStream = new OutputStreamImpl();
@@ -88,15 +101,40 @@ public class LegacySocketAdapter extends SimpleChannelInboundHandler<ByteBuf> {
         return socket;
     }
 
+    int getBufferCapacity() {
+        synchronized (buf) {
+            return buf.capacity();
+        }
+    }
+
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
-        buf.writeBytes(msg);
-        pendingReads.offer(1);
+        synchronized (buf) {
+            buf.writeBytes(msg);
+            if (buf.readableBytes() >= PENDING_READ_HIGH_WATER_MARK) {
+                ctx.channel().config().setAutoRead(false);
+            }
+            pendingReads.offer(1);
+        }
     }
 
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
         pendingReads.offer(1);
+        notifyWritabilityChanged();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        notifyWritabilityChanged();
+        super.channelWritabilityChanged(ctx);
+    }
+
+    private void notifyWritabilityChanged() {
+        synchronized (writabilityLock) {
+            writabilityLock.notifyAll();
+        }
     }
 
     private class SocketImpl extends Socket {
@@ -147,10 +185,23 @@ public class LegacySocketAdapter extends SimpleChannelInboundHandler<ByteBuf> {
                     buf.release();
                     return -1;
                 }
-                int read = Math.min(len, buf.readableBytes());
-                buf.readBytes(b, off, read);
-                while (!buf.isReadable() && pendingReads.poll() != null)
-                    ;
+                int read;
+                synchronized (buf) {
+                    read = Math.min(len, buf.readableBytes());
+                    buf.readBytes(b, off, read);
+                    // Reuse the space of the bytes read, otherwise the buffer would keep growing
+                    // with all the data received.
+                    buf.discardSomeReadBytes();
+                    while (!buf.isReadable() && pendingReads.poll() != null)
+                        ;
+                    if (buf.isReadable() && pendingReads.isEmpty()) {
+                        pendingReads.offer(1);
+                    }
+                    if (buf.readableBytes() <= PENDING_READ_LOW_WATER_MARK
+                            && !inboundChannel.config().isAutoRead()) {
+                        inboundChannel.config().setAutoRead(true);
+                    }
+                }
                 return read;
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -175,6 +226,20 @@ public class LegacySocketAdapter extends SimpleChannelInboundHandler<ByteBuf> {
         @Override
         public void write(byte[] b, int off, int len) throws IOException {
             inboundChannel.writeAndFlush(Unpooled.copiedBuffer(b, off, len));
+            if (inboundChannel.eventLoop().inEventLoop()) {
+                return;
+            }
+
+            try {
+                synchronized (writabilityLock) {
+                    while (!inboundChannel.isWritable() && inboundChannel.isActive()) {
+                        writabilityLock.wait();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
         }
 
         @Override
@@ -30,6 +30,11 @@ public class NopRateLimiter implements RateLimiter {
     @Override
     public void throttle(HttpMessage message, int initiator) {}
 
+    @Override
+    public long reserve(HttpMessage message, int initiator) {
+        return 0;
+    }
+
     @Override
     public List<RateLimiterEntry> getEntries() {
         return List.of();
@@ -59,6 +59,7 @@ public class RateLimitOptions extends VersionedAbstractParam {
     private static final String RULE_MATCH_STRING_KEY = "matchStr";
     private static final String RULE_REGEX_KEY = "regex";
     private static final String RULE_REQUESTS_PER_SEC_KEY = "reqsPerSec";
+    private static final String RULE_BURST_KEY = "burst";
     private static final String RULE_GROUP_BY = "groupBy";
 
     private static final RateLimitRule.GroupBy DEFAULT_GROUP_BY = RateLimitRule.GroupBy.RULE;
@@ -96,10 +97,17 @@ public class RateLimitOptions extends VersionedAbstractParam {
                     boolean regex = sub.getBoolean(RULE_REGEX_KEY, true);
                     String matchStr = sub.getString(RULE_MATCH_STRING_KEY, "");
                     int requestsPerSecond = sub.getInt(RULE_REQUESTS_PER_SEC_KEY, 1);
+                    int burst = sub.getInt(RULE_BURST_KEY, 1);
                     RateLimitRule.GroupBy groupBy = getGroupBy(sub);
                     this.rules.add(
                             new RateLimitRule(
-                                    desc, matchStr, regex, requestsPerSecond, groupBy, enabled));
+                                    desc,
+                                    matchStr,
+                                    regex,
+                                    requestsPerSecond,
+                                    burst,
+                                    groupBy,
+                                    enabled));
                     descs.add(desc);
                 }
             }
@@ -154,6 +162,7 @@ public class RateLimitOptions extends VersionedAbstractParam {
                     .setProperty(
                             elementBaseKey + RULE_REQUESTS_PER_SEC_KEY,
                             rule.getRequestsPerSecond());
+            getConfig().setProperty(elementBaseKey + RULE_BURST_KEY, rule.getBurst());
             getConfig().setProperty(elementBaseKey + RULE_GROUP_BY, rule.getGroupBy().name());
         }
 
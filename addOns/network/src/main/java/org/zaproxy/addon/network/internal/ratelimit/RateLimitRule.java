@@ -51,6 +51,12 @@ public class RateLimitRule extends Enableable {
 
     private int requestsPerSecond;
 
+    /** The number of requests that can be sent at once, before being limited to the rate. */
+    private int burst = 1;
+
+    /** The compiled {@link #matchString}, if a regular expression. */
+    private Pattern pattern;
+
     /** How to group hosts when applying rate limiting. */
     private GroupBy groupBy = GroupBy.RULE;
 
@@ -85,12 +91,35 @@ public class RateLimitRule extends Enableable {
             int requestsPerSecond,
             GroupBy groupBy,
             boolean enabled) {
+        this(description, matchString, matchRegex, requestsPerSecond, 1, groupBy, enabled);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param description whatever makes sense to the user
+     * @param matchString the string to match against the host name
+     * @param matchRegex true if the matchString is a regex
+     * @param requestsPerSecond the maximum requests per second
+     * @param burst the number of requests that can be sent at once
+     * @param groupBy how to group hosts
+     * @param enabled true if the rule is enabled
+     */
+    public RateLimitRule(
+            String description,
+            String matchString,
+            boolean matchRegex,
+            int requestsPerSecond,
+            int burst,
+            GroupBy groupBy,
+            boolean enabled) {
         super(enabled);
 
         this.description = description;
         this.matchString = matchString;
         this.matchRegex = matchRegex;
         this.requestsPerSecond = requestsPerSecond;
+        this.burst = Math.max(1, burst);
         this.groupBy = groupBy;
     }
 
@@ -100,6 +129,7 @@ public class RateLimitRule extends Enableable {
                 token.matchString,
                 token.matchRegex,
                 token.requestsPerSecond,
+                token.burst,
                 token.groupBy,
                 token.isEnabled());
     }
@@ -118,6 +148,7 @@ public class RateLimitRule extends Enableable {
 
     public void setMatchString(String matchString) {
         this.matchString = matchString;
+        this.pattern = null;
     }
 
     public boolean isMatchRegex() {
@@ -126,6 +157,7 @@ public class RateLimitRule extends Enableable {
 
     public void setMatchRegex(boolean matchRegex) {
         this.matchRegex = matchRegex;
+        this.pattern = null;
     }
 
     public int getRequestsPerSecond() {
@@ -136,6 +168,14 @@ public class RateLimitRule extends Enableable {
         this.requestsPerSecond = requestsPerSecond;
     }
 
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = Math.max(1, burst);
+    }
+
     public GroupBy getGroupBy() {
         return groupBy;
     }
@@ -155,6 +195,16 @@ public class RateLimitRule extends Enableable {
         } catch (URIException e) {
             return false;
         }
+        return matches(host);
+    }
+
+    /**
+     * Tells whether or not the given host matches this rule.
+     *
+     * @param host the host, without protocol, port, path, etc.
+     * @return {@code true} if the host matches, {@code false} otherwise.
+     */
+    public boolean matches(String host) {
         if (!matchRegex) {
             if (host.equalsIgnoreCase(matchString)) {
                 return true;
@@ -171,7 +221,12 @@ public class RateLimitRule extends Enableable {
             }
             return host.endsWith("." + matchString);
         }
-        return Pattern.compile(matchString, Pattern.CASE_INSENSITIVE).matcher(host).matches();
+        Pattern currentPattern = pattern;
+        if (currentPattern == null) {
+            currentPattern = Pattern.compile(matchString, Pattern.CASE_INSENSITIVE);
+            pattern = currentPattern;
+        }
+        return currentPattern.matcher(host).matches();
     }
 
     @Override
@@ -182,6 +237,7 @@ public class RateLimitRule extends Enableable {
         result = prime * result + (matchRegex ? 1231 : 1237);
         result = prime * result + ((matchString == null) ? 0 : matchString.hashCode());
         result = prime * result + requestsPerSecond;
+        result = prime * result + burst;
         result = prime * result + groupBy.hashCode();
         return result;
     }
@@ -202,6 +258,7 @@ public class RateLimitRule extends Enableable {
                 && Objects.equals(matchString, other.matchString)
                 && matchRegex == other.matchRegex
                 && requestsPerSecond == other.requestsPerSecond
+                && burst == other.burst
                 && groupBy == other.groupBy;
     }
 
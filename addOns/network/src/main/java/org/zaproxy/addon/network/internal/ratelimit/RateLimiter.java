@@ -34,6 +34,18 @@ public interface RateLimiter extends RateLimitOptions.Observer {
      */
     void throttle(HttpMessage message, int initiator) throws InterruptedIOException;
 
+    /**
+     * Reserves the slot of the message according to the options, without waiting.
+     *
+     * <p>Allows the callers that must not block (e.g. event loops) to schedule the sending of the
+     * message instead.
+     *
+     * @param message the HTTP message.
+     * @param initiator the initiator of the message.
+     * @return the time to wait before sending the message, in milliseconds.
+     */
+    long reserve(HttpMessage message, int initiator);
+
     /** Get a snapshot view of the entries. */
     List<RateLimiterEntry> getEntries();
 
@@ -21,10 +21,20 @@ package org.zaproxy.addon.network.internal.ratelimit;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-/** Tracks a single entry (based on RateLimitGroupBy). */
+/**
+ * Tracks a single entry (based on RateLimitGroupBy).
+ *
+ * <p>The requests are scheduled with the generic cell rate algorithm (GCRA), the slot of each
+ * request is reserved atomically, without locking, and waited for by the caller.
+ */
 public class RateLimiterEntry {
+    private static final long NO_REQUESTS = Long.MIN_VALUE;
+
     private final RateLimiterKey key;
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong(NO_REQUESTS);
     private long firstRequestTime;
     private long lastRequestTime;
     private long requestCount;
@@ -33,6 +43,29 @@ public class RateLimiterEntry {
         this.key = key;
     }
 
+    /**
+     * Reserves the slot of a request.
+     *
+     * @param requestsPerSecond the maximum requests per second.
+     * @param burst the number of requests that can be sent at once.
+     * @return the time to wait before sending the request, in nanoseconds.
+     */
+    long reserve(int requestsPerSecond, int burst) {
+        return reserve(requestsPerSecond, burst, System.nanoTime());
+    }
+
+    long reserve(int requestsPerSecond, int burst, long now) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, requestsPerSecond);
+        long tolerance = interval * (Math.max(1, burst) - 1);
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long start = tat == NO_REQUESTS || tat - now < 0 ? now : tat;
+            if (theoreticalArrivalTime.compareAndSet(tat, start + interval)) {
+                return Math.max(0, start - tolerance - now);
+            }
+        }
+    }
+
     public RateLimiterKey getKey() {
         return key;
     }
@@ -62,11 +95,20 @@ public class RateLimiterEntry {
     }
 
     public void recordRequest() {
+        recordRequest(System.currentTimeMillis());
+    }
+
+    /**
+     * Records a request sent at the given time.
+     *
+     * @param requestTime the time the request is sent, in milliseconds.
+     */
+    public synchronized void recordRequest(long requestTime) {
         if (firstRequestTime == 0) {
-            firstRequestTime = System.currentTimeMillis();
+            firstRequestTime = requestTime;
         }
         requestCount++;
-        lastRequestTime = System.currentTimeMillis();
+        lastRequestTime = Math.max(lastRequestTime, requestTime);
     }
 
     public BigDecimal getEffectiveRequestsPerSecond() {
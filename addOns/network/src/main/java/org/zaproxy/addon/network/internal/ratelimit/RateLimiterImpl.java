@@ -23,10 +23,13 @@ import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.apache.commons.httpclient.URIException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -36,42 +39,47 @@ import org.zaproxy.zap.utils.Pair;
 /** Track rate limiting. */
 public class RateLimiterImpl implements RateLimiter {
     private static final Logger LOGGER = LogManager.getLogger(RateLimiterImpl.class);
+    private static final long MILLI_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
     private final Map<RateLimiterKey, RateLimiterEntry> table = new ConcurrentHashMap<>();
-    private List<RateLimitRule> rules = new ArrayList<>();
+    private volatile Rules rules = new Rules(List.of());
     private Observer observer;
     private WaitAction wait = new ThreadSleep();
 
     @Override
     public void throttle(HttpMessage message, int initiator) throws InterruptedIOException {
+        long millisToWait = reserve(message, initiator);
+        if (millisToWait > 0) {
+            try {
+                LOGGER.debug(
+                        "{}: sleeping for {} ms",
+                        message.getRequestHeader().getURI(),
+                        millisToWait);
+                wait.waitFor(millisToWait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Rate limit throttle interrupted");
+            }
+        }
+    }
+
+    @Override
+    public long reserve(HttpMessage message, int initiator) {
         if (rules.isEmpty()) {
-            return;
+            return 0;
         }
         Pair<RateLimiterEntry, RateLimitRule> entryAndRule = getOrCreate(message, initiator);
         if (entryAndRule == null) {
             LOGGER.debug("Rate limit not requested for {}", message.getRequestHeader().getURI());
-            return;
+            return 0;
         }
         RateLimiterEntry limiterEntry = entryAndRule.first;
         RateLimitRule rule = entryAndRule.second;
-        synchronized (limiterEntry) {
-            long millisToWait =
-                    (1000 / rule.getRequestsPerSecond())
-                            - (System.currentTimeMillis() - limiterEntry.getLastRequestTime());
-            if (millisToWait > 0) {
-                try {
-                    LOGGER.debug(
-                            "{}: sleeping for {} ms",
-                            message.getRequestHeader().getURI(),
-                            millisToWait);
-                    wait.waitFor(millisToWait);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new InterruptedIOException("Rate limit throttle interrupted");
-                }
-            }
-            limiterEntry.recordRequest();
-        }
+        long nanosToWait = limiterEntry.reserve(rule.getRequestsPerSecond(), rule.getBurst());
+        // Round up, to not send before the reserved slot.
+        long millisToWait = (nanosToWait + MILLI_IN_NANOS - 1) / MILLI_IN_NANOS;
+        limiterEntry.recordRequest(System.currentTimeMillis() + millisToWait);
         fireObserver();
+        return millisToWait;
     }
 
     /**
@@ -89,7 +97,7 @@ public class RateLimiterImpl implements RateLimiter {
                 enabledRules.add(rule.getDescription());
             }
         }
-        rules = newRules;
+        rules = new Rules(newRules);
         table.keySet().removeIf(key -> !enabledRules.contains(key.getRuleDescription()));
     }
 
@@ -100,9 +108,19 @@ public class RateLimiterImpl implements RateLimiter {
      * @return entry and matching rule or null if no rules match.
      */
     Pair<RateLimiterEntry, RateLimitRule> getOrCreate(HttpMessage msg, int initiator) {
+        String host;
+        try {
+            host = msg.getRequestHeader().getURI().getHost();
+        } catch (NullPointerException | URIException e) {
+            return null;
+        }
+        if (host == null) {
+            return null;
+        }
+
         RateLimitRule matchedRule = null;
-        for (RateLimitRule rule : rules) {
-            if (rule.isEnabled() && rule.appliesToInitiator(initiator) && rule.matches(msg)) {
+        for (RateLimitRule rule : rules.getMatchingRules(host)) {
+            if (rule.appliesToInitiator(initiator)) {
                 if (matchedRule == null
                         || rule.getRequestsPerSecond() < matchedRule.getRequestsPerSecond()) {
                     matchedRule = rule;
@@ -119,11 +137,7 @@ public class RateLimiterImpl implements RateLimiter {
                 subKey = matchedRule.getDescription();
                 break;
             case HOST:
-                try {
-                    subKey = msg.getRequestHeader().getURI().getHost();
-                } catch (NullPointerException | URIException e) {
-                    return null;
-                }
+                subKey = host;
                 break;
             default:
                 throw new IllegalArgumentException(
@@ -163,6 +177,44 @@ public class RateLimiterImpl implements RateLimiter {
         this.wait = Objects.requireNonNullElseGet(wait, ThreadSleep::new);
     }
 
+    /**
+     * The enabled rules, with the rules that match each host resolved once, as the rules only
+     * depend on the host.
+     */
+    private static class Rules {
+
+        private static final int MAX_HOSTS = 10_000;
+
+        private final List<RateLimitRule> rules;
+        private final Map<String, List<RateLimitRule>> rulesByHost;
+
+        Rules(List<RateLimitRule> rules) {
+            this.rules = rules;
+            this.rulesByHost = new ConcurrentHashMap<>();
+        }
+
+        boolean isEmpty() {
+            return rules.isEmpty();
+        }
+
+        List<RateLimitRule> getMatchingRules(String host) {
+            String key = host.toLowerCase(Locale.ROOT);
+            List<RateLimitRule> matchingRules = rulesByHost.get(key);
+            if (matchingRules == null) {
+                matchingRules =
+                        rules.stream()
+                                .filter(RateLimitRule::isEnabled)
+                                .filter(rule -> rule.matches(host))
+                                .collect(Collectors.toUnmodifiableList());
+                if (rulesByHost.size() >= MAX_HOSTS) {
+                    rulesByHost.clear();
+                }
+                rulesByHost.put(key, matchingRules);
+            }
+            return matchingRules;
+        }
+    }
+
     /** Defines a method for effecting a wait time on the current thread. */
     interface WaitAction {
         void waitFor(long millis) throws InterruptedException;
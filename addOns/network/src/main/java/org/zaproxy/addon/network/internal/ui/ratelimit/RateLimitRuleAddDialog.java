@@ -44,6 +44,7 @@ public class RateLimitRuleAddDialog extends StandardFieldsDialog {
     protected static final String REGEX_FIELD = "network.ui.ratelimit.label.regex";
     protected static final String REQUESTS_PER_SECOND_FIELD =
             "network.ui.ratelimit.label.requestspersecond";
+    protected static final String BURST_FIELD = "network.ui.ratelimit.label.burst";
     protected static final String GROUP_BY = "network.ui.ratelimit.label.groupby";
     protected static final String ENABLE_FIELD = "network.ui.ratelimit.label.enable";
 
@@ -70,6 +71,7 @@ public class RateLimitRuleAddDialog extends StandardFieldsDialog {
         this.addCheckBoxField(0, REGEX_FIELD, false);
 
         this.addNumberField(0, REQUESTS_PER_SECOND_FIELD, 1, Integer.MAX_VALUE, 1);
+        this.addNumberField(0, BURST_FIELD, 1, Integer.MAX_VALUE, 1);
         List<String> groupByValues = getGroupByValues();
         this.addComboField(0, GROUP_BY, groupByValues, groupByValues.get(0));
         this.addCheckBoxField(0, ENABLE_FIELD, false);
@@ -115,6 +117,7 @@ public class RateLimitRuleAddDialog extends StandardFieldsDialog {
             this.setFieldValue(MATCH_STR_FIELD, rule.getMatchString());
             this.setFieldValue(REGEX_FIELD, rule.isMatchRegex());
             this.setFieldValue(REQUESTS_PER_SECOND_FIELD, rule.getRequestsPerSecond());
+            this.setFieldValue(BURST_FIELD, rule.getBurst());
             this.setFieldValue(GROUP_BY, rule.getGroupBy().getLabel());
             this.setFieldValue(ENABLE_FIELD, rule.isEnabled());
         }
@@ -148,6 +151,7 @@ public class RateLimitRuleAddDialog extends StandardFieldsDialog {
                         this.getStringValue(MATCH_STR_FIELD),
                         this.getBoolValue(REGEX_FIELD),
                         this.getIntValue(REQUESTS_PER_SECOND_FIELD),
+                        this.getIntValue(BURST_FIELD),
                         getSelectedGroupBy(),
                         this.getBoolValue(ENABLE_FIELD));
     }
@@ -183,6 +187,7 @@ public class RateLimitRuleAddDialog extends StandardFieldsDialog {
         this.setFieldValue(DESC_FIELD, "");
         this.setFieldValue(MATCH_STR_FIELD, "");
         this.setFieldValue(REQUESTS_PER_SECOND_FIELD, 1);
+        this.setFieldValue(BURST_FIELD, 1);
         this.setFieldValue(GROUP_BY, RateLimitRule.GroupBy.RULE.getLabel());
         this.setFieldValue(ENABLE_FIELD, false);
     }
@@ -28,6 +28,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInRelativeOrder;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
@@ -42,6 +43,7 @@ import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
 import java.util.NoSuchElementException;
@@ -333,6 +335,65 @@ class LegacySocketAdapterUnitTest {
         assertThat(new String(bytes, StandardCharsets.US_ASCII), is(equalTo(data)));
     }
 
+    @Test
+    void shouldReadRemainingDataOfPartiallyReadChunkFromInputStream() throws Exception {
+        // Given
+        String data = "Socket data";
+        socketAdapter = new LegacySocketAdapter(inboundChannel);
+        byte[] bytes = new byte[11];
+        written(data);
+        // When
+        int bytesRead1 = socketAdapter.getSocket().getInputStream().read(bytes, 0, 5);
+        int bytesRead2 = socketAdapter.getSocket().getInputStream().read(bytes, 5, 6);
+        // Then
+        assertThat(bytesRead1, is(equalTo(5)));
+        assertThat(bytesRead2, is(equalTo(6)));
+        assertThat(new String(bytes, StandardCharsets.US_ASCII), is(equalTo(data)));
+    }
+
+    @Test
+    void shouldStopReadingChannelWhenTooMuchDataPending() throws Exception {
+        // Given
+        socketAdapter = new LegacySocketAdapter(inboundChannel);
+        // When
+        written(new byte[LegacySocketAdapter.PENDING_READ_HIGH_WATER_MARK]);
+        // Then
+        assertThat(inboundChannel.config().isAutoRead(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldResumeReadingChannelWhenPendingDataRead() throws Exception {
+        // Given
+        socketAdapter = new LegacySocketAdapter(inboundChannel);
+        written(new byte[LegacySocketAdapter.PENDING_READ_HIGH_WATER_MARK]);
+        int len =
+                LegacySocketAdapter.PENDING_READ_HIGH_WATER_MARK
+                        - LegacySocketAdapter.PENDING_READ_LOW_WATER_MARK;
+        // When
+        int bytesRead = socketAdapter.getSocket().getInputStream().read(new byte[len], 0, len);
+        // Then
+        assertThat(bytesRead, is(equalTo(len)));
+        assertThat(inboundChannel.config().isAutoRead(), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldReuseSpaceOfDataAlreadyRead() throws Exception {
+        // Given
+        socketAdapter = new LegacySocketAdapter(inboundChannel);
+        InputStream inputStream = socketAdapter.getSocket().getInputStream();
+        int len = LegacySocketAdapter.PENDING_READ_LOW_WATER_MARK;
+        byte[] bytes = new byte[len];
+        // When
+        for (int i = 0; i < 64; i++) {
+            written(bytes);
+            assertThat(inputStream.read(bytes, 0, len), is(equalTo(len)));
+        }
+        // Then
+        assertThat(
+                socketAdapter.getBufferCapacity(),
+                is(lessThanOrEqualTo(LegacySocketAdapter.PENDING_READ_HIGH_WATER_MARK)));
+    }
+
     @Test
     void shouldReadNegativeOneIfInterruptedFromInputStream() throws Exception {
         // Given
@@ -418,6 +479,11 @@ class LegacySocketAdapterUnitTest {
         assertThat(inboundChannel.writeInbound(buf), is(equalTo(false)));
     }
 
+    private void written(byte[] content) {
+        assertThat(
+                inboundChannel.writeInbound(Unpooled.wrappedBuffer(content)), is(equalTo(false)));
+    }
+
     private static class DummyHandler extends SimpleChannelInboundHandler<Object> {
         @Override
         protected void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception {}
@@ -21,14 +21,24 @@ package org.zaproxy.addon.network.internal.ratelimit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class RateLimiterEntryUnitTest {
+    private static final long INTERVAL_10_RPS = TimeUnit.MILLISECONDS.toNanos(100);
+
     private RateLimiterKey key;
 
     @BeforeEach
@@ -68,4 +78,82 @@ class RateLimiterEntryUnitTest {
         // Then
         assertThat(entry.getEffectiveRequestsPerSecond(), equalTo(BigDecimal.valueOf(2)));
     }
+
+    @Test
+    void shouldSpaceRequestsWithoutBurst() {
+        // Given
+        RateLimiterEntry entry = new RateLimiterEntry(key);
+        // When
+        long first = entry.reserve(10, 1, 0);
+        long second = entry.reserve(10, 1, 0);
+        long third = entry.reserve(10, 1, 0);
+        // Then
+        assertThat(first, equalTo(0L));
+        assertThat(second, equalTo(INTERVAL_10_RPS));
+        assertThat(third, equalTo(2 * INTERVAL_10_RPS));
+    }
+
+    @Test
+    void shouldAllowBurstBeforeSpacingRequests() {
+        // Given
+        RateLimiterEntry entry = new RateLimiterEntry(key);
+        // When
+        long first = entry.reserve(10, 3, 0);
+        long second = entry.reserve(10, 3, 0);
+        long third = entry.reserve(10, 3, 0);
+        long fourth = entry.reserve(10, 3, 0);
+        // Then
+        assertThat(first, equalTo(0L));
+        assertThat(second, equalTo(0L));
+        assertThat(third, equalTo(0L));
+        assertThat(fourth, equalTo(INTERVAL_10_RPS));
+    }
+
+    @Test
+    void shouldNotWaitOnceIntervalElapsed() {
+        // Given
+        RateLimiterEntry entry = new RateLimiterEntry(key);
+        entry.reserve(10, 1, 0);
+        // When
+        long wait = entry.reserve(10, 1, INTERVAL_10_RPS);
+        // Then
+        assertThat(wait, equalTo(0L));
+    }
+
+    @Test
+    void shouldReserveDistinctSlotsUnderContention() throws Exception {
+        // Given
+        int threads = 64;
+        int requestsPerThread = 50;
+        RateLimiterEntry entry = new RateLimiterEntry(key);
+        Set<Long> waits = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(
+                        () -> {
+                            try {
+                                start.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return;
+                            }
+                            for (int j = 0; j < requestsPerThread; j++) {
+                                waits.add(entry.reserve(10, 1, 0));
+                            }
+                        });
+            }
+            // When
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS), equalTo(true));
+        } finally {
+            executor.shutdownNow();
+        }
+        // Then
+        int requests = threads * requestsPerThread;
+        assertThat(waits, hasSize(requests));
+        assertThat(Collections.max(waits), equalTo((requests - 1) * INTERVAL_10_RPS));
+    }
 }
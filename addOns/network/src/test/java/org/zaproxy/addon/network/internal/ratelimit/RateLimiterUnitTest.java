@@ -328,6 +328,42 @@ class RateLimiterUnitTest {
         verify(wait, times(0)).waitFor(anyLong());
     }
 
+    @Test
+    void throttleRequestsWithinBurstNotThrottled() throws IOException, InterruptedException {
+        // Given
+        ruleExampleDotCom.setBurst(3);
+        RateLimiterImpl limiter = new RateLimiterImpl();
+        limiter.setWait(wait);
+        limiter.configChange(params);
+        HttpMessage msg = msg("www.example.com");
+        // When
+        limiter.throttle(msg, HttpSender.MANUAL_REQUEST_INITIATOR);
+        limiter.throttle(msg, HttpSender.MANUAL_REQUEST_INITIATOR);
+        limiter.throttle(msg, HttpSender.MANUAL_REQUEST_INITIATOR);
+        // Then
+        verify(wait, times(0)).waitFor(anyLong());
+        // When
+        limiter.throttle(msg, HttpSender.MANUAL_REQUEST_INITIATOR);
+        // Then
+        verify(wait).waitFor(longThat(new GreaterThan<>(0L)));
+    }
+
+    @Test
+    void reserveReturnsTimeToWaitWithoutWaiting() throws IOException, InterruptedException {
+        // Given
+        RateLimiterImpl limiter = new RateLimiterImpl();
+        limiter.setWait(wait);
+        limiter.configChange(params);
+        HttpMessage msg = msg("www.example.com");
+        // When
+        long first = limiter.reserve(msg, HttpSender.MANUAL_REQUEST_INITIATOR);
+        long second = limiter.reserve(msg, HttpSender.MANUAL_REQUEST_INITIATOR);
+        // Then
+        assertThat(first, equalTo(0L));
+        assertThat(second > 0 && second <= 34, equalTo(true));
+        verify(wait, times(0)).waitFor(anyLong());
+    }
+
     @Test
     void setObserver() {
         // Given
@@ -43,6 +43,7 @@ import org.zaproxy.addon.network.ExtensionNetwork;
 import org.zaproxy.addon.oast.OastState.OastStateEventType;
 import org.zaproxy.addon.oast.internal.AlertEntity;
 import org.zaproxy.addon.oast.internal.MessageEntity;
+import org.zaproxy.addon.oast.internal.OastAlertStore;
 import org.zaproxy.addon.oast.internal.OastPermanentDatabase;
 import org.zaproxy.addon.oast.services.boast.BoastEntity;
 import org.zaproxy.addon.oast.services.boast.BoastOptionsPanelTab;
@@ -82,6 +83,7 @@ public class ExtensionOast extends ExtensionAdaptor {
     private CallbackService callbackService;
     private InteractshService interactshService;
     private OastPermanentDatabase permanentDatabase;
+    private OastAlertStore alertStore;
     private boolean wasUsePermanentDatabase;
 
     public ExtensionOast() {
@@ -103,6 +105,7 @@ public class ExtensionOast extends ExtensionAdaptor {
                                 .getExtensionLoader()
                                 .getExtension(ExtensionNetwork.class));
         interactshService = new InteractshService();
+        alertStore = new OastAlertStore(this::getPermanentDatabase);
     }
 
     @Override
@@ -168,6 +171,7 @@ public class ExtensionOast extends ExtensionAdaptor {
     }
 
     public void clearAllRecords() {
+        alertStore.clear();
         getPermanentDatabase().clearAllRecords();
         boastService.clearRegisteredServers();
         if (hasView()) {
@@ -312,7 +316,7 @@ public class ExtensionOast extends ExtensionAdaptor {
 
     private void persistAlert(String payload, Alert alert) {
         var messageEntity = new MessageEntity(alert.getMessage());
-        getPermanentDatabase().persistEntity(new AlertEntity(payload, messageEntity, alert));
+        alertStore.register(payload, new AlertEntity(payload, messageEntity, alert));
     }
 
     private void activeScanAlertOastRequestHandler(OastRequest request) {
@@ -320,7 +324,7 @@ public class ExtensionOast extends ExtensionAdaptor {
             HttpMessage oastReceivedMsg = request.getHistoryReference().getHttpMessage();
             String uri = oastReceivedMsg.getRequestHeader().getURI().toString();
 
-            AlertEntity alertEntity = getPermanentDatabase().getAlertForPayload(uri);
+            AlertEntity alertEntity = alertStore.take(uri);
             if (alertEntity == null) {
                 LOGGER.warn(
                         "Not raising alert, the interaction {} through '{}' from {} was not found.",
@@ -389,6 +393,7 @@ public class ExtensionOast extends ExtensionAdaptor {
         unregisterOastService(boastService);
         unregisterOastService(callbackService);
         unregisterOastService(interactshService);
+        alertStore.close();
         getPermanentDatabase().close();
     }
 
@@ -115,6 +115,30 @@ public class AlertEntity {
         alertRef = alert.getAlertRef();
     }
 
+    AlertEntity(AlertEntity other) {
+        payload = other.payload;
+        message = new MessageEntity(other.message);
+
+        alertId = other.alertId;
+        pluginId = other.pluginId;
+        name = other.name;
+        risk = other.risk;
+        confidence = other.confidence;
+        description = other.description;
+        uri = other.uri;
+        param = other.param;
+        attack = other.attack;
+        otherInfo = other.otherInfo;
+        solution = other.solution;
+        reference = other.reference;
+        evidence = other.evidence;
+        inputVector = other.inputVector;
+        cweId = other.cweId;
+        wascId = other.wascId;
+        sourceId = other.sourceId;
+        alertRef = other.alertRef;
+    }
+
     public Alert toAlert() throws Exception {
         var alert = new Alert(pluginId);
         alert.setAlertId(alertId);
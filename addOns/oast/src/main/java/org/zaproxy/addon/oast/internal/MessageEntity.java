@@ -65,6 +65,16 @@ public class MessageEntity {
         }
     }
 
+    MessageEntity(MessageEntity other) {
+        timeSentMillis = other.timeSentMillis;
+        timeElapsedMillis = other.timeElapsedMillis;
+        reqHeader = other.reqHeader;
+        reqBody = other.reqBody;
+        resHeader = other.resHeader;
+        resBody = other.resBody;
+        responseFromTargetHost = other.responseFromTargetHost;
+    }
+
     public Timestamp getCreateTimestamp() {
         return createTimestamp;
     }
@@ -0,0 +1,296 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.oast.internal;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * An in-memory index of the alerts registered for OAST payloads, backed by the permanent
+ * database.
+ *
+ * <p>The alerts are indexed by the longest token of their payload (e.g. the UUID of a Callback
+ * payload or the correlation ID of an Interactsh payload), which allows to correlate the
+ * interactions without searching the database. The alerts are written to the database in batches,
+ * by a background thread, once written only their payload is kept in memory and the alert is
+ * loaded from the database, by payload, when correlated. The payloads are evicted from memory once
+ * expired. The interactions whose payloads are no longer in memory (e.g. expired or registered in
+ * previous ZAP runs) are correlated by searching the database.
+ */
+public class OastAlertStore implements Closeable {
+
+    static final Duration DEFAULT_TTL = Duration.ofHours(1);
+    static final int BATCH_SIZE = 500;
+
+    private static final Logger LOGGER = LogManager.getLogger(OastAlertStore.class);
+    private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+    private final Supplier<OastPermanentDatabase> database;
+    private final Clock clock;
+    private final long ttlMs;
+    private final Map<String, Correlation> correlations = new ConcurrentHashMap<>();
+    private final Queue<Correlation> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingWritesCount = new AtomicInteger();
+    private final Queue<String> pendingDeletes = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Constructs an {@code OastAlertStore} with the given database.
+     *
+     * @param database the supplier of the permanent database, called only when the database is
+     *     needed.
+     */
+    public OastAlertStore(Supplier<OastPermanentDatabase> database) {
+        this(database, Clock.systemUTC(), DEFAULT_TTL, FLUSH_INTERVAL);
+    }
+
+    OastAlertStore(
+            Supplier<OastPermanentDatabase> database,
+            Clock clock,
+            Duration ttl,
+            Duration flushInterval) {
+        this.database = database;
+        this.clock = clock;
+        this.ttlMs = ttl.toMillis();
+        executor =
+                Executors.newSingleThreadScheduledExecutor(
+                        r -> {
+                            Thread thread = new Thread(r, "ZAP-OAST-AlertStore");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        long flushIntervalMs = flushInterval.toMillis();
+        executor.scheduleWithFixedDelay(
+                this::flushAndEvict, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers the given alert for the given payload.
+     *
+     * <p>The alert is written to the database asynchronously.
+     *
+     * @param payload the payload.
+     * @param alert the alert to raise when an interaction with the payload is received.
+     */
+    public void register(String payload, AlertEntity alert) {
+        var correlation = new Correlation(payload, alert, clock.millis() + ttlMs);
+        String key = getKey(payload);
+        if (key != null) {
+            correlations.put(key, correlation);
+        }
+        pendingWrites.add(correlation);
+        if (pendingWritesCount.incrementAndGet() == BATCH_SIZE) {
+            try {
+                executor.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                LOGGER.debug("Not flushing, the store is closed.");
+            }
+        }
+    }
+
+    /**
+     * Gets and removes the alert whose payload is contained in the given URI.
+     *
+     * @param uri the URI of the interaction.
+     * @return the alert, or {@code null} if none.
+     */
+    public AlertEntity take(String uri) {
+        for (String token : getTokens(uri)) {
+            Correlation correlation = correlations.get(token);
+            if (correlation != null
+                    && uri.contains(correlation.payload)
+                    && correlations.remove(token, correlation)) {
+                AlertEntity alert = consume(correlation);
+                if (alert != null) {
+                    return alert;
+                }
+                return database.get().takeAlert(correlation.payload);
+            }
+        }
+
+        flush();
+        return database.get().getAlertForPayload(uri);
+    }
+
+    /**
+     * Consumes the given correlation.
+     *
+     * @param correlation the correlation.
+     * @return the alert, or {@code null} if already written to the database.
+     */
+    private AlertEntity consume(Correlation correlation) {
+        synchronized (correlation) {
+            correlation.consumed = true;
+            if (correlation.persisted && correlation.alert != null) {
+                // Being written, delete it afterwards.
+                pendingDeletes.add(correlation.payload);
+            }
+            return correlation.alert;
+        }
+    }
+
+    /** Writes the pending alerts to the database and deletes the ones already correlated. */
+    public synchronized void flush() {
+        List<Correlation> written = new ArrayList<>();
+        List<AlertEntity> alerts = new ArrayList<>();
+        Correlation correlation;
+        while ((correlation = pendingWrites.poll()) != null) {
+            pendingWritesCount.decrementAndGet();
+            synchronized (correlation) {
+                if (!correlation.consumed) {
+                    correlation.persisted = true;
+                    written.add(correlation);
+                    alerts.add(new AlertEntity(correlation.alert));
+                }
+            }
+        }
+
+        List<String> payloads = new ArrayList<>();
+        String payload;
+        while ((payload = pendingDeletes.poll()) != null) {
+            payloads.add(payload);
+        }
+
+        if (alerts.isEmpty() && payloads.isEmpty()) {
+            return;
+        }
+        OastPermanentDatabase db = database.get();
+        if (!alerts.isEmpty()) {
+            boolean persisted = db.persistAlerts(alerts);
+            for (Correlation c : written) {
+                synchronized (c) {
+                    if (persisted) {
+                        // Keep just the payload, the alert is loaded from the database.
+                        c.alert = null;
+                    } else {
+                        // Keep the alert in memory until expired.
+                        c.persisted = false;
+                    }
+                }
+            }
+        }
+        if (!payloads.isEmpty()) {
+            db.deleteAlertsForPayloads(payloads);
+        }
+    }
+
+    private void flushAndEvict() {
+        try {
+            flush();
+            evictExpired();
+        } catch (Exception e) {
+            LOGGER.error("An error occurred while flushing the OAST alerts:", e);
+        }
+    }
+
+    void evictExpired() {
+        long now = clock.millis();
+        correlations.values().removeIf(c -> c.expiry <= now);
+    }
+
+    /** Removes all the alerts from memory, including the ones not yet written to the database. */
+    public synchronized void clear() {
+        correlations.clear();
+        pendingWrites.clear();
+        pendingWritesCount.set(0);
+        pendingDeletes.clear();
+    }
+
+    int size() {
+        return correlations.size();
+    }
+
+    /** Stops the background thread and writes the pending alerts to the database. */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOGGER.warn("Timed out while waiting for the OAST alerts to be flushed.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private static String getKey(String payload) {
+        String key = null;
+        for (String token : getTokens(payload)) {
+            if (key == null || token.length() > key.length()) {
+                key = token;
+            }
+        }
+        return key;
+    }
+
+    private static List<String> getTokens(String value) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < value.length(); i++) {
+            if (isTokenChar(value.charAt(i))) {
+                if (start == -1) {
+                    start = i;
+                }
+            } else if (start != -1) {
+                tokens.add(value.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start != -1) {
+            tokens.add(value.substring(start));
+        }
+        return tokens;
+    }
+
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == '_';
+    }
+
+    private static class Correlation {
+
+        private final String payload;
+        private final long expiry;
+        private AlertEntity alert;
+        private boolean persisted;
+        private boolean consumed;
+
+        Correlation(String payload, AlertEntity alert, long expiry) {
+            this.payload = payload;
+            this.alert = alert;
+            this.expiry = expiry;
+        }
+    }
+}
@@ -19,6 +19,7 @@
  */
 package org.zaproxy.addon.oast.internal;
 
+import java.util.Collection;
 import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.Query;
 import javax.jdo.Transaction;
@@ -34,11 +35,25 @@ public class OastPermanentDatabase extends PermanentDatabase {
         super(persistenceUnitName, classLoader);
     }
 
-    @SuppressWarnings("try")
     public AlertEntity getAlertForPayload(String payload) {
+        return takeAlert(":payload.indexOf(this.payload) != -1", payload);
+    }
+
+    /**
+     * Gets and deletes the alert with exactly the given payload.
+     *
+     * @param payload the payload of the alert.
+     * @return the alert, or {@code null} if none.
+     */
+    public AlertEntity takeAlert(String payload) {
+        return takeAlert("this.payload == :payload", payload);
+    }
+
+    @SuppressWarnings("try")
+    private AlertEntity takeAlert(String filter, String payload) {
         try (var pm = getPm();
                 Query<AlertEntity> query = pm.newQuery(AlertEntity.class)) {
-            query.setFilter(":payload.indexOf(this.payload) != -1");
+            query.setFilter(filter);
             var entity = query.setParameters(payload).executeUnique();
 
             if (entity == null) {
@@ -69,6 +84,65 @@ public class OastPermanentDatabase extends PermanentDatabase {
         return null;
     }
 
+    /**
+     * Persists the given alerts in a single transaction.
+     *
+     * @param alerts the alerts to persist.
+     * @return {@code true} if the alerts were persisted, {@code false} otherwise.
+     */
+    @SuppressWarnings("try")
+    public boolean persistAlerts(Collection<AlertEntity> alerts) {
+        if (alerts.isEmpty()) {
+            return true;
+        }
+        try (var pm = getPm()) {
+            Transaction tx = pm.currentTransaction();
+            try {
+                tx.begin();
+                pm.makePersistentAll(alerts);
+                tx.commit();
+                return true;
+            } finally {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("An error occurred while persisting the alerts: ", e);
+        }
+        return false;
+    }
+
+    /**
+     * Deletes the alerts with the given payloads, and their messages, in a single transaction.
+     *
+     * @param payloads the payloads of the alerts to delete.
+     */
+    @SuppressWarnings("try")
+    public void deleteAlertsForPayloads(Collection<String> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        try (var pm = getPm();
+                Query<AlertEntity> query = pm.newQuery(AlertEntity.class)) {
+            query.setFilter(":payloads.contains(this.payload)");
+            Transaction tx = pm.currentTransaction();
+            try {
+                tx.begin();
+                query.deletePersistentAll(payloads);
+                tx.commit();
+            } finally {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.error("An error occurred while deleting the alerts: ", e);
+        }
+    }
+
     public void trim(int days) {
         if (days <= 0) {
             return;
@@ -0,0 +1,307 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.oast.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.apache.commons.httpclient.URI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.parosproxy.paros.core.scanner.Alert;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.testutils.TestUtils;
+
+/** Unit test for {@link OastAlertStore}. */
+class OastAlertStoreUnitTest extends TestUtils {
+
+    private static final String CALLBACK_ADDRESS = "http://127.0.0.1:8080/";
+    private static final Clock FIXED_CLOCK =
+            Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final Duration NO_PERIODIC_FLUSH = Duration.ofHours(1);
+
+    private OastPermanentDatabase database;
+    private OastAlertStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        setUpZap();
+        database = mock(OastPermanentDatabase.class);
+        given(database.persistAlerts(anyCollection())).willReturn(true);
+        store = createStore(OastAlertStore.DEFAULT_TTL);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        store.close();
+    }
+
+    @Test
+    void shouldTakeRegisteredAlertWithoutQueryingDatabase() throws Exception {
+        // Given
+        String payload = createCallbackPayload();
+        AlertEntity alert = createAlert(payload);
+        store.register(payload, alert);
+        // When
+        AlertEntity takenAlert = store.take(payload);
+        // Then
+        assertThat(takenAlert, is(sameInstance(alert)));
+        verify(database, never()).getAlertForPayload(anyString());
+    }
+
+    @Test
+    void shouldTakeAlertWhosePayloadIsContainedInUri() throws Exception {
+        // Given
+        String payload = "a.c59e3crp82ke7bcnr4q0cbnfcyuozo8te.oast.example.com";
+        AlertEntity alert = createAlert(payload);
+        store.register(payload, alert);
+        // When
+        AlertEntity takenAlert = store.take("http://" + payload + "/path?query=1");
+        // Then
+        assertThat(takenAlert, is(sameInstance(alert)));
+    }
+
+    @Test
+    void shouldTakeAlertOnlyOnce() throws Exception {
+        // Given
+        String payload = createCallbackPayload();
+        store.register(payload, createAlert(payload));
+        store.take(payload);
+        // When
+        AlertEntity takenAlert = store.take(payload);
+        // Then
+        assertThat(takenAlert, is(nullValue()));
+        verify(database).getAlertForPayload(payload);
+    }
+
+    @Test
+    void shouldFallBackToDatabaseForUnknownPayloads() throws Exception {
+        // Given
+        String payload = createCallbackPayload();
+        AlertEntity alert = createAlert(payload);
+        given(database.getAlertForPayload(payload)).willReturn(alert);
+        // When
+        AlertEntity takenAlert = store.take(payload);
+        // Then
+        assertThat(takenAlert, is(sameInstance(alert)));
+    }
+
+    @Test
+    void shouldPersistPendingAlertsInOneBatch() throws Exception {
+        // Given
+        List<String> payloads = List.of(createCallbackPayload(), createCallbackPayload());
+        for (String payload : payloads) {
+            store.register(payload, createAlert(payload));
+        }
+        // When
+        store.flush();
+        // Then
+        assertThat(persistedPayloads(), is(equalTo(payloads)));
+    }
+
+    @Test
+    void shouldNotPersistAlertsTakenBeforeFlush() throws Exception {
+        // Given
+        String payload = createCallbackPayload();
+        store.register(payload, createAlert(payload));
+        store.take(payload);
+        // When
+        store.flush();
+        // Then
+        verifyNoInteractions(database);
+    }
+
+    @Test
+    void shouldLoadAlertByPayloadOnceWritten() throws Exception {
+        // Given
+        String payload = createCallbackPayload();
+        store.register(payload, createAlert(payload));
+        store.flush();
+        AlertEntity persistedAlert = createAlert(payload);
+        given(database.takeAlert(payload)).willReturn(persistedAlert);
+        // When
+        AlertEntity takenAlert = store.take(payload);
+        // Then
+        assertThat(takenAlert, is(sameInstance(persistedAlert)));
+        verify(database, never()).getAlertForPayload(anyString());
+    }
+
+    @Test
+    void shouldKeepAlertInMemoryIfNotWritten() throws Exception {
+        // Given
+        given(database.persistAlerts(anyCollection())).willReturn(false);
+        String payload = createCallbackPayload();
+        AlertEntity alert = createAlert(payload);
+        store.register(payload, alert);
+        store.flush();
+        // When
+        AlertEntity takenAlert = store.take(payload);
+        // Then
+        assertThat(takenAlert, is(sameInstance(alert)));
+        verify(database, never()).takeAlert(anyString());
+        verify(database, never()).deleteAlertsForPayloads(anyCollection());
+    }
+
+    @Test
+    void shouldDeleteAlertsTakenWhileBeingWritten() throws Exception {
+        // Given
+        String payload = createCallbackPayload();
+        AlertEntity alert = createAlert(payload);
+        store.register(payload, alert);
+        List<AlertEntity> takenAlerts = new ArrayList<>();
+        given(database.persistAlerts(anyCollection()))
+                .willAnswer(
+                        invocation -> {
+                            takenAlerts.add(store.take(payload));
+                            return true;
+                        });
+        store.flush();
+        // When
+        store.flush();
+        // Then
+        assertThat(takenAlerts, is(equalTo(List.of(alert))));
+        verify(database).deleteAlertsForPayloads(List.of(payload));
+        verify(database, never()).takeAlert(anyString());
+    }
+
+    @Test
+    void shouldPersistCopiesOfAlerts() throws Exception {
+        // Given
+        String payload = createCallbackPayload();
+        AlertEntity alert = createAlert(payload);
+        store.register(payload, alert);
+        // When
+        store.flush();
+        // Then
+        AlertEntity persistedAlert = captorPersisted().getValue().iterator().next();
+        assertThat(persistedAlert, is(not(sameInstance(alert))));
+        assertThat(persistedAlert.getPayload(), is(equalTo(payload)));
+        assertThat(persistedAlert.getMessage(), is(not(sameInstance(alert.getMessage()))));
+    }
+
+    @Test
+    void shouldEvictExpiredAlertsFromMemory() throws Exception {
+        // Given
+        store.close();
+        store = createStore(Duration.ZERO);
+        String payload = createCallbackPayload();
+        store.register(payload, createAlert(payload));
+        // When
+        store.evictExpired();
+        // Then
+        assertThat(store.size(), is(equalTo(0)));
+        store.take(payload);
+        verify(database).getAlertForPayload(payload);
+    }
+
+    @Test
+    void shouldClearPendingAlerts() throws Exception {
+        // Given
+        String payload = createCallbackPayload();
+        store.register(payload, createAlert(payload));
+        // When
+        store.clear();
+        // Then
+        store.flush();
+        assertThat(store.size(), is(equalTo(0)));
+        verify(database, never()).persistAlerts(anyCollection());
+    }
+
+    @Test
+    void shouldCorrelateCallbacksWith100kOutstandingPayloads() throws Exception {
+        // Given
+        int outstandingPayloads = 100_000;
+        List<String> payloads = new ArrayList<>(outstandingPayloads);
+        AlertEntity alert = createAlert(CALLBACK_ADDRESS);
+        for (int i = 0; i < outstandingPayloads; i++) {
+            String payload = createCallbackPayload();
+            payloads.add(payload);
+            store.register(payload, alert);
+        }
+        store.flush();
+        given(database.takeAlert(anyString())).willReturn(alert);
+        int interactions = 10_000;
+        // When
+        int correlated = 0;
+        for (int i = 0; i < interactions; i++) {
+            String payload = payloads.get(i * (outstandingPayloads / interactions));
+            if (store.take(payload) != null) {
+                correlated++;
+            }
+        }
+        // Then
+        assertThat(correlated, is(equalTo(interactions)));
+        assertThat(store.size(), is(equalTo(outstandingPayloads - interactions)));
+        verify(database, times(interactions)).takeAlert(anyString());
+        verify(database, never()).getAlertForPayload(anyString());
+    }
+
+    private OastAlertStore createStore(Duration ttl) {
+        return new OastAlertStore(() -> database, FIXED_CLOCK, ttl, NO_PERIODIC_FLUSH);
+    }
+
+    private List<String> persistedPayloads() {
+        List<String> payloads = new ArrayList<>();
+        for (Collection<AlertEntity> alerts : captorPersisted().getAllValues()) {
+            alerts.forEach(e -> payloads.add(e.getPayload()));
+        }
+        return payloads;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<Collection<AlertEntity>> captorPersisted() {
+        ArgumentCaptor<Collection<AlertEntity>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(database, atLeastOnce()).persistAlerts(captor.capture());
+        return captor;
+    }
+
+    private static String createCallbackPayload() {
+        return CALLBACK_ADDRESS + UUID.randomUUID();
+    }
+
+    private static AlertEntity createAlert(String payload) throws Exception {
+        Alert alert = new Alert(1);
+        alert.setMessage(new HttpMessage(new URI("https://example.com/", true)));
+        return new AlertEntity(payload, new MessageEntity(alert.getMessage()), alert);
+    }
+}
@@ -39,6 +39,7 @@ import org.parosproxy.paros.extension.ExtensionLoader;
 import org.parosproxy.paros.extension.SessionChangedListener;
 import org.parosproxy.paros.extension.history.ExtensionHistory;
 import org.parosproxy.paros.extension.history.ProxyListenerLog;
+import org.parosproxy.paros.model.HistoryReference;
 import org.parosproxy.paros.model.Model;
 import org.parosproxy.paros.model.Session;
 import org.parosproxy.paros.network.HttpMessage;
@@ -50,6 +51,7 @@ import org.zaproxy.addon.pscan.internal.ScanRuleManager;
 import org.zaproxy.addon.pscan.internal.StatsPassiveScanner;
 import org.zaproxy.addon.pscan.internal.scanner.PassiveScanController;
 import org.zaproxy.addon.pscan.internal.scanner.PassiveScanTask;
+import org.zaproxy.addon.pscan.internal.scanner.ScanRuleTimings;
 import org.zaproxy.addon.pscan.internal.ui.OptionsPassiveScan;
 import org.zaproxy.addon.pscan.internal.ui.PassiveScannerOptionsPanel;
 import org.zaproxy.addon.pscan.internal.ui.PolicyPassiveScanPanel;
@@ -422,6 +424,13 @@ public class ExtensionPassiveScan2 extends ExtensionAdaptor {
         return List.of();
     }
 
+    List<ScanRuleTimings.RuleTimings> getScanRuleTimings() {
+        if (passiveScanEnabled) {
+            return getPassiveScanController().getScanRuleTimings().getRuleTimings();
+        }
+        return List.of();
+    }
+
     /**
      * @since 0.4.0
      */
@@ -457,8 +466,14 @@ public class ExtensionPassiveScan2 extends ExtensionAdaptor {
 
         @Override
         public boolean onHttpResponseReceive(HttpMessage msg) {
-            if (psc != null) {
-                psc.responseReceived();
+            PassiveScanController controller = psc;
+            if (controller != null) {
+                HistoryReference href = msg.getHistoryRef();
+                // The message was persisted by the history, hand it over directly otherwise
+                // notify that there might be a new record to read.
+                if (href == null || !controller.enqueue(href, msg)) {
+                    controller.responseReceived();
+                }
             }
             return true;
         }
@@ -29,6 +29,7 @@ import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.core.scanner.Plugin;
 import org.zaproxy.addon.pscan.internal.PassiveScannerOptions;
 import org.zaproxy.addon.pscan.internal.scanner.PassiveScanTask;
+import org.zaproxy.addon.pscan.internal.scanner.ScanRuleTimings;
 import org.zaproxy.zap.extension.api.ApiAction;
 import org.zaproxy.zap.extension.api.ApiException;
 import org.zaproxy.zap.extension.api.ApiImplementor;
@@ -54,6 +55,7 @@ public class PassiveScanApi extends ApiImplementor {
     private static final String VIEW_CURRENT_TASKS = "currentTasks";
     private static final String VIEW_MAX_ALERTS_PER_RULE = "maxAlertsPerRule";
     private static final String VIEW_MAX_BODY_SIZE_IN_BYTES = "maxBodySizeInBytes";
+    private static final String VIEW_SCAN_RULE_LATENCIES = "scanRuleLatencies";
 
     private static final String ACTION_SET_ENABLED = "setEnabled";
     private static final String ACTION_SET_SCAN_ONLY_IN_SCOPE = "setScanOnlyInScope";
@@ -119,6 +121,7 @@ public class PassiveScanApi extends ApiImplementor {
         this.addApiView(new ApiView(VIEW_CURRENT_TASKS));
         this.addApiView(new ApiView(VIEW_MAX_ALERTS_PER_RULE));
         this.addApiView(new ApiView(VIEW_MAX_BODY_SIZE_IN_BYTES));
+        this.addApiView(new ApiView(VIEW_SCAN_RULE_LATENCIES));
     }
 
     @Override
@@ -342,6 +345,23 @@ public class PassiveScanApi extends ApiImplementor {
                                 VIEW_MAX_BODY_SIZE_IN_BYTES,
                                 Integer.toString(getOptions().getMaxBodySizeInBytesToScan()));
                 break;
+            case VIEW_SCAN_RULE_LATENCIES:
+                ApiResponseList latencyList = new ApiResponseList(name);
+                for (ScanRuleTimings.RuleTimings timings : extension.getScanRuleTimings()) {
+                    ScanRuleTimings.LatencyHistogram histogram = timings.getHistogram();
+                    Map<String, String> map = new HashMap<>();
+                    map.put("id", timings.getId());
+                    map.put("name", timings.getName());
+                    map.put("count", String.valueOf(histogram.getCount()));
+                    map.put("p50", String.valueOf(histogram.getPercentile(50)));
+                    map.put("p95", String.valueOf(histogram.getPercentile(95)));
+                    map.put("p99", String.valueOf(histogram.getPercentile(99)));
+                    map.put("max", String.valueOf(histogram.getMax()));
+                    map.put("quarantined", String.valueOf(timings.isQuarantined()));
+                    latencyList.addItem(new ApiResponseSet<>("scanRule", map));
+                }
+                result = latencyList;
+                break;
             default:
                 throw new ApiException(ApiException.Type.BAD_VIEW);
         }
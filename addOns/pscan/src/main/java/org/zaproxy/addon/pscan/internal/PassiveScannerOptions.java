@@ -74,6 +74,12 @@ public class PassiveScannerOptions extends VersionedAbstractParam {
     private static final String PASSIVE_SCAN_THREADS = BASE_KEY + ".threads";
     private static final String MAX_ALERTS_PER_RULE = BASE_KEY + ".maxAlertsPerRule";
     private static final String MAX_BODY_SIZE_IN_BYTES = BASE_KEY + ".maxBodySizeInBytes";
+    private static final String QUEUE_SIZE = BASE_KEY + ".queueSize";
+    private static final String RULE_TIME_BUDGET_IN_MS = BASE_KEY + ".ruleTimeBudgetInMs";
+    private static final String RULE_QUARANTINE_IN_SECS = BASE_KEY + ".ruleQuarantineInSecs";
+
+    static final int DEFAULT_QUEUE_SIZE = 1000;
+    static final int DEFAULT_RULE_QUARANTINE_IN_SECS = 300;
 
     private List<RegexAutoTagScanner> autoTagScanners = new ArrayList<>(0);
 
@@ -106,6 +112,24 @@ public class PassiveScannerOptions extends VersionedAbstractParam {
 
     private int passiveScanThreads;
 
+    /**
+     * The maximum number of messages handed directly to the passive scanner that can be waiting to
+     * be scanned, the remaining are read from the History table.
+     */
+    private int queueSize;
+
+    /**
+     * The time, in milliseconds, a passive scan rule is allowed to take scanning a message. Default
+     * 0, which means there is no budget.
+     */
+    private int ruleTimeBudgetInMs;
+
+    /**
+     * The time, in seconds, a passive scan rule is not run after repeatedly exceeding its time
+     * budget.
+     */
+    private int ruleQuarantineInSecs;
+
     public PassiveScannerOptions() {}
 
     @Override
@@ -167,6 +191,16 @@ public class PassiveScannerOptions extends VersionedAbstractParam {
         }
         this.maxAlertsPerRule = this.getInt(MAX_ALERTS_PER_RULE, 0);
         this.maxBodySizeInBytesToScan = this.getInt(MAX_BODY_SIZE_IN_BYTES, 0);
+        this.queueSize = this.getInt(QUEUE_SIZE, DEFAULT_QUEUE_SIZE);
+        if (this.queueSize <= 0) {
+            this.queueSize = DEFAULT_QUEUE_SIZE;
+        }
+        this.ruleTimeBudgetInMs = Math.max(0, this.getInt(RULE_TIME_BUDGET_IN_MS, 0));
+        this.ruleQuarantineInSecs =
+                this.getInt(RULE_QUARANTINE_IN_SECS, DEFAULT_RULE_QUARANTINE_IN_SECS);
+        if (this.ruleQuarantineInSecs <= 0) {
+            this.ruleQuarantineInSecs = DEFAULT_RULE_QUARANTINE_IN_SECS;
+        }
     }
 
     public void setAutoTagScanners(List<RegexAutoTagScanner> scanners) {
@@ -322,4 +356,72 @@ public class PassiveScannerOptions extends VersionedAbstractParam {
             getConfig().setProperty(PASSIVE_SCAN_THREADS, passiveScanThreads);
         }
     }
+
+    /**
+     * Gets the maximum number of messages handed directly to the passive scanner that can be
+     * waiting to be scanned.
+     *
+     * @return the size of the queue.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Sets the maximum number of messages handed directly to the passive scanner that can be
+     * waiting to be scanned.
+     *
+     * <p>Takes effect when the passive scanner is restarted, for example, when the session changes.
+     *
+     * @param queueSize the size of the queue, must be &gt; 0
+     */
+    public void setQueueSize(int queueSize) {
+        if (queueSize > 0) {
+            this.queueSize = queueSize;
+            getConfig().setProperty(QUEUE_SIZE, queueSize);
+        }
+    }
+
+    /**
+     * Gets the time a passive scan rule is allowed to take scanning a message.
+     *
+     * @return the time, in milliseconds, or 0 if there is no budget.
+     */
+    public int getRuleTimeBudgetInMs() {
+        return ruleTimeBudgetInMs;
+    }
+
+    /**
+     * Sets the time a passive scan rule is allowed to take scanning a message.
+     *
+     * <p>The rules that repeatedly exceed the budget are quarantined, not run, for the {@link
+     * #getRuleQuarantineInSecs() quarantine time}.
+     *
+     * @param ruleTimeBudgetInMs the time, in milliseconds, 0 for no budget.
+     */
+    public void setRuleTimeBudgetInMs(int ruleTimeBudgetInMs) {
+        this.ruleTimeBudgetInMs = Math.max(0, ruleTimeBudgetInMs);
+        getConfig().setProperty(RULE_TIME_BUDGET_IN_MS, this.ruleTimeBudgetInMs);
+    }
+
+    /**
+     * Gets the time a passive scan rule is not run after repeatedly exceeding its time budget.
+     *
+     * @return the time, in seconds.
+     */
+    public int getRuleQuarantineInSecs() {
+        return ruleQuarantineInSecs;
+    }
+
+    /**
+     * Sets the time a passive scan rule is not run after repeatedly exceeding its time budget.
+     *
+     * @param ruleQuarantineInSecs the time, in seconds, must be &gt; 0
+     */
+    public void setRuleQuarantineInSecs(int ruleQuarantineInSecs) {
+        if (ruleQuarantineInSecs > 0) {
+            this.ruleQuarantineInSecs = ruleQuarantineInSecs;
+            getConfig().setProperty(RULE_QUARANTINE_IN_SECS, ruleQuarantineInSecs);
+        }
+    }
 }
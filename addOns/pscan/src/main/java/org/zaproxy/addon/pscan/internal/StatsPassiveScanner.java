@@ -34,6 +34,7 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.pscan.ExtensionPassiveScan2;
 import org.zaproxy.zap.control.AddOn;
+import org.zaproxy.zap.extension.pscan.PassiveScanner;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 import org.zaproxy.zap.model.SessionStructure;
 import org.zaproxy.zap.utils.Stats;
@@ -44,6 +45,15 @@ public class StatsPassiveScanner extends PluginPassiveScanner {
     public static final String CONTENT_TYPE_STATS_PREFIX = "stats.contentType.";
     public static final String RESPONSE_TIME_STATS_PREFIX = "stats.responseTime.";
 
+    /**
+     * The prefix of the statistic of the number of messages not dispatched to a passive scanner,
+     * as they do not apply to it. Followed by the ID of the scan rule, or the name of the scanner,
+     * and {@link #ROUTING_SKIPPED_STATS_POSTFIX}.
+     */
+    public static final String ROUTING_SKIPPED_STATS_PREFIX = "stats.pscan.";
+
+    public static final String ROUTING_SKIPPED_STATS_POSTFIX = ".skipped";
+
     private static final Map<String, String> ALERT_TAGS;
 
     static {
@@ -115,6 +125,29 @@ public class StatsPassiveScanner extends PluginPassiveScanner {
         return true;
     }
 
+    /**
+     * Increments the statistic of messages not dispatched to the given scanner.
+     *
+     * @param scanner the scanner.
+     */
+    public static void incRoutingSkipped(PassiveScanner scanner) {
+        Stats.incCounter(
+                ROUTING_SKIPPED_STATS_PREFIX + getStatsId(scanner) + ROUTING_SKIPPED_STATS_POSTFIX);
+    }
+
+    /**
+     * Gets the ID used in the statistics of the given scanner, the ID of the scan rule or the name
+     * of the scanner.
+     *
+     * @param scanner the scanner.
+     * @return the ID.
+     */
+    public static String getStatsId(PassiveScanner scanner) {
+        return scanner instanceof PluginPassiveScanner
+                ? String.valueOf(((PluginPassiveScanner) scanner).getPluginId())
+                : scanner.getName();
+    }
+
     public static void load(ExtensionPassiveScan2 extension) {
         instance = new StatsPassiveScanner();
         extension.getPassiveScannersManager().add(instance);
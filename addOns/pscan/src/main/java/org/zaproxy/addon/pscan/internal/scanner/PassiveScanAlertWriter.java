@@ -0,0 +1,198 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.pscan.internal.scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.core.scanner.Alert;
+import org.parosproxy.paros.model.HistoryReference;
+import org.zaproxy.zap.extension.alert.ExtensionAlert;
+import org.zaproxy.zap.utils.Stats;
+
+/**
+ * Writes the alerts raised by the passive scan rules, in batches, off the passive scan threads.
+ *
+ * <p>The alerts are written in the order they were raised, once {@value #MAX_BATCH_SIZE} alerts are
+ * pending or {@value #MAX_BATCH_DELAY_MS} milliseconds after the first pending alert, whichever
+ * happens first.
+ */
+class PassiveScanAlertWriter {
+
+    static final String BATCH_SIZE_STATS = "stats.pscan.alerts.batchSize";
+
+    static final int MAX_BATCH_SIZE = 50;
+    static final long MAX_BATCH_DELAY_MS = 100;
+
+    private static final Logger LOGGER = LogManager.getLogger(PassiveScanAlertWriter.class);
+
+    private static final long SHUTDOWN_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
+
+    /** Tells the writer to stop, once all previous alerts are written. */
+    private static final PendingAlert STOP = new PendingAlert(null, null);
+
+    private final ExtensionAlert extAlert;
+    private final BlockingQueue<PendingAlert> queue;
+    private final AtomicInteger pendingAlerts;
+    private final Object writeLock;
+
+    private volatile Thread writer;
+    private volatile boolean shutdown;
+
+    PassiveScanAlertWriter(ExtensionAlert extAlert) {
+        this.extAlert = extAlert;
+        this.queue = new LinkedBlockingQueue<>();
+        this.pendingAlerts = new AtomicInteger();
+        this.writeLock = new Object();
+    }
+
+    /**
+     * Writes the given alert, asynchronously.
+     *
+     * <p>The alert is written in the calling thread if the writer was already shutdown.
+     *
+     * @param alert the alert.
+     * @param href the history reference of the message that has the alert.
+     */
+    void write(Alert alert, HistoryReference href) {
+        if (shutdown) {
+            extAlert.alertFound(alert, href);
+            return;
+        }
+        pendingAlerts.incrementAndGet();
+        queue.add(new PendingAlert(alert, href));
+        startWriter();
+    }
+
+    private void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        synchronized (this) {
+            if (writer == null && !shutdown) {
+                Thread thread = new Thread(this::writeAlerts, "ZAP-PassiveScanAlertWriter");
+                thread.setDaemon(true);
+                thread.start();
+                writer = thread;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of alerts not yet written.
+     *
+     * @return the number of alerts.
+     */
+    int getPendingAlerts() {
+        return pendingAlerts.get();
+    }
+
+    /**
+     * Shuts down the writer, waiting for the pending alerts to be written.
+     *
+     * <p>The alerts raised afterwards are written synchronously.
+     */
+    void shutdown() {
+        Thread thread;
+        synchronized (this) {
+            shutdown = true;
+            thread = writer;
+        }
+        if (thread != null) {
+            queue.add(STOP);
+            try {
+                thread.join(SHUTDOWN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<PendingAlert> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.removeIf(pendingAlert -> pendingAlert == STOP);
+        write(remaining);
+    }
+
+    private void writeAlerts() {
+        List<PendingAlert> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        boolean stop = false;
+        while (!stop) {
+            try {
+                PendingAlert pendingAlert = queue.take();
+                long deadline =
+                        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_BATCH_DELAY_MS);
+                while (pendingAlert != null) {
+                    if (pendingAlert == STOP) {
+                        stop = true;
+                        break;
+                    }
+                    batch.add(pendingAlert);
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= MAX_BATCH_SIZE || remaining <= 0) {
+                        break;
+                    }
+                    pendingAlert = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop = true;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingAlert> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            for (PendingAlert pendingAlert : batch) {
+                try {
+                    extAlert.alertFound(pendingAlert.alert, pendingAlert.href);
+                } catch (Exception e) {
+                    LOGGER.error(
+                            "Failed to write alert {} of record {}:",
+                            pendingAlert.alert.getName(),
+                            pendingAlert.href.getHistoryId(),
+                            e);
+                } finally {
+                    pendingAlerts.decrementAndGet();
+                }
+            }
+        }
+        Stats.setHighwaterMark(BATCH_SIZE_STATS, batch.size());
+    }
+
+    private static class PendingAlert {
+
+        private final Alert alert;
+        private final HistoryReference href;
+
+        PendingAlert(Alert alert, HistoryReference href) {
+            this.alert = alert;
+            this.href = href;
+        }
+    }
+}
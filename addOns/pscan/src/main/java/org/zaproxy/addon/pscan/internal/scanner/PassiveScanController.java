@@ -19,10 +19,12 @@
  */
 package org.zaproxy.addon.pscan.internal.scanner;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +33,7 @@ import org.parosproxy.paros.extension.history.ExtensionHistory;
 import org.parosproxy.paros.model.HistoryReference;
 import org.parosproxy.paros.model.Session;
 import org.parosproxy.paros.network.HttpMalformedHeaderException;
+import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.pscan.ExtensionPassiveScan2;
 import org.zaproxy.addon.pscan.internal.PassiveScannerOptions;
 import org.zaproxy.zap.extension.alert.ExtensionAlert;
@@ -40,13 +43,20 @@ public class PassiveScanController extends Thread {
 
     private static final Logger LOGGER = LogManager.getLogger(PassiveScanController.class);
 
+    private static final int MAX_QUEUED_BATCH_SIZE = 100;
+
     private ExtensionHistory extHist;
     private PassiveScanTaskHelper helper;
     private Session session;
 
     private ThreadPoolExecutor executor;
 
+    private final PassiveScanQueue queue;
+    private final Object cursorLock = new Object();
+    private final List<PassiveScanQueue.Entry> queuedBatch = new ArrayList<>();
+
     private int currentId = 1;
+    private int dbScannedId;
     private int lastId = -1;
     private int mainSleep = 2000;
     private int postSleep = 200;
@@ -58,10 +68,12 @@ public class PassiveScanController extends Thread {
         this.extHist = extHistory;
 
         helper = new PassiveScanTaskHelper(extPscan, extAlert);
+        queue = new PassiveScanQueue(getOptions().getQueueSize());
 
         // Get the last id - in case we've just opened an existing session
         currentId = getLastHistoryId();
         lastId = currentId;
+        dbScannedId = currentId;
     }
 
     public void setSession(Session session) {
@@ -87,44 +99,33 @@ public class PassiveScanController extends Thread {
         if (currentId != 0) {
             currentId++;
         }
-        HistoryReference href = null;
+        synchronized (cursorLock) {
+            dbScannedId = currentId - 1;
+        }
+        boolean found = false;
 
         while (!shutDown) {
             try {
-                if (href != null || lastId > currentId) {
+                // Messages handed directly are scanned first, the History table is only used to
+                // catch up with the messages that were not.
+                submitQueued();
+
+                if (found || lastId > currentId) {
                     currentId++;
                 } else {
                     // Either just started or there are no new records
-                    try {
-                        Thread.sleep(mainSleep);
-                        if (shutDown) {
-                            return;
-                        }
-                    } catch (InterruptedException e) {
-                        // New URL, but give it a chance to be processed first
-                        try {
-                            Thread.sleep(postSleep);
-                        } catch (InterruptedException e2) {
-                            // Ignore
-                        }
+                    if (waitForQueued()) {
+                        return;
                     }
                     lastId = this.getLastHistoryId();
                 }
-                href = getHistoryReference(currentId);
+
+                found = scanFromDb(currentId);
 
                 if (shutDown) {
                     return;
                 }
 
-                if (href != null
-                        && (!getOptions().isScanOnlyInScope() || session.isInScope(href))) {
-                    LOGGER.debug(
-                            "Submitting request to executor: {} id {} type {}",
-                            href.getURI(),
-                            currentId,
-                            href.getHistoryType());
-                    getExecutor().submit(new PassiveScanTask(href, helper));
-                }
                 int recordsToScan = this.getRecordsToScan();
                 Stats.setHighwaterMark("stats.pscan.recordsToScan", recordsToScan);
 
@@ -132,16 +133,144 @@ public class PassiveScanController extends Thread {
                 if (shutDown) {
                     return;
                 }
-                if (href != null
-                        && HistoryReference.getTemporaryTypes().contains(href.getHistoryType())) {
-                    LOGGER.debug("Temporary record {} no longer available:", currentId, e);
-                } else {
-                    LOGGER.error("Failed on record {} from History table", currentId, e);
+                LOGGER.error("Failed on record {} from History table", currentId, e);
+            }
+        }
+    }
+
+    /**
+     * Waits for queued messages, submitting them if any.
+     *
+     * @return {@code true} if shutdown while waiting, {@code false} otherwise.
+     */
+    private boolean waitForQueued() {
+        try {
+            PassiveScanQueue.Entry entry = queue.poll(mainSleep, TimeUnit.MILLISECONDS);
+            if (shutDown) {
+                return true;
+            }
+            if (entry != null) {
+                submit(entry.getHistoryReference(), entry.getHttpMessage());
+                submitQueued();
+            }
+        } catch (InterruptedException e) {
+            // New URL, but give it a chance to be processed first
+            try {
+                Thread.sleep(postSleep);
+            } catch (InterruptedException e2) {
+                // Ignore
+            }
+        }
+        return shutDown;
+    }
+
+    private void submitQueued() {
+        queue.drainTo(queuedBatch, MAX_QUEUED_BATCH_SIZE);
+        if (queuedBatch.isEmpty()) {
+            return;
+        }
+        try {
+            for (PassiveScanQueue.Entry entry : queuedBatch) {
+                if (shutDown) {
+                    return;
                 }
+                submit(entry.getHistoryReference(), entry.getHttpMessage());
             }
+        } finally {
+            queuedBatch.clear();
+        }
+    }
+
+    private void submit(HistoryReference href, HttpMessage msg) {
+        if (!getOptions().isScanOnlyInScope() || session.isInScope(href)) {
+            LOGGER.debug(
+                    "Submitting request to executor: {} id {} type {}",
+                    href.getURI(),
+                    href.getHistoryId(),
+                    href.getHistoryType());
+            getExecutor().submit(new PassiveScanTask(href, msg, helper));
         }
     }
 
+    /**
+     * Scans the message with the given ID read from the History table, unless handed directly.
+     *
+     * <p>The message is claimed for the scan from the History table only once read, the messages
+     * not yet persisted can still be handed directly.
+     *
+     * @param id the ID of the message.
+     * @return {@code true} if the message was handed directly or read, {@code false} otherwise.
+     */
+    boolean scanFromDb(int id) {
+        if (consumeQueued(id)) {
+            return true;
+        }
+        HistoryReference href = getHistoryReference(id);
+        if (href == null) {
+            return false;
+        }
+        if (!shutDown && claimForDbScan(id)) {
+            try {
+                submit(href, null);
+            } catch (RuntimeException e) {
+                if (!HistoryReference.getTemporaryTypes().contains(href.getHistoryType())) {
+                    throw e;
+                }
+                LOGGER.debug("Temporary record {} no longer available:", id, e);
+            }
+        }
+        return true;
+    }
+
+    private boolean consumeQueued(int id) {
+        synchronized (cursorLock) {
+            return queue.consumeQueued(id);
+        }
+    }
+
+    boolean claimForDbScan(int id) {
+        synchronized (cursorLock) {
+            if (queue.consumeQueued(id) || id <= dbScannedId) {
+                return false;
+            }
+            dbScannedId = id;
+            return true;
+        }
+    }
+
+    /**
+     * Hands the given, already persisted, message to the passive scanner, without it having to be
+     * read back from the History table.
+     *
+     * <p>If the queue is full the message is scanned later, once read from the History table.
+     *
+     * <p>The message is copied only once known that it will be queued.
+     *
+     * @param href the history reference of the message.
+     * @param msg the message, or {@code null} to read it from the History table.
+     * @return {@code true} if the message was queued, {@code false} otherwise.
+     */
+    public boolean enqueue(HistoryReference href, HttpMessage msg) {
+        if (shutDown || href == null) {
+            return false;
+        }
+        synchronized (cursorLock) {
+            if (href.getHistoryId() <= dbScannedId) {
+                return false;
+            }
+            return queue.offerCopy(href, msg);
+        }
+    }
+
+    /**
+     * Gets the number of messages handed directly that are waiting to be submitted.
+     *
+     * @return the number of queued messages.
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
     private PassiveScannerOptions getOptions() {
         return extHist.getModel().getOptionsParam().getParamSet(PassiveScannerOptions.class);
     }
@@ -176,7 +305,12 @@ public class PassiveScanController extends Thread {
     }
 
     public int getRecordsToScan() {
-        return this.getLastHistoryId() - getLastScannedId() + helper.getRunningTasks().size();
+        // Alerts still being written count as one record, to not report the scan as finished
+        // before all alerts are available.
+        return this.getLastHistoryId()
+                - getLastScannedId()
+                + helper.getRunningTasks().size()
+                + (helper.hasPendingAlerts() ? 1 : 0);
     }
 
     private int getLastScannedId() {
@@ -192,7 +326,8 @@ public class PassiveScanController extends Thread {
         if (this.executor != null) {
             this.executor.shutdown();
         }
-        this.helper.shutdownTasks();
+        this.queue.clear();
+        this.helper.shutdown();
     }
 
     public List<PassiveScanTask> getRunningTasks() {
@@ -203,9 +338,17 @@ public class PassiveScanController extends Thread {
         return this.helper.getOldestRunningTask();
     }
 
+    public ScanRuleTimings getScanRuleTimings() {
+        return this.helper.getScanRuleTimings();
+    }
+
     public void clearQueue() {
         currentId = this.getLastHistoryId();
         lastId = currentId;
+        synchronized (cursorLock) {
+            dbScannedId = Math.max(dbScannedId, currentId);
+            queue.clear();
+        }
         this.helper.shutdownTasks();
     }
 
@@ -0,0 +1,165 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.pscan.internal.scanner;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.utils.Stats;
+
+/**
+ * A bounded queue of messages that were already persisted and handed directly to the passive
+ * scanner, avoiding the need to read them back from the History table.
+ *
+ * <p>The IDs of the queued messages are tracked until the History table catch up reaches them, so
+ * that they are not scanned twice. Messages that do not fit in the queue are dropped, the catch up
+ * will scan them later.
+ */
+class PassiveScanQueue {
+
+    static final String QUEUE_DEPTH_STATS = "stats.pscan.queue.depth";
+    static final String QUEUE_DROPPED_STATS = "stats.pscan.queue.dropped";
+    static final String QUEUE_LATENCY_STATS = "stats.pscan.queue.latency";
+    static final String QUEUE_SCANNED_STATS = "stats.pscan.queue.scanned";
+
+    private final BlockingQueue<Entry> queue;
+    private final Set<Integer> pendingIds;
+
+    PassiveScanQueue(int capacity) {
+        queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        pendingIds = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Offers the given message to the queue.
+     *
+     * @param href the history reference of the message.
+     * @param msg the message, might be {@code null} in which case it's read from the database.
+     * @return {@code true} if the message was queued, {@code false} if the queue is full.
+     */
+    boolean offer(HistoryReference href, HttpMessage msg) {
+        return offer(href, msg, false);
+    }
+
+    /**
+     * Offers a copy of the given message to the queue.
+     *
+     * <p>The message is copied only if there's room for it in the queue, the caller should ensure
+     * that no other thread is offering messages concurrently.
+     *
+     * @param href the history reference of the message.
+     * @param msg the message to copy, might be {@code null} in which case it's read from the
+     *     database.
+     * @return {@code true} if the message was queued, {@code false} if the queue is full.
+     */
+    boolean offerCopy(HistoryReference href, HttpMessage msg) {
+        return offer(href, msg, true);
+    }
+
+    private boolean offer(HistoryReference href, HttpMessage msg, boolean copy) {
+        if (queue.remainingCapacity() == 0) {
+            Stats.incCounter(QUEUE_DROPPED_STATS);
+            return false;
+        }
+        if (copy && msg != null) {
+            msg = msg.cloneAll();
+        }
+        int id = href.getHistoryId();
+        pendingIds.add(id);
+        if (!queue.offer(new Entry(href, msg))) {
+            pendingIds.remove(id);
+            Stats.incCounter(QUEUE_DROPPED_STATS);
+            return false;
+        }
+        Stats.setHighwaterMark(QUEUE_DEPTH_STATS, queue.size());
+        return true;
+    }
+
+    /**
+     * Tells whether or not the message with the given ID was queued, no longer tracking it.
+     *
+     * @param id the ID of the message.
+     * @return {@code true} if the message was queued, {@code false} otherwise.
+     */
+    boolean consumeQueued(int id) {
+        return pendingIds.remove(id);
+    }
+
+    Entry poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return record(queue.poll(timeout, unit));
+    }
+
+    void drainTo(List<Entry> entries, int max) {
+        int start = entries.size();
+        queue.drainTo(entries, max);
+        for (int i = start; i < entries.size(); i++) {
+            record(entries.get(i));
+        }
+    }
+
+    private static Entry record(Entry entry) {
+        if (entry != null) {
+            Stats.incCounter(QUEUE_SCANNED_STATS);
+            Stats.incCounter(
+                    QUEUE_LATENCY_STATS,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entry.getEnqueueTime()));
+        }
+        return entry;
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    void clear() {
+        queue.clear();
+        pendingIds.clear();
+    }
+
+    static class Entry {
+
+        private final HistoryReference href;
+        private final HttpMessage msg;
+        private final long enqueueTime;
+
+        Entry(HistoryReference href, HttpMessage msg) {
+            this.href = href;
+            this.msg = msg;
+            this.enqueueTime = System.nanoTime();
+        }
+
+        HistoryReference getHistoryReference() {
+            return href;
+        }
+
+        HttpMessage getHttpMessage() {
+            return msg;
+        }
+
+        long getEnqueueTime() {
+            return enqueueTime;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.pscan.internal.scanner;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.network.HttpHeader;
+import org.parosproxy.paros.network.HttpMessage;
+import org.parosproxy.paros.network.HttpResponseHeader;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessages;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessagesProvider;
+import org.zaproxy.zap.extension.pscan.PassiveScanner;
+
+/**
+ * The dispatch table of the passive scanners, tells which scanners apply to a message.
+ *
+ * <p>The scanners that declare the messages they apply to, through {@link
+ * ApplicableMessagesProvider}, are not dispatched the messages they would ignore. The dispatch
+ * routes are computed once per distinct {@code Content-Type} and status code.
+ */
+class PassiveScanRouting {
+
+    private static final Logger LOGGER = LogManager.getLogger(PassiveScanRouting.class);
+
+    private static final int MAX_ROUTES = 1000;
+
+    private final PassiveScanner[] scanners;
+    private final ApplicableMessages[] applicableMessages;
+    private final BitSet requestScanners;
+    private final Map<RouteKey, Route> routes;
+
+    PassiveScanRouting(List<PassiveScanner> scanners) {
+        this.scanners = scanners.toArray(new PassiveScanner[0]);
+        this.applicableMessages = new ApplicableMessages[this.scanners.length];
+        this.requestScanners = new BitSet(this.scanners.length);
+        this.routes = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < this.scanners.length; i++) {
+            ApplicableMessages applicable = getApplicableMessages(this.scanners[i]);
+            applicableMessages[i] = applicable;
+            requestScanners.set(i, applicable.appliesToRequests());
+        }
+    }
+
+    private static ApplicableMessages getApplicableMessages(PassiveScanner scanner) {
+        if (scanner instanceof ApplicableMessagesProvider) {
+            try {
+                ApplicableMessages applicable =
+                        ((ApplicableMessagesProvider) scanner).getApplicableMessages();
+                if (applicable != null) {
+                    return applicable;
+                }
+            } catch (Exception e) {
+                LOGGER.warn("Failed to get the applicable messages of {}:", scanner.getName(), e);
+            }
+        }
+        return ApplicableMessages.ALL;
+    }
+
+    /**
+     * Tells whether or not this routing was created for the given scanners.
+     *
+     * @param scanners the current scanners.
+     * @return {@code true} if created for the same scanners, {@code false} otherwise.
+     */
+    boolean isFor(List<PassiveScanner> scanners) {
+        if (scanners.size() != this.scanners.length) {
+            return false;
+        }
+        int i = 0;
+        for (PassiveScanner scanner : scanners) {
+            if (scanner != this.scanners[i++]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    PassiveScanner[] getScanners() {
+        return scanners;
+    }
+
+    /**
+     * Gets the route of the given message.
+     *
+     * @param msg the message.
+     * @return the route, never {@code null}.
+     */
+    Route getRoute(HttpMessage msg) {
+        if (!msg.isResponseFromTargetHost()) {
+            return new Route(requestScanners, null);
+        }
+
+        HttpResponseHeader header = msg.getResponseHeader();
+        RouteKey key =
+                new RouteKey(header.getHeader(HttpHeader.CONTENT_TYPE), header.getStatusCode());
+        Route route = routes.get(key);
+        if (route == null) {
+            BitSet responseScanners = new BitSet(scanners.length);
+            for (int i = 0; i < scanners.length; i++) {
+                responseScanners.set(i, applicableMessages[i].appliesToResponse(header));
+            }
+            route = new Route(requestScanners, responseScanners);
+            if (routes.size() >= MAX_ROUTES) {
+                routes.clear();
+            }
+            routes.put(key, route);
+        }
+        return route;
+    }
+
+    static class Route {
+
+        private final BitSet requestScanners;
+        private final BitSet responseScanners;
+
+        private Route(BitSet requestScanners, BitSet responseScanners) {
+            this.requestScanners = requestScanners;
+            this.responseScanners = responseScanners;
+        }
+
+        boolean isRequestApplicable(int scanner) {
+            return requestScanners.get(scanner);
+        }
+
+        boolean isResponseApplicable(int scanner) {
+            return responseScanners != null && responseScanners.get(scanner);
+        }
+    }
+
+    private static class RouteKey {
+
+        private final String contentType;
+        private final int statusCode;
+
+        RouteKey(String contentType, int statusCode) {
+            this.contentType = contentType;
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(contentType, statusCode);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            RouteKey other = (RouteKey) obj;
+            return statusCode == other.statusCode && Objects.equals(contentType, other.contentType);
+        }
+    }
+}
@@ -31,6 +31,10 @@ import org.parosproxy.paros.model.Model;
 import org.parosproxy.paros.network.HttpHeader;
 import org.parosproxy.paros.network.HttpMalformedHeaderException;
 import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
+import org.zaproxy.addon.commonlib.scanrules.ScanRuleTimeBudget;
+import org.zaproxy.addon.commonlib.scanrules.ScanRuleTimeoutException;
+import org.zaproxy.addon.pscan.internal.StatsPassiveScanner;
 import org.zaproxy.zap.extension.pscan.PassiveScanData;
 import org.zaproxy.zap.extension.pscan.PassiveScanner;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
@@ -41,6 +45,8 @@ public class PassiveScanTask implements Runnable {
 
     private HistoryReference href;
 
+    private HttpMessage msg;
+
     private PassiveScanTaskHelper helper;
 
     private int maxBodySize;
@@ -53,7 +59,20 @@ public class PassiveScanTask implements Runnable {
     private static final Logger LOGGER = LogManager.getLogger(PassiveScanTask.class);
 
     public PassiveScanTask(HistoryReference hr, PassiveScanTaskHelper helper) {
+        this(hr, null, helper);
+    }
+
+    /**
+     * Constructs a {@code PassiveScanTask} for the given history reference and its message.
+     *
+     * @param hr the history reference.
+     * @param msg the message of the history reference, or {@code null} to read it from the
+     *     database.
+     * @param helper the helper.
+     */
+    public PassiveScanTask(HistoryReference hr, HttpMessage msg, PassiveScanTaskHelper helper) {
         this.href = hr;
+        this.msg = msg;
         this.helper = helper;
         this.maxBodySize = helper.getMaxBodySizeInBytesToScan();
         helper.addTaskToList(this);
@@ -89,18 +108,23 @@ public class PassiveScanTask implements Runnable {
 
     @Override
     public void run() {
-        boolean scanned = false;
         startTime = System.currentTimeMillis();
 
         completed = false;
 
         try {
             // Parse the record
-            HttpMessage msg = href.getHttpMessage();
+            HttpMessage msg = this.msg != null ? this.msg : href.getHttpMessage();
+            this.msg = null;
             Source src = new Source(msg.getResponseBody().toString());
             PassiveScanData passiveScanData = new PassiveScanData(msg);
+            PassiveScanMessageData.begin(msg, src);
 
-            for (PassiveScanner scanner : helper.getPassiveScanRuleManager().getScanners()) {
+            PassiveScanRouting routing = helper.getRouting();
+            PassiveScanRouting.Route route = routing.getRoute(msg);
+            PassiveScanner[] scanners = routing.getScanners();
+            for (int i = 0; i < scanners.length; i++) {
+                PassiveScanner scanner = scanners[i];
                 currentScanner = scanner;
                 try {
                     if (shutdown) {
@@ -112,6 +136,23 @@ public class PassiveScanTask implements Runnable {
                                     || PassiveScanTaskHelper.getOptedInHistoryTypes()
                                             .contains(hrefHistoryType))) {
 
+                        boolean scanRequest = route.isRequestApplicable(i);
+                        boolean scanResponse = route.isResponseApplicable(i);
+                        if (!scanRequest || (msg.isResponseFromTargetHost() && !scanResponse)) {
+                            StatsPassiveScanner.incRoutingSkipped(scanner);
+                            if (!scanRequest && !scanResponse) {
+                                continue;
+                            }
+                        }
+
+                        if (helper.isQuarantined(scanner)) {
+                            Stats.incCounter(
+                                    "stats.pscan."
+                                            + StatsPassiveScanner.getStatsId(scanner)
+                                            + ".quarantineSkipped");
+                            continue;
+                        }
+
                         if (scanner instanceof PluginPassiveScanner) {
                             PluginPassiveScanner pps = ((PluginPassiveScanner) scanner).copy();
                             pps.setHelper(passiveScanData);
@@ -125,31 +166,27 @@ public class PassiveScanTask implements Runnable {
                                 scanner.getName());
                         long scanRuleStartTime = System.currentTimeMillis();
 
-                        if (maxBodySize <= 0 || msg.getRequestBody().length() < maxBodySize) {
-                            scanner.scanHttpRequestSend(msg, href.getHistoryId());
-                            scanned = true;
-                        } else {
-                            Stats.incCounter("stats.pscan.reqBodyTooBig");
+                        int timeBudget = helper.getRuleTimeBudgetInMs();
+                        boolean scanned = false;
+                        boolean timedOut = false;
+                        ScanRuleTimeBudget.start(timeBudget);
+                        try {
+                            scanned = scan(scanner, msg, src, scanRequest, scanResponse);
+                        } catch (ScanRuleTimeoutException e) {
+                            timedOut = true;
+                            Stats.incCounter(
+                                    "stats.pscan."
+                                            + StatsPassiveScanner.getStatsId(scanner)
+                                            + ".timedOut");
                             LOGGER.debug(
-                                    "Request to {} body size {} larger than max configured {}",
-                                    msg.getRequestHeader().getURI(),
-                                    msg.getRequestBody().length(),
-                                    maxBodySize);
-                        }
-                        if (msg.isResponseFromTargetHost()) {
-                            if (maxBodySize <= 0 || msg.getResponseBody().length() < maxBodySize) {
-                                scanner.scanHttpResponseReceive(msg, href.getHistoryId(), src);
-                                scanned = true;
-                            } else {
-                                Stats.incCounter("stats.pscan.respBodyTooBig");
-                                LOGGER.debug(
-                                        "Response from {} body size {} larger than max configured {}",
-                                        msg.getRequestHeader().getURI(),
-                                        msg.getResponseBody().length(),
-                                        maxBodySize);
-                            }
+                                    "Scan rule {} exceeded the time budget of {} ms on {}",
+                                    scanner.getName(),
+                                    timeBudget,
+                                    msg.getRequestHeader().getURI());
+                        } finally {
+                            ScanRuleTimeBudget.end();
                         }
-                        if (scanned) {
+                        if (scanned || timedOut) {
                             long timeTaken = System.currentTimeMillis() - scanRuleStartTime;
                             if (scanner instanceof PluginPassiveScanner) {
                                 PluginPassiveScanner pps = (PluginPassiveScanner) scanner;
@@ -158,6 +195,10 @@ public class PassiveScanTask implements Runnable {
                             } else {
                                 Stats.incCounter("stats.pscan." + scanner.getName(), timeTaken);
                             }
+                            helper.recordScanTime(
+                                    scanner,
+                                    timeTaken,
+                                    timedOut || (timeBudget > 0 && timeTaken > timeBudget));
                             if (timeTaken > 5000) {
                                 // Took over 5 seconds, thats not ideal
                                 String responseInfo = "";
@@ -214,9 +255,46 @@ public class PassiveScanTask implements Runnable {
         } catch (Throwable e) {
             LOGGER.error("An error occurred while scanning the record {}", href.getHistoryId(), e);
         } finally {
+            PassiveScanMessageData.end();
             completed = true;
             stopTime = System.currentTimeMillis();
             helper.removeTaskFromList(this);
         }
     }
+
+    private boolean scan(
+            PassiveScanner scanner,
+            HttpMessage msg,
+            Source src,
+            boolean scanRequest,
+            boolean scanResponse) {
+        boolean scanned = false;
+        if (scanRequest) {
+            if (maxBodySize <= 0 || msg.getRequestBody().length() < maxBodySize) {
+                scanner.scanHttpRequestSend(msg, href.getHistoryId());
+                scanned = true;
+            } else {
+                Stats.incCounter("stats.pscan.reqBodyTooBig");
+                LOGGER.debug(
+                        "Request to {} body size {} larger than max configured {}",
+                        msg.getRequestHeader().getURI(),
+                        msg.getRequestBody().length(),
+                        maxBodySize);
+            }
+        }
+        if (scanResponse) {
+            if (maxBodySize <= 0 || msg.getResponseBody().length() < maxBodySize) {
+                scanner.scanHttpResponseReceive(msg, href.getHistoryId(), src);
+                scanned = true;
+            } else {
+                Stats.incCounter("stats.pscan.respBodyTooBig");
+                LOGGER.debug(
+                        "Response from {} body size {} larger than max configured {}",
+                        msg.getRequestHeader().getURI(),
+                        msg.getResponseBody().length(),
+                        maxBodySize);
+            }
+        }
+        return scanned;
+    }
 }
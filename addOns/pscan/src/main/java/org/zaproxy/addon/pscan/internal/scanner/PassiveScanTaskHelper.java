@@ -21,11 +21,14 @@ package org.zaproxy.addon.pscan.internal.scanner;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import net.htmlparser.jericho.MasonTagTypes;
 import net.htmlparser.jericho.MicrosoftConditionalCommentTagTypes;
@@ -37,6 +40,7 @@ import org.parosproxy.paros.model.HistoryReference;
 import org.zaproxy.addon.pscan.ExtensionPassiveScan2;
 import org.zaproxy.addon.pscan.PassiveScannersManager;
 import org.zaproxy.addon.pscan.internal.PassiveScannerOptions;
+import org.zaproxy.addon.pscan.internal.StatsPassiveScanner;
 import org.zaproxy.zap.extension.alert.ExtensionAlert;
 import org.zaproxy.zap.extension.pscan.PassiveScanActions;
 import org.zaproxy.zap.extension.pscan.PassiveScanner;
@@ -52,11 +56,15 @@ public class PassiveScanTaskHelper implements PassiveScanActions {
     private volatile boolean shutDown = false;
 
     private final ExtensionPassiveScan2 extPscan;
-    private final ExtensionAlert extAlert;
-    private Map<Integer, Integer> alertCounts = new HashMap<>();
+    private final PassiveScanAlertWriter alertWriter;
+    private final Map<Integer, AtomicInteger> alertCounts = new ConcurrentHashMap<>();
 
     private List<PassiveScanner> activeList = Collections.synchronizedList(new ArrayList<>());
-    private List<PassiveScanTask> taskList = Collections.synchronizedList(new ArrayList<>());
+    private final Set<PassiveScanTask> taskList = ConcurrentHashMap.newKeySet();
+
+    private volatile PassiveScanRouting routing;
+
+    private final ScanRuleTimings scanRuleTimings = new ScanRuleTimings();
 
     public PassiveScanTaskHelper(ExtensionPassiveScan2 extPscan, ExtensionAlert extensionAlert) {
 
@@ -65,7 +73,7 @@ public class PassiveScanTaskHelper implements PassiveScanActions {
         }
 
         this.extPscan = extPscan;
-        this.extAlert = extensionAlert;
+        this.alertWriter = new PassiveScanAlertWriter(extensionAlert);
 
         MicrosoftConditionalCommentTagTypes.register();
         PHPTagTypes.register();
@@ -82,11 +90,11 @@ public class PassiveScanTaskHelper implements PassiveScanActions {
         this.activeList.remove(scanner);
     }
 
-    public synchronized void addTaskToList(PassiveScanTask task) {
+    public void addTaskToList(PassiveScanTask task) {
         this.taskList.add(task);
     }
 
-    public synchronized void removeTaskFromList(PassiveScanTask task) {
+    public void removeTaskFromList(PassiveScanTask task) {
         this.taskList.remove(task);
     }
 
@@ -94,46 +102,106 @@ public class PassiveScanTaskHelper implements PassiveScanActions {
         return this.taskList.size();
     }
 
-    public synchronized void shutdownTasks() {
+    public void shutdownTasks() {
         this.taskList.stream().forEach(PassiveScanTask::shutdown);
     }
 
-    public synchronized PassiveScanTask getOldestRunningTask() {
-        for (PassiveScanTask task : this.taskList) {
-            if (Boolean.FALSE.equals(task.hasCompleted())) {
-                return task;
-            }
-        }
-        return null;
+    /**
+     * Shuts down the tasks and writes the alerts not yet written.
+     *
+     * <p>The alerts raised afterwards are written synchronously.
+     */
+    void shutdown() {
+        shutdownTasks();
+        alertWriter.shutdown();
     }
 
-    public synchronized List<PassiveScanTask> getRunningTasks() {
+    /**
+     * Tells whether or not there are alerts raised but not yet written.
+     *
+     * @return {@code true} if there are alerts pending, {@code false} otherwise.
+     */
+    boolean hasPendingAlerts() {
+        return alertWriter.getPendingAlerts() > 0;
+    }
+
+    public PassiveScanTask getOldestRunningTask() {
         return this.taskList.stream()
                 .filter(task -> Boolean.FALSE.equals(task.hasCompleted()))
+                .min(Comparator.comparingLong(PassiveScanTask::getStartTime))
+                .orElse(null);
+    }
+
+    public List<PassiveScanTask> getRunningTasks() {
+        return this.taskList.stream()
+                .filter(task -> Boolean.FALSE.equals(task.hasCompleted()))
+                .sorted(Comparator.comparingLong(PassiveScanTask::getStartTime))
                 .collect(Collectors.toList());
     }
 
-    public synchronized PassiveScanner getOldestRunningScanner() {
-        PassiveScanner scanner;
-        for (PassiveScanTask task : this.taskList) {
-            if (Boolean.FALSE.equals(task.hasCompleted())) {
-                scanner = task.getCurrentScanner();
-                if (scanner != null) {
-                    return scanner;
-                }
-            }
-        }
-        return null;
+    public PassiveScanner getOldestRunningScanner() {
+        return this.taskList.stream()
+                .filter(task -> Boolean.FALSE.equals(task.hasCompleted()))
+                .filter(task -> task.getCurrentScanner() != null)
+                .min(Comparator.comparingLong(PassiveScanTask::getStartTime))
+                .map(PassiveScanTask::getCurrentScanner)
+                .orElse(null);
     }
 
     PassiveScannersManager getPassiveScanRuleManager() {
         return extPscan.getPassiveScannersManager();
     }
 
+    PassiveScanRouting getRouting() {
+        List<PassiveScanner> scanners = getPassiveScanRuleManager().getScanners();
+        PassiveScanRouting currentRouting = routing;
+        if (currentRouting == null || !currentRouting.isFor(scanners)) {
+            currentRouting = new PassiveScanRouting(scanners);
+            routing = currentRouting;
+        }
+        return currentRouting;
+    }
+
     public int getMaxBodySizeInBytesToScan() {
         return getOptions().getMaxBodySizeInBytesToScan();
     }
 
+    int getRuleTimeBudgetInMs() {
+        return getOptions().getRuleTimeBudgetInMs();
+    }
+
+    public ScanRuleTimings getScanRuleTimings() {
+        return scanRuleTimings;
+    }
+
+    boolean isQuarantined(PassiveScanner scanner) {
+        return scanRuleTimings.isQuarantined(scanner);
+    }
+
+    /**
+     * Records the time the given scanner took to scan a message, quarantining the scanner if it
+     * repeatedly exceeds its time budget.
+     *
+     * @param scanner the scanner.
+     * @param timeTaken the time taken, in milliseconds.
+     * @param overBudget {@code true} if the scanner exceeded its budget, {@code false} otherwise.
+     */
+    void recordScanTime(PassiveScanner scanner, long timeTaken, boolean overBudget) {
+        int quarantineInSecs = getOptions().getRuleQuarantineInSecs();
+        if (scanRuleTimings.record(
+                scanner, timeTaken, overBudget, TimeUnit.SECONDS.toMillis(quarantineInSecs))) {
+            Stats.incCounter(
+                    "stats.pscan." + StatsPassiveScanner.getStatsId(scanner) + ".quarantined");
+            LOGGER.warn(
+                    "Quarantining passive scan rule {} for {} seconds,"
+                            + " it exceeded the time budget of {} ms {} consecutive times.",
+                    scanner.getName(),
+                    quarantineInSecs,
+                    getRuleTimeBudgetInMs(),
+                    ScanRuleTimings.MAX_CONSECUTIVE_OVERRUNS);
+        }
+    }
+
     private PassiveScannerOptions getOptions() {
         return extPscan.getModel().getOptionsParam().getParamSet(PassiveScannerOptions.class);
     }
@@ -147,16 +215,15 @@ public class PassiveScanTaskHelper implements PassiveScanActions {
         Stats.incCounter("stats.pscan." + alert.getPluginId() + ".alerts");
         alert.setSource(Alert.Source.PASSIVE);
         // Raise the alert
-        extAlert.alertFound(alert, href);
+        alertWriter.write(alert, href);
 
         int maxAlertsPerRule = getOptions().getMaxAlertsPerRule();
         if (maxAlertsPerRule > 0) {
             // Theres a limit on how many each rule can raise
-            Integer count = alertCounts.get(alert.getPluginId());
-            if (count == null) {
-                count = Integer.valueOf(0);
-            }
-            alertCounts.put(alert.getPluginId(), count + 1);
+            int count =
+                    alertCounts
+                            .computeIfAbsent(alert.getPluginId(), k -> new AtomicInteger())
+                            .getAndIncrement();
             if (count > maxAlertsPerRule) {
                 // Disable the plugin
                 PassiveScanner scanner =
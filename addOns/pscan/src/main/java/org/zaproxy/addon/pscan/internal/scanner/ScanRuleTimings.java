@@ -0,0 +1,186 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.pscan.internal.scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.zaproxy.addon.pscan.internal.StatsPassiveScanner;
+import org.zaproxy.zap.extension.pscan.PassiveScanner;
+
+/**
+ * The timings of the passive scanners, the latency histogram of each scanner and whether or not it
+ * is quarantined for exceeding its time budget.
+ *
+ * <p>A scanner is quarantined, not run for a cooldown period, after exceeding the budget {@value
+ * #MAX_CONSECUTIVE_OVERRUNS} consecutive times.
+ */
+public class ScanRuleTimings {
+
+    static final int MAX_CONSECUTIVE_OVERRUNS = 3;
+
+    private final Map<String, RuleTimings> rules = new ConcurrentHashMap<>();
+
+    /**
+     * Tells whether or not the given scanner is quarantined.
+     *
+     * @param scanner the scanner.
+     * @return {@code true} if the scanner is quarantined, {@code false} otherwise.
+     */
+    boolean isQuarantined(PassiveScanner scanner) {
+        RuleTimings timings = rules.get(StatsPassiveScanner.getStatsId(scanner));
+        return timings != null && timings.isQuarantined();
+    }
+
+    /**
+     * Records the time the given scanner took to scan a message.
+     *
+     * @param scanner the scanner.
+     * @param timeTaken the time taken, in milliseconds.
+     * @param overBudget {@code true} if the scanner exceeded its budget, {@code false} otherwise.
+     * @param cooldown the time to quarantine the scanner, in milliseconds.
+     * @return {@code true} if the scanner was quarantined, {@code false} otherwise.
+     */
+    boolean record(PassiveScanner scanner, long timeTaken, boolean overBudget, long cooldown) {
+        RuleTimings timings =
+                rules.computeIfAbsent(
+                        StatsPassiveScanner.getStatsId(scanner),
+                        id -> new RuleTimings(id, scanner.getName()));
+        return timings.record(timeTaken, overBudget, cooldown);
+    }
+
+    /**
+     * Gets the timings of the scanners that have scanned messages.
+     *
+     * @return the timings, never {@code null}.
+     */
+    public List<RuleTimings> getRuleTimings() {
+        return new ArrayList<>(rules.values());
+    }
+
+    /** The timings of a scanner. */
+    public static class RuleTimings {
+
+        private final String id;
+        private final String name;
+        private final LatencyHistogram histogram;
+        private final AtomicInteger overruns;
+        private volatile long quarantinedUntil;
+
+        RuleTimings(String id, String name) {
+            this.id = id;
+            this.name = name;
+            this.histogram = new LatencyHistogram();
+            this.overruns = new AtomicInteger();
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+
+        public boolean isQuarantined() {
+            return quarantinedUntil != 0 && System.currentTimeMillis() < quarantinedUntil;
+        }
+
+        boolean record(long timeTaken, boolean overBudget, long cooldown) {
+            histogram.record(timeTaken);
+            if (!overBudget) {
+                overruns.set(0);
+                return false;
+            }
+            if (overruns.incrementAndGet() < MAX_CONSECUTIVE_OVERRUNS || cooldown <= 0) {
+                return false;
+            }
+            overruns.set(0);
+            quarantinedUntil = System.currentTimeMillis() + cooldown;
+            return true;
+        }
+    }
+
+    /**
+     * A lock-free histogram of latencies, in milliseconds, with buckets of powers of two.
+     *
+     * <p>The percentiles are approximated to the upper bound of the bucket.
+     */
+    public static class LatencyHistogram {
+
+        private static final int BUCKETS = 32;
+
+        private final AtomicLongArray buckets;
+        private final AtomicLong count;
+        private final AtomicLong max;
+
+        LatencyHistogram() {
+            buckets = new AtomicLongArray(BUCKETS);
+            count = new AtomicLong();
+            max = new AtomicLong();
+        }
+
+        void record(long latency) {
+            long value = Math.max(0, latency);
+            buckets.incrementAndGet(
+                    Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(value)));
+            count.incrementAndGet();
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getMax() {
+            return max.get();
+        }
+
+        /**
+         * Gets the given percentile of the latencies.
+         *
+         * @param percentile the percentile, between 0 and 100.
+         * @return the latency, in milliseconds, or 0 if no latencies were recorded.
+         */
+        public long getPercentile(double percentile) {
+            long total = count.get();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return Math.min(i == 0 ? 0 : (1L << i) - 1, getMax());
+                }
+            }
+            return getMax();
+        }
+    }
+}
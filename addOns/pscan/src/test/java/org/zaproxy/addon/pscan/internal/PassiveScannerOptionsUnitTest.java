@@ -81,4 +81,57 @@ class PassiveScannerOptionsUnitTest {
         assertThat(
                 options.getPassiveScanThreads(), is(equalTo(Constant.getDefaultThreadCount() / 2)));
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50, 5000})
+    void shouldLoadQueueSizeFromConfig(int queueSize) {
+        // Given
+        configuration.setProperty("pscans.queueSize", queueSize);
+        // When
+        options.load(configuration);
+        // Then
+        assertThat(options.getQueueSize(), is(equalTo(queueSize)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0})
+    void shouldDefaultQueueSizeIfNotValid(int queueSize) {
+        // Given
+        configuration.setProperty("pscans.queueSize", queueSize);
+        // When
+        options.load(configuration);
+        // Then
+        assertThat(options.getQueueSize(), is(equalTo(1000)));
+    }
+
+    @Test
+    void shouldDefaultToNoRuleTimeBudget() {
+        // Given / When
+        options.load(configuration);
+        // Then
+        assertThat(options.getRuleTimeBudgetInMs(), is(equalTo(0)));
+        assertThat(options.getRuleQuarantineInSecs(), is(equalTo(300)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 100, 5000})
+    void shouldLoadRuleTimeBudgetFromConfig(int budget) {
+        // Given
+        configuration.setProperty("pscans.ruleTimeBudgetInMs", budget);
+        // When
+        options.load(configuration);
+        // Then
+        assertThat(options.getRuleTimeBudgetInMs(), is(equalTo(budget)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0})
+    void shouldDefaultRuleQuarantineIfNotValid(int quarantine) {
+        // Given
+        configuration.setProperty("pscans.ruleQuarantineInSecs", quarantine);
+        // When
+        options.load(configuration);
+        // Then
+        assertThat(options.getRuleQuarantineInSecs(), is(equalTo(300)));
+    }
 }
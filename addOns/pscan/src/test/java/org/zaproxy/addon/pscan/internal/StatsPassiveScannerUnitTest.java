@@ -160,6 +160,15 @@ class StatsPassiveScannerUnitTest {
                                 + "multipart/byteranges; charset=UTF-8");
     }
 
+    @Test
+    void shouldCountRoutingSkippedByScanRuleId() {
+        // Given / When
+        StatsPassiveScanner.incRoutingSkipped(scanner);
+        // Then
+        verify(listener).counterInc("stats.pscan.50003.skipped");
+        Mockito.verifyNoMoreInteractions(listener);
+    }
+
     @Test
     void shouldReturnExpectedMappings() {
         // Given / When
@@ -0,0 +1,95 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.pscan.internal.scanner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.parosproxy.paros.core.scanner.Alert;
+import org.parosproxy.paros.model.HistoryReference;
+import org.zaproxy.zap.extension.alert.ExtensionAlert;
+
+/** Unit test for {@link PassiveScanAlertWriter}. */
+class PassiveScanAlertWriterUnitTest {
+
+    private ExtensionAlert extAlert;
+    private PassiveScanAlertWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        extAlert = mock(ExtensionAlert.class);
+        writer = new PassiveScanAlertWriter(extAlert);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        writer.shutdown();
+    }
+
+    @Test
+    void shouldWriteAlertsAsynchronouslyInOrder() {
+        // Given
+        HistoryReference href = mock(HistoryReference.class);
+        Alert alert1 = new Alert(1);
+        Alert alert2 = new Alert(2);
+        // When
+        writer.write(alert1, href);
+        writer.write(alert2, href);
+        // Then
+        verify(extAlert, timeout(5000)).alertFound(alert2, href);
+        InOrder inOrder = inOrder(extAlert);
+        inOrder.verify(extAlert).alertFound(alert1, href);
+        inOrder.verify(extAlert).alertFound(alert2, href);
+    }
+
+    @Test
+    void shouldWritePendingAlertsOnShutdown() {
+        // Given
+        HistoryReference href = mock(HistoryReference.class);
+        Alert alert = new Alert(1);
+        writer.write(alert, href);
+        // When
+        writer.shutdown();
+        // Then
+        verify(extAlert).alertFound(alert, href);
+        assertThat(writer.getPendingAlerts(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldWriteAlertsSynchronouslyAfterShutdown() {
+        // Given
+        HistoryReference href = mock(HistoryReference.class);
+        Alert alert = new Alert(1);
+        writer.shutdown();
+        // When
+        writer.write(alert, href);
+        // Then
+        verify(extAlert).alertFound(alert, href);
+    }
+}
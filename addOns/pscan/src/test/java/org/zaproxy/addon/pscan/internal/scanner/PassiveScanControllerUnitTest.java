@@ -27,10 +27,14 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -57,7 +61,6 @@ import org.zaproxy.zap.testutils.TestUtils;
 import org.zaproxy.zap.utils.I18N;
 
 /** Unit test for {@link PassiveScanController}. */
-@Disabled("Requires latest core changes to work properly.")
 class PassiveScanControllerUnitTest extends TestUtils {
 
     private static final String EXAMPLE_URL = "https://www.example.com";
@@ -111,6 +114,7 @@ class PassiveScanControllerUnitTest extends TestUtils {
     }
 
     @Test
+    @Disabled("Requires latest core changes to work properly.")
     void shouldProcessInScopeHistoryRecord() throws Exception {
         // Given
         HttpMessage msg = new HttpMessage(new URI(EXAMPLE_URL, true));
@@ -138,6 +142,7 @@ class PassiveScanControllerUnitTest extends TestUtils {
     }
 
     @Test
+    @Disabled("Requires latest core changes to work properly.")
     void shouldProcessHistoryRecordEvenIfConstantlyInterrupted() throws Exception {
         ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
         try {
@@ -169,6 +174,7 @@ class PassiveScanControllerUnitTest extends TestUtils {
     }
 
     @Test
+    @Disabled("Requires latest core changes to work properly.")
     void shouldProcessOutOfScopeHistoryRecordByDefault() throws Exception {
         // Given
         HttpMessage msg = new HttpMessage(new URI(EXAMPLE_URL, true));
@@ -199,6 +205,7 @@ class PassiveScanControllerUnitTest extends TestUtils {
     }
 
     @Test
+    @Disabled("Requires latest core changes to work properly.")
     void shouldNotProcessOutOfScopeHistoryRecordIfOptionSet() throws Exception {
         // Given
         HttpMessage msg = new HttpMessage(new URI(EXAMPLE_URL, true));
@@ -229,6 +236,7 @@ class PassiveScanControllerUnitTest extends TestUtils {
     }
 
     @Test
+    @Disabled("Requires latest core changes to work properly.")
     void shouldReturnRunningTasks() throws Exception {
         // Given
         String exampleUrl1 = EXAMPLE_URL + "/1";
@@ -284,6 +292,168 @@ class PassiveScanControllerUnitTest extends TestUtils {
         assertThat(tasks.get(1).getURI().toString(), is(equalTo(exampleUrl2)));
     }
 
+    @Test
+    void shouldScanFromQueueOnlyMessagesQueuedBeforeDbRead() {
+        // Given
+        createController(10);
+        HistoryReference href = createHistoryReference(1);
+        // When
+        boolean queued = psc.enqueue(href, null);
+        boolean claimed = psc.claimForDbScan(1);
+        // Then
+        assertThat(queued, is(equalTo(true)));
+        assertThat(claimed, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldScanFromDbOnlyMessagesQueuedAfterDbRead() {
+        // Given
+        createController(10);
+        HistoryReference href = createHistoryReference(1);
+        // When
+        boolean claimed = psc.claimForDbScan(1);
+        boolean queued = psc.enqueue(href, null);
+        // Then
+        assertThat(claimed, is(equalTo(true)));
+        assertThat(queued, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldScanFromDbMessagesNotQueuedIfQueueFull() {
+        // Given
+        createController(1);
+        psc.enqueue(createHistoryReference(1), null);
+        // When
+        boolean queued = psc.enqueue(createHistoryReference(2), null);
+        boolean claimed = psc.claimForDbScan(2);
+        // Then
+        assertThat(queued, is(equalTo(false)));
+        assertThat(claimed, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldScanFromDbMessagesOnlyOnce() {
+        // Given
+        createController(10);
+        // When
+        boolean claimed1 = psc.claimForDbScan(1);
+        boolean claimed2 = psc.claimForDbScan(1);
+        // Then
+        assertThat(claimed1, is(equalTo(true)));
+        assertThat(claimed2, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldQueueMessageNotYetReadFromDb() {
+        // Given
+        createController(10);
+        given(extHistory.getHistoryReference(1)).willReturn(null);
+        HistoryReference href = createHistoryReference(1);
+        // When
+        boolean found = psc.scanFromDb(1);
+        boolean queued = psc.enqueue(href, null);
+        // Then
+        assertThat(found, is(equalTo(false)));
+        assertThat(queued, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotReadFromDbMessageQueuedAfterDbMiss() {
+        // Given
+        createController(10);
+        HistoryReference href = createHistoryReference(1);
+        given(extHistory.getHistoryReference(1)).willReturn(null);
+        psc.scanFromDb(1);
+        psc.enqueue(href, null);
+        given(extHistory.getHistoryReference(1)).willReturn(href);
+        // When
+        boolean found = psc.scanFromDb(1);
+        // Then
+        assertThat(found, is(equalTo(true)));
+        verify(extHistory, times(1)).getHistoryReference(1);
+    }
+
+    @Test
+    void shouldNotCopyMessageIfNotQueued() {
+        // Given
+        createController(1);
+        psc.enqueue(createHistoryReference(1), null);
+        HttpMessage msg = mock(HttpMessage.class);
+        // When
+        boolean queued = psc.enqueue(createHistoryReference(2), msg);
+        // Then
+        assertThat(queued, is(equalTo(false)));
+        verify(msg, never()).cloneAll();
+    }
+
+    @Test
+    void shouldCopyMessageIfQueued() {
+        // Given
+        createController(1);
+        HttpMessage msg = mock(HttpMessage.class);
+        // When
+        boolean queued = psc.enqueue(createHistoryReference(1), msg);
+        // Then
+        assertThat(queued, is(equalTo(true)));
+        verify(msg).cloneAll();
+    }
+
+    @Test
+    void shouldScanEachMessageExactlyOnceWhenQueuedAndReadConcurrently() throws Exception {
+        // Given
+        int messages = 10_000;
+        createController(messages / 4);
+        HistoryReference[] hrefs = new HistoryReference[messages + 1];
+        for (int id = 1; id <= messages; id++) {
+            hrefs[id] = createHistoryReference(id);
+        }
+        boolean[] queued = new boolean[messages + 1];
+        boolean[] claimed = new boolean[messages + 1];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When
+            executor.submit(
+                    () -> {
+                        start.await();
+                        for (int id = 1; id <= messages; id++) {
+                            queued[id] = psc.enqueue(hrefs[id], null);
+                        }
+                        return null;
+                    });
+            executor.submit(
+                    () -> {
+                        start.await();
+                        for (int id = 1; id <= messages; id++) {
+                            claimed[id] = psc.claimForDbScan(id);
+                        }
+                        return null;
+                    });
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS), is(equalTo(true)));
+        } finally {
+            executor.shutdownNow();
+        }
+        // Then
+        for (int id = 1; id <= messages; id++) {
+            assertThat("Message " + id, queued[id] ^ claimed[id], is(equalTo(true)));
+        }
+    }
+
+    private void createController(int queueSize) {
+        psc.shutdown();
+        given(options.getQueueSize()).willReturn(queueSize);
+        psc = new PassiveScanController(extPscan, extHistory, extAlert);
+        psc.setSession(session);
+    }
+
+    private static HistoryReference createHistoryReference(int id) {
+        HistoryReference href = mock(HistoryReference.class);
+        given(href.getHistoryId()).willReturn(id);
+        return href;
+    }
+
     static class TestPassiveScanner implements PassiveScanner {
 
         private final ScanState scanState;
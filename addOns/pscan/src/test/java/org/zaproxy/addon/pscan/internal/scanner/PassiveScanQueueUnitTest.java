@@ -0,0 +1,111 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.pscan.internal.scanner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.network.HttpMessage;
+
+/** Unit test for {@link PassiveScanQueue}. */
+class PassiveScanQueueUnitTest {
+
+    private PassiveScanQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new PassiveScanQueue(2);
+    }
+
+    @Test
+    void shouldQueueMessagesUpToCapacity() {
+        // Given
+        HistoryReference href1 = createHistoryReference(1);
+        HistoryReference href2 = createHistoryReference(2);
+        HistoryReference href3 = createHistoryReference(3);
+        // When
+        boolean queued1 = queue.offer(href1, null);
+        boolean queued2 = queue.offer(href2, null);
+        boolean queued3 = queue.offer(href3, null);
+        // Then
+        assertThat(queued1, is(equalTo(true)));
+        assertThat(queued2, is(equalTo(true)));
+        assertThat(queued3, is(equalTo(false)));
+        assertThat(queue.size(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldTrackOnlyQueuedMessages() {
+        // Given
+        queue.offer(createHistoryReference(1), null);
+        queue.offer(createHistoryReference(2), null);
+        queue.offer(createHistoryReference(3), null);
+        // When / Then
+        assertThat(queue.consumeQueued(1), is(equalTo(true)));
+        assertThat(queue.consumeQueued(1), is(equalTo(false)));
+        assertThat(queue.consumeQueued(2), is(equalTo(true)));
+        assertThat(queue.consumeQueued(3), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldDrainQueuedMessagesInOrder() {
+        // Given
+        HistoryReference href1 = createHistoryReference(1);
+        HistoryReference href2 = createHistoryReference(2);
+        HttpMessage msg = new HttpMessage();
+        queue.offer(href1, msg);
+        queue.offer(href2, null);
+        List<PassiveScanQueue.Entry> entries = new ArrayList<>();
+        // When
+        queue.drainTo(entries, 10);
+        // Then
+        assertThat(entries.size(), is(equalTo(2)));
+        assertThat(entries.get(0).getHistoryReference(), is(sameInstance(href1)));
+        assertThat(entries.get(0).getHttpMessage(), is(sameInstance(msg)));
+        assertThat(entries.get(1).getHistoryReference(), is(sameInstance(href2)));
+        assertThat(queue.size(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldNotTrackMessagesOnceCleared() {
+        // Given
+        queue.offer(createHistoryReference(1), null);
+        // When
+        queue.clear();
+        // Then
+        assertThat(queue.size(), is(equalTo(0)));
+        assertThat(queue.consumeQueued(1), is(equalTo(false)));
+    }
+
+    private static HistoryReference createHistoryReference(int id) {
+        HistoryReference href = mock(HistoryReference.class);
+        given(href.getHistoryId()).willReturn(id);
+        return href;
+    }
+}
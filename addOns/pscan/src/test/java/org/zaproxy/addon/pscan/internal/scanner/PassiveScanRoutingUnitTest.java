@@ -0,0 +1,135 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.pscan.internal.scanner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HttpHeader;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessages;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessagesProvider;
+import org.zaproxy.zap.extension.pscan.PassiveScanner;
+
+/** Unit test for {@link PassiveScanRouting}. */
+class PassiveScanRoutingUnitTest {
+
+    @Test
+    void shouldRouteAllMessagesToScannersWithoutApplicableMessages() throws Exception {
+        // Given
+        PassiveScanner scanner = mock(PassiveScanner.class);
+        PassiveScanRouting routing = new PassiveScanRouting(List.of(scanner));
+        HttpMessage msg = createMessage("image/png", 200);
+        // When
+        PassiveScanRouting.Route route = routing.getRoute(msg);
+        // Then
+        assertThat(route.isRequestApplicable(0), is(equalTo(true)));
+        assertThat(route.isResponseApplicable(0), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldRouteOnlyApplicableMessages() throws Exception {
+        // Given
+        PassiveScanner htmlScanner =
+                createScanner(ApplicableMessages.builder().responsesOnly().htmlResponses().build());
+        PassiveScanner errorScanner =
+                createScanner(ApplicableMessages.builder().statusCodes(500, 599).build());
+        PassiveScanner requestScanner =
+                createScanner(ApplicableMessages.builder().requestsOnly().build());
+        PassiveScanRouting routing =
+                new PassiveScanRouting(List.of(htmlScanner, errorScanner, requestScanner));
+        // When
+        PassiveScanRouting.Route htmlRoute = routing.getRoute(createMessage("text/html", 200));
+        PassiveScanRouting.Route jsRoute =
+                routing.getRoute(createMessage("application/javascript", 500));
+        // Then
+        assertThat(htmlRoute.isRequestApplicable(0), is(equalTo(false)));
+        assertThat(htmlRoute.isResponseApplicable(0), is(equalTo(true)));
+        assertThat(htmlRoute.isRequestApplicable(1), is(equalTo(true)));
+        assertThat(htmlRoute.isResponseApplicable(1), is(equalTo(false)));
+        assertThat(htmlRoute.isRequestApplicable(2), is(equalTo(true)));
+        assertThat(htmlRoute.isResponseApplicable(2), is(equalTo(false)));
+        assertThat(jsRoute.isResponseApplicable(0), is(equalTo(false)));
+        assertThat(jsRoute.isResponseApplicable(1), is(equalTo(true)));
+        assertThat(jsRoute.isResponseApplicable(2), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldNotRouteResponseIfNotFromTargetHost() throws Exception {
+        // Given
+        PassiveScanner scanner = mock(PassiveScanner.class);
+        PassiveScanRouting routing = new PassiveScanRouting(List.of(scanner));
+        HttpMessage msg = createMessage("text/html", 200);
+        msg.setResponseFromTargetHost(false);
+        // When
+        PassiveScanRouting.Route route = routing.getRoute(msg);
+        // Then
+        assertThat(route.isRequestApplicable(0), is(equalTo(true)));
+        assertThat(route.isResponseApplicable(0), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldReuseRouteForSameContentTypeAndStatusCode() throws Exception {
+        // Given
+        PassiveScanRouting routing = new PassiveScanRouting(List.of(mock(PassiveScanner.class)));
+        PassiveScanRouting.Route route = routing.getRoute(createMessage("text/html", 200));
+        // When
+        PassiveScanRouting.Route otherRoute = routing.getRoute(createMessage("text/html", 200));
+        // Then
+        assertThat(otherRoute, is(sameInstance(route)));
+    }
+
+    @Test
+    void shouldBeForSameScanners() {
+        // Given
+        PassiveScanner scanner1 = mock(PassiveScanner.class);
+        PassiveScanner scanner2 = mock(PassiveScanner.class);
+        PassiveScanRouting routing = new PassiveScanRouting(List.of(scanner1, scanner2));
+        // When / Then
+        assertThat(routing.isFor(List.of(scanner1, scanner2)), is(equalTo(true)));
+        assertThat(routing.isFor(List.of(scanner2, scanner1)), is(equalTo(false)));
+        assertThat(routing.isFor(List.of(scanner1)), is(equalTo(false)));
+    }
+
+    private static PassiveScanner createScanner(ApplicableMessages applicableMessages) {
+        PassiveScanner scanner =
+                mock(
+                        PassiveScanner.class,
+                        withSettings().extraInterfaces(ApplicableMessagesProvider.class));
+        given(((ApplicableMessagesProvider) scanner).getApplicableMessages())
+                .willReturn(applicableMessages);
+        return scanner;
+    }
+
+    private static HttpMessage createMessage(String contentType, int statusCode) throws Exception {
+        HttpMessage msg = new HttpMessage();
+        msg.setResponseHeader("HTTP/1.1 " + statusCode + " Reason\r\n");
+        msg.getResponseHeader().setHeader(HttpHeader.CONTENT_TYPE, contentType);
+        msg.setResponseFromTargetHost(true);
+        return msg;
+    }
+}
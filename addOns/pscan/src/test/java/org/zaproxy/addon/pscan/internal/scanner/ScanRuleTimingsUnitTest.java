@@ -0,0 +1,103 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.pscan.internal.scanner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
+
+/** Unit test for {@link ScanRuleTimings}. */
+class ScanRuleTimingsUnitTest {
+
+    private static final long COOLDOWN = 60_000;
+
+    private PluginPassiveScanner scanner;
+    private ScanRuleTimings timings;
+
+    @BeforeEach
+    void setUp() {
+        scanner = mock(PluginPassiveScanner.class);
+        given(scanner.getPluginId()).willReturn(10001);
+        given(scanner.getName()).willReturn("Scan Rule");
+        timings = new ScanRuleTimings();
+    }
+
+    @Test
+    void shouldNotBeQuarantinedIfNoTimings() {
+        // Given / When
+        boolean quarantined = timings.isQuarantined(scanner);
+        // Then
+        assertThat(quarantined, is(equalTo(false)));
+        assertThat(timings.getRuleTimings(), hasSize(0));
+    }
+
+    @Test
+    void shouldQuarantineAfterConsecutiveOverruns() {
+        // Given
+        timings.record(scanner, 10, true, COOLDOWN);
+        timings.record(scanner, 10, true, COOLDOWN);
+        // When
+        boolean quarantined = timings.record(scanner, 10, true, COOLDOWN);
+        // Then
+        assertThat(quarantined, is(equalTo(true)));
+        assertThat(timings.isQuarantined(scanner), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotQuarantineIfOverrunsNotConsecutive() {
+        // Given
+        timings.record(scanner, 10, true, COOLDOWN);
+        timings.record(scanner, 10, true, COOLDOWN);
+        timings.record(scanner, 1, false, COOLDOWN);
+        // When
+        boolean quarantined = timings.record(scanner, 10, true, COOLDOWN);
+        // Then
+        assertThat(quarantined, is(equalTo(false)));
+        assertThat(timings.isQuarantined(scanner), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldRecordLatencyHistogram() {
+        // Given
+        for (int i = 0; i < 98; i++) {
+            timings.record(scanner, 3, false, COOLDOWN);
+        }
+        timings.record(scanner, 100, false, COOLDOWN);
+        timings.record(scanner, 1000, false, COOLDOWN);
+        // When
+        ScanRuleTimings.RuleTimings ruleTimings = timings.getRuleTimings().get(0);
+        // Then
+        assertThat(ruleTimings.getId(), is(equalTo("10001")));
+        assertThat(ruleTimings.getName(), is(equalTo("Scan Rule")));
+        ScanRuleTimings.LatencyHistogram histogram = ruleTimings.getHistogram();
+        assertThat(histogram.getCount(), is(equalTo(100L)));
+        assertThat(histogram.getPercentile(50), is(equalTo(3L)));
+        assertThat(histogram.getPercentile(99), is(equalTo(127L)));
+        assertThat(histogram.getPercentile(100), is(equalTo(1000L)));
+        assertThat(histogram.getMax(), is(equalTo(1000L)));
+    }
+}
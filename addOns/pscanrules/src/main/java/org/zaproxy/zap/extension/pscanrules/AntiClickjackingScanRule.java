@@ -35,6 +35,7 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpStatusCode;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 
 public class AntiClickjackingScanRule extends PluginPassiveScanner
@@ -130,7 +131,7 @@ public class AntiClickjackingScanRule extends PluginPassiveScanner
                 buildAlert("", VulnType.XFO_MISSING).raise();
             }
 
-            String metaXFO = getMetaXFOEvidence(source);
+            String metaXFO = getMetaXFOEvidence(msg, source);
 
             if (metaXFO != null) {
                 // XFO found defined by META tag
@@ -202,16 +203,15 @@ public class AntiClickjackingScanRule extends PluginPassiveScanner
      *     {@code null}.
      * @see <a href="https://tools.ietf.org/html/rfc7034#section-4">RFC 7034 Section 4</a>
      */
-    private static String getMetaXFOEvidence(Source source) {
-        List<Element> metaElements = source.getAllElements(HTMLElementName.META);
+    private static String getMetaXFOEvidence(HttpMessage msg, Source source) {
+        List<Element> metaElements =
+                PassiveScanMessageData.get(msg, source).getElements(HTMLElementName.META);
         String httpEquiv;
 
-        if (metaElements != null) {
-            for (Element metaElement : metaElements) {
-                httpEquiv = metaElement.getAttributeValue("http-equiv");
-                if (HttpHeader.X_FRAME_OPTION.equalsIgnoreCase(httpEquiv)) {
-                    return metaElement.toString();
-                }
+        for (Element metaElement : metaElements) {
+            httpEquiv = metaElement.getAttributeValue("http-equiv");
+            if (HttpHeader.X_FRAME_OPTION.equalsIgnoreCase(httpEquiv)) {
+                return metaElement.toString();
             }
         }
         return null;
@@ -38,6 +38,7 @@ import org.parosproxy.paros.network.HttpHeader;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 
 /**
@@ -136,70 +137,66 @@ public class CharsetMismatchScanRule extends PluginPassiveScanner
             String bodyContentCharset = "";
             String metaCharset = "";
 
-            List<Element> metaElements = source.getAllElements(HTMLElementName.META);
-
-            if (metaElements != null) {
-                for (Element metaElement : metaElements) {
-                    // Ref: http://www.w3.org/TR/html401/charset.html#h-5.2.2
-                    String httpEquiv = metaElement.getAttributeValue("http-equiv");
-                    String bodyContentType = metaElement.getAttributeValue("content");
-                    // Ref: http://www.w3.org/TR/html5/document-metadata.html#charset
-                    if (StringUtils.isBlank(metaCharset)) {
-                        metaCharset = metaElement.getAttributeValue("charset");
-                    }
-
-                    // If META element defines HTTP-EQUIV and CONTENT attributes,
-                    // or META element defines charset
-                    // get charset values
-                    if (httpEquiv != null
-                            && bodyContentType != null
-                            && httpEquiv.equalsIgnoreCase("content-type")) {
-                        bodyContentCharset = getBodyContentCharset(bodyContentType);
-                    }
-                }
-                boolean hasBodyCharset = true;
-                boolean hasMetaCharset = true;
-                // Plugin Threshold as defined in by the user via policy/settings
-                AlertThreshold pluginThreshold = this.getAlertThreshold();
+            List<Element> metaElements =
+                    PassiveScanMessageData.get(msg, source).getElements(HTMLElementName.META);
 
-                if (bodyContentCharset == null || bodyContentCharset.isEmpty()) {
-                    hasBodyCharset = false; // Got http-equiv and content but no charset
+            for (Element metaElement : metaElements) {
+                // Ref: http://www.w3.org/TR/html401/charset.html#h-5.2.2
+                String httpEquiv = metaElement.getAttributeValue("http-equiv");
+                String bodyContentType = metaElement.getAttributeValue("content");
+                // Ref: http://www.w3.org/TR/html5/document-metadata.html#charset
+                if (StringUtils.isBlank(metaCharset)) {
+                    metaCharset = metaElement.getAttributeValue("charset");
                 }
-                if (metaCharset == null || metaCharset.isEmpty()) {
-                    hasMetaCharset = false;
+
+                // If META element defines HTTP-EQUIV and CONTENT attributes,
+                // or META element defines charset
+                // get charset values
+                if (httpEquiv != null
+                        && bodyContentType != null
+                        && httpEquiv.equalsIgnoreCase("content-type")) {
+                    bodyContentCharset = getBodyContentCharset(bodyContentType);
                 }
+            }
+            boolean hasBodyCharset = true;
+            boolean hasMetaCharset = true;
+            // Plugin Threshold as defined in by the user via policy/settings
+            AlertThreshold pluginThreshold = this.getAlertThreshold();
+
+            if (bodyContentCharset == null || bodyContentCharset.isEmpty()) {
+                hasBodyCharset = false; // Got http-equiv and content but no charset
+            }
+            if (metaCharset == null || metaCharset.isEmpty()) {
+                hasMetaCharset = false;
+            }
 
-                if (hasBodyCharset && hasMetaCharset) {
-                    // If Threshold is LOW be picky and check the two body declarations against each
-                    // other
-                    if (AlertThreshold.LOW.equals(pluginThreshold)
-                            && !bodyContentCharset.equalsIgnoreCase(metaCharset)) {
-                        buildAlert(
-                                        metaCharset,
-                                        bodyContentCharset,
-                                        MismatchType.METACONTENTTYPE_METACHARSET_MISMATCH)
-                                .raise();
-                    }
+            if (hasBodyCharset && hasMetaCharset) {
+                // If Threshold is LOW be picky and check the two body declarations against each
+                // other
+                if (AlertThreshold.LOW.equals(pluginThreshold)
+                        && !bodyContentCharset.equalsIgnoreCase(metaCharset)) {
+                    buildAlert(
+                                    metaCharset,
+                                    bodyContentCharset,
+                                    MismatchType.METACONTENTTYPE_METACHARSET_MISMATCH)
+                            .raise();
                 }
-                if (hasBodyCharset) {
-                    // Check the body content type charset declaration against the header
-                    if (!bodyContentCharset.equalsIgnoreCase(headerCharset)) {
-                        buildAlert(
-                                        headerCharset,
-                                        bodyContentCharset,
-                                        MismatchType.HEADER_METACONTENTYPE_MISMATCH)
-                                .raise();
-                    }
+            }
+            if (hasBodyCharset) {
+                // Check the body content type charset declaration against the header
+                if (!bodyContentCharset.equalsIgnoreCase(headerCharset)) {
+                    buildAlert(
+                                    headerCharset,
+                                    bodyContentCharset,
+                                    MismatchType.HEADER_METACONTENTYPE_MISMATCH)
+                            .raise();
                 }
-                if (hasMetaCharset) {
-                    // Check the body meta charset declaration against the header
-                    if (!metaCharset.equalsIgnoreCase(headerCharset)) {
-                        buildAlert(
-                                        headerCharset,
-                                        metaCharset,
-                                        MismatchType.HEADER_METACHARSET_MISMATCH)
-                                .raise();
-                    }
+            }
+            if (hasMetaCharset) {
+                // Check the body meta charset declaration against the header
+                if (!metaCharset.equalsIgnoreCase(headerCharset)) {
+                    buildAlert(headerCharset, metaCharset, MismatchType.HEADER_METACHARSET_MISMATCH)
+                            .raise();
                 }
             }
         } else if (isResponseXML(msg, source)) { // Check XML response charset
@@ -75,7 +75,7 @@ public class ContentSecurityPolicyMissingScanRule extends PluginPassiveScanner
             return;
         }
 
-        if (!hasCspHeader(msg) && !CspUtils.hasMetaCsp(source)) {
+        if (!hasCspHeader(msg) && !CspUtils.hasMetaCsp(msg, source)) {
             alertMissingCspHeader().raise();
         }
 
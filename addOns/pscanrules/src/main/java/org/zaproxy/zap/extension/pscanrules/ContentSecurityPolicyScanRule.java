@@ -50,6 +50,7 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.commonlib.http.HttpFieldsNames;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 
 /**
@@ -189,7 +190,7 @@ public class ContentSecurityPolicyScanRule extends PluginPassiveScanner
                 }
             }
         }
-        if (CspUtils.hasMetaCsp(source)) {
+        if (CspUtils.hasMetaCsp(msg, source)) {
             checkMetaPolicy(msg, id, source, cspHeaderFound);
         }
 
@@ -197,7 +198,7 @@ public class ContentSecurityPolicyScanRule extends PluginPassiveScanner
     }
 
     private void checkMetaPolicy(HttpMessage msg, int id, Source source, boolean hasHeader) {
-        List<Element> cspMetaElements = getMetaPolicies(source);
+        List<Element> cspMetaElements = getMetaPolicies(msg, source);
         if (cspMetaElements.isEmpty()) {
             return;
         }
@@ -497,8 +498,8 @@ public class ContentSecurityPolicyScanRule extends PluginPassiveScanner
         return allowedSources;
     }
 
-    private static List<Element> getMetaPolicies(Source source) {
-        return source.getAllElements(HTMLElementName.META).stream()
+    private static List<Element> getMetaPolicies(HttpMessage msg, Source source) {
+        return PassiveScanMessageData.get(msg, source).getElements(HTMLElementName.META).stream()
                 .filter(element -> !StringUtils.isBlank(element.getAttributeValue("http-equiv")))
                 .collect(Collectors.toList());
     }
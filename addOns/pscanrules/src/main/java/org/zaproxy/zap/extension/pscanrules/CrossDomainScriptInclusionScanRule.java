@@ -38,16 +38,22 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.commonlib.http.domains.TrustedDomains;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessages;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessagesProvider;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Context;
 
 public class CrossDomainScriptInclusionScanRule extends PluginPassiveScanner
-        implements CommonPassiveScanRuleInfo {
+        implements CommonPassiveScanRuleInfo, ApplicableMessagesProvider {
 
     /** Prefix for internationalised messages used by this rule */
     private static final String MESSAGE_PREFIX = "pscanrules.crossdomainscriptinclusion.";
 
+    private static final ApplicableMessages APPLICABLE_MESSAGES =
+            ApplicableMessages.builder().responsesOnly().htmlResponses().build();
+
     private static final Map<String, String> ALERT_TAGS;
 
     static {
@@ -74,26 +80,24 @@ public class CrossDomainScriptInclusionScanRule extends PluginPassiveScanner
     @Override
     public void scanHttpResponseReceive(HttpMessage msg, int id, Source source) {
         if (msg.getResponseBody().length() > 0 && msg.getResponseHeader().isHtml()) {
-            List<Element> sourceElements = source.getAllElements(HTMLElementName.SCRIPT);
-            if (sourceElements != null) {
-                trustedDomains.update(
-                        getConfig().getString(RuleConfigParam.RULE_DOMAINS_TRUSTED, ""));
-                for (Element sourceElement : sourceElements) {
-                    String src = sourceElement.getAttributeValue("src");
-                    if (src != null
-                            && !trustedDomains.isIncluded(src)
-                            && isScriptFromOtherDomain(
-                                    msg.getRequestHeader().getHostName(), src, msg)) {
-                        String integrity = sourceElement.getAttributeValue("integrity");
-                        if (integrity == null || integrity.trim().length() == 0) {
-                            /*
-                             * If it has an integrity value assume its fine
-                             * We dont check the integrity value is valid because
-                             * 1. pscan rules cant make new requests and
-                             * 2. the browser will check it anyway
-                             */
-                            this.raiseAlert(msg, id, src, sourceElement.toString());
-                        }
+            List<Element> sourceElements =
+                    PassiveScanMessageData.get(msg, source).getElements(HTMLElementName.SCRIPT);
+            trustedDomains.update(getConfig().getString(RuleConfigParam.RULE_DOMAINS_TRUSTED, ""));
+            for (Element sourceElement : sourceElements) {
+                String src = sourceElement.getAttributeValue("src");
+                if (src != null
+                        && !trustedDomains.isIncluded(src)
+                        && isScriptFromOtherDomain(
+                                msg.getRequestHeader().getHostName(), src, msg)) {
+                    String integrity = sourceElement.getAttributeValue("integrity");
+                    if (integrity == null || integrity.trim().length() == 0) {
+                        /*
+                         * If it has an integrity value assume its fine
+                         * We dont check the integrity value is valid because
+                         * 1. pscan rules cant make new requests and
+                         * 2. the browser will check it anyway
+                         */
+                        this.raiseAlert(msg, id, src, sourceElement.toString());
                     }
                 }
             }
@@ -131,6 +135,11 @@ public class CrossDomainScriptInclusionScanRule extends PluginPassiveScanner
         return PLUGIN_ID;
     }
 
+    @Override
+    public ApplicableMessages getApplicableMessages() {
+        return APPLICABLE_MESSAGES;
+    }
+
     @Override
     public String getName() {
         return Constant.messages.getString(MESSAGE_PREFIX + "name");
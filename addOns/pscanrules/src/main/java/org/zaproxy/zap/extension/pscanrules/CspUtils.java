@@ -22,15 +22,18 @@ package org.zaproxy.zap.extension.pscanrules;
 import net.htmlparser.jericho.Element;
 import net.htmlparser.jericho.HTMLElementName;
 import net.htmlparser.jericho.Source;
+import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.http.HttpFieldsNames;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 
 /** A utility class to help dealing with Content-Security-Policy (CSP). */
 public class CspUtils {
 
     private CspUtils() {}
 
-    protected static boolean hasMetaCsp(Source source) {
-        for (Element metaElement : source.getAllElements(HTMLElementName.META)) {
+    protected static boolean hasMetaCsp(HttpMessage msg, Source source) {
+        for (Element metaElement :
+                PassiveScanMessageData.get(msg, source).getElements(HTMLElementName.META)) {
             String httpEquiv = metaElement.getAttributeValue("http-equiv");
             if (HttpFieldsNames.CONTENT_SECURITY_POLICY.equalsIgnoreCase(httpEquiv)) {
                 return true;
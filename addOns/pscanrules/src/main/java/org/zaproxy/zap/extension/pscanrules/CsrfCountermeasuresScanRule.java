@@ -42,6 +42,9 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpRequestHeader;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessages;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessagesProvider;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.addon.commonlib.vulnerabilities.Vulnerabilities;
 import org.zaproxy.addon.commonlib.vulnerabilities.Vulnerability;
 import org.zaproxy.zap.extension.anticsrf.ExtensionAntiCSRF;
@@ -55,11 +58,14 @@ import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
  * @author 70pointer
  */
 public class CsrfCountermeasuresScanRule extends PluginPassiveScanner
-        implements CommonPassiveScanRuleInfo {
+        implements CommonPassiveScanRuleInfo, ApplicableMessagesProvider {
 
     /** contains the base vulnerability that this plugin refers to */
     private static final Vulnerability VULN = Vulnerabilities.getDefault().get("wasc_9");
 
+    private static final ApplicableMessages APPLICABLE_MESSAGES =
+            ApplicableMessages.builder().responsesOnly().htmlResponses().build();
+
     private static final Map<String, String> ALERT_TAGS;
 
     static {
@@ -95,6 +101,11 @@ public class CsrfCountermeasuresScanRule extends PluginPassiveScanner
         return 10202;
     }
 
+    @Override
+    public ApplicableMessages getApplicableMessages() {
+        return APPLICABLE_MESSAGES;
+    }
+
     /**
      * scans each form in the HTTP response for known anti-CSRF tokens. If any form exists that does
      * not contain a known anti-CSRF token, raise an alert.
@@ -118,9 +129,10 @@ public class CsrfCountermeasuresScanRule extends PluginPassiveScanner
             return;
         }
 
-        List<Element> formElements = source.getAllElements(HTMLElementName.FORM);
+        List<Element> formElements =
+                PassiveScanMessageData.get(msg, source).getElements(HTMLElementName.FORM);
 
-        if (formElements != null && !formElements.isEmpty()) {
+        if (!formElements.isEmpty()) {
             boolean hasSecurityAnnotation = false;
 
             // Loop through all of the FORM tags
@@ -39,6 +39,9 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.commonlib.ResourceIdentificationUtils;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessages;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessagesProvider;
+import org.zaproxy.addon.commonlib.scanrules.ScanRuleTimeBudget;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 
 /**
@@ -47,7 +50,7 @@ import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
  * @author 70pointer@gmail.com
  */
 public class HashDisclosureScanRule extends PluginPassiveScanner
-        implements CommonPassiveScanRuleInfo {
+        implements CommonPassiveScanRuleInfo, ApplicableMessagesProvider {
 
     /** a map of a regular expression pattern to details of the Hash type found */
     static Map<Pattern, HashAlert> hashPatterns = new LinkedHashMap<>();
@@ -245,6 +248,9 @@ public class HashDisclosureScanRule extends PluginPassiveScanner
 
     private static final Logger LOGGER = LogManager.getLogger(HashDisclosureScanRule.class);
 
+    private static final ApplicableMessages APPLICABLE_MESSAGES =
+            ApplicableMessages.builder().textResponses().build();
+
     /** Prefix for internationalized messages used by this rule */
     private static final String MESSAGE_PREFIX = "pscanrules.hashdisclosure.";
 
@@ -336,7 +342,7 @@ public class HashDisclosureScanRule extends PluginPassiveScanner
                     hashPattern,
                     hashalert.getDescription());
             for (String haystack : haystacks) {
-                Matcher matcher = hashPattern.matcher(haystack);
+                Matcher matcher = hashPattern.matcher(ScanRuleTimeBudget.bound(haystack));
                 while (matcher.find()) {
                     String evidence = matcher.group();
                     LOGGER.debug(
@@ -377,6 +383,11 @@ public class HashDisclosureScanRule extends PluginPassiveScanner
         return 10097;
     }
 
+    @Override
+    public ApplicableMessages getApplicableMessages() {
+        return APPLICABLE_MESSAGES;
+    }
+
     @Override
     public Map<String, String> getAlertTags() {
         return ALERT_TAGS;
@@ -47,6 +47,9 @@ import org.parosproxy.paros.core.scanner.Plugin.AlertThreshold;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessages;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessagesProvider;
+import org.zaproxy.addon.commonlib.scanrules.ScanRuleTimeBudget;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 
 /**
@@ -54,11 +57,14 @@ import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
  * ip-10-34-56-78).
  */
 public class InfoPrivateAddressDisclosureScanRule extends PluginPassiveScanner
-        implements CommonPassiveScanRuleInfo {
+        implements CommonPassiveScanRuleInfo, ApplicableMessagesProvider {
 
     /** Prefix for internationalised messages used by this rule */
     private static final String MESSAGE_PREFIX = "pscanrules.infoprivateaddressdisclosure.";
 
+    private static final ApplicableMessages APPLICABLE_MESSAGES =
+            ApplicableMessages.builder().responsesOnly().textResponses().build();
+
     private static final Map<String, String> ALERT_TAGS;
 
     static {
@@ -141,6 +147,11 @@ public class InfoPrivateAddressDisclosureScanRule extends PluginPassiveScanner
         return 00002;
     }
 
+    @Override
+    public ApplicableMessages getApplicableMessages() {
+        return APPLICABLE_MESSAGES;
+    }
+
     @Override
     public String getName() {
         return Constant.messages.getString(MESSAGE_PREFIX + "name");
@@ -159,7 +170,7 @@ public class InfoPrivateAddressDisclosureScanRule extends PluginPassiveScanner
         String host = msg.getRequestHeader().getHostName();
 
         String txtBody = msg.getResponseBody().toString();
-        Matcher matcher = patternPrivateIP.matcher(txtBody);
+        Matcher matcher = patternPrivateIP.matcher(ScanRuleTimeBudget.bound(txtBody));
         StringBuilder sbTxtFound = new StringBuilder();
         String firstOne = null;
 
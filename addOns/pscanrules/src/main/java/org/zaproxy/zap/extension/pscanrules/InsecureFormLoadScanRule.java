@@ -32,6 +32,7 @@ import org.parosproxy.paros.network.HttpHeader;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 
 /**
@@ -71,7 +72,8 @@ public class InsecureFormLoadScanRule extends PluginPassiveScanner
             return;
         }
 
-        List<Element> formElements = source.getAllElements(HTMLElementName.FORM);
+        List<Element> formElements =
+                PassiveScanMessageData.get(msg, source).getElements(HTMLElementName.FORM);
         for (Element formElement : formElements) {
             String formAction = formElement.getAttributeValue("action");
             if (formAction != null && formAction.trim().toLowerCase().startsWith("https://")) {
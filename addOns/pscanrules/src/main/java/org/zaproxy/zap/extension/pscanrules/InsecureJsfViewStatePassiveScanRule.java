@@ -37,6 +37,9 @@ import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessages;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessagesProvider;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 
 /**
@@ -68,10 +71,13 @@ import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
  * </pre>
  */
 public class InsecureJsfViewStatePassiveScanRule extends PluginPassiveScanner
-        implements CommonPassiveScanRuleInfo {
+        implements CommonPassiveScanRuleInfo, ApplicableMessagesProvider {
 
     private static final String MESSAGE_PREFIX = "pscanrules.insecurejsfviewstate.";
 
+    private static final ApplicableMessages APPLICABLE_MESSAGES =
+            ApplicableMessages.builder().responsesOnly().textResponses().build();
+
     private static final Map<String, String> ALERT_TAGS;
 
     static {
@@ -92,45 +98,49 @@ public class InsecureJsfViewStatePassiveScanRule extends PluginPassiveScanner
         return 90001; // This is be changed if included in the ZAP code base
     }
 
+    @Override
+    public ApplicableMessages getApplicableMessages() {
+        return APPLICABLE_MESSAGES;
+    }
+
     @Override
     public void scanHttpResponseReceive(HttpMessage msg, int id, Source source) {
         if (msg.getResponseBody().length() > 0 && msg.getResponseHeader().isText()) {
-            List<Element> sourceElements = source.getAllElements(HTMLElementName.INPUT);
-            if (sourceElements != null) {
-                for (Element sourceElement : sourceElements) {
-
-                    // Find ones where id="javax.faces.ViewState"
-                    //
-                    // TODO: Other possible field names include:
-                    // jsf_state_64
-                    // jsf_sequence
-                    // jsf_tree
-                    // jsf_tree_64
-                    // jsf_viewid
-                    // jsf_state
-                    String src = sourceElement.getAttributeValue("id");
-                    if (src != null && src.toLowerCase().contains("javax.faces.viewstate")) {
-                        // Get the ViewState value
-                        String val = sourceElement.getAttributeValue("value");
-                        // Server-side ViewState usually comes down as an ID
-                        // value like
-                        // _id16683
-                        // Ignoring these for now. Underscore is not a valid
-                        // Base64 character
-                        // so it's safe to ignore this.
-                        if (val != null && val.startsWith("_")) {
-                            return;
-                        }
-
-                        if (isViewStateStoredOnServer(val)) {
-                            return;
-                        }
-
-                        // If the ViewState is not secured cryptographic
-                        // protections then raise an alert.
-                        if (!isViewStateSecure(val, msg.getRequestBody().getCharset())) {
-                            createAlert(src).setMessage(msg).raise();
-                        }
+            List<Element> sourceElements =
+                    PassiveScanMessageData.get(msg, source).getElements(HTMLElementName.INPUT);
+            for (Element sourceElement : sourceElements) {
+
+                // Find ones where id="javax.faces.ViewState"
+                //
+                // TODO: Other possible field names include:
+                // jsf_state_64
+                // jsf_sequence
+                // jsf_tree
+                // jsf_tree_64
+                // jsf_viewid
+                // jsf_state
+                String src = sourceElement.getAttributeValue("id");
+                if (src != null && src.toLowerCase().contains("javax.faces.viewstate")) {
+                    // Get the ViewState value
+                    String val = sourceElement.getAttributeValue("value");
+                    // Server-side ViewState usually comes down as an ID
+                    // value like
+                    // _id16683
+                    // Ignoring these for now. Underscore is not a valid
+                    // Base64 character
+                    // so it's safe to ignore this.
+                    if (val != null && val.startsWith("_")) {
+                        return;
+                    }
+
+                    if (isViewStateStoredOnServer(val)) {
+                        return;
+                    }
+
+                    // If the ViewState is not secured cryptographic
+                    // protections then raise an alert.
+                    if (!isViewStateSecure(val, msg.getRequestBody().getCharset())) {
+                        createAlert(src).setMessage(msg).raise();
                     }
                 }
             }
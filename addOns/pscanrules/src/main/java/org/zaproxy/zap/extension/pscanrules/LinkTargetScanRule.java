@@ -40,15 +40,22 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.commonlib.http.domains.TrustedDomains;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessages;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessagesProvider;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Context;
 
-public class LinkTargetScanRule extends PluginPassiveScanner implements CommonPassiveScanRuleInfo {
+public class LinkTargetScanRule extends PluginPassiveScanner
+        implements CommonPassiveScanRuleInfo, ApplicableMessagesProvider {
 
     public static final String TRUSTED_DOMAINS_PROPERTY = RuleConfigParam.RULE_DOMAINS_TRUSTED;
     private static final String MESSAGE_PREFIX = "pscanrules.linktarget.";
 
+    private static final ApplicableMessages APPLICABLE_MESSAGES =
+            ApplicableMessages.builder().responsesOnly().htmlResponses().build();
+
     private static final String REL_ATTRIBUTE = "rel";
     private static final String TARGET_ATTRIBUTE = "target";
     private static final String BLANK = "_blank";
@@ -80,6 +87,11 @@ public class LinkTargetScanRule extends PluginPassiveScanner implements CommonPa
         return 10108;
     }
 
+    @Override
+    public ApplicableMessages getApplicableMessages() {
+        return APPLICABLE_MESSAGES;
+    }
+
     private Model getModel() {
         if (this.model == null) {
             this.model = Model.getSingleton();
@@ -177,8 +189,9 @@ public class LinkTargetScanRule extends PluginPassiveScanner implements CommonPa
                         .getSession()
                         .getContextsForUrl(msg.getRequestHeader().getURI().toString());
 
-        List<Element> elements = new ArrayList<>(source.getAllElements(HTMLElementName.A));
-        elements.addAll(source.getAllElements(HTMLElementName.AREA));
+        PassiveScanMessageData data = PassiveScanMessageData.get(msg, source);
+        List<Element> elements = new ArrayList<>(data.getElements(HTMLElementName.A));
+        elements.addAll(data.getElements(HTMLElementName.AREA));
         for (Element link : elements) {
             if (isLinkFromOtherDomain(host, link.getAttributeValue("href"), contextList)
                     && checkElement(link)) {
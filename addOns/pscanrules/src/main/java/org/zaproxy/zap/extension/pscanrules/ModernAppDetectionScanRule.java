@@ -31,15 +31,21 @@ import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessages;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessagesProvider;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 
 /** A class to passively scan responses for indications that this is a modern web application. */
 public class ModernAppDetectionScanRule extends PluginPassiveScanner
-        implements CommonPassiveScanRuleInfo {
+        implements CommonPassiveScanRuleInfo, ApplicableMessagesProvider {
 
     /** Prefix for internationalized messages used by this rule */
     private static final String MESSAGE_PREFIX = "pscanrules.modernapp.";
 
+    private static final ApplicableMessages APPLICABLE_MESSAGES =
+            ApplicableMessages.builder().responsesOnly().htmlResponses().build();
+
     private static final Map<String, String> ALERT_TAGS;
 
     static {
@@ -65,10 +71,11 @@ public class ModernAppDetectionScanRule extends PluginPassiveScanner
         String evidence = null;
         String otherInfo = null;
 
-        List<Element> links = source.getAllElements(HTMLElementName.A);
+        PassiveScanMessageData data = PassiveScanMessageData.get(msg, source);
+        List<Element> links = data.getElements(HTMLElementName.A);
         if (links.isEmpty()) {
             // if no links but there are scripts then thats another indication
-            List<Element> scripts = source.getAllElements(HTMLElementName.SCRIPT);
+            List<Element> scripts = data.getElements(HTMLElementName.SCRIPT);
             if (scripts.size() > 0) {
                 evidence = scripts.get(0).toString();
                 otherInfo = Constant.messages.getString(MESSAGE_PREFIX + "other.nolinks");
@@ -120,6 +127,11 @@ public class ModernAppDetectionScanRule extends PluginPassiveScanner
         return 10109;
     }
 
+    @Override
+    public ApplicableMessages getApplicableMessages() {
+        return APPLICABLE_MESSAGES;
+    }
+
     @Override
     public Map<String, String> getAlertTags() {
         return ALERT_TAGS;
@@ -34,14 +34,20 @@ import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessages;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessagesProvider;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 
 public class PolyfillCdnScriptScanRule extends PluginPassiveScanner
-        implements CommonPassiveScanRuleInfo {
+        implements CommonPassiveScanRuleInfo, ApplicableMessagesProvider {
 
     /** Prefix for internationalised messages used by this rule */
     private static final String MESSAGE_PREFIX = "pscanrules.polyfillcdnscript.";
 
+    private static final ApplicableMessages APPLICABLE_MESSAGES =
+            ApplicableMessages.builder().responsesOnly().htmlResponses().build();
+
     private static final Map<String, String> ALERT_TAGS;
 
     static {
@@ -118,40 +124,38 @@ public class PolyfillCdnScriptScanRule extends PluginPassiveScanner
     @Override
     public void scanHttpResponseReceive(HttpMessage msg, int id, Source source) {
         if (msg.getResponseBody().length() > 0 && msg.getResponseHeader().isHtml()) {
-            List<Element> sourceElements = source.getAllElements(HTMLElementName.SCRIPT);
+            List<Element> sourceElements =
+                    PassiveScanMessageData.get(msg, source).getElements(HTMLElementName.SCRIPT);
             boolean alertRaised = false;
-            if (sourceElements != null) {
-                for (Element sourceElement : sourceElements) {
-                    String src = sourceElement.getAttributeValue("src");
-                    if (src != null) {
-                        for (Pattern pattern : ALL_DOMAIN_URLS) {
-                            if (pattern.matcher(src).matches()) {
-                                this.createHighConfidenceAlert(src, sourceElement.toString())
-                                        .raise();
-                                alertRaised = true;
-                            }
+            for (Element sourceElement : sourceElements) {
+                String src = sourceElement.getAttributeValue("src");
+                if (src != null) {
+                    for (Pattern pattern : ALL_DOMAIN_URLS) {
+                        if (pattern.matcher(src).matches()) {
+                            this.createHighConfidenceAlert(src, sourceElement.toString()).raise();
+                            alertRaised = true;
                         }
                     }
                 }
-                if (alertRaised) {
-                    // Definitely an issue, no point checking the script contents
-                    return;
-                }
-                // Check the script contents, in case they are loading scripts via JS
-                for (Element sourceElement : sourceElements) {
-                    String contents = sourceElement.getContent().toString();
-                    String contentsLc = contents.toLowerCase(Locale.ROOT);
-
-                    for (int i = 0; i < ALL_DOMAINS.length; i++) {
-                        String domain = ALL_DOMAINS[i];
-                        // Use "contains" first as it makes a huge difference in speed
-                        if (contentsLc.contains(domain)) {
-                            Pattern pattern = ALL_DOMAIN_URLS[i];
-                            Matcher matcher = pattern.matcher(contents);
-                            if (matcher.find()) {
-                                this.createLowConfidenceAlert(null, matcher.group(0)).raise();
-                                break;
-                            }
+            }
+            if (alertRaised) {
+                // Definitely an issue, no point checking the script contents
+                return;
+            }
+            // Check the script contents, in case they are loading scripts via JS
+            for (Element sourceElement : sourceElements) {
+                String contents = sourceElement.getContent().toString();
+                String contentsLc = contents.toLowerCase(Locale.ROOT);
+
+                for (int i = 0; i < ALL_DOMAINS.length; i++) {
+                    String domain = ALL_DOMAINS[i];
+                    // Use "contains" first as it makes a huge difference in speed
+                    if (contentsLc.contains(domain)) {
+                        Pattern pattern = ALL_DOMAIN_URLS[i];
+                        Matcher matcher = pattern.matcher(contents);
+                        if (matcher.find()) {
+                            this.createLowConfidenceAlert(null, matcher.group(0)).raise();
+                            break;
                         }
                     }
                 }
@@ -211,6 +215,11 @@ public class PolyfillCdnScriptScanRule extends PluginPassiveScanner
         return PLUGIN_ID;
     }
 
+    @Override
+    public ApplicableMessages getApplicableMessages() {
+        return APPLICABLE_MESSAGES;
+    }
+
     @Override
     public String getName() {
         return Constant.messages.getString(MESSAGE_PREFIX + "name");
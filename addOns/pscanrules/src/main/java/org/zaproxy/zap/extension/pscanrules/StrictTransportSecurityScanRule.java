@@ -39,6 +39,7 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpStatusCode;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 
 /**
@@ -127,7 +128,7 @@ public class StrictTransportSecurityScanRule extends PluginPassiveScanner
     public void scanHttpResponseReceive(HttpMessage msg, int id, Source source) {
         long start = System.currentTimeMillis();
         List<String> stsOption = msg.getResponseHeader().getHeaderValues(STS_HEADER);
-        String metaHSTS = getMetaHSTSEvidence(source);
+        String metaHSTS = getMetaHSTSEvidence(msg, source);
 
         if (msg.getRequestHeader().isSecure()) { // No point reporting missing for non-SSL resources
             // Content available via both HTTPS and HTTP is a separate though related issue
@@ -272,17 +273,16 @@ public class StrictTransportSecurityScanRule extends PluginPassiveScanner
      *     return {@code null}.
      * @see <a href="https://tools.ietf.org/html/rfc6797#section-8.5">RFC 6797 Section 8.5</a>
      */
-    private static String getMetaHSTSEvidence(Source source) {
-        List<Element> metaElements = source.getAllElements(HTMLElementName.META);
+    private static String getMetaHSTSEvidence(HttpMessage msg, Source source) {
+        List<Element> metaElements =
+                PassiveScanMessageData.get(msg, source).getElements(HTMLElementName.META);
         String httpEquiv;
 
-        if (metaElements != null) {
-            for (Element metaElement : metaElements) {
-                httpEquiv = metaElement.getAttributeValue("http-equiv");
-                if (STS_HEADER.equalsIgnoreCase(httpEquiv)) {
-                    return httpEquiv; // This is a META which attempts to define HSTS return it's
-                    // value
-                }
+        for (Element metaElement : metaElements) {
+            httpEquiv = metaElement.getAttributeValue("http-equiv");
+            if (STS_HEADER.equalsIgnoreCase(httpEquiv)) {
+                return httpEquiv; // This is a META which attempts to define HSTS return it's
+                // value
             }
         }
         return null;
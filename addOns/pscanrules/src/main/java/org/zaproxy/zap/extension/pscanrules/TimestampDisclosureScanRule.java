@@ -44,6 +44,7 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.commonlib.ResourceIdentificationUtils;
+import org.zaproxy.addon.commonlib.scanrules.ScanRuleTimeBudget;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 
 /**
@@ -162,7 +163,8 @@ public class TimestampDisclosureScanRule extends PluginPassiveScanner
                     timestampPattern,
                     timestampType);
             for (HttpHeaderField haystack : responseparts) {
-                Matcher matcher = timestampPattern.matcher(haystack.getValue());
+                Matcher matcher =
+                        timestampPattern.matcher(ScanRuleTimeBudget.bound(haystack.getValue()));
                 while (matcher.find()) {
                     String evidence = matcher.group();
                     Date timestamp = null;
@@ -38,6 +38,7 @@ import org.parosproxy.paros.network.HttpHeader;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
 
 /**
@@ -101,7 +102,8 @@ public class UserControlledCharsetScanRule extends PluginPassiveScanner
 
     private void checkMetaContentCharset(
             HttpMessage msg, int id, Source source, Set<HtmlParameter> params) {
-        List<Element> metaElements = source.getAllElements(HTMLElementName.META);
+        List<Element> metaElements =
+                PassiveScanMessageData.get(msg, source).getElements(HTMLElementName.META);
         if (metaElements == null || metaElements.isEmpty()) {
             return;
         }
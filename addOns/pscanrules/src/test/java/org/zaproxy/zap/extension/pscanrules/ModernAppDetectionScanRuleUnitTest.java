@@ -30,6 +30,7 @@ import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.scanrules.ApplicableMessages;
 
 /**
  * Unit test for ModernAppDetectionScanRule
@@ -56,6 +57,25 @@ class ModernAppDetectionScanRuleUnitTest extends PassiveScannerTest<ModernAppDet
         assertThat(alertsRaised.size(), is(0));
     }
 
+    @Test
+    void shouldOnlyApplyToHtmlResponses() throws Exception {
+        // Given
+        HttpMessage htmlMsg = new HttpMessage();
+        htmlMsg.setResponseHeader("HTTP/1.1 200\r\n" + "Content-Type: text/html\r\n");
+        HttpMessage otherMsg = new HttpMessage();
+        otherMsg.setResponseHeader("HTTP/1.1 200\r\n" + "Content-Type: application/foo\r\n");
+        // When
+        ApplicableMessages applicableMessages = rule.getApplicableMessages();
+        // Then
+        assertThat(applicableMessages.appliesToRequests(), is(equalTo(false)));
+        assertThat(
+                applicableMessages.appliesToResponse(htmlMsg.getResponseHeader()),
+                is(equalTo(true)));
+        assertThat(
+                applicableMessages.appliesToResponse(otherMsg.getResponseHeader()),
+                is(equalTo(false)));
+    }
+
     @Test
     void shouldNotRaiseAlertWithBasicHtml() throws Exception {
         // Given
@@ -41,6 +41,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -98,6 +99,7 @@ public class ExtensionReports extends ExtensionAdaptor {
     private JButton reportButton;
     private ReportDialog reportDialog;
     private Map<String, Template> templateMap;
+    private final Map<String, CachedTemplateEngine> templateEngines = new ConcurrentHashMap<>();
     private ReportParam reportParam;
 
     private List<ReportDataHandler> reportDataHandlers = new ArrayList<>();
@@ -128,6 +130,7 @@ public class ExtensionReports extends ExtensionAdaptor {
     }
 
     private void unloadTemplates() {
+        templateEngines.clear();
         this.getTemplateMap().values().forEach(Template::unload);
     }
 
@@ -371,12 +374,7 @@ public class ExtensionReports extends ExtensionAdaptor {
             ReportData reportData, Template template, String reportFilename, boolean display)
             throws IOException {
         try {
-            TemplateEngine templateEngine = new TemplateEngine();
-            FileTemplateResolver templateResolver = new FileTemplateResolver();
-            templateResolver.setTemplateMode(template.getMode());
-            templateEngine.setTemplateResolver(templateResolver);
-
-            templateEngine.setMessageResolver(new ReportMessageResolver(template));
+            TemplateEngine templateEngine = getTemplateEngine(template);
 
             Context context = new Context();
             context.setVariable("alertTree", reportData.getAlertTreeRootNode());
@@ -616,6 +614,33 @@ public class ExtensionReports extends ExtensionAdaptor {
         return false;
     }
 
+    /**
+     * Gets the template engine for the given template.
+     *
+     * <p>The engine (and the templates it parsed) is reused while the report template file is not
+     * modified.
+     *
+     * @param template the template.
+     * @return the template engine, never {@code null}.
+     */
+    TemplateEngine getTemplateEngine(Template template) {
+        File file = template.getReportTemplateFile();
+        long lastModified = file.lastModified();
+        CachedTemplateEngine cached = templateEngines.get(file.getAbsolutePath());
+        if (cached == null || cached.template != template || cached.lastModified != lastModified) {
+            TemplateEngine templateEngine = new TemplateEngine();
+            FileTemplateResolver templateResolver = new FileTemplateResolver();
+            templateResolver.setTemplateMode(template.getMode());
+            templateEngine.setTemplateResolver(templateResolver);
+
+            templateEngine.setMessageResolver(new ReportMessageResolver(template));
+
+            cached = new CachedTemplateEngine(template, templateEngine, lastModified);
+            templateEngines.put(file.getAbsolutePath(), cached);
+        }
+        return cached.templateEngine;
+    }
+
     public int reloadTemplates(File templateDir) {
         this.unloadTemplates();
         return loadTemplateDir(templateDir);
@@ -743,4 +768,17 @@ public class ExtensionReports extends ExtensionAdaptor {
     public String getAuthor() {
         return Constant.ZAP_TEAM;
     }
+
+    private static class CachedTemplateEngine {
+
+        private final Template template;
+        private final TemplateEngine templateEngine;
+        private final long lastModified;
+
+        CachedTemplateEngine(Template template, TemplateEngine templateEngine, long lastModified) {
+            this.template = template;
+            this.templateEngine = templateEngine;
+            this.lastModified = lastModified;
+        }
+    }
 }
@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.imageio.ImageIO;
@@ -60,6 +61,20 @@ public class ReportHelper {
      */
     private static final int PDF_SCRIPT_DIAGNOSTIC_SCREENSHOT_MAX_WIDTH = 523;
 
+    /** The maximum number of messages kept in the cache of a report. */
+    private static final int MAX_CACHED_MESSAGES = 100;
+
+    private final Map<Integer, HttpMessage> messagesCache =
+            new LinkedHashMap<>(MAX_CACHED_MESSAGES, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, HttpMessage> eldest) {
+                    return size() > MAX_CACHED_MESSAGES;
+                }
+            };
+
     public static String getRiskString(int risk) {
         return Constant.messages.getString(ExtensionReports.PREFIX + ".report.risk." + risk);
     }
@@ -322,6 +337,33 @@ public class ReportHelper {
         return null;
     }
 
+    /**
+     * Gets the message of the given alert.
+     *
+     * <p>Unlike {@link Alert#getMessage()} the message is read from the session just once, the
+     * most recently used messages are kept for subsequent calls, allowing the templates to access
+     * the several parts of the message without reading it again.
+     *
+     * @param alert the alert.
+     * @return the message, might be {@code null}.
+     * @since 0.47.0
+     */
+    public HttpMessage getMessage(Alert alert) {
+        HistoryReference historyRef = alert.getHistoryRef();
+        if (historyRef == null) {
+            return alert.getMessage();
+        }
+        Integer id = historyRef.getHistoryId();
+        HttpMessage msg = messagesCache.get(id);
+        if (msg == null) {
+            msg = alert.getMessage();
+            if (msg != null) {
+                messagesCache.put(id, msg);
+            }
+        }
+        return msg;
+    }
+
     /**
      * Returns the nodeName for the alert.
      *
@@ -39,6 +39,7 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 import org.apache.logging.log4j.core.config.Configurator;
@@ -50,8 +51,10 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.quality.Strictness;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.control.Control;
+import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.extension.ExtensionLoader;
 import org.parosproxy.paros.model.Model;
+import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpRequestHeader;
 import org.zaproxy.addon.automation.JobResultData;
 import org.zaproxy.addon.insights.internal.Insight;
@@ -221,6 +224,55 @@ class ExtensionReportsJsonUnitTest extends TestUtils {
         assertThat(json.getJSONObject("statistics").get("global.y"), is(equalTo(4)));
     }
 
+    @Test
+    void shouldGenerateJsonPlusReportWithManyAlerts() throws Exception {
+        // Given
+        Template template = ReportTestUtils.getTemplateFromYamlFile("traditional-json-plus");
+        File f = File.createTempFile("traditional-json-plus-many-alerts", template.getExtension());
+        int alertCount = 100;
+        int instanceCount = 1_000;
+        ReportData reportData = getReportDataWithManyAlerts(alertCount, instanceCount);
+        reportData.setSections(template.getSections());
+        ExtensionReports extRep = new ExtensionReports();
+
+        // When
+        File r = extRep.generateReport(reportData, template, f.getAbsolutePath(), false);
+
+        // Then
+        try (Stream<String> lines = Files.lines(r.toPath())) {
+            assertThat(
+                    lines.filter(line -> line.contains("\"request-header\"")).count(),
+                    is(equalTo((long) alertCount * instanceCount)));
+        }
+    }
+
+    private static ReportData getReportDataWithManyAlerts(int alertCount, int instanceCount) {
+        ReportData reportData = new ReportData("test");
+        reportData.setTitle("Test Title");
+        reportData.setDescription("Test Description");
+        reportData.setIncludeAllConfidences(true);
+        reportData.setIncludeAllRisks(true);
+        reportData.setSites(List.of("https://www.example.com"));
+
+        HttpMessage msg = ReportTestUtils.newMsg("https://www.example.com/");
+        AlertNode root = new AlertNode(0, "Test");
+        for (int i = 0; i < alertCount; i++) {
+            String name = "Alert " + i;
+            AlertNode alertNode = new AlertNode(Alert.RISK_MEDIUM, name);
+            for (int j = 0; j < instanceCount; j++) {
+                Alert alert = new Alert(i, Alert.RISK_MEDIUM, Alert.CONFIDENCE_MEDIUM, name);
+                alert.setUri("https://www.example.com/" + j);
+                alert.setMessage(msg);
+                AlertNode instanceNode = new AlertNode(Alert.RISK_MEDIUM, name);
+                instanceNode.setUserObject(alert);
+                alertNode.add(instanceNode);
+            }
+            root.add(alertNode);
+        }
+        reportData.setAlertTreeRootNode(root);
+        return reportData;
+    }
+
     private static File generateReportWithSequence(Template template, File f)
             throws IOException, DocumentException {
         ExtensionReports extRep = new ExtensionReports();
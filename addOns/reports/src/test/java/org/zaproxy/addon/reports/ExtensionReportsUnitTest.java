@@ -26,6 +26,7 @@ import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
@@ -65,6 +66,7 @@ import org.parosproxy.paros.extension.ExtensionLoader;
 import org.parosproxy.paros.model.Model;
 import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpRequestHeader;
+import org.thymeleaf.TemplateEngine;
 import org.zaproxy.addon.insights.internal.Insight;
 import org.zaproxy.zap.extension.alert.AlertNode;
 import org.zaproxy.zap.model.Context;
@@ -110,6 +112,31 @@ class ExtensionReportsUnitTest extends TestUtils {
         Configurator.reconfigure(getClass().getResource("/log4j2-test.properties").toURI());
     }
 
+    @Test
+    void shouldReuseTemplateEngineOfSameTemplate() throws Exception {
+        // Given
+        ExtensionReports extRep = new ExtensionReports();
+        Template template = ReportTestUtils.getTemplateFromYamlFile("traditional-json");
+        TemplateEngine templateEngine = extRep.getTemplateEngine(template);
+        // When
+        TemplateEngine otherTemplateEngine = extRep.getTemplateEngine(template);
+        // Then
+        assertThat(otherTemplateEngine, is(sameInstance(templateEngine)));
+    }
+
+    @Test
+    void shouldNotReuseTemplateEngineOfDifferentTemplate() throws Exception {
+        // Given
+        ExtensionReports extRep = new ExtensionReports();
+        Template template = ReportTestUtils.getTemplateFromYamlFile("traditional-json");
+        TemplateEngine templateEngine = extRep.getTemplateEngine(template);
+        Template otherTemplate = ReportTestUtils.getTemplateFromYamlFile("traditional-json");
+        // When
+        TemplateEngine otherTemplateEngine = extRep.getTemplateEngine(otherTemplate);
+        // Then
+        assertThat(otherTemplateEngine, is(not(sameInstance(templateEngine))));
+    }
+
     @Test
     void shouldReturnDefaultNoCounts() {
         // Given
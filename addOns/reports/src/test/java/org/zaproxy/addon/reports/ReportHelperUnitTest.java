@@ -23,8 +23,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
@@ -34,6 +37,8 @@ import javax.imageio.ImageIO;
 import org.junit.jupiter.api.Test;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.core.scanner.Alert;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.zap.extension.alert.AlertNode;
 import org.zaproxy.zap.utils.I18N;
 
@@ -232,6 +237,69 @@ class ReportHelperUnitTest {
         assertThat(ReportHelper.getPdfScriptDiagnosticScreenshotWidth(""), is(equalTo(523)));
     }
 
+    @Test
+    void shouldGetMessageOfAlertWithoutHistoryReference() {
+        // Given
+        ReportHelper helper = new ReportHelper();
+        HttpMessage msg = new HttpMessage();
+        Alert alert = new Alert(1);
+        alert.setMessage(msg);
+        // When
+        HttpMessage alertMsg = helper.getMessage(alert);
+        // Then
+        assertThat(alertMsg, is(sameInstance(msg)));
+    }
+
+    @Test
+    void shouldReadMessageOfAlertJustOnce() {
+        // Given
+        ReportHelper helper = new ReportHelper();
+        HttpMessage msg = new HttpMessage();
+        Alert alert = alertWithHistoryReference(1, msg);
+        // When
+        HttpMessage msg1 = helper.getMessage(alert);
+        HttpMessage msg2 = helper.getMessage(alert);
+        // Then
+        assertThat(msg1, is(sameInstance(msg)));
+        assertThat(msg2, is(sameInstance(msg)));
+        verify(alert, times(1)).getMessage();
+    }
+
+    @Test
+    void shouldReadMessageAgainOnceEvictedFromCache() {
+        // Given
+        ReportHelper helper = new ReportHelper();
+        Alert alert = alertWithHistoryReference(1, new HttpMessage());
+        helper.getMessage(alert);
+        for (int i = 2; i <= 101; i++) {
+            helper.getMessage(alertWithHistoryReference(i, new HttpMessage()));
+        }
+        // When
+        helper.getMessage(alert);
+        // Then
+        verify(alert, times(2)).getMessage();
+    }
+
+    @Test
+    void shouldReturnNullIfAlertHasNoMessage() {
+        // Given
+        ReportHelper helper = new ReportHelper();
+        Alert alert = alertWithHistoryReference(1, null);
+        // When
+        HttpMessage msg = helper.getMessage(alert);
+        // Then
+        assertThat(msg, is(nullValue()));
+    }
+
+    private static Alert alertWithHistoryReference(int id, HttpMessage msg) {
+        HistoryReference historyRef = mock(HistoryReference.class);
+        given(historyRef.getHistoryId()).willReturn(id);
+        Alert alert = mock(Alert.class);
+        given(alert.getHistoryRef()).willReturn(historyRef);
+        given(alert.getMessage()).willReturn(msg);
+        return alert;
+    }
+
     private static String pngBase64(int width, int height) throws Exception {
         BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
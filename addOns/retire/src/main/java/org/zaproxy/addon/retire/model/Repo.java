@@ -29,32 +29,52 @@ import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import net.htmlparser.jericho.Element;
 import net.htmlparser.jericho.HTMLElementName;
 import net.htmlparser.jericho.Source;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.addon.commonlib.LiteralMatcher;
 import org.zaproxy.addon.retire.Result;
 import org.zaproxy.addon.retire.RetireUtil;
 
 public class Repo {
 
+    private static final Logger LOGGER = LogManager.getLogger(Repo.class);
+
     private static final String DONT_CHECK_NAME = "dont check";
 
+    private static final List<String> EXTRACTOR_TYPES =
+            List.of(Extractors.TYPE_URI, Extractors.TYPE_FILENAME, Extractors.TYPE_FILECONTENT);
+
+    /** The maximum number of content results kept, for contents seen more than once. */
+    private static final int MAX_CACHED_CONTENT_RESULTS = 1000;
+
     private final Map<String, RepoEntry> entries;
+    private final Map<String, ExtractorIndex> extractorIndexes;
+    private final Map<String, List<Pattern>> dontCheckPatterns;
+    private final Map<String, HashEntry> hashIndex;
+    private final Map<String, ContentResult> contentResults;
 
     public Repo(String resourcePath) throws IOException {
         try (InputStream in = Repo.class.getResourceAsStream(resourcePath);
@@ -62,12 +82,20 @@ public class Repo {
                         new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)); ) {
             entries = createEntries(reader);
         }
+        extractorIndexes = createExtractorIndexes(entries);
+        dontCheckPatterns = createDontCheckPatterns(entries);
+        hashIndex = createHashIndex(entries);
+        contentResults = createContentResultsCache();
     }
 
     public Repo(Path file) throws IOException {
         try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
             entries = createEntries(reader);
         }
+        extractorIndexes = createExtractorIndexes(entries);
+        dontCheckPatterns = createDontCheckPatterns(entries);
+        hashIndex = createHashIndex(entries);
+        contentResults = createContentResultsCache();
     }
 
     static Map<String, RepoEntry> createEntries(Reader reader) throws IOException {
@@ -79,6 +107,100 @@ public class Repo {
         }
     }
 
+    private static Map<String, ExtractorIndex> createExtractorIndexes(
+            Map<String, RepoEntry> entries) {
+        Map<String, ExtractorIndex> indexes = new HashMap<>();
+        for (String type : EXTRACTOR_TYPES) {
+            List<CompiledExtractor> extractors = new ArrayList<>();
+            Map<String, Integer> literalIds = new LinkedHashMap<>();
+            for (Map.Entry<String, RepoEntry> repoEntry : entries.entrySet()) {
+                Extractors entryExtractors = repoEntry.getValue().getExtractors();
+                if (entryExtractors == null) {
+                    continue;
+                }
+                for (Pattern pattern : compile(entryExtractors.get(type))) {
+                    String literal = LiteralMatcher.getRequiredLiteral(pattern.pattern());
+                    int literalId =
+                            literal == null
+                                    ? -1
+                                    : literalIds.computeIfAbsent(literal, k -> literalIds.size());
+                    extractors.add(
+                            new CompiledExtractor(
+                                    repoEntry.getKey(), repoEntry.getValue(), pattern, literalId));
+                }
+            }
+            indexes.put(
+                    type,
+                    new ExtractorIndex(
+                            extractors, new LiteralMatcher(new ArrayList<>(literalIds.keySet()))));
+        }
+        return indexes;
+    }
+
+    private static Map<String, List<Pattern>> createDontCheckPatterns(
+            Map<String, RepoEntry> entries) {
+        Map<String, List<Pattern>> patterns = new HashMap<>();
+        RepoEntry dc = entries.get(DONT_CHECK_NAME);
+        if (dc == null || dc.getExtractors() == null) {
+            return patterns;
+        }
+        for (String type : EXTRACTOR_TYPES) {
+            patterns.put(type, compile(dc.getExtractors().get(type)));
+        }
+        return patterns;
+    }
+
+    private static List<Pattern> compile(List<String> regexes) {
+        if (regexes == null || regexes.isEmpty()) {
+            return List.of();
+        }
+        List<Pattern> patterns = new ArrayList<>(regexes.size());
+        for (String regex : regexes) {
+            if (regex == null) {
+                continue;
+            }
+            try {
+                patterns.add(Pattern.compile(regex));
+            } catch (PatternSyntaxException e) {
+                LOGGER.warn("Ignoring invalid pattern: {}", regex, e);
+            }
+        }
+        return patterns;
+    }
+
+    private static Map<String, HashEntry> createHashIndex(Map<String, RepoEntry> entries) {
+        Map<String, HashEntry> index = new HashMap<>();
+        for (Map.Entry<String, RepoEntry> repoEntry : entries.entrySet()) {
+            Extractors extractors = repoEntry.getValue().getExtractors();
+            if (extractors == null) {
+                continue;
+            }
+            for (Entry<String, String> hashItem : extractors.getHashes().entrySet()) {
+                index.putIfAbsent(
+                        hashItem.getKey().toLowerCase(Locale.ROOT),
+                        new HashEntry(
+                                repoEntry.getKey(),
+                                repoEntry.getValue(),
+                                hashItem.getKey(),
+                                hashItem.getValue()));
+            }
+        }
+        return index;
+    }
+
+    private static Map<String, ContentResult> createContentResultsCache() {
+        return Collections.synchronizedMap(
+                new LinkedHashMap<>(MAX_CACHED_CONTENT_RESULTS, 0.75f, true) {
+
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, ContentResult> eldest) {
+                        return size() > MAX_CACHED_CONTENT_RESULTS;
+                    }
+                });
+    }
+
     public Result scanJS(HttpMessage msg) {
         return scanJS(msg, new Source(msg.getResponseBody().toString()));
     }
@@ -90,27 +212,36 @@ public class Repo {
      * 3)Matching vulnerability is found in database for JS file content, if YES return HashSet of related info.
      * 4)Matching vulnerability is found in database for JS file hash, if YES return HashSet of related info .
      * 5)Return empty HashSet.
+     *
+     * The results of the content (3 and 4) are cached by the hash of the content, the same
+     * content is usually served under different URLs.
      */
     public Result scanJS(HttpMessage msg, Source source) {
 
         String uri = msg.getRequestHeader().getURI().toString();
         String fileName = RetireUtil.getFileName(msg.getRequestHeader().getURI());
-        String content = getCleanContent(msg, source);
-        Result result;
 
         // Check if included in don't check section
-        HashMap<String, String> msginfo = new HashMap<>();
-        msginfo.put(Extractors.TYPE_URI, uri);
-        if (fileName != null) {
-            msginfo.put(Extractors.TYPE_FILENAME, fileName);
+        if (dontcheck(Extractors.TYPE_URI, uri)
+                || (fileName != null && dontcheck(Extractors.TYPE_FILENAME, fileName))) {
+            return null;
         }
-        msginfo.put(Extractors.TYPE_FILECONTENT, content);
 
-        if (dontcheck(msginfo)) {
+        String hash = RetireUtil.getHash(msg.getResponseBody().getBytes());
+        String contentKey = (msg.getResponseHeader().isHtml() ? "html:" : "") + hash;
+        ContentResult contentResult = contentResults.get(contentKey);
+        String content = null;
+        if (contentResult == null) {
+            content = getCleanContent(msg, source);
+            if (dontcheck(Extractors.TYPE_FILECONTENT, content)) {
+                contentResults.put(contentKey, ContentResult.DONT_CHECK);
+                return null;
+            }
+        } else if (contentResult == ContentResult.DONT_CHECK) {
             return null;
         }
 
-        result = scan(Extractors.TYPE_URI, uri);
+        Result result = scan(Extractors.TYPE_URI, uri);
         if (result != null) {
             return result;
         }
@@ -122,13 +253,15 @@ public class Repo {
             return result;
         }
 
-        result = scan(Extractors.TYPE_FILECONTENT, content);
-        if (result != null) {
-            return result;
+        if (contentResult == null) {
+            result = scan(Extractors.TYPE_FILECONTENT, content);
+            if (result == null) {
+                result = scanHash(hash);
+            }
+            contentResult = new ContentResult(result);
+            contentResults.put(contentKey, contentResult);
         }
-
-        String hash = RetireUtil.getHash(msg.getResponseBody().getBytes());
-        return scanHash(hash);
+        return contentResult.result;
     }
 
     private static String getCleanContent(HttpMessage msg, Source source) {
@@ -151,28 +284,16 @@ public class Repo {
      */
     private Result scanHash(String hash) {
         // Testable URL: https://ajax.googleapis.com/ajax/libs/dojo/1.1.1/dojo/dojo.js
-        for (Map.Entry<String, RepoEntry> repoEntry : entries.entrySet()) {
-            Map<String, String> hashes = repoEntry.getValue().getExtractors().getHashes();
-
-            if (hashes != null && !hashes.isEmpty()) {
-                for (Entry<String, String> hashItem : hashes.entrySet()) {
-                    Map.Entry<String, String> hashEntry = hashItem;
-                    List<Vulnerability> vulnerabilities = repoEntry.getValue().getVulnerabilities();
-
-                    if (hash.equalsIgnoreCase(hashEntry.getKey())) {
-                        VulnerabilityData vulnData =
-                                isVersionVulnerable(vulnerabilities, hashEntry.getValue());
-                        Result result =
-                                new Result(repoEntry.getKey(), hashEntry.getValue(), vulnData, "");
-                        result.setOtherinfo(
-                                Constant.messages.getString(
-                                        "retire.rule.otherinfo.hash", hashEntry.getKey()));
-                        return result;
-                    }
-                }
-            }
+        HashEntry hashEntry = hashIndex.get(hash.toLowerCase(Locale.ROOT));
+        if (hashEntry == null) {
+            return null;
         }
-        return null;
+        VulnerabilityData vulnData =
+                isVersionVulnerable(hashEntry.entry.getVulnerabilities(), hashEntry.version);
+        Result result = new Result(hashEntry.name, hashEntry.version, vulnData, "");
+        result.setOtherinfo(
+                Constant.messages.getString("retire.rule.otherinfo.hash", hashEntry.hash));
+        return result;
     }
 
     /*
@@ -181,37 +302,22 @@ public class Repo {
      * FileName OR FileURL OR FileContent
      */
     private Result scan(String extractorType, String input) {
-        // reading each entry for JS libraries in repo
-        for (Map.Entry<String, RepoEntry> repoEntry : entries.entrySet()) {
-            List<String> extractors = repoEntry.getValue().getExtractors().get(extractorType);
-
-            // Reading all regexes with this extractor type (i.e. fileURI, fileName or fileContent
-            // for
-            // this particular JS library
-            if (extractors != null && !extractors.isEmpty()) {
-                ListIterator<String> iterator = extractors.listIterator();
-                while (iterator.hasNext()) {
-                    String regex = iterator.next();
-                    if (regex != null) {
-                        Pattern pattern = Pattern.compile(regex);
-                        Matcher matcher = pattern.matcher(input);
-                        if (matcher.find()) {
-                            String versionString = matcher.group(1);
-
-                            // Now try to determine if this version is vulnerable
-                            List<Vulnerability> vulnerabilities =
-                                    repoEntry.getValue().getVulnerabilities();
-                            VulnerabilityData vulnData =
-                                    isVersionVulnerable(vulnerabilities, versionString);
-                            if (!vulnData.isEmpty()) {
-                                return new Result(
-                                        repoEntry.getKey(),
-                                        versionString,
-                                        vulnData,
-                                        matcher.group(0));
-                            }
-                        }
-                    }
+        ExtractorIndex index = extractorIndexes.get(extractorType);
+        // Only the regexes whose required literal is present in the input can match
+        BitSet literals = index.literals.match(input);
+        for (CompiledExtractor extractor : index.extractors) {
+            if (extractor.literalId != -1 && !literals.get(extractor.literalId)) {
+                continue;
+            }
+            Matcher matcher = extractor.pattern.matcher(input);
+            if (matcher.find()) {
+                String versionString = matcher.group(1);
+
+                // Now try to determine if this version is vulnerable
+                VulnerabilityData vulnData =
+                        isVersionVulnerable(extractor.entry.getVulnerabilities(), versionString);
+                if (!vulnData.isEmpty()) {
+                    return new Result(extractor.name, versionString, vulnData, matcher.group(0));
                 }
             }
         }
@@ -222,28 +328,10 @@ public class Repo {
      * This function informs whether to scan a JS library at all. There are certain
      * libraries designated "dont check", so just ignore those.
      */
-    private boolean dontcheck(HashMap<String, String> msginfo) {
-        List<String> matches = null;
-
-        RepoEntry dc = entries.get(DONT_CHECK_NAME);
-        Extractors extractors = dc.getExtractors();
-
-        // iterating over extractors
-        for (Entry<String, String> criterion : msginfo.entrySet()) {
-            matches = extractors.get(criterion.getKey());
-            if (matches != null && !matches.isEmpty()) {
-                Iterator<String> iterator = matches.iterator();
-                while (iterator.hasNext()) {
-                    String next = iterator.next();
-                    if (next != null) {
-                        Pattern p = Pattern.compile(next);
-                        Matcher m = p.matcher(criterion.getValue());
-                        // doing a match for each filename regex
-                        if (m.find()) {
-                            return true;
-                        }
-                    }
-                }
+    private boolean dontcheck(String extractorType, String input) {
+        for (Pattern pattern : dontCheckPatterns.getOrDefault(extractorType, List.of())) {
+            if (pattern.matcher(input).find()) {
+                return true;
             }
         }
         return false;
@@ -312,6 +400,58 @@ public class Repo {
         return entries;
     }
 
+    private static class CompiledExtractor {
+
+        private final String name;
+        private final RepoEntry entry;
+        private final Pattern pattern;
+        private final int literalId;
+
+        CompiledExtractor(String name, RepoEntry entry, Pattern pattern, int literalId) {
+            this.name = name;
+            this.entry = entry;
+            this.pattern = pattern;
+            this.literalId = literalId;
+        }
+    }
+
+    private static class ExtractorIndex {
+
+        private final List<CompiledExtractor> extractors;
+        private final LiteralMatcher literals;
+
+        ExtractorIndex(List<CompiledExtractor> extractors, LiteralMatcher literals) {
+            this.extractors = extractors;
+            this.literals = literals;
+        }
+    }
+
+    private static class HashEntry {
+
+        private final String name;
+        private final RepoEntry entry;
+        private final String hash;
+        private final String version;
+
+        HashEntry(String name, RepoEntry entry, String hash, String version) {
+            this.name = name;
+            this.entry = entry;
+            this.hash = hash;
+            this.version = version;
+        }
+    }
+
+    private static class ContentResult {
+
+        private static final ContentResult DONT_CHECK = new ContentResult(null);
+
+        private final Result result;
+
+        ContentResult(Result result) {
+            this.result = result;
+        }
+    }
+
     public static class VulnerabilityData {
         public static final VulnerabilityData EMPTY = new VulnerabilityData();
 
@@ -23,11 +23,13 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 import java.io.IOException;
 import java.io.Reader;
@@ -35,8 +37,12 @@ import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import org.apache.commons.httpclient.URI;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HttpHeader;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.addon.retire.Result;
 
 /** Unit test for {@link Repo}. */
 class RepoUnitTest {
@@ -147,6 +153,41 @@ class RepoUnitTest {
         assertThat(extractors.getUri(), contains("uri 1", "uri 2", "[0-9][0-9a-z._\\-]+?"));
     }
 
+    @Test
+    void shouldScanSameContentOnDifferentUrlsJustOnce() throws Exception {
+        // Given
+        Repo repo = new Repo("/org/zaproxy/addon/retire/testrepository.json");
+        String content = "/*!\n * Bootstrap v3.3.7 (http://getbootstrap.com)\n */";
+        Result result = repo.scanJS(createMessage("http://example.com/a.js", content));
+        // When
+        Result otherResult = repo.scanJS(createMessage("http://example.org/dir/b.js", content));
+        // Then
+        assertThat(result, is(notNullValue()));
+        assertThat(result.getVersion(), is(equalTo("3.3.7")));
+        assertThat(otherResult, is(sameInstance(result)));
+    }
+
+    @Test
+    void shouldNotScanContentOfDifferentType() throws Exception {
+        // Given
+        Repo repo = new Repo("/org/zaproxy/addon/retire/testrepository.json");
+        String content = "/*!\n * Bootstrap v3.3.7 (http://getbootstrap.com)\n */";
+        repo.scanJS(createMessage("http://example.com/a.js", content));
+        HttpMessage htmlMsg = createMessage("http://example.com/", content);
+        htmlMsg.getResponseHeader().setHeader(HttpHeader.CONTENT_TYPE, "text/html");
+        // When
+        Result result = repo.scanJS(htmlMsg);
+        // Then
+        assertThat(result, is(nullValue()));
+    }
+
+    private static HttpMessage createMessage(String url, String body) throws Exception {
+        HttpMessage msg = new HttpMessage(new URI(url, true));
+        msg.setResponseHeader("HTTP/1.1 200 OK\r\nContent-Type: text/javascript\r\n");
+        msg.setResponseBody(body);
+        return msg;
+    }
+
     private static Reader reader(String fileName) throws IOException {
         String content;
         try (var is = RepoUnitTest.class.getResourceAsStream("samples/" + fileName)) {
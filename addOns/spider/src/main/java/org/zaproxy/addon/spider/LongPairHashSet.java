@@ -0,0 +1,206 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.spider;
+
+/**
+ * A concurrent set of pairs of {@code long}s, for example, 128-bit hashes.
+ *
+ * <p>The pairs are kept in primitive arrays, using open addressing, split in segments that are
+ * locked independently, so threads adding different pairs do not usually contend.
+ */
+class LongPairHashSet {
+
+    private static final int SEGMENTS = 64;
+    private static final int INITIAL_SEGMENT_CAPACITY = 64;
+
+    private final Segment[] segments;
+
+    LongPairHashSet() {
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Adds the given pair, if not already present.
+     *
+     * @param high the high bits of the pair.
+     * @param low the low bits of the pair.
+     * @return {@code true} if the pair was added, {@code false} if already present.
+     */
+    boolean add(long high, long low) {
+        return segmentFor(high).add(high, low);
+    }
+
+    /**
+     * Tells whether or not the given pair is present.
+     *
+     * @param high the high bits of the pair.
+     * @param low the low bits of the pair.
+     * @return {@code true} if the pair is present, {@code false} otherwise.
+     */
+    boolean contains(long high, long low) {
+        return segmentFor(high).contains(high, low);
+    }
+
+    private Segment segmentFor(long high) {
+        return segments[(int) (high >>> 58)];
+    }
+
+    /**
+     * Gets the number of pairs in the set.
+     *
+     * @return the number of pairs.
+     */
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the approximate memory, in bytes, used by the set.
+     *
+     * @return the memory used, in bytes.
+     */
+    long getMemoryUsage() {
+        long memory = 0;
+        for (Segment segment : segments) {
+            memory += segment.getMemoryUsage();
+        }
+        return memory;
+    }
+
+    /** Removes all the pairs, releasing the memory used. */
+    void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private static class Segment {
+
+        // Array header plus the reference to it.
+        private static final int TABLE_OVERHEAD = 24;
+
+        private long[] table;
+        private int mask;
+        private int size;
+        private boolean containsZero;
+
+        Segment() {
+            init();
+        }
+
+        private void init() {
+            table = new long[INITIAL_SEGMENT_CAPACITY * 2];
+            mask = INITIAL_SEGMENT_CAPACITY - 1;
+            size = 0;
+            containsZero = false;
+        }
+
+        synchronized boolean add(long high, long low) {
+            if (high == 0 && low == 0) {
+                if (containsZero) {
+                    return false;
+                }
+                containsZero = true;
+                size++;
+                return true;
+            }
+
+            int slot = indexOf(table, mask, high, low);
+            if (table[slot] != 0 || table[slot + 1] != 0) {
+                return false;
+            }
+            table[slot] = high;
+            table[slot + 1] = low;
+            size++;
+
+            if (size * 4L >= (mask + 1) * 3L) {
+                resize();
+            }
+            return true;
+        }
+
+        synchronized boolean contains(long high, long low) {
+            if (high == 0 && low == 0) {
+                return containsZero;
+            }
+            int slot = indexOf(table, mask, high, low);
+            return table[slot] != 0 || table[slot + 1] != 0;
+        }
+
+        /**
+         * Gets the index of the slot of the given pair, either the slot where it is or the empty
+         * slot where it should be added.
+         */
+        private static int indexOf(long[] table, int mask, long high, long low) {
+            int i = mix(low) & mask;
+            while (true) {
+                int slot = i * 2;
+                long slotHigh = table[slot];
+                long slotLow = table[slot + 1];
+                if ((slotHigh == high && slotLow == low) || (slotHigh == 0 && slotLow == 0)) {
+                    return slot;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        private static int mix(long value) {
+            long h = value * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        private void resize() {
+            long[] oldTable = table;
+            int newCapacity = (mask + 1) * 2;
+            long[] newTable = new long[newCapacity * 2];
+            int newMask = newCapacity - 1;
+            for (int slot = 0; slot < oldTable.length; slot += 2) {
+                long high = oldTable[slot];
+                long low = oldTable[slot + 1];
+                if (high != 0 || low != 0) {
+                    int newSlot = indexOf(newTable, newMask, high, low);
+                    newTable[newSlot] = high;
+                    newTable[newSlot + 1] = low;
+                }
+            }
+            table = newTable;
+            mask = newMask;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long getMemoryUsage() {
+            return table.length * (long) Long.BYTES + TABLE_OVERHEAD;
+        }
+
+        synchronized void clear() {
+            init();
+        }
+    }
+}
@@ -70,6 +70,7 @@ public class OptionsSpiderPanel extends AbstractParamPanel {
     private ZapNumberSpinner durationNumberSpinner;
     private ZapNumberSpinner maxChildrenNumberSpinner;
     private ZapNumberSpinner maxParseSizeBytesNumberSpinner;
+    private ZapNumberSpinner maxConnectionsPerHostNumberSpinner;
     private JCheckBox chkPostForm;
     private JCheckBox chkProcessForm;
     private JCheckBox parseComments;
@@ -82,6 +83,7 @@ public class OptionsSpiderPanel extends AbstractParamPanel {
     private JCheckBox chkSendRefererHeader;
     private JCheckBox chkAcceptCookies;
     private JCheckBox chkLogoutAvoidance;
+    private JCheckBox chkHashVisitedResources;
     private DomainsAlwaysInScopeMultipleOptionsPanel domainsAlwaysInScopePanel;
     private DomainsAlwaysInScopeTableModel domainsAlwaysInScopeTableModel;
     private IrrelevantParametersMultipleOptionsPanel irrelevantQueryParametersPanel;
@@ -164,6 +166,14 @@ public class OptionsSpiderPanel extends AbstractParamPanel {
             inlineOptionsPanel.add(
                     getMaxParseSizeBytesNumberSpinner(), LayoutHelper.getGBC(1, 3, 1, 1.0D));
 
+            inlineOptionsPanel.add(
+                    new JLabel(
+                            Constant.messages.getString(
+                                    "spider.options.label.maxConnectionsPerHost")),
+                    LayoutHelper.getGBC(0, 4, 1, 1.0D));
+            inlineOptionsPanel.add(
+                    getMaxConnectionsPerHostNumberSpinner(), LayoutHelper.getGBC(1, 4, 1, 1.0D));
+
             innerPanel.add(inlineOptionsPanel, gbc);
 
             innerPanel.add(domainsLabel, gbc);
@@ -188,6 +198,7 @@ public class OptionsSpiderPanel extends AbstractParamPanel {
             innerPanel.add(getChkParseDsStore(), gbc);
             innerPanel.add(getHandleODataSpecificParameters(), gbc);
             innerPanel.add(getChkLogoutAvoidance(), gbc);
+            innerPanel.add(getChkHashVisitedResources(), gbc);
 
             innerPanel.add(
                     new JLabel(
@@ -218,6 +229,7 @@ public class OptionsSpiderPanel extends AbstractParamPanel {
         getDurationNumberSpinner().setValue(param.getMaxDuration());
         getMaxChildrenNumberSpinner().setValue(param.getMaxChildren());
         getMaxParseSizeBytesNumberSpinner().setValue(param.getMaxParseSizeBytes());
+        getMaxConnectionsPerHostNumberSpinner().setValue(param.getMaxConnectionsPerHost());
         getDomainsAlwaysInScopeTableModel()
                 .setDomainsAlwaysInScope(param.getDomainsAlwaysInScope());
         getDomainsAlwaysInScopePanel()
@@ -235,6 +247,7 @@ public class OptionsSpiderPanel extends AbstractParamPanel {
         getComboHandleParameters().setSelectedItem(param.getHandleParameters());
         getHandleODataSpecificParameters().setSelected(param.isHandleODataParametersVisited());
         getChkLogoutAvoidance().setSelected(param.isLogoutAvoidance());
+        getChkHashVisitedResources().setSelected(param.isHashVisitedResources());
         getIrrelevantQueryParametersPanel()
                 .setIrrelevantParameters(param.getIrrelevantParameters());
         getIrrelevantQueryParametersPanel()
@@ -250,6 +263,7 @@ public class OptionsSpiderPanel extends AbstractParamPanel {
         param.setMaxDuration(getDurationNumberSpinner().getValue());
         param.setMaxChildren(getMaxChildrenNumberSpinner().getValue());
         param.setMaxParseSizeBytes(getMaxParseSizeBytesNumberSpinner().getValue());
+        param.setMaxConnectionsPerHost(getMaxConnectionsPerHostNumberSpinner().getValue());
         param.setDomainsAlwaysInScope(
                 getDomainsAlwaysInScopeTableModel().getDomainsAlwaysInScope());
         param.setConfirmRemoveDomainAlwaysInScope(
@@ -268,6 +282,7 @@ public class OptionsSpiderPanel extends AbstractParamPanel {
                 (HandleParametersOption) getComboHandleParameters().getSelectedItem());
         param.setHandleODataParametersVisited(getHandleODataSpecificParameters().isSelected());
         param.setLogoutAvoidance(getChkLogoutAvoidance().isSelected());
+        param.setHashVisitedResources(getChkHashVisitedResources().isSelected());
         param.setIrrelevantParameters(
                 getIrrelevantQueryParametersPanel().getIrrelevantParameters());
         param.setConfirmRemoveIrrelevantParameter(
@@ -330,6 +345,13 @@ public class OptionsSpiderPanel extends AbstractParamPanel {
         return maxParseSizeBytesNumberSpinner;
     }
 
+    private ZapNumberSpinner getMaxConnectionsPerHostNumberSpinner() {
+        if (maxConnectionsPerHostNumberSpinner == null) {
+            maxConnectionsPerHostNumberSpinner = new ZapNumberSpinner(0, 0, Integer.MAX_VALUE);
+        }
+        return maxConnectionsPerHostNumberSpinner;
+    }
+
     private JCheckBox getChkSendRefererHeader() {
         if (chkSendRefererHeader == null) {
             chkSendRefererHeader =
@@ -357,6 +379,16 @@ public class OptionsSpiderPanel extends AbstractParamPanel {
         return chkLogoutAvoidance;
     }
 
+    private JCheckBox getChkHashVisitedResources() {
+        if (chkHashVisitedResources == null) {
+            chkHashVisitedResources =
+                    new JCheckBox(
+                            Constant.messages.getString(
+                                    "spider.options.label.hashVisitedResources"));
+        }
+        return chkHashVisitedResources;
+    }
+
     /**
      * This method initializes the checkbox for POST form option. This option should not be enabled
      * if the forms are not processed at all.
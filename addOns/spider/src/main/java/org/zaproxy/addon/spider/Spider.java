@@ -19,6 +19,7 @@
  */
 package org.zaproxy.addon.spider;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -26,9 +27,11 @@ import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
@@ -83,6 +86,12 @@ public class Spider {
     /** The thread pool for spider workers. */
     private ExecutorService threadPool;
 
+    /** The scheduler of the tasks, per host. */
+    private SpiderHostScheduler scheduler;
+
+    /** The timer used by the scheduler, to execute the tasks of hosts that backed off. */
+    private ScheduledExecutorService schedulerTimer;
+
     /** The default fetch filter. */
     private DefaultFetchFilter defaultFetchFilter;
 
@@ -104,6 +113,15 @@ public class Spider {
     /** The total count of all the submitted tasks. */
     private int tasksTotalCount;
 
+    /**
+     * The maximum size, in bytes, of the requests of the tasks kept in memory, the requests of the
+     * other tasks are persisted in the database until executed.
+     */
+    static final long MAX_TASKS_MEMORY_BYTES = 64L * 1024 * 1024;
+
+    /** The size, in bytes, of the requests of the tasks kept in memory. */
+    private final AtomicLong tasksMemoryBytes = new AtomicLong();
+
     /** The scan context. If null, the scan is not performed in a context. */
     private Context scanContext;
 
@@ -453,22 +471,82 @@ public class Spider {
     protected synchronized void submitTask(SpiderTask task) {
         if (isStopped()) {
             LOGGER.debug("Submitting task skipped ({}) as the Spider process is stopped.", task);
+            task.cleanup();
             return;
         }
         if (isTerminated()) {
             LOGGER.debug("Submitting task skipped ({}) as the Spider process is terminated.", task);
+            task.cleanup();
             return;
         }
         this.tasksTotalCount++;
+        if (!scheduler.submit(task)) {
+            LOGGER.debug("Submitted task was rejected ({}), scheduler is shutdown.", task);
+            task.cleanup();
+        }
+    }
+
+    /**
+     * Executes the given task, called by the scheduler once the host of the task has capacity.
+     *
+     * @param task the task.
+     */
+    private void executeTask(SpiderTask task) {
+        ExecutorService pool = this.threadPool;
         try {
-            this.threadPool.execute(task);
+            if (pool == null) {
+                throw new RejectedExecutionException("No thread pool.");
+            }
+            pool.execute(task);
         } catch (RejectedExecutionException e) {
             LOGGER.debug(
-                    "Submitted task was rejected ({}), spider state: [stopped={}, terminated={}].",
+                    "Submitted task was rejected ({}), spider state: [stopped={}].",
                     task,
-                    isStopped(),
-                    isTerminated());
+                    isStopped());
+            task.cleanup();
+            scheduler.taskFinished(task);
+        }
+    }
+
+    /**
+     * Gets the statistics of the hosts crawled.
+     *
+     * @return the statistics, never {@code null}.
+     * @since 0.21.0
+     */
+    public List<SpiderHostStats> getHostStats() {
+        SpiderHostScheduler currentScheduler = scheduler;
+        if (currentScheduler == null) {
+            return Collections.emptyList();
         }
+        return currentScheduler.getHostStats();
+    }
+
+    /**
+     * Reserves memory to keep the request of a task, while waiting to be executed.
+     *
+     * @param bytes the size of the request, in bytes.
+     * @return {@code true} if the request can be kept in memory, {@code false} if it should be
+     *     persisted instead.
+     * @see #releaseTaskMemory(long)
+     */
+    boolean reserveTaskMemory(long bytes) {
+        long reserved = tasksMemoryBytes.addAndGet(bytes);
+        if (reserved > MAX_TASKS_MEMORY_BYTES) {
+            tasksMemoryBytes.addAndGet(-bytes);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Releases the memory reserved for the request of a task.
+     *
+     * @param bytes the size of the request, in bytes.
+     * @see #reserveTaskMemory(long)
+     */
+    void releaseTaskMemory(long bytes) {
+        tasksMemoryBytes.addAndGet(-bytes);
     }
 
     /**
@@ -506,6 +584,7 @@ public class Spider {
                     scanUser.getName());
 
         this.controller.init();
+        this.tasksMemoryBytes.set(0);
         this.stopped = false;
         this.paused = false;
         this.initialized = false;
@@ -515,6 +594,15 @@ public class Spider {
                 Executors.newFixedThreadPool(
                         spiderParam.getThreadCount(),
                         new SpiderThreadFactory("ZAP-SpiderThreadPool-" + id + "-thread-"));
+        this.schedulerTimer =
+                Executors.newSingleThreadScheduledExecutor(
+                        new SpiderThreadFactory("ZAP-SpiderScheduler-" + id + "-thread-"));
+        this.scheduler =
+                new SpiderHostScheduler(
+                        this::executeTask,
+                        spiderParam.getThreadCount(),
+                        spiderParam.getMaxConnectionsPerHost(),
+                        schedulerTimer);
 
         // Initialize the HTTP sender
         httpSender = new HttpSender(HttpSender.SPIDER_INITIATOR);
@@ -573,7 +661,11 @@ public class Spider {
             this.resume();
         }
 
-        // Issue the shutdown command
+        // Discard the tasks not yet executed and issue the shutdown command
+        for (SpiderTask task : scheduler.shutdown()) {
+            task.cleanup();
+        }
+        schedulerTimer.shutdownNow();
         this.threadPool.shutdown();
         try {
             if (!this.threadPool.awaitTermination(2, TimeUnit.SECONDS)) {
@@ -615,6 +707,8 @@ public class Spider {
                         new Runnable() {
                             @Override
                             public void run() {
+                                scheduler.shutdown();
+                                schedulerTimer.shutdownNow();
                                 if (threadPool != null) {
                                     threadPool.shutdown();
                                 }
@@ -707,6 +801,18 @@ public class Spider {
         }
     }
 
+    /**
+     * This method is run by each thread in the Thread Pool after the execution of the given task.
+     * Notifies the scheduler that the task finished, to execute other tasks, and then proceeds as
+     * {@link #postTaskExecution()}. Called from the SpiderTask.
+     *
+     * @param task the task executed.
+     */
+    void postTaskExecution(SpiderTask task) {
+        scheduler.taskFinished(task);
+        postTaskExecution();
+    }
+
     /**
      * This method is run by each thread in the Thread Pool after the task execution. Particularly,
      * it notifies the listeners of the progress and checks if the scan is complete. Called from the
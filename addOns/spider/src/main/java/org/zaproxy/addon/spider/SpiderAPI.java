@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.PatternSyntaxException;
@@ -109,6 +110,7 @@ public class SpiderAPI extends ApiImplementor {
     private static final String VIEW_SCANS = "scans";
     private static final String VIEW_ALL_URLS = "allUrls";
     private static final String VIEW_ADDED_NODES = "addedNodes";
+    private static final String VIEW_HOST_STATS = "hostStats";
 
     private static final String VIEW_DOMAINS_ALWAYS_IN_SCOPE = "domainsAlwaysInScope";
     private static final String VIEW_OPTION_DOMAINS_ALWAYS_IN_SCOPE = "optionDomainsAlwaysInScope";
@@ -203,6 +205,7 @@ public class SpiderAPI extends ApiImplementor {
         this.addApiView(new ApiView(VIEW_EXCLUDED_FROM_SCAN));
         this.addApiView(new ApiView(VIEW_ALL_URLS));
         this.addApiView(new ApiView(VIEW_ADDED_NODES, null, new String[] {PARAM_SCAN_ID}));
+        this.addApiView(new ApiView(VIEW_HOST_STATS, null, new String[] {PARAM_SCAN_ID}));
 
         this.addApiView(new ApiView(VIEW_DOMAINS_ALWAYS_IN_SCOPE));
         ApiView view = new ApiView(VIEW_OPTION_DOMAINS_ALWAYS_IN_SCOPE);
@@ -701,6 +704,24 @@ public class SpiderAPI extends ApiImplementor {
             for (String s : scan.getAddedNodesTableModel().getAddedNodes()) {
                 ((ApiResponseList) result).addItem(new ApiResponseElement("url", s));
             }
+        } else if (VIEW_HOST_STATS.equals(name)) {
+            ApiResponseList resultList = new ApiResponseList(name);
+            SpiderScan scan = this.getSpiderScan(params);
+            for (SpiderHostStats hostStats : scan.getHostStats()) {
+                Map<String, String> map = new HashMap<>();
+                map.put("host", hostStats.getHost());
+                map.put("queued", Integer.toString(hostStats.getQueued()));
+                map.put("active", Integer.toString(hostStats.getActive()));
+                map.put("concurrency", Integer.toString(hostStats.getConcurrency()));
+                map.put("completed", Long.toString(hostStats.getCompleted()));
+                map.put("throttled", Long.toString(hostStats.getThrottled()));
+                map.put("averageLatency", Long.toString(hostStats.getAverageLatency()));
+                map.put(
+                        "throughput",
+                        String.format(Locale.ROOT, "%.2f", hostStats.getThroughput()));
+                resultList.addItem(new ApiResponseSet<>("host", map));
+            }
+            result = resultList;
         } else if (VIEW_DOMAINS_ALWAYS_IN_SCOPE.equals(name)
                 || VIEW_OPTION_DOMAINS_ALWAYS_IN_SCOPE.equals(name)) {
             result =
@@ -20,11 +20,9 @@
 package org.zaproxy.addon.spider;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
-import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import net.htmlparser.jericho.Config;
@@ -56,6 +54,7 @@ import org.zaproxy.addon.spider.parser.SpiderTextParser;
 import org.zaproxy.zap.model.NameValuePair;
 import org.zaproxy.zap.model.ParameterParser;
 import org.zaproxy.zap.model.StandardParameterParser;
+import org.zaproxy.zap.utils.Stats;
 
 /**
  * The SpiderController is used to manage the crawling process and interacts directly with the
@@ -82,12 +81,21 @@ public class SpiderController implements SpiderParserListener {
     /** The spider. */
     private Spider spider;
 
-    /** The resources visited as a set. */
-    private Set<String> visitedResources;
+    /** The resources visited. */
+    private final VisitedResources visitedResources;
 
     /** The Constant log. */
     private static final Logger LOGGER = LogManager.getLogger(SpiderController.class);
 
+    /** The statistic with the highest number of resources visited by a spider process. */
+    static final String VISITED_ENTRIES_STATS = "stats.spider.visited.entries";
+
+    /**
+     * The statistic with the highest approximate memory, in bytes, used per resource visited by a
+     * spider process.
+     */
+    static final String VISITED_BYTES_PER_ENTRY_STATS = "stats.spider.visited.bytesPerEntry";
+
     private static final ParameterParser DEFAULT_PARAMETER_PARSER = new StandardParameterParser();
 
     private final Function<SpiderResourceFound, String> bodyNormalizer;
@@ -103,7 +111,8 @@ public class SpiderController implements SpiderParserListener {
         this.spider = spider;
         this.fetchFilters = new LinkedList<>();
         this.parseFilters = new LinkedList<>();
-        this.visitedResources = new HashSet<>();
+        this.visitedResources =
+                VisitedResources.create(spider.getSpiderParam().isHashVisitedResources());
 
         prepareDefaultParsers();
         for (SpiderParser parser : customParsers) {
@@ -244,13 +253,9 @@ public class SpiderController implements SpiderParserListener {
         } catch (URIException e) {
             return;
         }
-        synchronized (visitedResources) {
-            if (visitedResources.contains(resourceIdentifier)) {
-                LOGGER.debug("URI already visited: {}", uri);
-                return;
-            } else {
-                visitedResources.add(resourceIdentifier);
-            }
+        if (!visitedResources.add(resourceIdentifier)) {
+            LOGGER.debug("URI already visited: {}", uri);
+            return;
         }
         // Create and submit the new task
         SpiderTask task = new SpiderTask(spider, resourceFound, uri);
@@ -316,6 +321,12 @@ public class SpiderController implements SpiderParserListener {
 
     /** Clears the previous process. */
     public void reset() {
+        int visited = visitedResources.size();
+        if (visited > 0) {
+            Stats.setHighwaterMark(VISITED_ENTRIES_STATS, visited);
+            Stats.setHighwaterMark(
+                    VISITED_BYTES_PER_ENTRY_STATS, visitedResources.getBytesPerEntry());
+        }
         visitedResources.clear();
 
         for (SpiderParser parser : parsers) {
@@ -323,6 +334,10 @@ public class SpiderController implements SpiderParserListener {
         }
     }
 
+    VisitedResources getVisitedResources() {
+        return visitedResources;
+    }
+
     /**
      * Builds a canonical identifier for found resources considering the method, URI, headers, and
      * body.
@@ -368,13 +383,9 @@ public class SpiderController implements SpiderParserListener {
         } catch (URIException e) {
             return;
         }
-        synchronized (visitedResources) {
-            if (visitedResources.contains(resourceIdentifier)) {
-                LOGGER.debug("Resource already visited: {}", resourceIdentifier.trim());
-                return;
-            } else {
-                visitedResources.add(resourceIdentifier);
-            }
+        if (!visitedResources.add(resourceIdentifier)) {
+            LOGGER.debug("Resource already visited: {}", resourceIdentifier.trim());
+            return;
         }
 
         // Check if any of the filters disallows this uri
@@ -0,0 +1,402 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.spider;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import org.apache.commons.httpclient.URI;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Schedules the spider tasks, per host.
+ *
+ * <p>The tasks are queued per host and executed in round-robin across the hosts, so that a slow
+ * host does not take all the threads while the other hosts are idle. Each host has a maximum number
+ * of tasks executing at the same time, reduced when the host asks to back off (429 or 503 status
+ * codes) or when it starts responding slower, and increased again as the host responds normally.
+ */
+class SpiderHostScheduler {
+
+    private static final Logger LOGGER = LogManager.getLogger(SpiderHostScheduler.class);
+
+    static final long INITIAL_BACKOFF_MS = 1000;
+    static final long MAX_BACKOFF_MS = 60_000;
+
+    /** The number of responses used to establish the normal latency of a host. */
+    private static final int LATENCY_BASELINE_SAMPLES = 5;
+
+    private static final double LATENCY_ALPHA = 0.2;
+
+    /** The factor, over the normal latency, that a host is considered to be responding slower. */
+    private static final double LATENCY_RISE_FACTOR = 3;
+
+    /** The minimum latency, in milliseconds, that a host is considered to be responding slower. */
+    private static final long MIN_SLOW_LATENCY_MS = 500;
+
+    private final Consumer<SpiderTask> executor;
+    private final int maxTasks;
+    private final int maxTasksPerHost;
+    private final ScheduledExecutorService timer;
+    private final LongSupplier nanoTime;
+
+    private final Map<String, HostQueue> hosts;
+    private final ArrayDeque<HostQueue> readyHosts;
+    private int running;
+    private boolean wakeUpScheduled;
+    private long wakeUpTime;
+    private boolean shutdown;
+
+    /**
+     * Constructs a {@code SpiderHostScheduler} with the given data.
+     *
+     * @param executor the executor of the tasks.
+     * @param maxTasks the maximum number of tasks executing at the same time.
+     * @param maxTasksPerHost the maximum number of tasks executing at the same time per host, 0 to
+     *     be limited only by {@code maxTasks}.
+     * @param timer the timer used to execute the tasks of hosts that backed off.
+     */
+    SpiderHostScheduler(
+            Consumer<SpiderTask> executor,
+            int maxTasks,
+            int maxTasksPerHost,
+            ScheduledExecutorService timer) {
+        this(executor, maxTasks, maxTasksPerHost, timer, System::nanoTime);
+    }
+
+    SpiderHostScheduler(
+            Consumer<SpiderTask> executor,
+            int maxTasks,
+            int maxTasksPerHost,
+            ScheduledExecutorService timer,
+            LongSupplier nanoTime) {
+        this.executor = executor;
+        this.maxTasks = Math.max(1, maxTasks);
+        this.maxTasksPerHost =
+                maxTasksPerHost > 0 ? Math.min(maxTasksPerHost, this.maxTasks) : this.maxTasks;
+        this.timer = timer;
+        this.nanoTime = nanoTime;
+        this.hosts = new LinkedHashMap<>();
+        this.readyHosts = new ArrayDeque<>();
+    }
+
+    /**
+     * Gets the key of the host of the given URI, the host and port.
+     *
+     * @param uri the URI.
+     * @return the key of the host, never {@code null}.
+     */
+    static String getHostKey(URI uri) {
+        String host = uri.getHost();
+        if (host == null) {
+            return "";
+        }
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return host.toLowerCase(Locale.ROOT) + ":" + port;
+    }
+
+    /**
+     * Submits the given task, to be executed once its host has capacity.
+     *
+     * @param task the task.
+     * @return {@code true} if the task was submitted, {@code false} if the scheduler was shutdown.
+     */
+    boolean submit(SpiderTask task) {
+        synchronized (this) {
+            if (shutdown) {
+                return false;
+            }
+            HostQueue host = hosts.computeIfAbsent(task.getHostKey(), HostQueue::new);
+            host.tasks.add(task);
+            if (!host.ready) {
+                host.ready = true;
+                readyHosts.add(host);
+            }
+        }
+        dispatch();
+        return true;
+    }
+
+    /**
+     * Notifies that the given task finished, to adapt the concurrency of its host and execute
+     * other tasks.
+     *
+     * @param task the task that finished.
+     */
+    void taskFinished(SpiderTask task) {
+        synchronized (this) {
+            HostQueue host = hosts.get(task.getHostKey());
+            if (host == null || host.active == 0) {
+                return;
+            }
+            host.active--;
+            running--;
+            host.record(
+                    task.getResponseStatusCode(),
+                    task.getResponseTime(),
+                    parseRetryAfter(task.getResponseRetryAfter()),
+                    nanoTime.getAsLong());
+        }
+        dispatch();
+    }
+
+    /** Executes the tasks of the hosts with capacity, in round-robin. */
+    void dispatch() {
+        List<SpiderTask> tasks = new ArrayList<>();
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            long now = nanoTime.getAsLong();
+            long nextBackoffEnd = Long.MAX_VALUE;
+            boolean dispatched = true;
+            while (dispatched && running < maxTasks) {
+                dispatched = false;
+                for (int i = readyHosts.size(); i > 0 && running < maxTasks; i--) {
+                    HostQueue host = readyHosts.poll();
+                    if (host.isBackingOff(now)) {
+                        nextBackoffEnd = Math.min(nextBackoffEnd, host.backoffEnd);
+                    } else if (host.active < host.concurrency) {
+                        tasks.add(host.tasks.poll());
+                        host.started(now);
+                        running++;
+                        dispatched = true;
+                    }
+
+                    if (host.tasks.isEmpty()) {
+                        host.ready = false;
+                    } else {
+                        readyHosts.add(host);
+                    }
+                }
+            }
+            scheduleWakeUp(now, nextBackoffEnd);
+        }
+
+        for (SpiderTask task : tasks) {
+            executor.accept(task);
+        }
+    }
+
+    private void scheduleWakeUp(long now, long time) {
+        if (time == Long.MAX_VALUE || timer == null) {
+            return;
+        }
+        if (wakeUpScheduled && wakeUpTime - time <= 0) {
+            return;
+        }
+        try {
+            timer.schedule(this::wakeUp, time - now, TimeUnit.NANOSECONDS);
+            wakeUpScheduled = true;
+            wakeUpTime = time;
+        } catch (Exception e) {
+            LOGGER.debug("Failed to schedule the dispatch of the tasks: {}", e.getMessage());
+        }
+    }
+
+    private void wakeUp() {
+        synchronized (this) {
+            wakeUpScheduled = false;
+        }
+        dispatch();
+    }
+
+    /**
+     * Shuts down the scheduler, no more tasks are executed.
+     *
+     * @return the tasks that were not executed.
+     */
+    synchronized List<SpiderTask> shutdown() {
+        shutdown = true;
+        List<SpiderTask> tasks = new ArrayList<>();
+        for (HostQueue host : readyHosts) {
+            tasks.addAll(host.tasks);
+            host.tasks.clear();
+            host.ready = false;
+        }
+        readyHosts.clear();
+        return tasks;
+    }
+
+    /**
+     * Gets the statistics of the hosts.
+     *
+     * @return the statistics, never {@code null}.
+     */
+    synchronized List<SpiderHostStats> getHostStats() {
+        long now = nanoTime.getAsLong();
+        List<SpiderHostStats> stats = new ArrayList<>(hosts.size());
+        for (HostQueue host : hosts.values()) {
+            stats.add(host.getStats(now));
+        }
+        return stats;
+    }
+
+    /**
+     * Parses the value of the {@code Retry-After} header, in seconds.
+     *
+     * @param value the value of the header, might be {@code null}.
+     * @return the time to wait, in milliseconds, or 0 if not specified or not in seconds.
+     */
+    static long parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            long seconds = Long.parseLong(value.trim());
+            return seconds > 0 ? Math.min(TimeUnit.SECONDS.toMillis(seconds), MAX_BACKOFF_MS) : 0;
+        } catch (NumberFormatException e) {
+            // Probably a date, use the normal backoff.
+            return 0;
+        }
+    }
+
+    private class HostQueue {
+
+        private final String host;
+        private final ArrayDeque<SpiderTask> tasks;
+        private boolean ready;
+        private int active;
+        private int concurrency;
+        private int successes;
+
+        private long backoff;
+        private boolean backingOff;
+        private long backoffEnd;
+
+        private double latency;
+        private double latencyBaseline;
+        private long latencySamples;
+
+        private long completed;
+        private long throttled;
+        private boolean started;
+        private long firstStart;
+        private long lastEnd;
+
+        HostQueue(String host) {
+            this.host = host;
+            this.tasks = new ArrayDeque<>();
+            this.concurrency = maxTasksPerHost;
+        }
+
+        boolean isBackingOff(long now) {
+            if (backingOff && now - backoffEnd >= 0) {
+                backingOff = false;
+            }
+            return backingOff;
+        }
+
+        void started(long now) {
+            active++;
+            if (!started) {
+                started = true;
+                firstStart = now;
+            }
+        }
+
+        void record(int statusCode, long responseTime, long retryAfter, long now) {
+            completed++;
+            lastEnd = now;
+
+            if (statusCode == 429 || statusCode == 503) {
+                throttled++;
+                backoff =
+                        backoff == 0 ? INITIAL_BACKOFF_MS : Math.min(backoff * 2, MAX_BACKOFF_MS);
+                backingOff = true;
+                backoffEnd = now + TimeUnit.MILLISECONDS.toNanos(Math.max(backoff, retryAfter));
+                concurrency = Math.max(1, concurrency / 2);
+                successes = 0;
+                LOGGER.debug(
+                        "Host {} asked to back off, waiting {}ms with concurrency {}.",
+                        host,
+                        Math.max(backoff, retryAfter),
+                        concurrency);
+                return;
+            }
+            backoff = 0;
+
+            if (responseTime >= 0 && updateLatency(responseTime)) {
+                concurrency = Math.max(1, concurrency - 1);
+                successes = 0;
+                return;
+            }
+
+            if (concurrency < maxTasksPerHost && ++successes >= concurrency) {
+                concurrency++;
+                successes = 0;
+            }
+        }
+
+        /**
+         * Updates the latency with the given response time.
+         *
+         * @return {@code true} if the host is responding slower than normal, {@code false}
+         *     otherwise.
+         */
+        private boolean updateLatency(long responseTime) {
+            latencySamples++;
+            if (latencySamples == 1) {
+                latency = responseTime;
+            } else {
+                latency = LATENCY_ALPHA * responseTime + (1 - LATENCY_ALPHA) * latency;
+            }
+
+            if (latencySamples < LATENCY_BASELINE_SAMPLES) {
+                return false;
+            }
+            if (latencySamples == LATENCY_BASELINE_SAMPLES || latency < latencyBaseline) {
+                latencyBaseline = latency;
+                return false;
+            }
+            return latency > MIN_SLOW_LATENCY_MS
+                    && latency > latencyBaseline * LATENCY_RISE_FACTOR;
+        }
+
+        SpiderHostStats getStats(long now) {
+            double throughput = 0;
+            if (completed > 0) {
+                long end = active > 0 ? now : lastEnd;
+                double seconds = (end - firstStart) / (double) TimeUnit.SECONDS.toNanos(1);
+                throughput = seconds > 0 ? completed / seconds : 0;
+            }
+            return new SpiderHostStats(
+                    host,
+                    tasks.size(),
+                    active,
+                    concurrency,
+                    completed,
+                    throttled,
+                    Math.round(latency),
+                    throughput);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.spider;
+
+/**
+ * The statistics of a host being crawled by the spider.
+ *
+ * @since 0.21.0
+ * @see SpiderScan#getHostStats()
+ */
+public class SpiderHostStats {
+
+    private final String host;
+    private final int queued;
+    private final int active;
+    private final int concurrency;
+    private final long completed;
+    private final long throttled;
+    private final long averageLatency;
+    private final double throughput;
+
+    SpiderHostStats(
+            String host,
+            int queued,
+            int active,
+            int concurrency,
+            long completed,
+            long throttled,
+            long averageLatency,
+            double throughput) {
+        this.host = host;
+        this.queued = queued;
+        this.active = active;
+        this.concurrency = concurrency;
+        this.completed = completed;
+        this.throttled = throttled;
+        this.averageLatency = averageLatency;
+        this.throughput = throughput;
+    }
+
+    /**
+     * Gets the host, and port, for example, {@code example.com:443}.
+     *
+     * @return the host.
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Gets the number of requests waiting to be sent to the host.
+     *
+     * @return the number of requests queued.
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * Gets the number of requests being sent to the host.
+     *
+     * @return the number of active requests.
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * Gets the maximum number of requests currently allowed to be sent to the host at the same
+     * time, reduced when the host is throttling or responding slower.
+     *
+     * @return the current concurrency.
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Gets the number of requests completed.
+     *
+     * @return the number of requests completed.
+     */
+    public long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Gets the number of responses that asked the spider to back off, that is, with status code
+     * 429 or 503.
+     *
+     * @return the number of throttled requests.
+     */
+    public long getThrottled() {
+        return throttled;
+    }
+
+    /**
+     * Gets the average latency of the responses, in milliseconds.
+     *
+     * @return the average latency.
+     */
+    public long getAverageLatency() {
+        return averageLatency;
+    }
+
+    /**
+     * Gets the number of requests completed per second.
+     *
+     * @return the throughput.
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+}
@@ -150,6 +150,12 @@ public class SpiderParam extends VersionedAbstractParam {
      */
     public static final int DEFAULT_MAX_PARSE_SIZE_BYTES = 2621440; // 2.5 MiB
 
+    /** Configuration key to write/read the {@link #maxConnectionsPerHost} option. */
+    private static final String SPIDER_MAX_CONNECTIONS_PER_HOST = "spider.maxConnectionsPerHost";
+
+    /** Configuration key to write/read the {@link #hashVisitedResources} flag. */
+    private static final String SPIDER_HASH_VISITED_RESOURCES = "spider.hashVisitedResources";
+
     private ExtensionHttpSessions extensionHttpSessions;
 
     private ExtensionAntiCSRF extensionAntiCSRF;
@@ -286,6 +292,28 @@ public class SpiderParam extends VersionedAbstractParam {
      */
     private int maxParseSizeBytes = DEFAULT_MAX_PARSE_SIZE_BYTES;
 
+    /**
+     * The maximum number of connections to each host, 0 meaning limited only by the number of
+     * threads.
+     *
+     * @see #SPIDER_MAX_CONNECTIONS_PER_HOST
+     * @see #getMaxConnectionsPerHost()
+     * @see #setMaxConnectionsPerHost(int)
+     */
+    private int maxConnectionsPerHost;
+
+    /**
+     * Flag that indicates if the resources visited should be kept as hashes instead of their full
+     * identifiers.
+     *
+     * <p>Default value is {@code false}.
+     *
+     * @see #SPIDER_HASH_VISITED_RESOURCES
+     * @see #isHashVisitedResources()
+     * @see #setHashVisitedResources(boolean)
+     */
+    private boolean hashVisitedResources;
+
     private List<IrrelevantParameter> irrelevantParameters;
     private List<IrrelevantParameter> irrelevantParametersEnabled;
     private boolean confirmRemoveIrrelevantParameter;
@@ -370,6 +398,10 @@ public class SpiderParam extends VersionedAbstractParam {
         this.maxParseSizeBytes =
                 Math.max(0, getInt(SPIDER_MAX_PARSE_SIZE_BYTES, DEFAULT_MAX_PARSE_SIZE_BYTES));
 
+        this.maxConnectionsPerHost = Math.max(0, getInt(SPIDER_MAX_CONNECTIONS_PER_HOST, 0));
+
+        this.hashVisitedResources = getBoolean(SPIDER_HASH_VISITED_RESOURCES, false);
+
         loadIrrelevantParameters();
         this.confirmRemoveIrrelevantParameter =
                 getBoolean(CONFIRM_REMOVE_IRRELEVANT_PARAMETER, true);
@@ -1056,6 +1088,59 @@ public class SpiderParam extends VersionedAbstractParam {
         return maxParseSizeBytes;
     }
 
+    /**
+     * Sets the maximum number of connections to each host.
+     *
+     * <p>The spider reduces the connections to a host further if the host asks to back off (429 or
+     * 503 status codes) or if it starts responding slower. 0 for no limit, other than the number
+     * of threads.
+     *
+     * @param maxConnectionsPerHost the maximum number of connections to each host.
+     * @see #getMaxConnectionsPerHost()
+     */
+    public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = Math.max(0, maxConnectionsPerHost);
+        getConfig().setProperty(SPIDER_MAX_CONNECTIONS_PER_HOST, this.maxConnectionsPerHost);
+    }
+
+    /**
+     * Gets the maximum number of connections to each host.
+     *
+     * @return the maximum number of connections to each host, 0 if limited only by the number of
+     *     threads.
+     * @see #setMaxConnectionsPerHost(int)
+     */
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    /**
+     * Sets whether or not the resources visited should be kept as hashes instead of their full
+     * identifiers.
+     *
+     * <p>Hashing uses much less memory on big crawls (e.g. requests with large bodies), with a
+     * negligible chance of two different resources being considered the same.
+     *
+     * @param hashVisitedResources {@code true} if the resources visited should be hashed, {@code
+     *     false} otherwise.
+     * @see #isHashVisitedResources()
+     */
+    public void setHashVisitedResources(boolean hashVisitedResources) {
+        this.hashVisitedResources = hashVisitedResources;
+        getConfig().setProperty(SPIDER_HASH_VISITED_RESOURCES, hashVisitedResources);
+    }
+
+    /**
+     * Tells whether or not the resources visited should be kept as hashes instead of their full
+     * identifiers.
+     *
+     * @return {@code true} if the resources visited should be hashed, {@code false} otherwise.
+     * @see #setHashVisitedResources(boolean)
+     */
+    public boolean isHashVisitedResources() {
+        return hashVisitedResources;
+    }
+
     public boolean isIrrelevantUrlParameter(String name) {
         return irrelevantParametersEnabled.stream().anyMatch(e -> e.test(name))
                 || isSessionToken(name)
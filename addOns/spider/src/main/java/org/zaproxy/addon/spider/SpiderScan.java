@@ -471,6 +471,17 @@ public class SpiderScan implements ScanListenner, SpiderListener, GenericScanner
         return this.spiderThread.getNumberOfNodesAdded();
     }
 
+    /**
+     * Gets the statistics of the hosts crawled, for example, the requests queued and the
+     * throughput.
+     *
+     * @return the statistics, never {@code null}.
+     * @since 0.21.0
+     */
+    public List<SpiderHostStats> getHostStats() {
+        return this.spiderThread.getHostStats();
+    }
+
     @Override
     public boolean isPaused() {
         return this.spiderThread.isPaused();
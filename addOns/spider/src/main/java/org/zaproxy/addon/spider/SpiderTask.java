@@ -48,6 +48,7 @@ import org.zaproxy.addon.spider.filters.ParseFilter.FilterResult;
 import org.zaproxy.addon.spider.parser.ParseContext;
 import org.zaproxy.addon.spider.parser.SpiderParser;
 import org.zaproxy.addon.spider.parser.SpiderResourceFound;
+import org.zaproxy.zap.utils.Stats;
 
 /** The SpiderTask representing a spidering task performed during the Spidering process. */
 public class SpiderTask implements Runnable {
@@ -60,18 +61,38 @@ public class SpiderTask implements Runnable {
                     HttpRequestHeader.HEAD,
                     HttpRequestHeader.TRACE);
 
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    /** The statistic with the number of tasks that had the request persisted in the database. */
+    static final String SPIDER_TASK_PERSISTED_STATS = "stats.spider.task.persisted";
+
     /** The parent spider. */
     private Spider parent;
 
+    /**
+     * The request message, kept in memory until the task is executed.
+     *
+     * <p>Might be {@code null} if failed to create the message, if the message was persisted
+     * instead, if the task was already executed or if a clean up was performed.
+     *
+     * @see #cleanup()
+     * @see #releaseRequest()
+     * @see #prepareHttpMessage()
+     */
+    private HttpMessage request;
+
+    /** The size, in bytes, of the {@link #request}, reserved in the parent spider. */
+    private long requestSize;
+
     /**
      * The history reference to the database record where the request message has been partially
-     * filled in.
+     * filled in, used only if the spider has too many requests in memory.
      *
-     * <p>Might be {@code null} if failed to create or persist the message, if the task was already
-     * executed or if a clean up was performed.
+     * <p>Might be {@code null} if failed to create or persist the message, if the message was kept
+     * in memory instead, if the task was already executed or if a clean up was performed.
      *
      * @see #cleanup()
-     * @see #deleteHistoryReference()
+     * @see #releaseRequest()
      * @see #prepareHttpMessage()
      */
     private HistoryReference reference;
@@ -83,6 +104,13 @@ public class SpiderTask implements Runnable {
 
     private final int depth;
 
+    /** The key of the host of the task, used to schedule the task. */
+    private final String hostKey;
+
+    private int responseStatusCode;
+    private long responseTime = -1;
+    private String responseRetryAfter;
+
     /**
      * Instantiates a new spider task using the target URI. The purpose of this task is to crawl the
      * given uri, using the provided method and supplied request headers, find any other uris in the
@@ -99,11 +127,12 @@ public class SpiderTask implements Runnable {
         super();
         this.parent = parent;
         this.depth = resourceFound.getDepth();
+        this.hostKey = SpiderHostScheduler.getHostKey(uri);
 
         LOGGER.debug("New task submitted for uri: {}", uri);
 
-        // Create a new HttpMessage that will be used for the request and persist it in the database
-        // using HistoryReference
+        // Create a new HttpMessage that will be used for the request, kept in memory or, if the
+        // spider has too many requests in memory, persisted in the database using HistoryReference
         try {
             HttpRequestHeader requestHeader =
                     new HttpRequestHeader(
@@ -130,9 +159,21 @@ public class SpiderTask implements Runnable {
                 msg.getRequestHeader().setContentLength(bodyLength);
                 msg.setRequestBody(resourceFound.getBody());
             }
-            this.reference =
-                    new HistoryReference(
-                            parent.getModel().getSession(), HistoryReference.TYPE_SPIDER_TASK, msg);
+            long size =
+                    requestHeader.getPrimeHeader().length()
+                            + requestHeader.getHeadersAsString().length()
+                            + bodyLength;
+            if (parent.reserveTaskMemory(size)) {
+                this.request = msg;
+                this.requestSize = size;
+            } else {
+                this.reference =
+                        new HistoryReference(
+                                parent.getModel().getSession(),
+                                HistoryReference.TYPE_SPIDER_TASK,
+                                msg);
+                Stats.incCounter(SPIDER_TASK_PERSISTED_STATS);
+            }
         } catch (HttpMalformedHeaderException e) {
             LOGGER.error("Error while building HttpMessage for uri: {}", uri, e);
         } catch (DatabaseException e) {
@@ -143,7 +184,7 @@ public class SpiderTask implements Runnable {
     @Override
     public void run() {
         try {
-            if (reference == null) {
+            if (request == null && reference == null) {
                 LOGGER.warn("Null URI. Skipping crawling task: {}", this);
                 return;
             }
@@ -151,11 +192,11 @@ public class SpiderTask implements Runnable {
             LOGGER.debug(
                     "Spider Task Started. Processing uri at depth {} using already constructed message: {}",
                     depth,
-                    reference.getURI());
+                    request != null ? request.getRequestHeader().getURI() : reference.getURI());
 
             runImpl();
         } finally {
-            parent.postTaskExecution();
+            parent.postTaskExecution(this);
             LOGGER.debug("Spider Task finished.");
         }
     }
@@ -164,7 +205,7 @@ public class SpiderTask implements Runnable {
         // Check if the should stop
         if (parent.isStopped()) {
             LOGGER.debug("Spider process is stopped. Skipping crawling task...");
-            deleteHistoryReference();
+            releaseRequest();
             return;
         }
 
@@ -182,6 +223,10 @@ public class SpiderTask implements Runnable {
 
         try {
             fetchResource(msg);
+            HttpResponseHeader responseHeader = msg.getResponseHeader();
+            responseStatusCode = responseHeader.getStatusCode();
+            responseTime = msg.getTimeElapsedMillis();
+            responseRetryAfter = responseHeader.getHeader(RETRY_AFTER_HEADER);
         } catch (Exception e) {
             setErrorResponse(msg, e);
             parent.notifyListenersSpiderTaskResult(
@@ -251,8 +296,8 @@ public class SpiderTask implements Runnable {
     /**
      * Prepares the HTTP message to be sent to the target server.
      *
-     * <p>The HTTP message is read from the database and set up with common headers (e.g.
-     * User-Agent) and properties (e.g. user).
+     * <p>The HTTP message is taken from memory, or read from the database, and set up with common
+     * headers (e.g. User-Agent) and properties (e.g. user).
      *
      * @return the HTTP message
      * @throws HttpMalformedHeaderException if an error occurred while parsing the HTTP message read
@@ -262,14 +307,18 @@ public class SpiderTask implements Runnable {
      */
     private HttpMessage prepareHttpMessage()
             throws HttpMalformedHeaderException, DatabaseException {
-        // Build fetch the request message from the database
-        HttpMessage msg;
-        try {
-            msg = reference.getHttpMessage();
-            // HistoryReference is about to be deleted, so no point keeping referencing it.
-            msg.setHistoryRef(null);
-        } finally {
-            deleteHistoryReference();
+        HttpMessage msg = request;
+        if (msg == null) {
+            // Build fetch the request message from the database
+            try {
+                msg = reference.getHttpMessage();
+                // HistoryReference is about to be deleted, so no point keeping referencing it.
+                msg.setHistoryRef(null);
+            } finally {
+                releaseRequest();
+            }
+        } else {
+            releaseRequest();
         }
 
         msg.getRequestHeader().setHeader(HttpHeader.IF_MODIFIED_SINCE, null);
@@ -289,14 +338,21 @@ public class SpiderTask implements Runnable {
     }
 
     /**
-     * Deletes the history reference, should be called when no longer needed.
+     * Releases the request message, should be called when no longer needed.
      *
-     * <p>The call to this method has no effect if the history reference no longer exists (i.e.
-     * {@code null}).
+     * <p>Releases the memory reserved in the parent spider or deletes the history reference, if
+     * persisted. The call to this method has no effect if the request was already released.
      *
+     * @see #request
      * @see #reference
      */
-    private void deleteHistoryReference() {
+    private void releaseRequest() {
+        if (request != null) {
+            request = null;
+            parent.releaseTaskMemory(requestSize);
+            return;
+        }
+
         if (reference == null) {
             return;
         }
@@ -460,6 +516,62 @@ public class SpiderTask implements Runnable {
      * <p>Should be called if the task was not executed.
      */
     void cleanup() {
-        deleteHistoryReference();
+        releaseRequest();
+    }
+
+    /**
+     * Gets the key of the host of the task.
+     *
+     * @return the key of the host, never {@code null}.
+     * @see SpiderHostScheduler#getHostKey(URI)
+     */
+    String getHostKey() {
+        return hostKey;
+    }
+
+    /**
+     * Gets the status code of the response, once the task was executed.
+     *
+     * @return the status code, or 0 if no response was received.
+     */
+    int getResponseStatusCode() {
+        return responseStatusCode;
+    }
+
+    /**
+     * Gets the time, in milliseconds, that the response took, once the task was executed.
+     *
+     * @return the time, or -1 if no response was received.
+     */
+    long getResponseTime() {
+        return responseTime;
+    }
+
+    /**
+     * Gets the value of the {@code Retry-After} header of the response, once the task was
+     * executed.
+     *
+     * @return the value of the header, or {@code null} if not present.
+     */
+    String getResponseRetryAfter() {
+        return responseRetryAfter;
+    }
+
+    /**
+     * Gets the request message of the task, kept in memory or persisted.
+     *
+     * @return the request message, or {@code null} if not available.
+     * @throws HttpMalformedHeaderException if an error occurred while parsing the persisted
+     *     message.
+     * @throws DatabaseException if an error occurred while reading the persisted message.
+     */
+    HttpMessage getRequest() throws HttpMalformedHeaderException, DatabaseException {
+        if (request != null) {
+            return request;
+        }
+        if (reference != null) {
+            return reference.getHttpMessage();
+        }
+        return null;
     }
 }
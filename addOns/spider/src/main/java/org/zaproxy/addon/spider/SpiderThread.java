@@ -649,4 +649,18 @@ public class SpiderThread extends ScanThread implements SpiderListener {
     public int getNumberOfNodesAdded() {
         return getAddedNodesTableModel().getRowCount();
     }
+
+    /**
+     * Gets the statistics of the hosts crawled.
+     *
+     * @return the statistics, never {@code null}.
+     * @since 0.21.0
+     */
+    public List<SpiderHostStats> getHostStats() {
+        Spider currentSpider = spider;
+        if (currentSpider == null) {
+            return Collections.emptyList();
+        }
+        return currentSpider.getHostStats();
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.spider;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.codec.digest.MurmurHash3;
+
+/**
+ * The resources already visited by the spider, identified by their canonical identifier.
+ *
+ * <p>The resources are kept either with their full identifier or with a 128-bit hash of it, the
+ * latter uses a fixed, and much smaller, amount of memory per resource at the cost of a negligible
+ * chance of two different resources being considered the same.
+ *
+ * @see SpiderParam#isHashVisitedResources()
+ */
+abstract class VisitedResources {
+
+    /**
+     * Creates the visited resources.
+     *
+     * @param hashed {@code true} if the identifiers should be hashed, {@code false} otherwise.
+     * @return the visited resources, never {@code null}.
+     */
+    static VisitedResources create(boolean hashed) {
+        if (hashed) {
+            return new HashedVisitedResources();
+        }
+        return new FullVisitedResources();
+    }
+
+    /**
+     * Adds the resource with the given identifier, if not already visited.
+     *
+     * @param identifier the identifier of the resource.
+     * @return {@code true} if the resource was added, {@code false} if already visited.
+     */
+    abstract boolean add(String identifier);
+
+    /**
+     * Gets the number of resources visited.
+     *
+     * @return the number of resources.
+     */
+    abstract int size();
+
+    /**
+     * Gets the approximate memory, in bytes, used to keep the resources.
+     *
+     * @return the memory used, in bytes.
+     */
+    abstract long getMemoryUsage();
+
+    /** Removes all the resources. */
+    abstract void clear();
+
+    /**
+     * Gets the approximate memory, in bytes, used per resource.
+     *
+     * @return the memory used per resource, or 0 if there are no resources.
+     */
+    long getBytesPerEntry() {
+        int size = size();
+        if (size == 0) {
+            return 0;
+        }
+        return getMemoryUsage() / size;
+    }
+
+    private static class FullVisitedResources extends VisitedResources {
+
+        // The set node, the string and its array, and the table slot.
+        private static final int ENTRY_OVERHEAD = 32 + 24 + 16 + 8;
+
+        private final Set<String> identifiers = ConcurrentHashMap.newKeySet();
+        private final LongAdder memoryUsage = new LongAdder();
+
+        @Override
+        boolean add(String identifier) {
+            if (identifiers.add(identifier)) {
+                memoryUsage.add(ENTRY_OVERHEAD + identifier.length());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        int size() {
+            return identifiers.size();
+        }
+
+        @Override
+        long getMemoryUsage() {
+            return memoryUsage.sum();
+        }
+
+        @Override
+        void clear() {
+            identifiers.clear();
+            memoryUsage.reset();
+        }
+    }
+
+    private static class HashedVisitedResources extends VisitedResources {
+
+        private final LongPairHashSet hashes = new LongPairHashSet();
+
+        @Override
+        boolean add(String identifier) {
+            long[] hash = MurmurHash3.hash128x64(identifier.getBytes(StandardCharsets.UTF_8));
+            return hashes.add(hash[0], hash[1]);
+        }
+
+        @Override
+        int size() {
+            return hashes.size();
+        }
+
+        @Override
+        long getMemoryUsage() {
+            return hashes.getMemoryUsage();
+        }
+
+        @Override
+        void clear() {
+            hashes.clear();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -54,6 +55,7 @@ import org.zaproxy.addon.automation.tests.AutomationStatisticTest;
 import org.zaproxy.addon.commonlib.Constants;
 import org.zaproxy.addon.network.common.ZapUnknownHostException;
 import org.zaproxy.addon.spider.ExtensionSpider2;
+import org.zaproxy.addon.spider.SpiderHostStats;
 import org.zaproxy.addon.spider.SpiderParam;
 import org.zaproxy.addon.spider.SpiderParam.HandleParametersOption;
 import org.zaproxy.addon.spider.SpiderScan;
@@ -69,6 +71,8 @@ public class SpiderJob extends AutomationJob {
 
     private static final String URLS_ADDED_STATS_KEY = "automation.spider.urls.added";
 
+    private static final long HOST_STATS_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+
     private static final String PARAM_CONTEXT = "context";
     private static final String PARAM_URL = "url";
     private static final String PARAM_USER = "user";
@@ -255,6 +259,7 @@ public class SpiderJob extends AutomationJob {
             // Wait for the spider to finish
             int numUrlsFound = 0;
             int lastCount = 0;
+            long nextHostStats = System.currentTimeMillis() + HOST_STATS_INTERVAL_MS;
 
             while (true) {
                 this.sleep(500);
@@ -263,6 +268,11 @@ public class SpiderJob extends AutomationJob {
                 Stats.incCounter(URLS_ADDED_STATS_KEY, numUrlsFound - lastCount);
                 lastCount = numUrlsFound;
 
+                if (System.currentTimeMillis() > nextHostStats) {
+                    reportHostStats(scan, progress);
+                    nextHostStats = System.currentTimeMillis() + HOST_STATS_INTERVAL_MS;
+                }
+
                 if (scan.isStopped() || forceStop) {
                     break;
                 }
@@ -277,6 +287,7 @@ public class SpiderJob extends AutomationJob {
             }
             numUrlsFound = scan.getNumberOfURIsFound();
 
+            reportHostStats(scan, progress);
             progress.info(
                     Constant.messages.getString(
                             "automation.info.urlsfound", this.getName(), numUrlsFound));
@@ -287,6 +298,20 @@ public class SpiderJob extends AutomationJob {
         getExtSpider().setPanelSwitch(true);
     }
 
+    private void reportHostStats(SpiderScan scan, AutomationProgress progress) {
+        for (SpiderHostStats hostStats : scan.getHostStats()) {
+            progress.info(
+                    Constant.messages.getString(
+                            "spider.automation.info.hoststats",
+                            this.getName(),
+                            hostStats.getHost(),
+                            hostStats.getQueued(),
+                            hostStats.getCompleted(),
+                            hostStats.getThrottled(),
+                            String.format(Locale.ROOT, "%.2f", hostStats.getThroughput())));
+        }
+    }
+
     @Override
     public void stop() {
         forceStop = true;
@@ -507,6 +532,8 @@ public class SpiderJob extends AutomationJob {
         private Integer threadCount = Constants.getDefaultThreadCount();
         private String userAgent = "";
         private Boolean logoutAvoidance = SpiderParam.DEFAULT_LOGOUT_AVOIDANCE;
+        private Boolean hashVisitedResources = false;
+        private Integer maxConnectionsPerHost = 0;
         // These 2 fields are deprecated
         private Boolean failIfFoundUrlsLessThan;
         private Boolean warnIfFoundUrlsLessThan;
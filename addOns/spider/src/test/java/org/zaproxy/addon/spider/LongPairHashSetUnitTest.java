@@ -0,0 +1,148 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.spider;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link LongPairHashSet}. */
+class LongPairHashSetUnitTest {
+
+    private LongPairHashSet set;
+
+    @BeforeEach
+    void setUp() {
+        set = new LongPairHashSet();
+    }
+
+    @Test
+    void shouldAddPairOnlyOnce() {
+        // Given
+        long high = 0x1234567890ABCDEFL;
+        long low = 42;
+        // When
+        boolean first = set.add(high, low);
+        boolean second = set.add(high, low);
+        // Then
+        assertThat(first, is(equalTo(true)));
+        assertThat(second, is(equalTo(false)));
+        assertThat(set.contains(high, low), is(equalTo(true)));
+        assertThat(set.size(), is(equalTo(1)));
+    }
+
+    @Test
+    void shouldDistinguishPairsWithSameHalves() {
+        // Given
+        set.add(1, 2);
+        // When
+        boolean added = set.add(2, 1);
+        // Then
+        assertThat(added, is(equalTo(true)));
+        assertThat(set.contains(1, 1), is(equalTo(false)));
+        assertThat(set.size(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldAddZeroPair() {
+        // Given / When
+        boolean first = set.add(0, 0);
+        boolean second = set.add(0, 0);
+        // Then
+        assertThat(first, is(equalTo(true)));
+        assertThat(second, is(equalTo(false)));
+        assertThat(set.contains(0, 0), is(equalTo(true)));
+        assertThat(set.size(), is(equalTo(1)));
+    }
+
+    @Test
+    void shouldKeepAllPairsWhenGrowing() {
+        // Given
+        int count = 100_000;
+        // When
+        for (int i = 0; i < count; i++) {
+            set.add(i * 0x9E3779B97F4A7C15L, i);
+        }
+        // Then
+        assertThat(set.size(), is(equalTo(count)));
+        for (int i = 0; i < count; i++) {
+            assertThat(set.contains(i * 0x9E3779B97F4A7C15L, i), is(equalTo(true)));
+        }
+        assertThat(set.contains(1, count), is(equalTo(false)));
+        assertThat(set.getMemoryUsage() / count, is(lessThan(64L)));
+    }
+
+    @Test
+    void shouldReleaseMemoryOnClear() {
+        // Given
+        for (int i = 0; i < 10_000; i++) {
+            set.add(i * 0x9E3779B97F4A7C15L, i);
+        }
+        long memoryUsed = set.getMemoryUsage();
+        // When
+        set.clear();
+        // Then
+        assertThat(set.size(), is(equalTo(0)));
+        assertThat(set.contains(0x9E3779B97F4A7C15L, 1), is(equalTo(false)));
+        assertThat(memoryUsed, is(greaterThan(set.getMemoryUsage())));
+    }
+
+    @Test
+    void shouldAddEachPairOnceWithConcurrentThreads() throws Exception {
+        // Given
+        int threads = 16;
+        int pairs = 10_000;
+        AtomicInteger added = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        // When
+        for (int t = 0; t < threads; t++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                for (int i = 0; i < pairs; i++) {
+                                    if (set.add(i * 0x9E3779B97F4A7C15L, i)) {
+                                        added.incrementAndGet();
+                                    }
+                                }
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        // Then
+        assertThat(added.get(), is(equalTo(pairs)));
+        assertThat(set.size(), is(equalTo(pairs)));
+    }
+}
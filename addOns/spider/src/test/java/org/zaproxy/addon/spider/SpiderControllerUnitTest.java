@@ -330,6 +330,36 @@ class SpiderControllerUnitTest extends TestUtils {
         verify(spider).submitTask(any());
     }
 
+    @Test
+    void shouldNotSubmitSamePostTaskWhenHashingVisitedResources() {
+        // Given
+        given(spiderParam.isHashVisitedResources()).willReturn(true);
+        spiderController = new SpiderController(spider, Collections.emptyList());
+        // When
+        spiderController.resourceFound(
+                createBasicPostSpiderResourceFound("https://example.com/test.html", "a=1", 1));
+        spiderController.resourceFound(
+                createBasicPostSpiderResourceFound("https://example.com/test.html", "a=1", 2));
+        spiderController.resourceFound(
+                createBasicPostSpiderResourceFound("https://example.com/test.html", "a=2", 1));
+        // Then
+        verify(spider, times(2)).submitTask(any());
+        assertThat(spiderController.getVisitedResources().size(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldClearVisitedResourcesOnReset() {
+        // Given
+        spiderController.resourceFound(
+                createBasicGetSpiderResourceFound("https://example.com/test.html", 1));
+        // When
+        spiderController.reset();
+        spiderController.resourceFound(
+                createBasicGetSpiderResourceFound("https://example.com/test.html", 1));
+        // Then
+        verify(spider, times(2)).submitTask(any());
+    }
+
     private static SpiderResourceFound createBasicGetSpiderResourceFound(String uri, int depth) {
         return SpiderResourceFound.builder().setDepth(depth).setUri(uri).build();
     }
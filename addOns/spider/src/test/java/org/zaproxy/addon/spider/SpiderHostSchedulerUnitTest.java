@@ -0,0 +1,236 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.spider;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.httpclient.URI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/** Unit test for {@link SpiderHostScheduler}. */
+class SpiderHostSchedulerUnitTest {
+
+    private List<SpiderTask> executed;
+    private ScheduledExecutorService timer;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        executed = new ArrayList<>();
+        timer = mock(ScheduledExecutorService.class);
+        now = 0;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "http://Example.com/, example.com:80",
+        "https://example.com/path, example.com:443",
+        "http://example.com:8080/, example.com:8080"
+    })
+    void shouldGetHostKey(String uri, String expected) throws Exception {
+        // Given / When
+        String key = SpiderHostScheduler.getHostKey(new URI(uri, true));
+        // Then
+        assertThat(key, is(equalTo(expected)));
+    }
+
+    @Test
+    void shouldExecuteTasksInRoundRobinAcrossHosts() {
+        // Given
+        SpiderHostScheduler scheduler = createScheduler(1, 0);
+        SpiderTask c1 = task("c");
+        SpiderTask a1 = task("a");
+        SpiderTask a2 = task("a");
+        SpiderTask a3 = task("a");
+        SpiderTask b1 = task("b");
+        SpiderTask b2 = task("b");
+        scheduler.submit(c1);
+        scheduler.submit(a1);
+        scheduler.submit(a2);
+        scheduler.submit(a3);
+        scheduler.submit(b1);
+        scheduler.submit(b2);
+        // When
+        for (int i = 0; i < 5; i++) {
+            scheduler.taskFinished(executed.get(i));
+        }
+        // Then
+        assertThat(executed, contains(c1, a1, b1, a2, b2, a3));
+    }
+
+    @Test
+    void shouldLimitTasksPerHost() {
+        // Given
+        SpiderHostScheduler scheduler = createScheduler(10, 2);
+        // When
+        for (int i = 0; i < 5; i++) {
+            scheduler.submit(task("a"));
+        }
+        scheduler.submit(task("b"));
+        // Then
+        assertThat(executed, hasSize(3));
+        SpiderHostStats stats = scheduler.getHostStats().get(0);
+        assertThat(stats.getHost(), is(equalTo("a")));
+        assertThat(stats.getQueued(), is(equalTo(3)));
+        assertThat(stats.getActive(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldBackOffWhenHostRespondsTooManyRequests() {
+        // Given
+        SpiderHostScheduler scheduler = createScheduler(10, 4);
+        for (int i = 0; i < 6; i++) {
+            scheduler.submit(task("a"));
+        }
+        SpiderTask throttled = executed.get(0);
+        given(throttled.getResponseStatusCode()).willReturn(429);
+        // When
+        scheduler.taskFinished(throttled);
+        // Then
+        assertThat(executed, hasSize(4));
+        verify(timer)
+                .schedule(
+                        any(Runnable.class),
+                        eq(TimeUnit.MILLISECONDS.toNanos(SpiderHostScheduler.INITIAL_BACKOFF_MS)),
+                        eq(TimeUnit.NANOSECONDS));
+        SpiderHostStats stats = scheduler.getHostStats().get(0);
+        assertThat(stats.getThrottled(), is(equalTo(1L)));
+        assertThat(stats.getConcurrency(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldResumeAfterBackoff() {
+        // Given
+        SpiderHostScheduler scheduler = createScheduler(10, 2);
+        for (int i = 0; i < 4; i++) {
+            scheduler.submit(task("a"));
+        }
+        SpiderTask throttled = executed.get(0);
+        given(throttled.getResponseStatusCode()).willReturn(503);
+        given(throttled.getResponseRetryAfter()).willReturn("5");
+        scheduler.taskFinished(throttled);
+        scheduler.taskFinished(executed.get(1));
+        int executedWhileBackingOff = executed.size();
+        // When
+        now += TimeUnit.SECONDS.toNanos(5);
+        scheduler.dispatch();
+        // Then
+        assertThat(executedWhileBackingOff, is(equalTo(2)));
+        assertThat(executed, hasSize(4));
+    }
+
+    @Test
+    void shouldReduceConcurrencyWhenHostRespondsSlower() {
+        // Given
+        SpiderHostScheduler scheduler = createScheduler(10, 4);
+        for (int i = 0; i < 5; i++) {
+            scheduler.submit(task("a"));
+            SpiderTask task = executed.get(i);
+            given(task.getResponseTime()).willReturn(100L);
+            scheduler.taskFinished(task);
+        }
+        // When
+        for (int i = 0; i < 10; i++) {
+            scheduler.submit(task("a"));
+            SpiderTask task = executed.get(executed.size() - 1);
+            given(task.getResponseTime()).willReturn(5000L);
+            scheduler.taskFinished(task);
+        }
+        // Then
+        SpiderHostStats stats = scheduler.getHostStats().get(0);
+        assertThat(stats.getConcurrency(), is(equalTo(1)));
+        assertThat(stats.getCompleted(), is(equalTo(15L)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "'', 0",
+        "-1, 0",
+        "0, 0",
+        "2, 2000",
+        "3600, " + SpiderHostScheduler.MAX_BACKOFF_MS,
+        "'Wed, 21 Oct 2015 07:28:00 GMT', 0"
+    })
+    void shouldParseRetryAfter(String value, long expected) {
+        // Given / When
+        long retryAfter = SpiderHostScheduler.parseRetryAfter(value);
+        // Then
+        assertThat(retryAfter, is(equalTo(expected)));
+    }
+
+    @Test
+    void shouldReturnQueuedTasksOnShutdown() {
+        // Given
+        SpiderHostScheduler scheduler = createScheduler(1, 0);
+        SpiderTask a1 = task("a");
+        SpiderTask a2 = task("a");
+        SpiderTask b1 = task("b");
+        scheduler.submit(a1);
+        scheduler.submit(a2);
+        scheduler.submit(b1);
+        // When
+        List<SpiderTask> queued = scheduler.shutdown();
+        // Then
+        assertThat(queued, hasSize(2));
+        assertThat(queued.contains(a2) && queued.contains(b1), is(equalTo(true)));
+        assertThat(scheduler.submit(task("c")), is(equalTo(false)));
+        scheduler.taskFinished(a1);
+        assertThat(executed, contains(a1));
+    }
+
+    @Test
+    void shouldHaveNoHostStatsInitially() {
+        // Given
+        SpiderHostScheduler scheduler = createScheduler(1, 0);
+        // When
+        List<SpiderHostStats> stats = scheduler.getHostStats();
+        // Then
+        assertThat(stats, is(empty()));
+    }
+
+    private SpiderHostScheduler createScheduler(int maxTasks, int maxTasksPerHost) {
+        return new SpiderHostScheduler(
+                executed::add, maxTasks, maxTasksPerHost, timer, () -> now);
+    }
+
+    private static SpiderTask task(String host) {
+        SpiderTask task = mock(SpiderTask.class);
+        given(task.getHostKey()).willReturn(host);
+        given(task.getResponseTime()).willReturn(-1L);
+        return task;
+    }
+}
@@ -180,4 +180,46 @@ class SpiderParamUnitTest {
         assertThat(param.getMaxParseSizeBytes(), is(equalTo(expected)));
         assertThat(configuration.getInt("spider.maxParseSizeBytes"), is(equalTo(expected)));
     }
+
+    @Test
+    void shouldNotHashVisitedResourcesByDefault() {
+        // Given
+        configuration = new ZapXmlConfiguration();
+        // When
+        param.load(configuration);
+        // Then
+        assertThat(param.isHashVisitedResources(), is(equalTo(false)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldSetAndPersistHashVisitedResources(boolean enabled) {
+        // Given / When
+        param.setHashVisitedResources(enabled);
+        // Then
+        assertThat(param.isHashVisitedResources(), is(equalTo(enabled)));
+        assertThat(configuration.getBoolean("spider.hashVisitedResources"), is(equalTo(enabled)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"-10, 0", "-1, 0", "0, 0", "1, 1", "10, 10"})
+    void shouldLoadConfigWithMaxConnectionsPerHost(int value, int expected) {
+        // Given
+        configuration = new ZapXmlConfiguration();
+        configuration.setProperty("spider.maxConnectionsPerHost", value);
+        // When
+        param.load(configuration);
+        // Then
+        assertThat(param.getMaxConnectionsPerHost(), is(equalTo(expected)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"-10, 0", "-1, 0", "0, 0", "1, 1", "10, 10"})
+    void shouldSetAndPersistMaxConnectionsPerHost(int value, int expected) {
+        // Given / When
+        param.setMaxConnectionsPerHost(value);
+        // Then
+        assertThat(param.getMaxConnectionsPerHost(), is(equalTo(expected)));
+        assertThat(configuration.getInt("spider.maxConnectionsPerHost"), is(equalTo(expected)));
+    }
 }
@@ -32,9 +32,12 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.withSettings;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.apache.commons.httpclient.URI;
@@ -234,6 +237,65 @@ class SpiderTaskUnitTest extends TestUtils {
         assertNull(msg.getRequestHeader().getHeader(HttpHeader.CONTENT_LENGTH));
     }
 
+    @Test
+    void shouldKeepRequestsInMemoryWithoutDatabaseOperations() throws Exception {
+        // Given
+        given(parent.reserveTaskMemory(anyLong())).willReturn(true);
+        int tasksCount = 1000;
+        List<SpiderTask> tasks = new ArrayList<>(tasksCount);
+        // When
+        for (int i = 0; i < tasksCount; i++) {
+            URI uri = new URI("http://example.org/" + i, true);
+            tasks.add(new SpiderTask(parent, createResourceFound(uri), uri));
+        }
+        // Then
+        verify(tableHistory, never()).write(anyLong(), anyInt(), any());
+        for (int i = 0; i < tasksCount; i++) {
+            HttpMessage request = tasks.get(i).getRequest();
+            assertThat(
+                    request.getRequestHeader().getURI().toString(),
+                    is(equalTo("http://example.org/" + i)));
+        }
+    }
+
+    @Test
+    void shouldPersistRequestsIfNotEnoughMemory() throws Exception {
+        // Given
+        given(parent.reserveTaskMemory(anyLong())).willReturn(false);
+        int tasksCount = 10;
+        // When
+        for (int i = 0; i < tasksCount; i++) {
+            URI uri = new URI("http://example.org/" + i, true);
+            new SpiderTask(parent, createResourceFound(uri), uri);
+        }
+        // Then
+        verify(tableHistory, times(tasksCount))
+                .write(eq(sessionId), eq(HistoryReference.TYPE_SPIDER_TASK), any());
+    }
+
+    @Test
+    void shouldReleaseMemoryOfRequestOnCleanup() throws Exception {
+        // Given
+        given(parent.reserveTaskMemory(anyLong())).willReturn(true);
+        URI uri = new URI("http://example.org/", true);
+        SpiderTask task = new SpiderTask(parent, createResourceFound(uri), uri);
+        ArgumentCaptor<Long> reserved = ArgumentCaptor.forClass(Long.class);
+        verify(parent).reserveTaskMemory(reserved.capture());
+        // When
+        task.cleanup();
+        task.cleanup();
+        // Then
+        verify(parent).releaseTaskMemory(reserved.getValue());
+        assertNull(task.getRequest());
+    }
+
+    private static SpiderResourceFound createResourceFound(URI uri) {
+        return SpiderResourceFound.builder()
+                .setMethod(HttpRequestHeader.GET)
+                .setUri(uri.toString())
+                .build();
+    }
+
     private HttpMessage messageWrittenToSession() throws Exception {
         ArgumentCaptor<HttpMessage> argument = ArgumentCaptor.forClass(HttpMessage.class);
         verify(tableHistory)
@@ -176,7 +176,7 @@ class SpiderJobUnitTest extends TestUtils {
                 job.getConfigParameters(new SpiderParamWrapper(), job.getParamMethodName());
 
         // Then
-        assertThat(params.size(), is(equalTo(19)));
+        assertThat(params.size(), is(equalTo(21)));
         assertThat(params.containsKey("maxDuration"), is(equalTo(true)));
         assertThat(params.containsKey("maxDepth"), is(equalTo(true)));
         assertThat(params.containsKey("maxChildren"), is(equalTo(true)));
@@ -196,6 +196,8 @@ class SpiderJobUnitTest extends TestUtils {
         assertThat(params.containsKey("threadCount"), is(equalTo(true)));
         assertThat(params.containsKey("userAgent"), is(equalTo(true)));
         assertThat(params.containsKey("logoutAvoidance"), is(equalTo(true)));
+        assertThat(params.containsKey("hashVisitedResources"), is(equalTo(true)));
+        assertThat(params.containsKey("maxConnectionsPerHost"), is(equalTo(true)));
     }
 
     private static class SpiderParamWrapper {
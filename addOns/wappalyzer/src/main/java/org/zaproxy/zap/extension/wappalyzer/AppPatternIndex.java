@@ -0,0 +1,146 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.wappalyzer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jsoup.nodes.Document;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.jsoup.select.Selector;
+import org.zaproxy.addon.commonlib.LiteralMatcher;
+
+/**
+ * An index of the patterns of the applications, built once for all the messages scanned.
+ *
+ * <p>Tells which patterns can match a text, the patterns that require a literal not present in the
+ * text are not run. The literals of all the patterns are found in a single pass over the text,
+ * regardless of the number of applications. It also keeps the DOM selectors already parsed.
+ */
+class AppPatternIndex {
+
+    private static final Logger LOGGER = LogManager.getLogger(AppPatternIndex.class);
+
+    private final List<Application> applications;
+    private final Map<AppPattern, Integer> literalIds;
+    private final LiteralMatcher literalMatcher;
+    private final Map<String, Evaluator> selectors;
+
+    AppPatternIndex(List<Application> applications) {
+        this.applications = applications;
+        this.literalIds = new IdentityHashMap<>();
+        this.selectors = new HashMap<>();
+
+        Map<String, Integer> literals = new LinkedHashMap<>();
+        for (Application app : applications) {
+            addPatterns(app.getUrl(), literals);
+            addPatterns(app.getHtml(), literals);
+            addPatterns(app.getCss(), literals);
+            addPatterns(app.getScript(), literals);
+            app.getSimpleDom().forEach(this::addSelector);
+            for (Map<String, ?> domSelectorMap : app.getDom()) {
+                domSelectorMap.keySet().forEach(this::addSelector);
+            }
+        }
+        literalMatcher = new LiteralMatcher(new ArrayList<>(literals.keySet()), true);
+    }
+
+    private void addPatterns(List<AppPattern> patterns, Map<String, Integer> literals) {
+        for (AppPattern pattern : patterns) {
+            if (pattern.getJavaPattern() == null) {
+                continue;
+            }
+            String literal = LiteralMatcher.getRequiredLiteral(pattern.getJavaPattern().pattern());
+            if (literal != null) {
+                literalIds.put(pattern, literals.computeIfAbsent(literal, k -> literals.size()));
+            }
+        }
+    }
+
+    private void addSelector(String selector) {
+        if (selectors.containsKey(selector)) {
+            return;
+        }
+        try {
+            selectors.put(selector, QueryParser.parse(selector));
+        } catch (Selector.SelectorParseException e) {
+            LOGGER.debug("Failed to parse the selector {}: {}", selector, e.getMessage());
+        }
+    }
+
+    /**
+     * Tells whether or not this index was created for the given applications.
+     *
+     * @param applications the current applications.
+     * @return {@code true} if created for the same applications, {@code false} otherwise.
+     */
+    boolean isFor(List<Application> applications) {
+        return this.applications == applications;
+    }
+
+    List<Application> getApplications() {
+        return applications;
+    }
+
+    /**
+     * Finds the literals of the patterns present in the given text.
+     *
+     * @param text the text to search.
+     * @return the literals found, to be used with {@link #canMatch(AppPattern, BitSet)}.
+     */
+    BitSet findLiterals(String text) {
+        return literalMatcher.match(text);
+    }
+
+    /**
+     * Tells whether or not the given pattern can match the text with the given literals.
+     *
+     * @param pattern the pattern.
+     * @param literals the literals found in the text.
+     * @return {@code true} if the pattern might match, {@code false} if it does not match.
+     */
+    boolean canMatch(AppPattern pattern, BitSet literals) {
+        Integer id = literalIds.get(pattern);
+        return id == null || literals.get(id);
+    }
+
+    /**
+     * Selects the elements of the given document with the given selector.
+     *
+     * @param doc the document.
+     * @param selector the CSS selector.
+     * @return the selected elements.
+     */
+    Elements select(Document doc, String selector) {
+        Evaluator evaluator = selectors.get(selector);
+        if (evaluator == null) {
+            return doc.select(selector);
+        }
+        return doc.select(evaluator);
+    }
+}
@@ -19,14 +19,15 @@
  */
 package org.zaproxy.zap.extension.wappalyzer;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import net.htmlparser.jericho.Element;
 import net.htmlparser.jericho.HTMLElementName;
@@ -48,6 +49,7 @@ import org.parosproxy.paros.model.SiteNode;
 import org.parosproxy.paros.network.HtmlParameter;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.ResourceIdentificationUtils;
+import org.zaproxy.addon.commonlib.scanrules.PassiveScanMessageData;
 import org.zaproxy.zap.extension.alert.ExtensionAlert;
 import org.zaproxy.zap.extension.pscan.PassiveScanner;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
@@ -62,6 +64,7 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
     private static final int PLUGIN_ID = 10004;
 
     private ApplicationHolder applicationHolder;
+    private volatile AppPatternIndex appPatternIndex;
     private Map<String, Set<String>> tracker;
 
     /** The number of requests analysed for each site */
@@ -76,7 +79,7 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
     @FunctionalInterface
     private interface CustomProcessor {
         ApplicationMatch process(
-                ApplicationMatch appMatch, Application currentApp, HttpMessage msg, Source source);
+                ApplicationMatch appMatch, Application currentApp, MessageData data);
     }
 
     private List<CustomProcessor> messageHeaderProcessors =
@@ -115,38 +118,52 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
 
         long startTime = System.currentTimeMillis();
         String site = getSite(msg);
-        tracker.putIfAbsent(site, new HashSet<>());
+        // Track matched based on site (authority)
+        Set<String> siteApps = tracker.computeIfAbsent(site, k -> ConcurrentHashMap.newKeySet());
         int reqCount = siteReqCount.merge(site, 1, Integer::sum);
         Stats.setHighwaterMark(site, "stats.tech.reqcount.total", reqCount);
 
-        for (Application app : this.getApps()) {
-            // Track matched based on site (authority)
-            synchronized (tracker) {
-                if (tracker.get(site).contains(app.getName())) {
-                    // Already exists, so continue
-                    LOGGER.debug("\"{}\" already identified on {}", app.getName(), site);
-                    continue;
-                }
-                ApplicationMatch appMatch = checkAppMatches(null, app, msg, source);
-                if (appMatch != null) {
-                    LOGGER.debug(
-                            "Adding \"{}\" to tracker {} identified via {}.",
-                            app.getName(),
-                            site,
-                            msg.getRequestHeader().getURI());
-                    addApplicationsToSite(
-                            ExtensionWappalyzer.normalizeSite(msg.getRequestHeader().getURI()),
-                            appMatch);
-                    raiseAlert(msg, appMatch);
-                    tracker.get(site).add(app.getName());
-                    Stats.setHighwaterMark(site, "stats.tech.reqcount.id", reqCount);
-                }
+        MessageData data = new MessageData(getAppPatternIndex(), msg, source);
+        for (Application app : data.index.getApplications()) {
+            if (siteApps.contains(app.getName())) {
+                // Already exists, so continue
+                LOGGER.debug("\"{}\" already identified on {}", app.getName(), site);
+                continue;
+            }
+            ApplicationMatch appMatch = checkAppMatches(null, app, data);
+            // Another thread might have identified the app in the meantime
+            if (appMatch != null && siteApps.add(app.getName())) {
+                LOGGER.debug(
+                        "Adding \"{}\" to tracker {} identified via {}.",
+                        app.getName(),
+                        site,
+                        msg.getRequestHeader().getURI());
+                addApplicationsToSite(
+                        ExtensionWappalyzer.normalizeSite(msg.getRequestHeader().getURI()),
+                        appMatch);
+                raiseAlert(msg, appMatch);
+                Stats.setHighwaterMark(site, "stats.tech.reqcount.id", reqCount);
             }
         }
 
         LOGGER.debug("Analysis took {} ms", System.currentTimeMillis() - startTime);
     }
 
+    private AppPatternIndex getAppPatternIndex() {
+        List<Application> apps = getApps();
+        AppPatternIndex index = appPatternIndex;
+        if (index == null || !index.isFor(apps)) {
+            synchronized (this) {
+                index = appPatternIndex;
+                if (index == null || !index.isFor(apps)) {
+                    index = new AppPatternIndex(apps);
+                    appPatternIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
     private static String getSite(HttpMessage msg) {
         String site = "";
         try {
@@ -185,21 +202,21 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
     }
 
     private ApplicationMatch checkAppMatches(
-            ApplicationMatch appMatch, Application currentApp, HttpMessage msg, Source source) {
+            ApplicationMatch appMatch, Application currentApp, MessageData data) {
 
         for (CustomProcessor cmp : messageHeaderProcessors) {
-            appMatch = cmp.process(appMatch, currentApp, msg, source);
+            appMatch = cmp.process(appMatch, currentApp, data);
             if (!Mode.EXHAUSTIVE.equals(mode) && appMatch != null) {
                 return appMatch;
             }
         }
 
-        if (!msg.getResponseHeader().isText()) {
+        if (!data.isText) {
             return appMatch; // Don't check body if not text'ish
         }
 
         for (CustomProcessor cmp : messageBodyProcessors) {
-            appMatch = cmp.process(appMatch, currentApp, msg, source);
+            appMatch = cmp.process(appMatch, currentApp, data);
             if (!Mode.EXHAUSTIVE.equals(mode) && appMatch != null) {
                 return appMatch;
             }
@@ -208,20 +225,28 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
     }
 
     private ApplicationMatch checkCssElementsMatches(
-            ApplicationMatch appMatch, Application currentApp, HttpMessage msg, Source source) {
+            ApplicationMatch appMatch, Application currentApp, MessageData data) {
         for (AppPattern appPattern : currentApp.getCss()) {
-            if (ResourceIdentificationUtils.isCss(msg)) {
+            if (data.isCss) {
                 appMatch =
                         addIfMatches(
-                                appMatch, currentApp, appPattern, msg.getResponseBody().toString());
+                                appMatch,
+                                currentApp,
+                                appPattern,
+                                data.getBody(),
+                                data.getBodyLiterals(),
+                                data.index);
             } else {
-                for (Element styleElement : source.getAllElements(HTMLElementName.STYLE)) {
+                List<String> styles = data.getStyles();
+                for (int i = 0; i < styles.size(); i++) {
                     appMatch =
                             addIfMatches(
                                     appMatch,
                                     currentApp,
                                     appPattern,
-                                    styleElement.getSource().toString());
+                                    styles.get(i),
+                                    data.getStyleLiterals(i),
+                                    data.index);
                 }
             }
         }
@@ -229,30 +254,36 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
     }
 
     private ApplicationMatch checkScriptElementsMatches(
-            ApplicationMatch appMatch, Application currentApp, HttpMessage msg, Source source) {
-        for (Element scriptElement : source.getAllElements(HTMLElementName.SCRIPT)) {
+            ApplicationMatch appMatch, Application currentApp, MessageData data) {
+        if (currentApp.getScript().isEmpty()) {
+            return appMatch;
+        }
+        List<String> scriptSources = data.getScriptSources();
+        for (int i = 0; i < scriptSources.size(); i++) {
             for (AppPattern appPattern : currentApp.getScript()) {
-                String src = scriptElement.getAttributeValue("src");
-                if (src != null && !src.isEmpty()) {
-                    appMatch = addIfMatches(appMatch, currentApp, appPattern, src);
-                }
+                appMatch =
+                        addIfMatches(
+                                appMatch,
+                                currentApp,
+                                appPattern,
+                                scriptSources.get(i),
+                                data.getScriptSourceLiterals(i),
+                                data.index);
             }
         }
         return appMatch;
     }
 
     private ApplicationMatch checkMetaElementsMatches(
-            ApplicationMatch appMatch, Application currentApp, HttpMessage msg, Source source) {
-        List<Element> metaElements = source.getAllElements(HTMLElementName.META);
-        for (Element metaElement : metaElements) {
+            ApplicationMatch appMatch, Application currentApp, MessageData data) {
+        if (currentApp.getMetas().isEmpty()) {
+            return appMatch;
+        }
+        for (String[] meta : data.getMetas()) {
             for (Map<String, AppPattern> sp : currentApp.getMetas()) {
-                for (Map.Entry<String, AppPattern> entry : sp.entrySet()) {
-                    String name = metaElement.getAttributeValue("name");
-                    String content = metaElement.getAttributeValue("content");
-                    if (name != null && content != null && name.equals(entry.getKey())) {
-                        AppPattern p = entry.getValue();
-                        appMatch = addIfMatches(appMatch, currentApp, p, content);
-                    }
+                AppPattern p = sp.get(meta[0]);
+                if (p != null) {
+                    appMatch = addIfMatches(appMatch, currentApp, p, meta[1]);
                 }
             }
         }
@@ -260,11 +291,10 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
     }
 
     private ApplicationMatch checkDomElementMatches(
-            ApplicationMatch appMatch, Application currentApp, HttpMessage message, Source source) {
-        if (!message.getResponseHeader().isHtml()) {
+            ApplicationMatch appMatch, Application currentApp, MessageData data) {
+        if (!data.isHtml || currentApp.getDom().isEmpty()) {
             return appMatch;
         }
-        Document doc = Jsoup.parse(message.getResponseBody().toString());
         for (Map<String, Map<String, Map<String, AppPattern>>> domSelectorMap :
                 currentApp.getDom()) {
             for (Map.Entry<String, Map<String, Map<String, AppPattern>>> selectorMap :
@@ -273,7 +303,7 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
                         selectorMap.getValue().entrySet()) {
                     for (Map.Entry<String, AppPattern> value :
                             nodeSelectorMap.getValue().entrySet()) {
-                        Elements selectedElements = doc.select(selectorMap.getKey());
+                        Elements selectedElements = data.select(selectorMap.getKey());
                         for (org.jsoup.nodes.Element selectedElement : selectedElements) {
                             if (Objects.equals(value.getKey(), "text")) {
                                 AppPattern ap = value.getValue();
@@ -301,29 +331,35 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
     }
 
     private ApplicationMatch checkSimpleDomMatches(
-            ApplicationMatch appMatch, Application currentApp, HttpMessage msg, Source source) {
-        String body = msg.getResponseBody().toString();
+            ApplicationMatch appMatch, Application currentApp, MessageData data) {
         for (String selector : currentApp.getSimpleDom()) {
-            appMatch = addIfDomMatches(appMatch, currentApp, selector, body);
+            if (!data.select(selector).isEmpty()) {
+                appMatch = getAppMatch(appMatch, currentApp);
+            }
         }
         return appMatch;
     }
 
     private ApplicationMatch checkBodyMatches(
-            ApplicationMatch appMatch, Application currentApp, HttpMessage msg, Source source) {
-        String body = msg.getResponseBody().toString();
+            ApplicationMatch appMatch, Application currentApp, MessageData data) {
         for (AppPattern p : currentApp.getHtml()) {
-            appMatch = addIfMatches(appMatch, currentApp, p, body);
+            appMatch =
+                    addIfMatches(
+                            appMatch,
+                            currentApp,
+                            p,
+                            data.getBody(),
+                            data.getBodyLiterals(),
+                            data.index);
         }
         return appMatch;
     }
 
     private ApplicationMatch checkHeadersMatches(
-            ApplicationMatch appMatch, Application currentApp, HttpMessage msg, Source source) {
+            ApplicationMatch appMatch, Application currentApp, MessageData data) {
         for (Map<String, AppPattern> sp : currentApp.getHeaders()) {
             for (Map.Entry<String, AppPattern> entry : sp.entrySet()) {
-                List<String> hasRelevantHeaders =
-                        msg.getResponseHeader().getHeaderValues(entry.getKey());
+                List<String> hasRelevantHeaders = data.getResponseHeaderValues(entry.getKey());
                 if (!hasRelevantHeaders.isEmpty()) {
                     if (skipValueCheck(entry)) {
                         AppPattern p = new AppPattern();
@@ -331,7 +367,7 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
                         p.setPattern(entry.getKey());
                         appMatch = addIfMatches(appMatch, currentApp, p, entry.getKey());
                     } else {
-                        String headerValue = msg.getResponseHeader().getHeader(entry.getKey());
+                        String headerValue = hasRelevantHeaders.get(0);
                         AppPattern p = entry.getValue();
                         appMatch = addIfMatches(appMatch, currentApp, p, headerValue);
                     }
@@ -342,10 +378,13 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
     }
 
     private ApplicationMatch checkCookieMatches(
-            ApplicationMatch appMatch, Application currentApp, HttpMessage msg, Source source) {
+            ApplicationMatch appMatch, Application currentApp, MessageData data) {
+        if (currentApp.getCookies().isEmpty()) {
+            return appMatch;
+        }
         for (Map<String, AppPattern> sp : currentApp.getCookies()) {
             for (Map.Entry<String, AppPattern> entry : sp.entrySet()) {
-                for (HtmlParameter cookie : msg.getCookieParams()) {
+                for (HtmlParameter cookie : data.getCookies()) {
                     if (entry.getKey().equals(cookie.getName())) {
                         if (skipValueCheck(entry)) {
                             AppPattern p = new AppPattern();
@@ -369,22 +408,26 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
     }
 
     private ApplicationMatch checkUrlMatches(
-            ApplicationMatch appMatch, Application currentApp, HttpMessage msg, Source source) {
-        String url = msg.getRequestHeader().getURI().toString();
+            ApplicationMatch appMatch, Application currentApp, MessageData data) {
         for (AppPattern p : currentApp.getUrl()) {
-            appMatch = addIfMatches(appMatch, currentApp, p, url);
+            appMatch =
+                    addIfMatches(
+                            appMatch, currentApp, p, data.url, data.getUrlLiterals(), data.index);
         }
         return appMatch;
     }
 
-    private static ApplicationMatch addIfDomMatches(
-            ApplicationMatch appMatch, Application currentApp, String selector, String content) {
-        Document doc = Jsoup.parse(content);
-        Elements elements = doc.select(selector);
-        if (!elements.isEmpty()) {
-            appMatch = getAppMatch(appMatch, currentApp);
+    private static ApplicationMatch addIfMatches(
+            ApplicationMatch appMatch,
+            Application currentApp,
+            AppPattern appPattern,
+            String content,
+            BitSet literals,
+            AppPatternIndex index) {
+        if (!index.canMatch(appPattern, literals)) {
+            return appMatch;
         }
-        return appMatch;
+        return addIfMatches(appMatch, currentApp, appPattern, content);
     }
 
     private static ApplicationMatch addIfMatches(
@@ -544,8 +587,139 @@ public class TechPassiveScanner implements PassiveScanner, OptionsChangedListene
     }
 
     void reset() {
-        tracker = Collections.synchronizedMap(new TreeMap<>());
-        visitedSiteIdentifiers = Collections.synchronizedSet(new HashSet<>());
-        siteReqCount = Collections.synchronizedMap(new TreeMap<>());
+        tracker = new ConcurrentHashMap<>();
+        visitedSiteIdentifiers = ConcurrentHashMap.newKeySet();
+        siteReqCount = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * The data of the message being scanned, extracted once and shared by all the applications.
+     *
+     * <p>The literals of the texts are found lazily, only if there are patterns to check.
+     */
+    private static class MessageData {
+
+        private final AppPatternIndex index;
+        private final HttpMessage msg;
+        private final PassiveScanMessageData scanData;
+        private final String url;
+        private final boolean isText;
+        private final boolean isHtml;
+        private final boolean isCss;
+
+        private BitSet urlLiterals;
+        private String body;
+        private BitSet bodyLiterals;
+        private List<HtmlParameter> cookies;
+        private List<String[]> metas;
+        private List<String> scriptSources;
+        private BitSet[] scriptSourceLiterals;
+        private List<String> styles;
+        private BitSet[] styleLiterals;
+        private Document doc;
+        private Map<String, Elements> selectedElements;
+
+        MessageData(AppPatternIndex index, HttpMessage msg, Source source) {
+            this.index = index;
+            this.msg = msg;
+            this.scanData = PassiveScanMessageData.get(msg, source);
+            this.url = msg.getRequestHeader().getURI().toString();
+            this.isText = msg.getResponseHeader().isText();
+            this.isHtml = msg.getResponseHeader().isHtml();
+            this.isCss = ResourceIdentificationUtils.isCss(msg);
+        }
+
+        BitSet getUrlLiterals() {
+            if (urlLiterals == null) {
+                urlLiterals = index.findLiterals(url);
+            }
+            return urlLiterals;
+        }
+
+        List<String> getResponseHeaderValues(String name) {
+            return scanData.getResponseHeaderValues(name);
+        }
+
+        List<HtmlParameter> getCookies() {
+            if (cookies == null) {
+                cookies = List.copyOf(msg.getCookieParams());
+            }
+            return cookies;
+        }
+
+        String getBody() {
+            if (body == null) {
+                body = scanData.getResponseBody();
+            }
+            return body;
+        }
+
+        BitSet getBodyLiterals() {
+            if (bodyLiterals == null) {
+                bodyLiterals = index.findLiterals(getBody());
+            }
+            return bodyLiterals;
+        }
+
+        List<String[]> getMetas() {
+            if (metas == null) {
+                metas = new ArrayList<>();
+                for (Element metaElement : scanData.getElements(HTMLElementName.META)) {
+                    String name = metaElement.getAttributeValue("name");
+                    String content = metaElement.getAttributeValue("content");
+                    if (name != null && content != null) {
+                        metas.add(new String[] {name, content});
+                    }
+                }
+            }
+            return metas;
+        }
+
+        List<String> getScriptSources() {
+            if (scriptSources == null) {
+                scriptSources = new ArrayList<>();
+                for (Element scriptElement : scanData.getElements(HTMLElementName.SCRIPT)) {
+                    String src = scriptElement.getAttributeValue("src");
+                    if (src != null && !src.isEmpty()) {
+                        scriptSources.add(src);
+                    }
+                }
+                scriptSourceLiterals = new BitSet[scriptSources.size()];
+            }
+            return scriptSources;
+        }
+
+        BitSet getScriptSourceLiterals(int i) {
+            if (scriptSourceLiterals[i] == null) {
+                scriptSourceLiterals[i] = index.findLiterals(scriptSources.get(i));
+            }
+            return scriptSourceLiterals[i];
+        }
+
+        List<String> getStyles() {
+            if (styles == null) {
+                styles = new ArrayList<>();
+                for (Element styleElement : scanData.getElements(HTMLElementName.STYLE)) {
+                    styles.add(styleElement.getSource().toString());
+                }
+                styleLiterals = new BitSet[styles.size()];
+            }
+            return styles;
+        }
+
+        BitSet getStyleLiterals(int i) {
+            if (styleLiterals[i] == null) {
+                styleLiterals[i] = index.findLiterals(styles.get(i));
+            }
+            return styleLiterals[i];
+        }
+
+        Elements select(String selector) {
+            if (doc == null) {
+                doc = Jsoup.parse(getBody());
+                selectedElements = new HashMap<>();
+            }
+            return selectedElements.computeIfAbsent(selector, k -> index.select(doc, k));
+        }
     }
 }
@@ -0,0 +1,152 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.wappalyzer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link AppPatternIndex}. */
+class AppPatternIndexUnitTest {
+
+    @Test
+    void shouldBeForSameApplicationsOnly() {
+        // Given
+        List<Application> apps = List.of(createApp("<div class=\"example-app\""));
+        AppPatternIndex index = new AppPatternIndex(apps);
+        // When / Then
+        assertThat(index.isFor(apps), is(true));
+        assertThat(index.isFor(new ArrayList<>(apps)), is(false));
+    }
+
+    @Test
+    void shouldDiscardPatternIfRequiredLiteralNotPresent() {
+        // Given
+        Application app = createApp("wp-content/plugins/([a-z]+)");
+        AppPatternIndex index = new AppPatternIndex(List.of(app));
+        // When
+        BitSet literals = index.findLiterals("<html><body>Nothing here</body></html>");
+        // Then
+        assertThat(index.canMatch(app.getHtml().get(0), literals), is(false));
+    }
+
+    @Test
+    void shouldNotDiscardPatternIfRequiredLiteralPresentInAnyCase() {
+        // Given
+        Application app = createApp("wp-content/plugins/([a-z]+)");
+        AppPatternIndex index = new AppPatternIndex(List.of(app));
+        // When
+        BitSet literals = index.findLiterals("<link href=\"/WP-Content/Plugins/x/a.css\">");
+        // Then
+        assertThat(index.canMatch(app.getHtml().get(0), literals), is(true));
+    }
+
+    @Test
+    void shouldNotDiscardPatternWithoutRequiredLiteral() {
+        // Given
+        Application app = createApp("(?:abc|xyz)\\d+");
+        AppPatternIndex index = new AppPatternIndex(List.of(app));
+        // When
+        BitSet literals = index.findLiterals("Nothing here");
+        // Then
+        assertThat(index.canMatch(app.getHtml().get(0), literals), is(true));
+    }
+
+    @Test
+    void shouldSelectElementsWithParsedAndNotParsedSelectors() {
+        // Given
+        Application app = createApp("example");
+        app.setSimpleDom(List.of("div.example"));
+        AppPatternIndex index = new AppPatternIndex(List.of(app));
+        Document doc = Jsoup.parse("<div class=\"example\"></div><p></p><p></p>");
+        // When / Then
+        assertThat(index.select(doc, "div.example"), hasSize(1));
+        assertThat(index.select(doc, "p"), hasSize(2));
+        assertThat(index.select(doc, "span"), is(empty()));
+    }
+
+    @Test
+    void shouldNotDiscardPatternsOfBundledTechnologiesThatMatch() {
+        // Given
+        TechData techData =
+                new TechsJsonParser().parse("categories.json", generateFileList(), false);
+        List<Application> apps = techData.getApplications();
+        AppPatternIndex index = new AppPatternIndex(apps);
+        List<String> texts =
+                List.of(
+                        "https://www.example.com/wp-content/themes/a/style.css?ver=6.4.2",
+                        "https://www.example.com/index.php?option=com_content",
+                        "/js/jquery-3.6.0.min.js",
+                        "/ajax/libs/react/18.2.0/umd/react.production.min.js",
+                        "https://cdn.jsdelivr.net/npm/bootstrap@5.3.0/dist/js/bootstrap.min.js",
+                        "<html><head><link rel=\"stylesheet\" href=\"/wp-content/plugins/x.css\">"
+                                + "<script src=\"/sites/all/modules/jquery_update/jquery.js\">"
+                                + "</script></head><body><div id=\"__next\"></div>"
+                                + "<div data-reactroot=\"\"></div><!-- Powered by Magento -->"
+                                + "<script>var Drupal = {}; window.Shopify = {};</script>"
+                                + "</body></html>",
+                        ".navbar-collapse{display:flex}.fa-solid{font-family:'Font Awesome'}");
+        // When
+        List<String> discarded = new ArrayList<>();
+        for (String text : texts) {
+            BitSet literals = index.findLiterals(text);
+            for (Application app : apps) {
+                List<AppPattern> patterns = new ArrayList<>(app.getUrl());
+                patterns.addAll(app.getHtml());
+                patterns.addAll(app.getScript());
+                patterns.addAll(app.getCss());
+                for (AppPattern pattern : patterns) {
+                    if (!pattern.findInString(text).getEvidence().isEmpty()
+                            && !index.canMatch(pattern, literals)) {
+                        discarded.add(app.getName() + ": " + pattern.getJavaPattern());
+                    }
+                }
+            }
+        }
+        // Then
+        assertThat(discarded, is(empty()));
+    }
+
+    private static Application createApp(String htmlPattern) {
+        Application app = new Application();
+        app.setName("Example");
+        AppPattern pattern = new AppPattern();
+        pattern.setType("HTML");
+        pattern.setPattern(htmlPattern);
+        app.setHtml(List.of(pattern));
+        return app;
+    }
+
+    private static List<String> generateFileList() {
+        List<String> fileList = new ArrayList<>();
+        for (char fileNameChar : "_abcdefghijklmnopqrstuvwxyz".toCharArray()) {
+            fileList.add(ExtensionWappalyzer.RESOURCE + "/technologies/" + fileNameChar + ".json");
+        }
+        return fileList;
+    }
+}
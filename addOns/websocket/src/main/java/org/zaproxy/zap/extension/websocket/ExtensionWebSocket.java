@@ -268,7 +268,7 @@ public class ExtensionWebSocket extends ExtensionAdaptor
             table.databaseOpen(db.getDatabaseServer());
 
             if (storage == null) {
-                storage = new WebSocketStorage(table);
+                storage = new WebSocketStorage(table, config);
                 addAllChannelObserver(storage);
             } else {
                 storage.setTable(table);
@@ -403,7 +403,8 @@ public class ExtensionWebSocket extends ExtensionAdaptor
             // Set up AlertManager so as to use it in WebSocketPassiveScannerManager
             AlertManager alertManager = new AlertManager(extensionAlert);
 
-            webSocketPassiveScannerManager = new WebSocketPassiveScannerManager(alertManager);
+            webSocketPassiveScannerManager =
+                    new WebSocketPassiveScannerManager(alertManager, config);
 
             // Proxies which their's mode are equal to SERVER mode, they are ignored from passive
             // scanner
@@ -421,7 +422,6 @@ public class ExtensionWebSocket extends ExtensionAdaptor
 
             webSocketPassiveScannerManager.add(webSocketScriptPassiveScanner);
             webSocketPassiveScannerManager.setAllEnable(true);
-            webSocketPassiveScannerManager.startThread();
         }
 
         //        webSocketTreeMap = new WebSocketTreeMap(new WebSocketSimpleNodeNamer());
@@ -440,6 +440,9 @@ public class ExtensionWebSocket extends ExtensionAdaptor
             if (!webSocketPassiveScannerManager.hasTable()) {
                 webSocketPassiveScannerManager.setTable(table);
             }
+
+            // Started once the options are loaded
+            webSocketPassiveScannerManager.startThread();
         }
     }
 
@@ -463,6 +466,7 @@ public class ExtensionWebSocket extends ExtensionAdaptor
         }
 
         if (table != null) {
+            table.shutdown();
             getModel().getDb().removeDatabaseListener(table);
         }
 
@@ -502,6 +506,10 @@ public class ExtensionWebSocket extends ExtensionAdaptor
             eventPublisher.shutdown();
             eventPublisher = null;
         }
+
+        if (table != null) {
+            table.shutdown();
+        }
     }
 
     @Override
@@ -1053,6 +1061,17 @@ public class ExtensionWebSocket extends ExtensionAdaptor
                 payloadPreviewLength);
     }
 
+    /**
+     * Gets the number of messages waiting to be passive scanned.
+     *
+     * @return the number of messages, {@code 0} if the passive scanner is not available.
+     */
+    public int getPassiveScanMessagesToScan() {
+        return webSocketPassiveScannerManager != null
+                ? webSocketPassiveScannerManager.getMessagesToScan()
+                : 0;
+    }
+
     public void recordMessage(WebSocketMessageDTO message) throws DatabaseException {
         this.table.insertMessage(message);
     }
@@ -1111,6 +1130,11 @@ public class ExtensionWebSocket extends ExtensionAdaptor
             }
             wsProxies.clear();
         }
+
+        // write the remaining messages before the database is closed
+        if (table != null) {
+            table.shutdown();
+        }
     }
 
     @Override
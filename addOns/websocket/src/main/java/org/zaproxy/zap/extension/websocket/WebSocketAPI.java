@@ -76,6 +76,7 @@ public class WebSocketAPI extends ApiImplementor {
     private static final String VIEW_MESSAGE = "message";
     private static final String VIEW_MESSAGES = "messages";
     private static final String VIEW_BREAK_TEXT_MESSAGE = "breakTextMessage";
+    private static final String VIEW_PSCAN_MESSAGES_TO_SCAN = "pscanMessagesToScan";
 
     private static final String ACTION_SEND_TEXT_MESSAGE = "sendTextMessage";
     private static final String ACTION_SET_BREAK_TEXT_MESSAGE = "setBreakTextMessage";
@@ -113,6 +114,7 @@ public class WebSocketAPI extends ApiImplementor {
                             PARAM_CHANNEL_ID, PARAM_START, PARAM_COUNT, PARAM_PAYLOAD_PREVIEW_LENGTH
                         }));
         this.addApiView(new ApiView(VIEW_BREAK_TEXT_MESSAGE));
+        this.addApiView(new ApiView(VIEW_PSCAN_MESSAGES_TO_SCAN));
 
         this.addApiAction(
                 new ApiAction(
@@ -499,6 +501,10 @@ public class WebSocketAPI extends ApiImplementor {
                         "Intercepted message is not of the right type "
                                 + msg.getClass().getCanonicalName());
             }
+        } else if (VIEW_PSCAN_MESSAGES_TO_SCAN.equals(name)) {
+            result =
+                    new ApiResponseElement(
+                            name, Integer.toString(extension.getPassiveScanMessagesToScan()));
         } else {
             throw new ApiException(ApiException.Type.BAD_VIEW);
         }
@@ -433,7 +433,7 @@ public abstract class WebSocketProxy {
             if (!isServerMode()) {
                 // use existing InputStream for remote socket,
                 // as it may already contain first WebSocket-frames
-                remoteListener = createListener(remoteSocket, remoteReader, "remote");
+                remoteListener = createListener(remoteSocket, buffered(remoteReader), "remote");
             }
             localListener = createListener(localSocket, "local");
         } catch (WebSocketException e) {
@@ -479,6 +479,20 @@ public abstract class WebSocketProxy {
         }
     }
 
+    /**
+     * Wraps the given stream in a {@link BufferedInputStream}, if not already, the frames are read
+     * in small chunks (e.g. frame header).
+     *
+     * @param in the stream to wrap, might be {@code null}.
+     * @return the buffered stream, or {@code null} if the given stream was {@code null}.
+     */
+    private static InputStream buffered(InputStream in) {
+        if (in == null || in instanceof BufferedInputStream) {
+            return in;
+        }
+        return new BufferedInputStream(in);
+    }
+
     /**
      * Create a listener object that encapsulates the input stream from the given {@link Socket} and
      * the output stream of the opposite socket connection.
@@ -19,6 +19,7 @@
  */
 package org.zaproxy.zap.extension.websocket;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -586,9 +587,13 @@ public class WebSocketProxyV13 extends WebSocketProxy {
 
             // read until buffer is full
             int bytesRead = 0;
-            do {
-                bytesRead += in.read(buffer, bytesRead, length - bytesRead);
-            } while (length != bytesRead);
+            while (bytesRead < length) {
+                int read = in.read(buffer, bytesRead, length - bytesRead);
+                if (read == -1) {
+                    throw new EOFException("Connection closed while reading the frame.");
+                }
+                bytesRead += read;
+            }
 
             // maybe we have to increase the size of the current frame buffer
             if (currentFrame.getFreeSpace() < bytesRead) {
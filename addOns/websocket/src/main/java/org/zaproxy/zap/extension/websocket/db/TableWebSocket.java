@@ -19,22 +19,35 @@
  */
 package org.zaproxy.zap.extension.websocket.db;
 
+import java.sql.BatchUpdateException;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import org.apache.commons.collections.map.LRUMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -49,11 +62,40 @@ import org.zaproxy.zap.extension.websocket.WebSocketFuzzMessageDTO;
 import org.zaproxy.zap.extension.websocket.WebSocketMessage;
 import org.zaproxy.zap.extension.websocket.WebSocketMessageDTO;
 import org.zaproxy.zap.extension.websocket.ui.WebSocketMessagesPayloadFilter;
+import org.zaproxy.zap.utils.Stats;
 
-/** Manages writing and reading WebSocket messages to the database. */
+/**
+ * Manages writing and reading WebSocket messages to the database.
+ *
+ * <p>Messages are not written as soon as they are inserted, they are queued and written in batches
+ * by a background thread, which avoids blocking the WebSocket connections on the database. The
+ * messages can be read as soon as they are inserted, through {@link #getMessage(int, int)}, even if
+ * not yet written.
+ */
 public class TableWebSocket extends ParosAbstractTable {
     private static final Logger LOGGER = LogManager.getLogger(TableWebSocket.class);
 
+    /** The statistic with the highest delay, in milliseconds, between a message and its write. */
+    public static final String WEBSOCKET_STORAGE_LAG_STATS = "stats.websockets.storage.lag";
+
+    /** The statistic with the number of messages discarded, not written. */
+    public static final String WEBSOCKET_STORAGE_DROPPED_STATS = "stats.websockets.storage.dropped";
+
+    /** The statistic with the highest number of messages queued for writing. */
+    public static final String WEBSOCKET_STORAGE_QUEUE_STATS = "stats.websockets.storage.queue";
+
+    /** The interval, in milliseconds, between writes of the queued messages. */
+    private static final long WRITE_INTERVAL_MS = 250;
+
+    /** The maximum number of messages written in a single batch. */
+    private static final int MAX_BATCH_SIZE = 500;
+
+    /**
+     * The maximum number of messages queued for writing, once reached the insertions write the
+     * queued messages.
+     */
+    private static final int MAX_QUEUED_MESSAGES = 10_000;
+
     private Set<Integer> channelIds;
     private LRUMap channelCache;
 
@@ -75,9 +117,39 @@ public class TableWebSocket extends ParosAbstractTable {
 
     private PreparedStatement psSelectMaxChannelId;
 
-    private Queue<WebSocketMessageDTO> messagesBuffer = new LinkedList<>();
     private Queue<WebSocketChannelDTO> channelsBuffer = new LinkedList<>();
 
+    /** The lock for the changes to the database, reads do not need it. */
+    private final Object writeLock = new Object();
+
+    /** The lock for the prepared statements used to read from the database. */
+    private final Object readLock = new Object();
+
+    private final BlockingQueue<WebSocketMessageDTO> queuedMessages;
+
+    /** The messages that failed to be written, written before the queued messages. */
+    private final List<WebSocketMessageDTO> failedMessages = new ArrayList<>();
+
+    /** The messages inserted but not yet written, to be readable in the meantime. */
+    private final Map<WebSocketMessagePrimaryKey, WebSocketMessageDTO> unwrittenMessages =
+            new ConcurrentHashMap<>();
+
+    private final List<Consumer<List<WebSocketMessageDTO>>> writeListeners =
+            new CopyOnWriteArrayList<>();
+
+    private volatile ScheduledExecutorService writer;
+
+    private final long writeIntervalMs;
+
+    public TableWebSocket() {
+        this(MAX_QUEUED_MESSAGES, WRITE_INTERVAL_MS);
+    }
+
+    TableWebSocket(int maxQueuedMessages, long writeIntervalMs) {
+        queuedMessages = new LinkedBlockingQueue<>(maxQueuedMessages);
+        this.writeIntervalMs = writeIntervalMs;
+    }
+
     /** Create tables if not already available */
     @Override
     protected void reconnect(Connection conn) throws DatabaseException {
@@ -232,12 +304,12 @@ public class TableWebSocket extends ParosAbstractTable {
      * @return number of message that fulfill given template
      * @throws DatabaseException
      */
-    public synchronized int getMessageCount(WebSocketMessageDTO criteria, List<Integer> opcodes)
+    public int getMessageCount(WebSocketMessageDTO criteria, List<Integer> opcodes)
             throws DatabaseException {
         return getMessageCount(criteria, opcodes, -1);
     }
 
-    public synchronized int getMessageCount(
+    public int getMessageCount(
             WebSocketMessageDTO criteria, List<Integer> opcodes, int payloadLength)
             throws DatabaseException {
         return getMessageCount(criteria, opcodes, null, null, payloadLength);
@@ -252,13 +324,13 @@ public class TableWebSocket extends ParosAbstractTable {
      * @return number of message that fulfill given template
      * @throws DatabaseException
      */
-    public synchronized int getMessageCount(
+    public int getMessageCount(
             WebSocketMessageDTO criteria, List<Integer> opcodes, List<Integer> inScopeChannelIds)
             throws DatabaseException {
         return getMessageCount(criteria, opcodes, inScopeChannelIds, null, -1);
     }
 
-    public synchronized int getMessageCount(
+    public int getMessageCount(
             WebSocketMessageDTO criteria,
             List<Integer> opcodes,
             List<Integer> inScopeChannelIds,
@@ -361,7 +433,7 @@ public class TableWebSocket extends ParosAbstractTable {
         }
     }
 
-    public synchronized int getIndexOf(
+    public int getIndexOf(
             WebSocketMessageDTO criteria, List<Integer> opcodes, List<Integer> inScopeChannelIds)
             throws DatabaseException {
         try {
@@ -387,15 +459,22 @@ public class TableWebSocket extends ParosAbstractTable {
         }
     }
 
-    public synchronized WebSocketMessageDTO getMessage(int messageId, int channelId)
-            throws DatabaseException {
+    public WebSocketMessageDTO getMessage(int messageId, int channelId) throws DatabaseException {
+        WebSocketMessageDTO unwrittenMessage =
+                unwrittenMessages.get(new WebSocketMessagePrimaryKey(channelId, messageId));
+        if (unwrittenMessage != null) {
+            return unwrittenMessage;
+        }
+
         try {
-            psSelectMessage.setInt(1, messageId);
-            psSelectMessage.setInt(2, channelId);
-            psSelectMessage.execute();
+            List<WebSocketMessageDTO> messages;
+            synchronized (readLock) {
+                psSelectMessage.setInt(1, messageId);
+                psSelectMessage.setInt(2, channelId);
+                psSelectMessage.execute();
 
-            List<WebSocketMessageDTO> messages =
-                    buildMessageDTOs(psSelectMessage.getResultSet(), false);
+                messages = buildMessageDTOs(psSelectMessage.getResultSet(), false);
+            }
             if (messages.size() != 1) {
                 throw new SQLException("Message not found!");
             }
@@ -417,7 +496,7 @@ public class TableWebSocket extends ParosAbstractTable {
      * @return Messages that fulfill given template.
      * @throws DatabaseException
      */
-    public synchronized List<WebSocketMessageDTO> getMessages(
+    public List<WebSocketMessageDTO> getMessages(
             WebSocketMessageDTO criteria,
             List<Integer> opcodes,
             List<Integer> inScopeChannelIds,
@@ -429,7 +508,7 @@ public class TableWebSocket extends ParosAbstractTable {
                 criteria, opcodes, inScopeChannelIds, null, offset, limit, payloadPreviewLength);
     }
 
-    public synchronized List<WebSocketMessageDTO> getMessages(
+    public List<WebSocketMessageDTO> getMessages(
             WebSocketMessageDTO criteria,
             List<Integer> opcodes,
             List<Integer> inScopeChannelIds,
@@ -590,17 +669,23 @@ public class TableWebSocket extends ParosAbstractTable {
     }
 
     private WebSocketChannelDTO getChannel(int channelId) throws SQLException, DatabaseException {
-        if (!channelCache.containsKey(channelId)) {
-            WebSocketChannelDTO criteria = new WebSocketChannelDTO();
-            criteria.setId(channelId);
-            List<WebSocketChannelDTO> channels = getChannels(criteria);
-            if (channels.size() == 1) {
-                channelCache.put(channelId, channels.get(0));
-            } else {
-                throw new SQLException("Channel '" + channelId + "' not found!");
+        synchronized (channelCache) {
+            WebSocketChannelDTO channel = (WebSocketChannelDTO) channelCache.get(channelId);
+            if (channel != null) {
+                return channel;
             }
         }
-        return (WebSocketChannelDTO) channelCache.get(channelId);
+
+        WebSocketChannelDTO criteria = new WebSocketChannelDTO();
+        criteria.setId(channelId);
+        List<WebSocketChannelDTO> channels = getChannels(criteria);
+        if (channels.size() != 1) {
+            throw new SQLException("Channel '" + channelId + "' not found!");
+        }
+        synchronized (channelCache) {
+            channelCache.put(channelId, channels.get(0));
+        }
+        return channels.get(0);
     }
 
     private PreparedStatement buildMessageCriteriaStatement(
@@ -679,10 +764,12 @@ public class TableWebSocket extends ParosAbstractTable {
 
     public List<WebSocketChannelDTO> getChannelItems() throws DatabaseException {
         try {
-            psSelectChannels.execute();
-            ResultSet rs = psSelectChannels.getResultSet();
+            synchronized (readLock) {
+                psSelectChannels.execute();
+                ResultSet rs = psSelectChannels.getResultSet();
 
-            return buildChannelDTOs(rs);
+                return buildChannelDTOs(rs);
+            }
         } catch (SQLException e) {
             throw new DatabaseException(e);
         }
@@ -717,7 +804,7 @@ public class TableWebSocket extends ParosAbstractTable {
 
     public void insertOrUpdateChannel(WebSocketChannelDTO channel) throws DatabaseException {
         try {
-            synchronized (this) {
+            synchronized (writeLock) {
                 if (getConnection().isClosed()) {
                     // temporarily buffer channels and insert/update later
                     channelsBuffer.offer(channel);
@@ -784,65 +871,288 @@ public class TableWebSocket extends ParosAbstractTable {
         }
     }
 
+    /**
+     * Inserts the given message, it is queued and written later in a batch with other messages.
+     *
+     * <p>If too many messages are already queued they are written by the calling thread. If that's
+     * not possible, for example, while the database is closed, the message is discarded.
+     *
+     * @param message the message to insert.
+     * @throws DatabaseException never thrown, the errors are logged.
+     * @see #flush()
+     */
     public void insertMessage(WebSocketMessageDTO message) throws DatabaseException {
-        try {
-            // synchronize on whole object to avoid race conditions with insertOrUpdateChannel()
-            synchronized (this) {
-                if (getConnection().isClosed()) {
-                    // temporarily buffer messages and write them the next time
-                    messagesBuffer.offer(message);
-                    return;
-                }
+        WebSocketMessagePrimaryKey key = getMessagePrimaryKey(message);
+        unwrittenMessages.put(key, message);
+        if (!queuedMessages.offer(message)) {
+            flushQuietly();
+            if (!queuedMessages.offer(message)) {
+                unwrittenMessages.remove(key);
+                Stats.incCounter(WEBSOCKET_STORAGE_DROPPED_STATS);
+                LOGGER.debug("Discarding message {}, too many messages queued.", message);
+                return;
+            }
+        }
+        Stats.setHighwaterMark(WEBSOCKET_STORAGE_QUEUE_STATS, queuedMessages.size());
+        if (writer == null) {
+            startWriter();
+        }
+    }
 
-                do {
-                    if (!channelIds.contains(message.getChannel().getId())) {
-                        // maybe channel is buffered
-                        if (channelsBuffer.size() > 0) {
-                            insertOrUpdateChannel(channelsBuffer.poll());
-                        }
-                        throw new SQLException(
-                                "channel not inserted: " + message.getChannel().getId());
-                    }
+    private synchronized void startWriter() {
+        if (writer == null) {
+            writer =
+                    Executors.newSingleThreadScheduledExecutor(
+                            r -> {
+                                Thread thread = new Thread(r, "ZAP-WebSocket-Storage");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+            writer.scheduleWithFixedDelay(
+                    this::flushQuietly,
+                    writeIntervalMs,
+                    writeIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
 
-                    LOGGER.debug("insert message: {}", message);
+    /**
+     * Writes the queued messages and stops the background writer, which is started again if more
+     * messages are inserted.
+     *
+     * <p>Should be called before the database is closed.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (writer != null) {
+                writer.shutdown();
+                writer = null;
+            }
+        }
+        flushQuietly();
+    }
 
-                    psInsertMessage.setInt(1, message.getId());
-                    psInsertMessage.setInt(2, message.getChannel().getId());
-                    psInsertMessage.setTimestamp(3, new Timestamp(message.getTimestamp()));
-                    psInsertMessage.setInt(4, message.getOpcode());
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (DatabaseException e) {
+            LOGGER.error("Failed to write the WebSocket messages:", e);
+        }
+    }
 
-                    // write payload
-                    if (message.getPayload() instanceof String) {
-                        psInsertMessage.setClob(5, new JDBCClob((String) message.getPayload()));
-                        psInsertMessage.setNull(6, Types.BLOB);
-                    } else if (message.getPayload() instanceof byte[]) {
-                        psInsertMessage.setNull(5, Types.CLOB);
-                        psInsertMessage.setBlob(6, new JDBCBlob((byte[]) message.getPayload()));
+    /**
+     * Writes the queued messages to the database, if connected.
+     *
+     * <p>The messages not written because of an error are kept, they are written the next time
+     * this method is called.
+     *
+     * @throws DatabaseException if an error occurred while writing the messages.
+     */
+    public void flush() throws DatabaseException {
+        synchronized (writeLock) {
+            try {
+                while (!getConnection().isClosed()) {
+                    List<WebSocketMessageDTO> batch;
+                    if (failedMessages.isEmpty()) {
+                        batch = new ArrayList<>(MAX_BATCH_SIZE);
+                        queuedMessages.drainTo(batch, MAX_BATCH_SIZE);
+                        if (batch.isEmpty()) {
+                            return;
+                        }
                     } else {
-                        throw new SQLException(
-                                "Attribute 'payload' of class WebSocketMessageDTO has got wrong type!");
+                        batch = new ArrayList<>(failedMessages);
+                        failedMessages.clear();
                     }
 
-                    psInsertMessage.setInt(7, message.getPayloadLength());
-                    psInsertMessage.setBoolean(8, message.isOutgoing());
-                    psInsertMessage.execute();
-
-                    if (message instanceof WebSocketFuzzMessageDTO) {
-                        WebSocketFuzzMessageDTO fuzzMessage = (WebSocketFuzzMessageDTO) message;
-                        psInsertFuzz.setInt(1, fuzzMessage.fuzzId);
-                        psInsertFuzz.setInt(2, fuzzMessage.getId());
-                        psInsertFuzz.setInt(3, fuzzMessage.getChannel().getId());
-                        psInsertFuzz.setString(4, fuzzMessage.state.toString());
-                        psInsertFuzz.setString(5, fuzzMessage.fuzz);
-                        psInsertFuzz.execute();
+                    List<WebSocketMessageDTO> processed = new ArrayList<>(batch.size());
+                    try {
+                        writeMessages(batch, processed);
+                    } catch (SQLException | DatabaseException e) {
+                        keepUnprocessedMessages(batch, processed);
+                        throw e;
+                    } finally {
+                        processed.forEach(m -> unwrittenMessages.remove(getMessagePrimaryKey(m)));
+                        notifyWriteListeners(processed);
                     }
+                    Stats.setHighwaterMark(
+                            WEBSOCKET_STORAGE_LAG_STATS,
+                            System.currentTimeMillis() - batch.get(0).getTimestamp());
+                }
+            } catch (SQLException e) {
+                throw new DatabaseException(e);
+            }
+        }
+    }
+
+    private void keepUnprocessedMessages(
+            List<WebSocketMessageDTO> batch, List<WebSocketMessageDTO> processed) {
+        Set<WebSocketMessageDTO> processedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        processedSet.addAll(processed);
+        for (WebSocketMessageDTO message : batch) {
+            if (!processedSet.contains(message)) {
+                failedMessages.add(message);
+            }
+        }
+    }
+
+    private void notifyWriteListeners(List<WebSocketMessageDTO> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        for (Consumer<List<WebSocketMessageDTO>> listener : writeListeners) {
+            try {
+                listener.accept(messages);
+            } catch (Exception e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Writes the given messages to the database, as a batch.
+     *
+     * <p>The messages written, or discarded, are added to {@code processed}. If an error occurs the
+     * other messages are not added, they should be written again, except the message that caused
+     * the error which is discarded, unless the database was closed.
+     *
+     * @param messages the messages to write.
+     * @param processed the list where to add the messages processed.
+     * @throws SQLException if an error occurred while writing the messages.
+     * @throws DatabaseException if an error occurred while getting the connection.
+     */
+    private void writeMessages(
+            List<WebSocketMessageDTO> messages, List<WebSocketMessageDTO> processed)
+            throws SQLException, DatabaseException {
+        if (!channelsBuffer.isEmpty()) {
+            try {
+                insertOrUpdateChannel(channelsBuffer.poll());
+            } catch (DatabaseException e) {
+                LOGGER.warn(e.getMessage(), e);
+            }
+        }
+
+        List<WebSocketMessageDTO> batch = new ArrayList<>(messages.size());
+        for (WebSocketMessageDTO message : messages) {
+            if (!channelIds.contains(message.getChannel().getId())) {
+                LOGGER.warn(
+                        "Discarding message {}, channel not inserted: {}",
+                        message,
+                        message.getChannel().getId());
+                processed.add(message);
+                continue;
+            }
+
+            LOGGER.debug("insert message: {}", message);
+
+            psInsertMessage.setInt(1, message.getId());
+            psInsertMessage.setInt(2, message.getChannel().getId());
+            psInsertMessage.setTimestamp(3, new Timestamp(message.getTimestamp()));
+            psInsertMessage.setInt(4, message.getOpcode());
+
+            // write payload
+            if (message.getPayload() instanceof String) {
+                psInsertMessage.setClob(5, new JDBCClob((String) message.getPayload()));
+                psInsertMessage.setNull(6, Types.BLOB);
+            } else if (message.getPayload() instanceof byte[]) {
+                psInsertMessage.setNull(5, Types.CLOB);
+                psInsertMessage.setBlob(6, new JDBCBlob((byte[]) message.getPayload()));
+            } else {
+                LOGGER.warn("Discarding message {}, payload has wrong type.", message);
+                processed.add(message);
+                continue;
+            }
+
+            psInsertMessage.setInt(7, message.getPayloadLength());
+            psInsertMessage.setBoolean(8, message.isOutgoing());
+            psInsertMessage.addBatch();
+            batch.add(message);
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
 
-                    message = messagesBuffer.poll();
-                } while (message != null);
+        try {
+            psInsertMessage.executeBatch();
+            processed.addAll(batch);
+        } catch (BatchUpdateException e) {
+            psInsertMessage.clearBatch();
+            // The statements are executed with auto-commit, the ones that succeeded are written
+            int[] updateCounts = e.getUpdateCounts();
+            int count = updateCounts != null ? updateCounts.length : 0;
+            for (int i = 0; i < count; i++) {
+                if (updateCounts[i] != Statement.EXECUTE_FAILED) {
+                    processed.add(batch.get(i));
+                } else if (!getConnection().isClosed()) {
+                    discardMessage(batch.get(i), e);
+                    processed.add(batch.get(i));
+                }
             }
+            // The driver stopped at the first failure
+            if (count < batch.size() && !getConnection().isClosed()) {
+                discardMessage(batch.get(count), e);
+                processed.add(batch.get(count));
+            }
+            throw e;
         } catch (SQLException e) {
-            throw new DatabaseException(e);
+            psInsertMessage.clearBatch();
+            throw e;
         }
+
+        writeFuzzMessages(batch);
+    }
+
+    private static void discardMessage(WebSocketMessageDTO message, SQLException e) {
+        Stats.incCounter(WEBSOCKET_STORAGE_DROPPED_STATS);
+        LOGGER.warn("Discarding message {}, failed to write it: {}", message, e.getMessage());
+    }
+
+    private void writeFuzzMessages(List<WebSocketMessageDTO> messages) {
+        boolean fuzzMessages = false;
+        try {
+            for (WebSocketMessageDTO message : messages) {
+                if (message instanceof WebSocketFuzzMessageDTO) {
+                    WebSocketFuzzMessageDTO fuzzMessage = (WebSocketFuzzMessageDTO) message;
+                    psInsertFuzz.setInt(1, fuzzMessage.fuzzId);
+                    psInsertFuzz.setInt(2, fuzzMessage.getId());
+                    psInsertFuzz.setInt(3, fuzzMessage.getChannel().getId());
+                    psInsertFuzz.setString(4, fuzzMessage.state.toString());
+                    psInsertFuzz.setString(5, fuzzMessage.fuzz);
+                    psInsertFuzz.addBatch();
+                    fuzzMessages = true;
+                }
+            }
+            if (fuzzMessages) {
+                psInsertFuzz.executeBatch();
+            }
+        } catch (SQLException e) {
+            // The messages were written, just the fuzz data is missing
+            LOGGER.error("Failed to write the fuzz data of the WebSocket messages:", e);
+            try {
+                psInsertFuzz.clearBatch();
+            } catch (SQLException e2) {
+                LOGGER.debug(e2.getMessage(), e2);
+            }
+        }
+    }
+
+    /**
+     * Adds a listener that is notified, in the background writer, after messages are written to the
+     * database.
+     *
+     * @param listener the listener to add.
+     */
+    public void addWriteListener(Consumer<List<WebSocketMessageDTO>> listener) {
+        writeListeners.add(listener);
+    }
+
+    /**
+     * Removes the given listener.
+     *
+     * @param listener the listener to remove.
+     */
+    public void removeWriteListener(Consumer<List<WebSocketMessageDTO>> listener) {
+        writeListeners.remove(listener);
     }
 
     public List<WebSocketChannelDTO> getChannels(WebSocketChannelDTO criteria)
@@ -929,7 +1239,11 @@ public class TableWebSocket extends ParosAbstractTable {
      * @throws SQLException
      */
     public void purgeChannel(Integer channelId) throws SQLException {
-        synchronized (this) {
+        synchronized (writeLock) {
+            queuedMessages.removeIf(m -> channelId.equals(m.getChannel().getId()));
+            failedMessages.removeIf(m -> channelId.equals(m.getChannel().getId()));
+            unwrittenMessages.keySet().removeIf(k -> channelId.equals(k.getChannelId()));
+
             if (channelIds.contains(channelId)) {
                 psDeleteMessagesByChannelId.setInt(1, channelId);
                 psDeleteMessagesByChannelId.execute();
@@ -947,7 +1261,7 @@ public class TableWebSocket extends ParosAbstractTable {
      * @throws SQLException
      */
     public int getMaxChannelId() throws SQLException {
-        synchronized (this) {
+        synchronized (readLock) {
             return executeAndGetSingleIntValue(psSelectMaxChannelId);
         }
     }
@@ -19,6 +19,8 @@
  */
 package org.zaproxy.zap.extension.websocket.db;
 
+import java.util.Objects;
+
 /** Wraps id of message &amp; channel together into one class. */
 public class WebSocketMessagePrimaryKey implements Comparable<WebSocketMessagePrimaryKey> {
     private final Integer channelId;
@@ -52,6 +54,24 @@ public class WebSocketMessagePrimaryKey implements Comparable<WebSocketMessagePr
         return strBuilder.toString();
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(channelId, messageId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        WebSocketMessagePrimaryKey other = (WebSocketMessagePrimaryKey) obj;
+        return Objects.equals(channelId, other.channelId)
+                && Objects.equals(messageId, other.messageId);
+    }
+
     @Override
     public int compareTo(WebSocketMessagePrimaryKey other) {
         int result = channelId.compareTo(other.getChannelId());
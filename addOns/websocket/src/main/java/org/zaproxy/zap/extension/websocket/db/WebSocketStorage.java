@@ -20,6 +20,8 @@
 package org.zaproxy.zap.extension.websocket.db;
 
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.db.DatabaseException;
@@ -28,10 +30,19 @@ import org.zaproxy.zap.extension.websocket.WebSocketMessageDTO;
 import org.zaproxy.zap.extension.websocket.WebSocketObserver;
 import org.zaproxy.zap.extension.websocket.WebSocketProxy;
 import org.zaproxy.zap.extension.websocket.WebSocketProxy.State;
+import org.zaproxy.zap.extension.websocket.ui.OptionsParamWebSocket;
+import org.zaproxy.zap.utils.Stats;
 
 /**
  * Listens to all WebSocket messages and utilizes {@link TableWebSocket} to store messages in
  * database.
+ *
+ * <p>The messages over the storage limits, the length of the payload or the number of messages per
+ * second of the channel, are not stored unless sampled.
+ *
+ * @see OptionsParamWebSocket#getStorageMaxPayloadLength()
+ * @see OptionsParamWebSocket#getStorageMaxMessagesPerSecond()
+ * @see OptionsParamWebSocket#getStorageSampleRate()
  */
 public class WebSocketStorage implements WebSocketObserver {
 
@@ -40,10 +51,29 @@ public class WebSocketStorage implements WebSocketObserver {
     // determines when messages are stored in databases
     public static final int WEBSOCKET_OBSERVING_ORDER = 100;
 
+    /** The statistic with the number of messages not stored, for being over the storage limits. */
+    public static final String WEBSOCKET_STORAGE_SKIPPED_STATS = "stats.websockets.storage.skipped";
+
     private TableWebSocket table;
 
+    private final OptionsParamWebSocket options;
+
+    private final Map<Integer, ChannelLimits> channelsLimits = new ConcurrentHashMap<>();
+
     public WebSocketStorage(TableWebSocket table) {
+        this(table, null);
+    }
+
+    /**
+     * Constructs a {@code WebSocketStorage} with the given table and options.
+     *
+     * @param table the table to store the messages.
+     * @param options the options with the storage limits, might be {@code null}, in which case all
+     *     messages are stored.
+     */
+    public WebSocketStorage(TableWebSocket table, OptionsParamWebSocket options) {
         this.table = table;
+        this.options = options;
     }
 
     @Override
@@ -54,6 +84,11 @@ public class WebSocketStorage implements WebSocketObserver {
     @Override
     public boolean onMessageFrame(int channelId, WebSocketMessage wsMessage) {
         if (wsMessage.isFinished()) {
+            if (!isWithinLimits(channelId, wsMessage)) {
+                Stats.incCounter(WEBSOCKET_STORAGE_SKIPPED_STATS);
+                return true;
+            }
+
             WebSocketMessageDTO message = wsMessage.getDTO();
 
             try {
@@ -67,6 +102,27 @@ public class WebSocketStorage implements WebSocketObserver {
         return true;
     }
 
+    private boolean isWithinLimits(int channelId, WebSocketMessage message) {
+        if (options == null) {
+            return true;
+        }
+
+        int maxPayloadLength = options.getStorageMaxPayloadLength();
+        int maxMessagesPerSecond = options.getStorageMaxMessagesPerSecond();
+        if (maxPayloadLength == 0 && maxMessagesPerSecond == 0) {
+            return true;
+        }
+
+        return channelsLimits
+                .computeIfAbsent(channelId, k -> new ChannelLimits())
+                .isWithinLimits(
+                        message.getPayloadLength(),
+                        maxPayloadLength,
+                        maxMessagesPerSecond,
+                        options.getStorageSampleRate(),
+                        System.currentTimeMillis());
+    }
+
     public TableWebSocket getTable() {
         return table;
     }
@@ -77,6 +133,10 @@ public class WebSocketStorage implements WebSocketObserver {
 
     @Override
     public void onStateChange(State state, WebSocketProxy proxy) {
+        if (state.equals(State.CLOSED) || state.equals(State.EXCLUDED)) {
+            channelsLimits.remove(proxy.getChannelId());
+        }
+
         if (state.equals(State.OPEN)
                 || state.equals(State.CLOSED)
                 || state.equals(State.INCLUDED)) {
@@ -99,4 +159,31 @@ public class WebSocketStorage implements WebSocketObserver {
             }
         }
     }
+
+    /** The messages of a channel, counted to enforce the storage limits. */
+    private static class ChannelLimits {
+
+        private long secondStart;
+        private int messagesInSecond;
+        private int messagesOverLimits;
+
+        synchronized boolean isWithinLimits(
+                int payloadLength,
+                int maxPayloadLength,
+                int maxMessagesPerSecond,
+                int sampleRate,
+                long now) {
+            if (now - secondStart >= 1000) {
+                secondStart = now;
+                messagesInSecond = 0;
+            }
+            messagesInSecond++;
+
+            if ((maxPayloadLength == 0 || payloadLength <= maxPayloadLength)
+                    && (maxMessagesPerSecond == 0 || messagesInSecond <= maxMessagesPerSecond)) {
+                return true;
+            }
+            return sampleRate != 0 && messagesOverLimits++ % sampleRate == 0;
+        }
+    }
 }
@@ -196,6 +196,7 @@ public class WebSocketFuzzMessagesViewModel extends WebSocketMessagesViewModel {
             try {
                 getTable().insertMessage(message);
                 if (count % 10 == 0 || forceRefresh) {
+                    getTable().flush();
                     try {
                         fireMessageArrived(message);
                     } catch (IndexOutOfBoundsException e) {
@@ -19,8 +19,12 @@
  */
 package org.zaproxy.zap.extension.websocket.pscan;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.core.scanner.Alert;
@@ -33,30 +37,49 @@ import org.zaproxy.zap.extension.websocket.alerts.WebSocketAlertThread;
 import org.zaproxy.zap.extension.websocket.alerts.WebSocketAlertWrapper;
 import org.zaproxy.zap.extension.websocket.db.TableWebSocket;
 import org.zaproxy.zap.extension.websocket.db.WebSocketStorage;
+import org.zaproxy.zap.extension.websocket.ui.OptionsParamWebSocket;
 import org.zaproxy.zap.utils.Stats;
 
-/** Implements a background thread for passive scanning */
-public class WebSocketPassiveScanThread extends Thread
-        implements WebSocketObserver, WebSocketAlertThread {
+/**
+ * Implements the background threads for passive scanning.
+ *
+ * <p>The messages are queued and scanned by a pool of threads, the messages of a channel are always
+ * scanned by the same thread, in the order they were sent/received. The queue is bounded, once full
+ * the new messages are either not scanned or wait for space in the queue, per {@link
+ * OptionsParamWebSocket#isPassiveScanWaitOnFullQueue()}.
+ */
+public class WebSocketPassiveScanThread implements WebSocketObserver, WebSocketAlertThread {
 
     public static final String WEBSOCKET_PSCAN_STATS_PREFIX = "stats.websockets.pscan.";
 
+    /** The statistic with the number of messages waiting to be scanned. */
+    public static final String WEBSOCKET_PSCAN_MESSAGES_TO_SCAN_STATS =
+            "stats.websockets.pscan.messagesToScan";
+
+    /** The statistic with the number of messages not scanned, for being the queue full. */
+    public static final String WEBSOCKET_PSCAN_SKIPPED_STATS = "stats.websockets.pscan.skipped";
+
     private static final Logger LOGGER = LogManager.getLogger(WebSocketPassiveScanThread.class);
 
     private static final int WEBSOCKET_OBSERVING_ORDER =
             WebSocketStorage.WEBSOCKET_OBSERVING_ORDER + 10;
 
-    /** Interval for message reading */
+    /**
+     * Interval for message reading.
+     *
+     * @deprecated (38) The messages are no longer polled, the threads wait for them.
+     */
+    @Deprecated
     public static final int SLEEP_TIME = 5000;
 
-    /** Thread safe Linked Queue */
-    private LinkedBlockingQueue<MessageWrapper> messagesBuffer;
+    private static final int DEFAULT_THREADS = 1;
+    private static final int DEFAULT_QUEUE_SIZE = 1000;
 
-    /** {@code True} to enable the passive scan Thread */
+    /** {@code True} to enable the passive scan threads */
     private volatile boolean isActive;
 
     /** Reference to Database. Used in order to pick messages for scanning */
-    private TableWebSocket tableWebSocket;
+    private volatile TableWebSocket tableWebSocket;
 
     /**
      * Manager used to updating the messages table. In addition, used by passive scan thread so as
@@ -64,19 +87,37 @@ public class WebSocketPassiveScanThread extends Thread
      */
     private WebSocketPassiveScannerManager passiveScannerManager;
 
+    private final OptionsParamWebSocket options;
+
+    private final AtomicInteger messagesToScan = new AtomicInteger();
+
+    private volatile List<ScanWorker> workers = new ArrayList<>(0);
+
+    private volatile boolean waitOnFullQueue;
+
     /**
-     * Initialize the passive scan in background thread. By default thread is inactive and not
-     * alive. In order to activate thread use {@link WebSocketPassiveScanThread#start()}
+     * Initialize the passive scan with default options. By default the threads are not started. In
+     * order to start them use {@link WebSocketPassiveScanThread#start()}
      *
      * @param passiveScannerManager the manager
      */
     public WebSocketPassiveScanThread(WebSocketPassiveScannerManager passiveScannerManager) {
-        super("ZAP-WS-PassiveScanner");
-        super.setDaemon(true);
+        this(passiveScannerManager, null);
+    }
 
+    /**
+     * Initialize the passive scan with the given options. By default the threads are not started.
+     * In order to start them use {@link WebSocketPassiveScanThread#start()}
+     *
+     * @param passiveScannerManager the manager
+     * @param options the options with the number of threads and the queue size, might be {@code
+     *     null} in which case the defaults are used.
+     */
+    public WebSocketPassiveScanThread(
+            WebSocketPassiveScannerManager passiveScannerManager, OptionsParamWebSocket options) {
         this.passiveScannerManager = passiveScannerManager;
+        this.options = options;
         this.isActive = false;
-        messagesBuffer = new LinkedBlockingQueue<>();
     }
 
     /**
@@ -94,6 +135,15 @@ public class WebSocketPassiveScanThread extends Thread
         return isActive;
     }
 
+    /**
+     * Gets the number of messages waiting to be scanned.
+     *
+     * @return the number of messages.
+     */
+    public int getMessagesToScan() {
+        return messagesToScan.get();
+    }
+
     @Override
     public int getObservingOrder() {
         return WEBSOCKET_OBSERVING_ORDER;
@@ -101,56 +151,88 @@ public class WebSocketPassiveScanThread extends Thread
 
     @Override
     public boolean onMessageFrame(int channelId, WebSocketMessage message) {
-        if (message.isFinished() && !shouldIgnoreServerModeMessages(message)) {
-            messagesBuffer.add(new MessageWrapper(message.getMessageId(), channelId));
+        if (!isActive || !message.isFinished() || shouldIgnoreServerModeMessages(message)) {
+            return true;
+        }
+
+        List<ScanWorker> currentWorkers = workers;
+        if (currentWorkers.isEmpty()) {
+            return true;
         }
+        ScanWorker worker = currentWorkers.get(Math.floorMod(channelId, currentWorkers.size()));
+        MessageWrapper messageWrap = new MessageWrapper(message.getMessageId(), channelId);
+        if (waitOnFullQueue) {
+            try {
+                worker.queue.put(messageWrap);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                skipped(messageWrap);
+                return true;
+            }
+        } else if (!worker.queue.offer(messageWrap)) {
+            skipped(messageWrap);
+            return true;
+        }
+        Stats.setHighwaterMark(
+                WEBSOCKET_PSCAN_MESSAGES_TO_SCAN_STATS, messagesToScan.incrementAndGet());
         return true;
     }
 
+    private static void skipped(MessageWrapper messageWrap) {
+        LOGGER.debug(
+                "Skipping passive scan of message {} of channel {}, queue full.",
+                messageWrap.messageId,
+                messageWrap.channelId);
+        Stats.incCounter(WEBSOCKET_PSCAN_SKIPPED_STATS);
+    }
+
     @Override
     public void onStateChange(WebSocketProxy.State state, WebSocketProxy proxy) {
         // Ignore
     }
 
-    @Override
-    public void run() {
-        MessageWrapper messageWrap;
-        WebSocketPassiveScannerDecorator currentPassiveScanner;
+    private void scan(MessageWrapper messageWrap, WebSocketScanHelperImpl helper) {
+        TableWebSocket table = tableWebSocket;
+        if (table == null) {
+            LOGGER.debug("No table to get the message {} to scan.", messageWrap.messageId);
+            return;
+        }
+
         WebSocketMessageDTO currentMessage;
-        Iterator<WebSocketPassiveScannerDecorator> iterator;
-        WebSocketScanHelperImpl helper = new WebSocketScanHelperImpl(this);
-        while (isActive) {
-            if (messagesBuffer.isEmpty() || tableWebSocket == null) {
-                try {
-                    Thread.sleep(SLEEP_TIME);
-                } catch (InterruptedException e) {
-                    LOGGER.info("Sleeping was interrupted", e);
-                }
-                if (!isActive) {
-                    break;
-                }
-            } else {
-                messageWrap = messagesBuffer.poll();
-                try {
-                    currentMessage =
-                            tableWebSocket.getMessage(messageWrap.messageId, messageWrap.channelId);
-                    iterator = passiveScannerManager.getIterator();
-                    while (iterator.hasNext()) {
-                        if ((currentPassiveScanner = iterator.next()).isEnabled()) {
-                            long startTime = System.currentTimeMillis();
-                            currentPassiveScanner.scanMessage(
-                                    helper.getWebSocketScanHelper(
-                                            currentPassiveScanner.getId(), currentMessage),
-                                    currentMessage);
-                            Stats.incCounter(
-                                    WEBSOCKET_PSCAN_STATS_PREFIX + currentPassiveScanner.getName(),
-                                    System.currentTimeMillis() - startTime);
-                        }
-                    }
-                } catch (DatabaseException e) {
-                    LOGGER.warn("Could not get messages from database", e);
-                }
+        try {
+            currentMessage = table.getMessage(messageWrap.messageId, messageWrap.channelId);
+        } catch (DatabaseException e) {
+            // Not stored, for example, over the storage limits.
+            LOGGER.debug("Could not get message from database", e);
+            return;
+        }
+
+        Iterator<WebSocketPassiveScannerDecorator> iterator = passiveScannerManager.getIterator();
+        while (iterator.hasNext() && isActive) {
+            WebSocketPassiveScannerDecorator currentPassiveScanner = iterator.next();
+            if (!currentPassiveScanner.isEnabled()) {
+                continue;
+            }
+
+            long startTime = System.currentTimeMillis();
+            try {
+                currentPassiveScanner.scanMessage(
+                        helper.getWebSocketScanHelper(
+                                currentPassiveScanner.getId(), currentMessage),
+                        currentMessage);
+            } catch (Exception e) {
+                LOGGER.error(
+                        "Passive scanner {} failed to scan the message {}:",
+                        currentPassiveScanner.getName(),
+                        currentMessage,
+                        e);
             }
+            long time = System.currentTimeMillis() - startTime;
+
+            String statsKey = WEBSOCKET_PSCAN_STATS_PREFIX + currentPassiveScanner.getName();
+            Stats.incCounter(statsKey, time);
+            Stats.incCounter(statsKey + ".count");
+            Stats.setHighwaterMark(statsKey + ".max", time);
         }
     }
 
@@ -172,20 +254,83 @@ public class WebSocketPassiveScanThread extends Thread
                 && passiveScannerManager.isServerModeIgnored();
     }
 
-    /** Shutdown the passive scan thread */
-    public void shutdown() {
+    /** Shutdown the passive scan threads, the messages not yet scanned are discarded. */
+    public synchronized void shutdown() {
         isActive = false;
+        for (ScanWorker worker : workers) {
+            worker.interrupt();
+            messagesToScan.addAndGet(-worker.queue.size());
+            worker.queue.clear();
+        }
+        workers = new ArrayList<>(0);
+        Stats.setHighwaterMark(WEBSOCKET_PSCAN_MESSAGES_TO_SCAN_STATS, messagesToScan.get());
     }
 
-    @Override
+    /**
+     * Starts the passive scan threads, with the number of threads and the queue size of the
+     * options.
+     */
     public synchronized void start() {
+        if (isActive) {
+            return;
+        }
+
+        int threads = DEFAULT_THREADS;
+        int queueSize = DEFAULT_QUEUE_SIZE;
+        waitOnFullQueue = false;
+        if (options != null) {
+            threads = Math.max(1, options.getPassiveScanThreads());
+            queueSize = Math.max(1, options.getPassiveScanQueueSize());
+            waitOnFullQueue = options.isPassiveScanWaitOnFullQueue();
+        }
+
+        int workerQueueSize = Math.max(1, queueSize / threads);
+        List<ScanWorker> newWorkers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            newWorkers.add(new ScanWorker(i, workerQueueSize));
+        }
+
         isActive = true;
-        super.start();
+        workers = newWorkers;
+        workers.forEach(Thread::start);
+    }
+
+    private class ScanWorker extends Thread {
+
+        private final BlockingQueue<MessageWrapper> queue;
+
+        ScanWorker(int index, int queueSize) {
+            super("ZAP-WS-PassiveScanner-" + index);
+            setDaemon(true);
+
+            queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        @Override
+        public void run() {
+            WebSocketScanHelperImpl helper =
+                    new WebSocketScanHelperImpl(WebSocketPassiveScanThread.this);
+            while (isActive) {
+                MessageWrapper messageWrap;
+                try {
+                    messageWrap = queue.take();
+                } catch (InterruptedException e) {
+                    if (isActive) {
+                        LOGGER.debug("Interrupted while waiting for messages.", e);
+                    }
+                    continue;
+                }
+                Stats.setHighwaterMark(
+                        WEBSOCKET_PSCAN_MESSAGES_TO_SCAN_STATS, messagesToScan.decrementAndGet());
+
+                scan(messageWrap, helper);
+            }
+        }
     }
 
-    private class MessageWrapper {
-        public int messageId;
-        public int channelId;
+    private static class MessageWrapper {
+        private final int messageId;
+        private final int channelId;
 
         MessageWrapper(int messageId, int channelId) {
             this.messageId = messageId;
@@ -27,6 +27,7 @@ import org.zaproxy.zap.extension.websocket.WebSocketObserver;
 import org.zaproxy.zap.extension.websocket.WebSocketSenderListener;
 import org.zaproxy.zap.extension.websocket.alerts.AlertManager;
 import org.zaproxy.zap.extension.websocket.db.TableWebSocket;
+import org.zaproxy.zap.extension.websocket.ui.OptionsParamWebSocket;
 
 /**
  * Manages all stuff related with the WebSocket Passive Scanning. Manager is able to open a
@@ -40,7 +41,7 @@ public class WebSocketPassiveScannerManager {
 
     private static final Logger LOGGER = LogManager.getLogger(WebSocketPassiveScannerManager.class);
 
-    /** The background thread where the passive scans are running */
+    /** The background threads where the passive scans are running */
     private WebSocketPassiveScanThread passiveScanThread;
 
     /** Used to raise Alert Messages */
@@ -52,6 +53,9 @@ public class WebSocketPassiveScannerManager {
     /** True if server proxies should be ignored */
     private boolean isServerModeIgnored = true;
 
+    /** The options of the passive scan threads, might be {@code null}. */
+    private final OptionsParamWebSocket options;
+
     /**
      * Initiate a Passive Scanner Manager. By default passive scans are disabled. In order to enable
      * all passive scanners {@see WebSocketPassiveScannerManager#setAllEnable}. In addition, if
@@ -60,13 +64,27 @@ public class WebSocketPassiveScannerManager {
      * default, are ignored to passive scan .
      */
     public WebSocketPassiveScannerManager(AlertManager alertManager) {
+        this(alertManager, null);
+    }
+
+    /**
+     * Initiate a Passive Scanner Manager with the given options for the passive scan threads.
+     *
+     * @param alertManager the manager to raise the alerts.
+     * @param options the options with the number of threads and the queue size, might be {@code
+     *     null} in which case the defaults are used.
+     * @see #WebSocketPassiveScannerManager(AlertManager)
+     */
+    public WebSocketPassiveScannerManager(
+            AlertManager alertManager, OptionsParamWebSocket options) {
         this.alertManager = alertManager;
+        this.options = options;
     }
 
     /** Listening WebSocketMessages */
     public WebSocketObserver getWebSocketScannerObserver() {
         if (passiveScanThread == null) {
-            passiveScanThread = new WebSocketPassiveScanThread(this);
+            passiveScanThread = new WebSocketPassiveScanThread(this, options);
         }
         return passiveScanThread;
     }
@@ -79,7 +97,7 @@ public class WebSocketPassiveScannerManager {
      */
     public WebSocketPassiveScanThread getWebSocketPassiveScanThread() {
         if (passiveScanThread == null) {
-            passiveScanThread = new WebSocketPassiveScanThread(this);
+            passiveScanThread = new WebSocketPassiveScanThread(this, options);
         }
         return passiveScanThread;
     }
@@ -171,18 +189,18 @@ public class WebSocketPassiveScannerManager {
     }
 
     /**
-     * Start the background thread where passive scans are running. Do nothing if the background
-     * thread have already been running
+     * Start the background threads where passive scans are running. Do nothing if the background
+     * threads have already been running
      */
     public void startThread() {
-        if (passiveScanThread != null && !passiveScanThread.isAlive()) {
+        if (passiveScanThread != null && !passiveScanThread.isActive()) {
             passiveScanThread.start();
         } else {
             LOGGER.info("Passive scan thread have already been running");
         }
     }
 
-    /** Shut down the background thread if it have been activated. */
+    /** Shut down the background threads if they have been activated. */
     public void shutdownThread() {
         if (this.passiveScanThread != null && passiveScanThread.isActive()) {
             passiveScanThread.shutdown();
@@ -191,6 +209,15 @@ public class WebSocketPassiveScannerManager {
         }
     }
 
+    /**
+     * Gets the number of messages waiting to be passive scanned.
+     *
+     * @return the number of messages.
+     */
+    public int getMessagesToScan() {
+        return passiveScanThread != null ? passiveScanThread.getMessagesToScan() : 0;
+    }
+
     public AlertManager getAlertManager() {
         return alertManager;
     }
@@ -20,6 +20,7 @@
 package org.zaproxy.zap.extension.websocket.ui;
 
 import org.apache.commons.configuration.FileConfiguration;
+import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.common.AbstractParam;
 
 public class OptionsParamWebSocket extends AbstractParam {
@@ -30,6 +31,16 @@ public class OptionsParamWebSocket extends AbstractParam {
     private static final String CONFIRM_REMOVE_PROXY_EXCLUDE_REGEX_KEY =
             "websocket.confirmRemoveProxyExcludeRegex";
     private static final String REMOVE_EXTENSIONS_HEADER_KEY = "websocket.removeExtensionsHeader";
+    private static final String STORAGE_MAX_PAYLOAD_LENGTH_KEY =
+            "websocket.storage.maxPayloadLength";
+    private static final String STORAGE_MAX_MESSAGES_PER_SECOND_KEY =
+            "websocket.storage.maxMessagesPerSecond";
+    private static final String STORAGE_SAMPLE_RATE_KEY = "websocket.storage.sampleRate";
+    private static final String PSCAN_THREADS_KEY = "websocket.pscan.threads";
+    private static final String PSCAN_QUEUE_SIZE_KEY = "websocket.pscan.queueSize";
+    private static final String PSCAN_WAIT_ON_FULL_QUEUE_KEY = "websocket.pscan.waitOnFullQueue";
+
+    static final int DEFAULT_PSCAN_QUEUE_SIZE = 1000;
 
     private boolean isForwardAll;
     private boolean isBreakOnPingPong;
@@ -47,6 +58,14 @@ public class OptionsParamWebSocket extends AbstractParam {
      */
     private boolean removeExtensionsHeader = true;
 
+    private int storageMaxPayloadLength;
+    private int storageMaxMessagesPerSecond;
+    private int storageSampleRate;
+
+    private int passiveScanThreads;
+    private int passiveScanQueueSize;
+    private boolean passiveScanWaitOnFullQueue;
+
     @Override
     protected void parse() {
         FileConfiguration cfg = getConfig();
@@ -56,6 +75,23 @@ public class OptionsParamWebSocket extends AbstractParam {
         confirmRemoveProxyExcludeRegex =
                 cfg.getBoolean(CONFIRM_REMOVE_PROXY_EXCLUDE_REGEX_KEY, false);
         removeExtensionsHeader = cfg.getBoolean(REMOVE_EXTENSIONS_HEADER_KEY, true);
+        storageMaxPayloadLength = Math.max(0, cfg.getInt(STORAGE_MAX_PAYLOAD_LENGTH_KEY, 0));
+        storageMaxMessagesPerSecond =
+                Math.max(0, cfg.getInt(STORAGE_MAX_MESSAGES_PER_SECOND_KEY, 0));
+        storageSampleRate = Math.max(0, cfg.getInt(STORAGE_SAMPLE_RATE_KEY, 0));
+        passiveScanThreads = cfg.getInt(PSCAN_THREADS_KEY, getDefaultPassiveScanThreads());
+        if (passiveScanThreads <= 0) {
+            passiveScanThreads = getDefaultPassiveScanThreads();
+        }
+        passiveScanQueueSize = cfg.getInt(PSCAN_QUEUE_SIZE_KEY, DEFAULT_PSCAN_QUEUE_SIZE);
+        if (passiveScanQueueSize <= 0) {
+            passiveScanQueueSize = DEFAULT_PSCAN_QUEUE_SIZE;
+        }
+        passiveScanWaitOnFullQueue = cfg.getBoolean(PSCAN_WAIT_ON_FULL_QUEUE_KEY, false);
+    }
+
+    private static int getDefaultPassiveScanThreads() {
+        return Math.max(1, Constant.getDefaultThreadCount() / 2);
     }
 
     /**
@@ -159,4 +195,153 @@ public class OptionsParamWebSocket extends AbstractParam {
     public boolean isRemoveExtensionsHeader() {
         return removeExtensionsHeader;
     }
+
+    /**
+     * Gets the maximum length of the payload of the messages stored, the messages with longer
+     * payloads are not stored, unless sampled.
+     *
+     * <p>Default is {@code 0}, no limit.
+     *
+     * @return the maximum length of the payload, {@code 0} if no limit.
+     * @see #getStorageSampleRate()
+     */
+    public int getStorageMaxPayloadLength() {
+        return storageMaxPayloadLength;
+    }
+
+    /**
+     * Sets the maximum length of the payload of the messages stored.
+     *
+     * @param length the maximum length of the payload, {@code 0} for no limit.
+     * @see #getStorageMaxPayloadLength()
+     */
+    public void setStorageMaxPayloadLength(int length) {
+        this.storageMaxPayloadLength = Math.max(0, length);
+        getConfig().setProperty(STORAGE_MAX_PAYLOAD_LENGTH_KEY, storageMaxPayloadLength);
+    }
+
+    /**
+     * Gets the maximum number of messages stored per second, for each channel, the messages over
+     * the limit are not stored, unless sampled.
+     *
+     * <p>Default is {@code 0}, no limit.
+     *
+     * @return the maximum number of messages per second, {@code 0} if no limit.
+     * @see #getStorageSampleRate()
+     */
+    public int getStorageMaxMessagesPerSecond() {
+        return storageMaxMessagesPerSecond;
+    }
+
+    /**
+     * Sets the maximum number of messages stored per second, for each channel.
+     *
+     * @param messages the maximum number of messages per second, {@code 0} for no limit.
+     * @see #getStorageMaxMessagesPerSecond()
+     */
+    public void setStorageMaxMessagesPerSecond(int messages) {
+        this.storageMaxMessagesPerSecond = Math.max(0, messages);
+        getConfig().setProperty(STORAGE_MAX_MESSAGES_PER_SECOND_KEY, storageMaxMessagesPerSecond);
+    }
+
+    /**
+     * Gets the sample rate of the messages over the storage limits, one in every {@code N}
+     * messages over the limits is still stored.
+     *
+     * <p>Default is {@code 0}, the messages over the limits are not stored.
+     *
+     * @return the sample rate, {@code 0} if the messages are not stored.
+     * @see #getStorageMaxPayloadLength()
+     * @see #getStorageMaxMessagesPerSecond()
+     */
+    public int getStorageSampleRate() {
+        return storageSampleRate;
+    }
+
+    /**
+     * Sets the sample rate of the messages over the storage limits.
+     *
+     * @param rate the sample rate, {@code 0} to not store the messages over the limits.
+     * @see #getStorageSampleRate()
+     */
+    public void setStorageSampleRate(int rate) {
+        this.storageSampleRate = Math.max(0, rate);
+        getConfig().setProperty(STORAGE_SAMPLE_RATE_KEY, storageSampleRate);
+    }
+
+    /**
+     * Gets the number of threads used to passive scan the messages, the messages of a channel are
+     * always scanned by the same thread.
+     *
+     * <p>Default is half of {@link Constant#getDefaultThreadCount()}.
+     *
+     * @return the number of threads, always greater than zero.
+     */
+    public int getPassiveScanThreads() {
+        return passiveScanThreads;
+    }
+
+    /**
+     * Sets the number of threads used to passive scan the messages, applied when the threads are
+     * next started.
+     *
+     * @param threads the number of threads, must be greater than zero.
+     * @see #getPassiveScanThreads()
+     */
+    public void setPassiveScanThreads(int threads) {
+        if (threads > 0) {
+            this.passiveScanThreads = threads;
+            getConfig().setProperty(PSCAN_THREADS_KEY, threads);
+        }
+    }
+
+    /**
+     * Gets the maximum number of messages waiting to be passive scanned.
+     *
+     * <p>Default is {@value #DEFAULT_PSCAN_QUEUE_SIZE}.
+     *
+     * @return the maximum number of messages, always greater than zero.
+     * @see #isPassiveScanWaitOnFullQueue()
+     */
+    public int getPassiveScanQueueSize() {
+        return passiveScanQueueSize;
+    }
+
+    /**
+     * Sets the maximum number of messages waiting to be passive scanned, applied when the threads
+     * are next started.
+     *
+     * @param size the maximum number of messages, must be greater than zero.
+     * @see #getPassiveScanQueueSize()
+     */
+    public void setPassiveScanQueueSize(int size) {
+        if (size > 0) {
+            this.passiveScanQueueSize = size;
+            getConfig().setProperty(PSCAN_QUEUE_SIZE_KEY, size);
+        }
+    }
+
+    /**
+     * Tells whether or not the messages should wait, when the passive scan queue is full, instead
+     * of not being scanned. Waiting slows down the WebSocket connections.
+     *
+     * <p>Default is {@code false}.
+     *
+     * @return {@code true} if the messages should wait, {@code false} otherwise.
+     */
+    public boolean isPassiveScanWaitOnFullQueue() {
+        return passiveScanWaitOnFullQueue;
+    }
+
+    /**
+     * Sets whether or not the messages should wait, when the passive scan queue is full, applied
+     * when the threads are next started.
+     *
+     * @param wait {@code true} if the messages should wait, {@code false} otherwise.
+     * @see #isPassiveScanWaitOnFullQueue()
+     */
+    public void setPassiveScanWaitOnFullQueue(boolean wait) {
+        this.passiveScanWaitOnFullQueue = wait;
+        getConfig().setProperty(PSCAN_WAIT_ON_FULL_QUEUE_KEY, wait);
+    }
 }
@@ -25,11 +25,13 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 import javax.swing.JCheckBox;
+import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.border.EmptyBorder;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.view.AbstractParamPanel;
 import org.zaproxy.zap.utils.FontUtils;
+import org.zaproxy.zap.utils.ZapNumberSpinner;
 
 /**
  * The GUI WebSocket options panel.
@@ -44,6 +46,10 @@ import org.zaproxy.zap.utils.FontUtils;
  *   <li>Remove header {@code Sec-WebSocket-Extensions} - when enabled it allows to properly process
  *       the WebSocket messages, as no further (and unsupported) transformation is done to them (for
  *       example, compression).
+ *   <li>Storage limits - the maximum length of the payload and the maximum number of messages per
+ *       second stored, and the sample rate of the messages over those limits.
+ *   <li>Passive scan - the number of threads, the size of the queue, and whether or not the
+ *       messages wait when the queue is full.
  * </ul>
  */
 @SuppressWarnings("serial")
@@ -65,6 +71,20 @@ public class OptionsWebSocketPanel extends AbstractParamPanel {
     private static final String TOOLTIP_REMOVE_EXTENSIONS_HEADER =
             Constant.messages.getString("websocket.options.remove_extensions.tooltip");
 
+    private static final String LABEL_STORAGE_MAX_PAYLOAD_LENGTH =
+            Constant.messages.getString("websocket.options.storage.maxPayloadLength");
+    private static final String LABEL_STORAGE_MAX_MESSAGES_PER_SECOND =
+            Constant.messages.getString("websocket.options.storage.maxMessagesPerSecond");
+    private static final String LABEL_STORAGE_SAMPLE_RATE =
+            Constant.messages.getString("websocket.options.storage.sampleRate");
+
+    private static final String LABEL_PSCAN_THREADS =
+            Constant.messages.getString("websocket.options.pscan.threads");
+    private static final String LABEL_PSCAN_QUEUE_SIZE =
+            Constant.messages.getString("websocket.options.pscan.queueSize");
+    private static final String LABEL_PSCAN_WAIT_ON_FULL_QUEUE =
+            Constant.messages.getString("websocket.options.pscan.waitOnFullQueue");
+
     /** Represents the model containing current values. Is able to save back to config file. */
     private OptionsParamWebSocket wsParams;
 
@@ -72,6 +92,12 @@ public class OptionsWebSocketPanel extends AbstractParamPanel {
     private JCheckBox checkBoxBreakOnPingPong;
     private JCheckBox checkBoxBreakOnAll;
     private JCheckBox checkBoxRemoveExtensionsHeader;
+    private ZapNumberSpinner storageMaxPayloadLength;
+    private ZapNumberSpinner storageMaxMessagesPerSecond;
+    private ZapNumberSpinner storageSampleRate;
+    private ZapNumberSpinner passiveScanThreads;
+    private ZapNumberSpinner passiveScanQueueSize;
+    private JCheckBox checkBoxPassiveScanWaitOnFullQueue;
 
     public OptionsWebSocketPanel(OptionsParamWebSocket wsParams) {
         super();
@@ -113,9 +139,81 @@ public class OptionsWebSocketPanel extends AbstractParamPanel {
         gbc.insets = new Insets(2, 2, 2, 2);
         panel.add(getCheckcheckBoxRemoveExtensionsHeader(), gbc);
 
+        addNumberField(panel, 4, LABEL_STORAGE_MAX_PAYLOAD_LENGTH, getStorageMaxPayloadLength());
+        addNumberField(
+                panel, 5, LABEL_STORAGE_MAX_MESSAGES_PER_SECOND, getStorageMaxMessagesPerSecond());
+        addNumberField(panel, 6, LABEL_STORAGE_SAMPLE_RATE, getStorageSampleRate());
+
+        addNumberField(panel, 7, LABEL_PSCAN_THREADS, getPassiveScanThreads());
+        addNumberField(panel, 8, LABEL_PSCAN_QUEUE_SIZE, getPassiveScanQueueSize());
+
+        gbc = new GridBagConstraints();
+        gbc.gridy = 9;
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.insets = new Insets(2, 2, 2, 2);
+        panel.add(getCheckBoxPassiveScanWaitOnFullQueue(), gbc);
+
         return panel;
     }
 
+    private static void addNumberField(
+            JPanel panel, int row, String label, ZapNumberSpinner spinner) {
+        JPanel fieldPanel = new JPanel(new FlowLayout(FlowLayout.LEADING, 0, 0));
+        JLabel fieldLabel = new JLabel(label);
+        fieldLabel.setLabelFor(spinner);
+        fieldLabel.setBorder(new EmptyBorder(0, 0, 0, 5));
+        fieldPanel.add(fieldLabel);
+        fieldPanel.add(spinner);
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.gridy = row;
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.insets = new Insets(2, 2, 2, 2);
+        panel.add(fieldPanel, gbc);
+    }
+
+    private ZapNumberSpinner getStorageMaxPayloadLength() {
+        if (storageMaxPayloadLength == null) {
+            storageMaxPayloadLength = new ZapNumberSpinner(0, 0, Integer.MAX_VALUE);
+        }
+        return storageMaxPayloadLength;
+    }
+
+    private ZapNumberSpinner getStorageMaxMessagesPerSecond() {
+        if (storageMaxMessagesPerSecond == null) {
+            storageMaxMessagesPerSecond = new ZapNumberSpinner(0, 0, Integer.MAX_VALUE);
+        }
+        return storageMaxMessagesPerSecond;
+    }
+
+    private ZapNumberSpinner getPassiveScanThreads() {
+        if (passiveScanThreads == null) {
+            passiveScanThreads = new ZapNumberSpinner(1, 1, Integer.MAX_VALUE);
+        }
+        return passiveScanThreads;
+    }
+
+    private ZapNumberSpinner getPassiveScanQueueSize() {
+        if (passiveScanQueueSize == null) {
+            passiveScanQueueSize = new ZapNumberSpinner(1, 1, Integer.MAX_VALUE);
+        }
+        return passiveScanQueueSize;
+    }
+
+    private JCheckBox getCheckBoxPassiveScanWaitOnFullQueue() {
+        if (checkBoxPassiveScanWaitOnFullQueue == null) {
+            checkBoxPassiveScanWaitOnFullQueue = new JCheckBox(LABEL_PSCAN_WAIT_ON_FULL_QUEUE);
+        }
+        return checkBoxPassiveScanWaitOnFullQueue;
+    }
+
+    private ZapNumberSpinner getStorageSampleRate() {
+        if (storageSampleRate == null) {
+            storageSampleRate = new ZapNumberSpinner(0, 0, Integer.MAX_VALUE);
+        }
+        return storageSampleRate;
+    }
+
     private JCheckBox getCheckBoxForwardAll() {
         if (checkBoxForwardAll == null) {
             checkBoxForwardAll = new JCheckBox(LABEL_FORWARD_ALL);
@@ -151,11 +249,17 @@ public class OptionsWebSocketPanel extends AbstractParamPanel {
         checkBoxBreakOnAll.setSelected(wsParams.isBreakOnAll());
         checkBoxBreakOnPingPong.setSelected(wsParams.isBreakOnPingPong());
         checkBoxRemoveExtensionsHeader.setSelected(wsParams.isRemoveExtensionsHeader());
+        storageMaxPayloadLength.setValue(wsParams.getStorageMaxPayloadLength());
+        storageMaxMessagesPerSecond.setValue(wsParams.getStorageMaxMessagesPerSecond());
+        storageSampleRate.setValue(wsParams.getStorageSampleRate());
+        passiveScanThreads.setValue(wsParams.getPassiveScanThreads());
+        passiveScanQueueSize.setValue(wsParams.getPassiveScanQueueSize());
+        checkBoxPassiveScanWaitOnFullQueue.setSelected(wsParams.isPassiveScanWaitOnFullQueue());
     }
 
     @Override
     public void validateParam(Object obj) {
-        // no validation needed for these check boxes
+        // no validation needed, the spinners enforce the allowed values
     }
 
     @Override
@@ -164,6 +268,12 @@ public class OptionsWebSocketPanel extends AbstractParamPanel {
         wsParams.setBreakOnAll(checkBoxBreakOnAll.isSelected());
         wsParams.setBreakOnPingPong(checkBoxBreakOnPingPong.isSelected());
         wsParams.setRemoveExtensionsHeader(checkBoxRemoveExtensionsHeader.isSelected());
+        wsParams.setStorageMaxPayloadLength(storageMaxPayloadLength.getValue());
+        wsParams.setStorageMaxMessagesPerSecond(storageMaxMessagesPerSecond.getValue());
+        wsParams.setStorageSampleRate(storageSampleRate.getValue());
+        wsParams.setPassiveScanThreads(passiveScanThreads.getValue());
+        wsParams.setPassiveScanQueueSize(passiveScanQueueSize.getValue());
+        wsParams.setPassiveScanWaitOnFullQueue(checkBoxPassiveScanWaitOnFullQueue.isSelected());
     }
 
     @Override
@@ -376,25 +376,49 @@ public class WebSocketMessagesViewModel extends PagingTableModel<WebSocketMessag
      * @param message
      */
     public void fireMessageArrived(WebSocketMessageDTO message) {
+        if (isShown(message)) {
+            fireRowsInserted(1);
+        }
+    }
+
+    /**
+     * Notifies that the given messages were written to the database, updating the rows if any of
+     * them is shown.
+     *
+     * @param messages the messages written.
+     */
+    public void fireMessagesWritten(List<WebSocketMessageDTO> messages) {
+        int shownCount = 0;
+        for (WebSocketMessageDTO message : messages) {
+            if (isShown(message)) {
+                shownCount++;
+            }
+        }
+        if (shownCount > 0) {
+            fireRowsInserted(shownCount);
+        }
+    }
+
+    private boolean isShown(WebSocketMessageDTO message) {
         boolean isAllowlistedChannel =
                 (activeChannelId == null) || message.getChannel().getId().equals(activeChannelId);
-        if ((filter != null && filter.isDenylisted(message)) || !isAllowlistedChannel) {
-            // no need to fire update, as it isn't active now
-        } else {
-            // find out where it is inserted and update precisely
+        return isAllowlistedChannel && (filter == null || !filter.isDenylisted(message));
+    }
 
-            // if new row is inserted at the end
-            // it suffices to fire inserted row at the end of list
+    private void fireRowsInserted(int count) {
+        // find out where it is inserted and update precisely
 
-            // with enabled row sorter, you'll have to take care about this
-            int rowCount = getRowCount();
+        // if new row is inserted at the end
+        // it suffices to fire inserted row at the end of list
 
-            synchronized (cachedRowCountSemaphore) {
-                cachedRowCount = null;
-            }
+        // with enabled row sorter, you'll have to take care about this
+        int rowCount = getRowCount();
 
-            fireTableRowsInserted(rowCount, rowCount);
+        synchronized (cachedRowCountSemaphore) {
+            cachedRowCount = null;
         }
+
+        fireTableRowsInserted(rowCount, rowCount + count - 1);
     }
 
     public Integer getModelRowIndexOf(WebSocketMessageDTO message) {
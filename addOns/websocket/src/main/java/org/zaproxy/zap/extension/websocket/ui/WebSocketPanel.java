@@ -26,7 +26,9 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.event.KeyEvent;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -140,6 +142,9 @@ public class WebSocketPanel extends AbstractPanel implements WebSocketObserver {
 
     private TableWebSocket table;
 
+    private final Consumer<List<WebSocketMessageDTO>> messagesWrittenListener =
+            messages -> messagesModel.fireMessagesWritten(messages);
+
     private HttpPanel requestPanel;
     private HttpPanel responsePanel;
 
@@ -161,6 +166,9 @@ public class WebSocketPanel extends AbstractPanel implements WebSocketObserver {
         }
 
         table = webSocketTable;
+        if (table != null) {
+            table.addWriteListener(messagesWrittenListener);
+        }
         channelsModel = new ChannelSortedListModel();
         channelSelectModel = new ComboBoxChannelModel(channelsModel);
 
@@ -459,12 +467,13 @@ public class WebSocketPanel extends AbstractPanel implements WebSocketObserver {
         return WEBSOCKET_OBSERVING_ORDER;
     }
 
-    /** Collects WebSocket messages. */
+    /**
+     * Does nothing, the messages are shown once written to the database.
+     *
+     * @see TableWebSocket#addWriteListener(Consumer)
+     */
     @Override
-    public synchronized boolean onMessageFrame(final int channelId, WebSocketMessage message) {
-        if (message.isFinished()) {
-            messagesModel.fireMessageArrived(message.getDTO());
-        }
+    public boolean onMessageFrame(final int channelId, WebSocketMessage message) {
         return true;
     }
 
@@ -790,7 +799,13 @@ public class WebSocketPanel extends AbstractPanel implements WebSocketObserver {
     }
 
     public void setTable(TableWebSocket table) {
+        if (this.table != null) {
+            this.table.removeWriteListener(messagesWrittenListener);
+        }
         this.table = table;
+        if (table != null) {
+            table.addWriteListener(messagesWrittenListener);
+        }
         this.messagesModel.setTable(table);
     }
 
@@ -0,0 +1,68 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.websocket;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.net.Socket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/** Unit test for {@link WebSocketProxyV13}. */
+@Timeout(5)
+class WebSocketProxyV13UnitTest {
+
+    private static final byte TEXT_FRAME_HEADER = (byte) 0x81;
+
+    private WebSocketProxyV13 proxy;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        proxy = new WebSocketProxyV13(mock(Socket.class), mock(Socket.class), "example.com", 443);
+    }
+
+    @Test
+    void shouldReadFrame() throws Exception {
+        // Given
+        InputStream in = new ByteArrayInputStream(new byte[] {0x05, 'H', 'e', 'l', 'l', 'o'});
+        // When
+        WebSocketMessage message = proxy.createWebSocketMessage(in, TEXT_FRAME_HEADER);
+        // Then
+        assertThat(message.isFinished(), is(equalTo(true)));
+        assertThat(message.getOpcode(), is(equalTo(WebSocketMessage.OPCODE_TEXT)));
+        assertThat(message.getReadablePayload(), is(equalTo("Hello")));
+    }
+
+    @Test
+    void shouldThrowIfStreamEndsBeforeEndOfFrame() throws Exception {
+        // Given
+        InputStream in = new ByteArrayInputStream(new byte[] {0x05, 'H', 'e'});
+        // When / Then
+        assertThrows(EOFException.class, () -> proxy.createWebSocketMessage(in, TEXT_FRAME_HEADER));
+    }
+}
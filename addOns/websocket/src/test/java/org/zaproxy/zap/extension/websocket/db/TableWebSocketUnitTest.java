@@ -0,0 +1,186 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.websocket.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.db.DatabaseException;
+import org.parosproxy.paros.db.paros.ParosDatabaseServer;
+import org.zaproxy.zap.extension.stats.InMemoryStats;
+import org.zaproxy.zap.extension.websocket.WebSocketChannelDTO;
+import org.zaproxy.zap.extension.websocket.WebSocketMessage;
+import org.zaproxy.zap.extension.websocket.WebSocketMessageDTO;
+import org.zaproxy.zap.utils.Stats;
+
+/** Unit test for {@link TableWebSocket}. */
+class TableWebSocketUnitTest {
+
+    private static final int CHANNEL_ID = 1;
+    private static final int MAX_QUEUED_MESSAGES = 10;
+
+    private Connection connection;
+    private InMemoryStats stats;
+    private WebSocketChannelDTO channel;
+    private TableWebSocket table;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection =
+                DriverManager.getConnection(
+                        "jdbc:hsqldb:mem:" + UUID.randomUUID().toString(), "sa", "");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE HISTORY (HISTORYID INTEGER PRIMARY KEY)");
+        }
+        ParosDatabaseServer server = mock(ParosDatabaseServer.class);
+        given(server.getSingletonConnection()).willReturn(connection);
+        given(server.getNewConnection()).willReturn(connection);
+
+        stats = new InMemoryStats();
+        Stats.addListener(stats);
+
+        // Write only when flushed, not in the background.
+        table = new TableWebSocket(MAX_QUEUED_MESSAGES, TimeUnit.HOURS.toMillis(1));
+        table.databaseOpen(server);
+
+        channel = new WebSocketChannelDTO("example.com");
+        channel.setId(CHANNEL_ID);
+        channel.setPort(443);
+        channel.setUrl("wss://example.com/");
+        channel.setStartTimestamp(System.currentTimeMillis());
+        table.insertOrUpdateChannel(channel);
+    }
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        Stats.removeListener(stats);
+        table.shutdown();
+        if (!connection.isClosed()) {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("SHUTDOWN");
+            }
+        }
+    }
+
+    @Test
+    void shouldWriteQueuedMessagesOnFlush() throws Exception {
+        // Given
+        table.insertMessage(createMessage(1));
+        table.insertMessage(createMessage(2));
+        // When
+        table.flush();
+        // Then
+        assertThat(countMessages(), is(equalTo(2)));
+        assertThat(table.getMessage(2, CHANNEL_ID).getPayload(), is(equalTo("Message 2")));
+    }
+
+    @Test
+    void shouldNotBlockNorWriteMessagesWhileDatabaseClosed() throws Exception {
+        // Given
+        connection.close();
+        int messages = MAX_QUEUED_MESSAGES + 5;
+        // When
+        assertTimeoutPreemptively(
+                Duration.ofSeconds(10),
+                () -> {
+                    for (int i = 1; i <= messages; i++) {
+                        table.insertMessage(createMessage(i));
+                    }
+                    table.flush();
+                });
+        // Then
+        assertThat(stats.getStat(TableWebSocket.WEBSOCKET_STORAGE_DROPPED_STATS), is(equalTo(5L)));
+        assertThat(
+                table.getMessage(MAX_QUEUED_MESSAGES, CHANNEL_ID).getPayload(),
+                is(equalTo("Message " + MAX_QUEUED_MESSAGES)));
+        assertThrows(
+                DatabaseException.class,
+                () -> table.getMessage(MAX_QUEUED_MESSAGES + 1, CHANNEL_ID));
+    }
+
+    @Test
+    void shouldKeepMessagesOfFailedBatchUntilWritten() throws Exception {
+        // Given
+        table.insertMessage(createMessage(1));
+        table.flush();
+        table.insertMessage(createMessage(1));
+        table.insertMessage(createMessage(2));
+        // When
+        assertThrows(DatabaseException.class, () -> table.flush());
+        WebSocketMessageDTO unwrittenMessage = table.getMessage(2, CHANNEL_ID);
+        table.flush();
+        // Then
+        assertThat(unwrittenMessage.getPayload(), is(equalTo("Message 2")));
+        assertThat(countMessages(), is(equalTo(2)));
+        assertThat(table.getMessage(2, CHANNEL_ID).getPayload(), is(equalTo("Message 2")));
+        assertThat(stats.getStat(TableWebSocket.WEBSOCKET_STORAGE_DROPPED_STATS), is(equalTo(1L)));
+    }
+
+    @Test
+    void shouldNotDropMessagesWhenWrittenAfterFailedBatch() throws Exception {
+        // Given
+        table.insertMessage(createMessage(1));
+        table.flush();
+        table.insertMessage(createMessage(2));
+        table.insertMessage(createMessage(1));
+        table.insertMessage(createMessage(3));
+        // When
+        assertThrows(DatabaseException.class, () -> table.flush());
+        table.flush();
+        // Then
+        assertThat(countMessages(), is(equalTo(3)));
+        assertThat(table.getMessage(3, CHANNEL_ID).getPayload(), is(equalTo("Message 3")));
+        assertThat(stats.getStat(TableWebSocket.WEBSOCKET_STORAGE_DROPPED_STATS), is(equalTo(1L)));
+    }
+
+    private int countMessages() throws Exception {
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM websocket_message")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private WebSocketMessageDTO createMessage(int id) {
+        WebSocketMessageDTO message = new WebSocketMessageDTO(channel);
+        message.setId(id);
+        message.setTimestamp(System.currentTimeMillis());
+        message.setOpcode(WebSocketMessage.OPCODE_TEXT);
+        message.setPayload("Message " + id);
+        message.setPayloadLength(("Message " + id).length());
+        message.setOutgoing(true);
+        return message;
+    }
+}
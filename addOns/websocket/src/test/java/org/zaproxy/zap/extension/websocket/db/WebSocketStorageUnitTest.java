@@ -0,0 +1,144 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.websocket.db;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.zap.extension.websocket.WebSocketMessage;
+import org.zaproxy.zap.extension.websocket.WebSocketMessageDTO;
+import org.zaproxy.zap.extension.websocket.ui.OptionsParamWebSocket;
+
+/** Unit test for {@link WebSocketStorage}. */
+class WebSocketStorageUnitTest {
+
+    private static final int CHANNEL_ID = 1;
+
+    private TableWebSocket table;
+    private OptionsParamWebSocket options;
+    private WebSocketStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        table = mock(TableWebSocket.class);
+        options = mock(OptionsParamWebSocket.class);
+        storage = new WebSocketStorage(table, options);
+    }
+
+    @Test
+    void shouldStoreAllMessagesWithoutLimits() throws Exception {
+        // Given
+        WebSocketMessage message = createMessage(1_000_000);
+        // When
+        for (int i = 0; i < 100; i++) {
+            storage.onMessageFrame(CHANNEL_ID, message);
+        }
+        // Then
+        verify(table, times(100)).insertMessage(any(WebSocketMessageDTO.class));
+    }
+
+    @Test
+    void shouldStoreAllMessagesWithoutOptions() throws Exception {
+        // Given
+        storage = new WebSocketStorage(table);
+        WebSocketMessage message = createMessage(1_000_000);
+        // When
+        storage.onMessageFrame(CHANNEL_ID, message);
+        // Then
+        verify(table).insertMessage(any(WebSocketMessageDTO.class));
+    }
+
+    @Test
+    void shouldNotStoreMessagesWithPayloadLongerThanLimit() throws Exception {
+        // Given
+        given(options.getStorageMaxPayloadLength()).willReturn(10);
+        // When
+        boolean forward = storage.onMessageFrame(CHANNEL_ID, createMessage(11));
+        // Then
+        verify(table, never()).insertMessage(any(WebSocketMessageDTO.class));
+        assertTrue(forward);
+    }
+
+    @Test
+    void shouldStoreMessagesWithPayloadUpToLimit() throws Exception {
+        // Given
+        given(options.getStorageMaxPayloadLength()).willReturn(10);
+        // When
+        storage.onMessageFrame(CHANNEL_ID, createMessage(10));
+        // Then
+        verify(table).insertMessage(any(WebSocketMessageDTO.class));
+    }
+
+    @Test
+    void shouldNotStoreMessagesOverRateLimit() throws Exception {
+        // Given
+        given(options.getStorageMaxMessagesPerSecond()).willReturn(5);
+        WebSocketMessage message = createMessage(1);
+        // When
+        for (int i = 0; i < 20; i++) {
+            storage.onMessageFrame(CHANNEL_ID, message);
+        }
+        // Then
+        verify(table, times(5)).insertMessage(any(WebSocketMessageDTO.class));
+    }
+
+    @Test
+    void shouldApplyRateLimitPerChannel() throws Exception {
+        // Given
+        given(options.getStorageMaxMessagesPerSecond()).willReturn(5);
+        WebSocketMessage message = createMessage(1);
+        // When
+        for (int i = 0; i < 10; i++) {
+            storage.onMessageFrame(CHANNEL_ID, message);
+            storage.onMessageFrame(CHANNEL_ID + 1, message);
+        }
+        // Then
+        verify(table, times(10)).insertMessage(any(WebSocketMessageDTO.class));
+    }
+
+    @Test
+    void shouldSampleMessagesOverLimits() throws Exception {
+        // Given
+        given(options.getStorageMaxPayloadLength()).willReturn(10);
+        given(options.getStorageSampleRate()).willReturn(4);
+        WebSocketMessage message = createMessage(11);
+        // When
+        for (int i = 0; i < 20; i++) {
+            storage.onMessageFrame(CHANNEL_ID, message);
+        }
+        // Then
+        verify(table, times(5)).insertMessage(any(WebSocketMessageDTO.class));
+    }
+
+    private static WebSocketMessage createMessage(int payloadLength) {
+        WebSocketMessage message = mock(WebSocketMessage.class);
+        given(message.isFinished()).willReturn(true);
+        given(message.getPayloadLength()).willReturn(payloadLength);
+        given(message.getDTO()).willReturn(new WebSocketMessageDTO());
+        return message;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.websocket.pscan;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.zap.extension.websocket.WebSocketMessage;
+import org.zaproxy.zap.extension.websocket.WebSocketMessageDTO;
+import org.zaproxy.zap.extension.websocket.WebSocketProxy;
+import org.zaproxy.zap.extension.websocket.alerts.AlertManager;
+import org.zaproxy.zap.extension.websocket.db.TableWebSocket;
+import org.zaproxy.zap.extension.websocket.ui.OptionsParamWebSocket;
+
+/** Unit test for {@link WebSocketPassiveScanThread}. */
+class WebSocketPassiveScanThreadUnitTest {
+
+    private OptionsParamWebSocket options;
+    private WebSocketPassiveScannerManager manager;
+    private WebSocketPassiveScanner scanner;
+    private WebSocketPassiveScanThread scanThread;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        options = mock(OptionsParamWebSocket.class);
+        manager = new WebSocketPassiveScannerManager(mock(AlertManager.class), options);
+        scanner = mock(WebSocketPassiveScanner.class);
+        given(scanner.getName()).willReturn("Scanner");
+        manager.add(scanner);
+        manager.setAllEnable(true);
+
+        TableWebSocket table = mock(TableWebSocket.class);
+        given(table.getMessage(anyInt(), anyInt()))
+                .willAnswer(
+                        invocation -> {
+                            WebSocketMessageDTO message = new WebSocketMessageDTO();
+                            message.setId(invocation.getArgument(0));
+                            message.getChannel().setId(invocation.getArgument(1));
+                            return message;
+                        });
+        scanThread = manager.getWebSocketPassiveScanThread();
+        scanThread.setTable(table);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        scanThread.shutdown();
+    }
+
+    @Test
+    void shouldScanMessagesOfEachChannelInOrder() throws Exception {
+        // Given
+        given(options.getPassiveScanThreads()).willReturn(2);
+        given(options.getPassiveScanQueueSize()).willReturn(200);
+        List<String> scanned = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch allScanned = new CountDownLatch(100);
+        doAnswer(
+                        invocation -> {
+                            WebSocketMessageDTO message = invocation.getArgument(1);
+                            scanned.add(message.getChannel().getId() + "." + message.getId());
+                            allScanned.countDown();
+                            return null;
+                        })
+                .when(scanner)
+                .scanMessage(any(), any());
+        scanThread.start();
+        // When
+        for (int i = 1; i <= 50; i++) {
+            scanThread.onMessageFrame(1, createMessage(i));
+            scanThread.onMessageFrame(2, createMessage(i));
+        }
+        // Then
+        assertThat(allScanned.await(5, TimeUnit.SECONDS), is(equalTo(true)));
+        assertThat(messagesOf(scanned, 1), contains(expectedMessages(1).toArray()));
+        assertThat(messagesOf(scanned, 2), contains(expectedMessages(2).toArray()));
+        assertThat(scanThread.getMessagesToScan(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldSkipMessagesWhenQueueIsFull() throws Exception {
+        // Given
+        given(options.getPassiveScanThreads()).willReturn(1);
+        given(options.getPassiveScanQueueSize()).willReturn(1);
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            scanning.countDown();
+                            release.await(5, TimeUnit.SECONDS);
+                            return null;
+                        })
+                .when(scanner)
+                .scanMessage(any(), any());
+        scanThread.start();
+        scanThread.onMessageFrame(1, createMessage(1));
+        assertThat(scanning.await(5, TimeUnit.SECONDS), is(equalTo(true)));
+        // When
+        scanThread.onMessageFrame(1, createMessage(2));
+        scanThread.onMessageFrame(1, createMessage(3));
+        // Then
+        assertThat(scanThread.getMessagesToScan(), is(equalTo(1)));
+        release.countDown();
+    }
+
+    @Test
+    void shouldNotQueueMessagesIfNotStarted() {
+        // Given
+        WebSocketMessage message = createMessage(1);
+        // When
+        scanThread.onMessageFrame(1, message);
+        // Then
+        assertThat(scanThread.getMessagesToScan(), is(equalTo(0)));
+    }
+
+    private static List<String> messagesOf(List<String> scanned, int channelId) {
+        List<String> messages = new ArrayList<>();
+        synchronized (scanned) {
+            for (String message : scanned) {
+                if (message.startsWith(channelId + ".")) {
+                    messages.add(message);
+                }
+            }
+        }
+        return messages;
+    }
+
+    private static List<String> expectedMessages(int channelId) {
+        List<String> messages = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            messages.add(channelId + "." + i);
+        }
+        return messages;
+    }
+
+    private static WebSocketMessage createMessage(int messageId) {
+        WebSocketMessage message = mock(WebSocketMessage.class);
+        given(message.isFinished()).willReturn(true);
+        given(message.getMessageId()).willReturn(messageId);
+        given(message.getProxyMode()).willReturn(WebSocketProxy.Mode.CLIENT);
+        return message;
+    }
+}